@@ -5,9 +5,13 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.client.cli.CommandLineInterface;
 import it.polimi.ingsw.eriantys.client.gui.GraphicalUserInterface;
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.Frames;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.Ping;
 import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
 import it.polimi.ingsw.eriantys.messages.server.*;
 import it.polimi.ingsw.eriantys.model.AssistantCard;
 import it.polimi.ingsw.eriantys.model.BoardStatus;
@@ -16,12 +20,13 @@ import it.polimi.ingsw.eriantys.model.TowerColor;
 import it.polimi.ingsw.eriantys.model.Wizard;
 import org.apache.commons.cli.*;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.*;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.prefs.Preferences;
 
 /**
@@ -30,8 +35,12 @@ import java.util.prefs.Preferences;
  */
 public class Client extends Thread {
 	private final Socket socket;
+	private final boolean framed;
 	private final ObjectOutputStream out;
 	private final ObjectInputStream in;
+	private final DataOutputStream frameOut;
+	private final DataInputStream frameIn;
+	private volatile MessageCodec codec;
 	private boolean running;
 	private final UserInterface ui;
 	private String username;
@@ -41,6 +50,9 @@ public class Client extends Thread {
 	private Integer characterCard;
 	private List<String> availableCards;
 	private BoardStatus boardStatus;
+	private int boardVersion;
+	private boolean resyncPending;
+	private final Map<Integer, GameInfo> lobbies;
 
 	/**
 	 * The method is called to launch the client-side application (in either CLI or GUI mode).
@@ -51,10 +63,12 @@ public class Client extends Thread {
 		String serverAddress = "localhost";
 		int serverPort = 9133;
 		boolean useGui = true;
+		boolean framed = false;
 		Options options = new Options();
 		options.addOption(new Option("addr", "address", true, "Server address"));
 		options.addOption(new Option("p", "port", true, "Server port"));
 		options.addOption(new Option("ui", "interface", true, "User interface type"));
+		options.addOption(new Option("t", "transport", true, "Server transport (blocking or nio)"));
 		CommandLineParser parser = new DefaultParser();
 		try {
 			CommandLine line = parser.parse(options, args);
@@ -73,12 +87,19 @@ public class Client extends Thread {
 				else if (type.equals("cli"))
 					useGui = false;
 			}
+			if (line.hasOption("t")) {
+				String transport = line.getOptionValue("transport");
+				if (transport.equals("nio"))
+					framed = true;
+				else if (transport.equals("blocking"))
+					framed = false;
+			}
 		}
 		catch (ParseException e) {
 			System.out.println("Parsing failed");
 			System.exit(1);
 		}
-		Client client = new Client(serverAddress, serverPort, useGui);
+		Client client = new Client(serverAddress, serverPort, useGui, framed);
 		client.start();
 	}
 
@@ -92,6 +113,22 @@ public class Client extends Thread {
 	 * or a problem occurs while opening configuration files
 	 */
 	public Client(String serverAddress, int serverPort, boolean gui) throws IOException {
+		this(serverAddress, serverPort, gui, false);
+	}
+
+	/**
+	 * Constructs a {@code Client} object, starting the {@link Socket}
+	 * and either the {@link CommandLineInterface} or the {@link GraphicalUserInterface}.
+	 * @param serverAddress the server IP address
+	 * @param serverPort the port number identifying the server socket
+	 * @param gui whether to start the GUI (if {@code true}) or the CLI (if {@code false})
+	 * @param framed whether to exchange length-prefixed frames, as expected by a server using the non-blocking
+	 *               transport (if {@code true}), or Java object streams (if {@code false})
+	 * @throws IOException if the {@link Socket} could not be opened, the connection to the server could not be established,
+	 * or a problem occurs while opening configuration files
+	 * @see Frames
+	 */
+	public Client(String serverAddress, int serverPort, boolean gui, boolean framed) throws IOException {
 		try {
 			this.ui = gui ? new GraphicalUserInterface() : new CommandLineInterface();
 		} catch (IOException e) {
@@ -100,11 +137,24 @@ public class Client extends Thread {
 		try {
 			this.socket = new Socket(serverAddress, serverPort);
 			this.socket.setSoTimeout(10000);
-			this.out = new ObjectOutputStream(this.socket.getOutputStream());
-			this.in = new ObjectInputStream(this.socket.getInputStream());
+			this.framed = framed;
+			this.codec = Codecs.JAVA;
+			if (framed) {
+				this.socket.setTcpNoDelay(true);
+				this.out = null;
+				this.in = null;
+				this.frameOut = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+				this.frameIn = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+			} else {
+				this.out = new ObjectOutputStream(this.socket.getOutputStream());
+				this.in = new ObjectInputStream(this.socket.getInputStream());
+				this.frameOut = null;
+				this.frameIn = null;
+			}
 		} catch (IOException e) {
 			throw new IOException("Can't connect to the server", e);
 		}
+		this.lobbies = new TreeMap<>();
 		this.running = true;
 	}
 
@@ -125,7 +175,7 @@ public class Client extends Thread {
 		ui.init();
 		try (socket) {
 			while (running) {
-				Message message = (Message) in.readObject();
+				Message message = framed ? Frames.read(frameIn) : (Message) in.readObject();
 				handleMessage(message);
 			}
 		} catch (IOException | ClassNotFoundException e) {
@@ -139,9 +189,12 @@ public class Client extends Thread {
 	 * @param message the message to send
 	 */
 	public void write(Message message) {
-		synchronized (out) {
+		synchronized (socket) {
 			try {
-				out.writeObject(message);
+				if (framed)
+					Frames.write(frameOut, message, codec);
+				else
+					out.writeObject(message);
 			} catch (IOException e) {
 				setRunning(false);
 				ui.quit();
@@ -268,6 +321,7 @@ public class Client extends Thread {
 
 	private void handleMessage(Message message) {
 		if (message instanceof AcceptedUsername m) {
+			if (m.getCodec() != null) codec = Codecs.byName(m.getCodec());
 			ui.handleMessage(m);
 		} else if (message instanceof AcceptedJoinLobby m) {
 			ui.handleMessage(m);
@@ -282,17 +336,36 @@ public class Client extends Thread {
 		} else if (message instanceof HelpResponse m) {
 			ui.handleMessage(m);
 		} else if (message instanceof AvailableLobbies m) {
+			lobbies.clear();
+			for (GameInfo info : m.getLobbies())
+				lobbies.put(info.getGameId(), info);
+			ui.handleMessage(m);
+		} else if (message instanceof LobbyEvents m) {
+			for (LobbyEvents.Event event : m.getEvents()) {
+				if (event.type() == LobbyEvents.Type.REMOVED)
+					lobbies.remove(event.gameId());
+				else
+					lobbies.put(event.gameId(), event.info());
+			}
 			ui.handleMessage(m);
 		} else if (message instanceof LobbyUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof UserSelectionUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof InitialBoardStatus m) {
+			boardStatus = m.getStatus();
+			boardVersion = m.getVersion();
+			resyncPending = false;
 			ui.handleMessage(m);
 		} else if (message instanceof AssistantCardUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof BoardUpdate m) {
+			boardStatus = m.getStatus();
+			boardVersion = m.getVersion();
+			resyncPending = false;
 			ui.handleMessage(m);
+		} else if (message instanceof BoardDelta m) {
+			handleBoardDelta(m);
 		} else if (message instanceof CharacterCardUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof LastRoundUpdate m) {
@@ -311,6 +384,26 @@ public class Client extends Thread {
 		}
 	}
 
+	/**
+	 * Applies a {@link BoardDelta} to the latest {@link BoardStatus} and forwards the result to the UI as a
+	 * {@link BoardUpdate}, or asks the server for a full update if the delta does not match the latest version.
+	 * Until the full update arrives, every further delta is dropped without asking again.
+	 * @param delta the changes received from the server
+	 */
+	private void handleBoardDelta(BoardDelta delta) {
+		if (resyncPending) return;
+		if (boardStatus == null || boardVersion != delta.getBaseVersion()) {
+			resyncPending = true;
+			write(new BoardResync(username));
+			return;
+		}
+		boardStatus = boardStatus.apply(delta);
+		boardVersion = delta.getVersion();
+		BoardUpdate update = new BoardUpdate(boardStatus, delta.getPhase(), boardVersion);
+		update.setNextPlayer(delta.getNextPlayer());
+		ui.handleMessage(update);
+	}
+
 	/**
 	 * Sends a {@link HelpRequest} message to the server.
 	 */
@@ -325,7 +418,7 @@ public class Client extends Thread {
 	 */
 	public void sendHandshake(String username) {
 		if(username.matches("^[a-zA-Z\\d]+(?:(?:-[a-zA-Z\\d]+)*|(?:\\.[a-zA-Z\\d]+)*)\\z") && username.length() <= 16) {
-			write(new Handshake(username));
+			write(framed ? new Handshake(username, Codecs.names()) : new Handshake(username));
 		} else {
 			ui.showError("Invalid username, try again");
 		}
@@ -353,6 +446,32 @@ public class Client extends Thread {
 		write(new LobbiesRequest(username));
 	}
 
+	/**
+	 * Sends a {@link LobbiesSubscription} message to the server, which answers with the available lobbies and then
+	 * pushes their changes as {@link LobbyEvents} messages.
+	 */
+	public void subscribeLobbies() {
+		if (usernameNotSet()) return;
+		write(new LobbiesSubscription(username, true));
+	}
+
+	/**
+	 * Sends a {@link LobbiesSubscription} message to the server in order to stop receiving the changes of the lobbies.
+	 */
+	public void unsubscribeLobbies() {
+		if (usernameNotSet()) return;
+		write(new LobbiesSubscription(username, false));
+	}
+
+	/**
+	 * A getter for the lobbies known to the client, which are kept up-to-date while subscribed to their changes.
+	 * The method is meant to be called by the thread handling the messages of the server.
+	 * @return a copy of the available lobbies, ordered by identifier
+	 */
+	public List<GameInfo> getLobbies() {
+		return new ArrayList<>(lobbies.values());
+	}
+
 	/**
 	 * Checks if the lobby id is a valid integer and sends a {@link JoinLobby} message to the server.
 	 * @param lobbyIdArg the identifier of the lobby to join
@@ -436,6 +555,17 @@ public class Client extends Thread {
 		write(new LeaveLobby(username, gameId));
 	}
 
+	/**
+	 * If the player is in a lobby, sends a {@link FillLobby} message to the server.
+	 */
+	public void fillLobby() {
+		if (gameId == null) {
+			ui.showError("Not in a lobby");
+			return;
+		}
+		write(new FillLobby(username, gameId));
+	}
+
 	private void trySendSetupSelection() {
 		if (wizard != null && towerColor != null) {
 			write(new GameSetupSelection(username, towerColor, wizard));
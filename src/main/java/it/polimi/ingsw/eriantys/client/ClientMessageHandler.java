@@ -64,6 +64,12 @@ public interface ClientMessageHandler {
 	 */
 	void handleMessage(AvailableLobbies message);
 
+	/**
+	 * Handles a {@link LobbyEvents} message.
+	 * @param message the received message
+	 */
+	void handleMessage(LobbyEvents message);
+
 	/**
 	 * Handles a {@link LobbyUpdate} message.
 	 * @param message the received message
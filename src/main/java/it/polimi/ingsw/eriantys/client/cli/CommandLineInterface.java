@@ -106,7 +106,7 @@ public class CommandLineInterface extends UserInterface {
 					}
 					case "/lobbies", "/l" -> {
 						if (wrongArgNumber(tokens, 0)) break;
-						client.askLobbies();
+						client.subscribeLobbies();
 					}
 					case "/join", "/j" -> {
 						if (wrongArgNumber(tokens, 1)) break;
@@ -120,6 +120,10 @@ public class CommandLineInterface extends UserInterface {
 						if (wrongArgNumber(tokens, 0)) break;
 						client.leaveLobby();
 					}
+					case "/fill", "/f" -> {
+						if (wrongArgNumber(tokens, 0)) break;
+						client.fillLobby();
+					}
 					case "/wizard", "/w" -> {
 						if (wrongArgNumber(tokens, 1)) break;
 						client.setWizard(tokens[1].toUpperCase());
@@ -509,6 +513,26 @@ public class CommandLineInterface extends UserInterface {
 	}
 
 
+	/**
+	 * {@inheritDoc}
+	 * Prints the changes of the available lobbies.
+	 *
+	 * @param message the received message
+	 */
+	@Override
+	public void handleMessage(LobbyEvents message) {
+		StringBuilder output = new StringBuilder("Lobbies changed:");
+		for (LobbyEvents.Event event : message.getEvents()) {
+			output.append("\n");
+			switch (event.type()) {
+				case ADDED -> output.append("(new) ").append(event.info());
+				case CHANGED -> output.append(event.info());
+				case REMOVED -> output.append("[id: ").append(event.gameId()).append("] \u2192 no longer available");
+			}
+		}
+		showInfo(output.toString());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * Prints the list of players in the joined lobby
@@ -2,6 +2,7 @@ package it.polimi.ingsw.eriantys.client.gui;
 
 import it.polimi.ingsw.eriantys.client.UserInterface;
 import it.polimi.ingsw.eriantys.client.gui.controllers.*;
+import it.polimi.ingsw.eriantys.controller.GameInfo;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.server.*;
 import it.polimi.ingsw.eriantys.model.GameConstants;
@@ -159,6 +160,22 @@ public class GraphicalUserInterface extends UserInterface {
 		});
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Updates the list of lobbies calling {@link LobbiesController#updateLobbies(List)} with the lobbies known to the
+	 * client after applying the changes.
+	 *
+	 * @param message the received message
+	 */
+	@Override
+	public void handleMessage(LobbyEvents message) {
+		List<GameInfo> lobbies = client.getLobbies();
+		Platform.runLater(() -> {
+			LobbiesController controller = (LobbiesController) app.getControllerForScene(SceneName.LOBBIES);
+			controller.updateLobbies(lobbies);
+		});
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * Updates the list of players in the lobby calling {@link WaitingRoomController#updatePlayers(List)}.
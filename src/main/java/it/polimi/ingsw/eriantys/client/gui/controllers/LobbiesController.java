@@ -98,11 +98,11 @@ public class LobbiesController extends Controller {
 
 	/**
 	 * {@inheritDoc}
-	 * Asks for the available lobbies list and shows a reconnection message if related settings are found.
+	 * Subscribes to the changes of the available lobbies and shows a reconnection message if related settings are found.
 	 */
 	@Override
 	public void onChangeScene() {
-		client.askLobbies();
+		client.subscribeLobbies();
 		if (client.hasReconnectSettings())
 			showReconnect();
 	}
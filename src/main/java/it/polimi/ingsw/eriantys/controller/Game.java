@@ -2,10 +2,13 @@ package it.polimi.ingsw.eriantys.controller;
 
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.controller.phases.*;
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
 import it.polimi.ingsw.eriantys.messages.GameMessage;
 import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.client.BoardResync;
 import it.polimi.ingsw.eriantys.messages.client.HelpRequest;
 import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.GameManager;
 import it.polimi.ingsw.eriantys.model.TowerColor;
@@ -14,26 +17,42 @@ import it.polimi.ingsw.eriantys.model.exceptions.*;
 import it.polimi.ingsw.eriantys.server.ClientConnection;
 import it.polimi.ingsw.eriantys.server.HelpContent;
 import it.polimi.ingsw.eriantys.server.Server;
+import it.polimi.ingsw.eriantys.server.TimerWheel;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+import it.polimi.ingsw.eriantys.simulation.MonteCarloPlayer;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * This class handles the control flow of a game according to the rules. It manages every round and turn and
  * communicates with the players in order to provide updates about the game, as well as interacting with the model
  * through {@link GameManager}. {@link Game} implements a state pattern in order to manage the various phases of the
  * game and exposes several methods which are used to advance the game.
+ * The methods are not thread-safe: the server runs every action concerning a game on its mailbox through
+ * {@link #submit(Runnable)}, so that the state of the game is only touched by one thread at a time.
  */
 public class Game {
+	private static final long IDLE_TIMEOUT = 60000;
+	private static final SecureRandom PASSCODES = new SecureRandom();
+
+	/**
+	 * The prefix of the usernames of the bots filling a lobby, which the server does not accept from the clients.
+	 */
+	public static final String BOT_PREFIX = "Bot#";
+
 	private final Server server;
+	private final Mailbox mailbox;
 	private final GameInfo info;
+	private final long seed;
+	private final MonteCarloPlayer bot;
+	private final Set<String> bots;
 	private boolean started = false;
 	private boolean lastRound = false;
 	private boolean idle = false;
-	private Thread idleThread = null;
+	private TimerWheel.Timeout idleTimeout = null;
 	private List<String> players;
 	private final Map<String, String> playerPasscodes;
 	private int currentPlayer;
@@ -41,9 +60,15 @@ public class Game {
 	private Map<String, List<String>> availableAssistantCards;
 	private MessageHandler messageHandler;
 	private GameManager gameManager;
+	private BoardStatus lastBoard;
+	private PhaseName lastPhase;
+	private String lastNextPlayer;
+	private int boardVersion;
+	private final Map<String, Integer> boardVersions;
 
 	/**
-	 * Constructs a {@code Game} that fits the specified parameters.
+	 * Constructs a {@code Game} that fits the specified parameters, whose random choices are driven by a randomly chosen
+	 * seed.
 	 * @param server the {@link Server} in charge of exchanging messages with the clients.
 	 * @param gameId the unique id of this {@code Game}.
 	 * @param creator the username of the player who created the game.
@@ -51,14 +76,43 @@ public class Game {
 	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode.
 	 */
 	public Game(Server server, int gameId, String creator, int lobbySize, boolean expertMode) {
+		this(server, gameId, creator, lobbySize, expertMode, PASSCODES.nextLong());
+	}
+
+	/**
+	 * Constructs a {@code Game} that fits the specified parameters.
+	 * @param server the {@link Server} in charge of exchanging messages with the clients.
+	 * @param gameId the unique id of this {@code Game}.
+	 * @param creator the username of the player who created the game.
+	 * @param lobbySize the number of players allowed in the game.
+	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode.
+	 * @param seed the seed of the random choices of the game, which is logged when the game starts.
+	 */
+	public Game(Server server, int gameId, String creator, int lobbySize, boolean expertMode, long seed) {
 		this.server = server;
+		this.mailbox = new Mailbox(server.getGameExecutor());
 		this.info = new GameInfo(gameId, creator, lobbySize, expertMode);
+		this.seed = seed;
+		this.bot = server.getBot();
+		this.bots = new HashSet<>();
 		this.players = new ArrayList<>();
 		this.playerPasscodes = new HashMap<>();
 		this.currentPlayer = 0;
 		this.availableAssistantCards = new HashMap<>();
 		this.messageHandler = null;
 		this.gameManager = null;
+		this.lastBoard = null;
+		this.boardVersion = 0;
+		this.boardVersions = new HashMap<>();
+	}
+
+	/**
+	 * Queues the specified action on the mailbox of the game. The action runs on the executor shared by the games of the
+	 * server, after every action previously submitted to {@code this} and never concurrently with any of them.
+	 * @param action the action to run
+	 */
+	public void submit(Runnable action) {
+		mailbox.execute(action);
 	}
 
 	/**
@@ -71,6 +125,15 @@ public class Game {
 		return info;
 	}
 
+	/**
+	 * Returns the seed of the random choices of the game, which allows the game to be replayed from the moves of its
+	 * players.
+	 * @return the seed of the game.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
 	/**
 	 * Returns the username of the current player, or {@code null} if the game has not started yet.
 	 * @return the username of the current player, or {@code null} if the game has not started yet.
@@ -162,12 +225,14 @@ public class Game {
 		try {
 			lastRound = gameManager.setupRound();
 			if (lastRound) broadcast(new LastRoundUpdate());
-		} catch (InvalidArgumentException | NoMovementException e) {
+		} catch (InvalidArgumentException e) {
 			System.out.println("This is a Throwable#printStackTrace() method call.");
 			e.printStackTrace();
 		}
 		availableAssistantCards = gameManager.getAvailableAssistantCards();
 		messageHandler = new PlayAssistantCardHandler(this);
+		lastPhase = null;
+		lastNextPlayer = null;
 		sendUpdate(new AssistantCardUpdate(new HashMap<>(), getAssistantCards()),
 				true);
 		checkDisconnection();
@@ -244,7 +309,8 @@ public class Game {
 	public String addPlayer(String username) {
 		if (players.contains(username) || players.size() == getInfo().getLobbySize()) return null;
 		players.add(username);
-		String passcode = Integer.toHexString((int) (Math.random() * 65536));
+		// passcodes must not be predictable from the seed of the game, hence their own generator
+		String passcode = Integer.toHexString(PASSCODES.nextInt(65536));
 		playerPasscodes.put(username, passcode);
 		info.setCurrentPlayers(info.getCurrentPlayers() + 1);
 		return passcode;
@@ -264,6 +330,69 @@ public class Game {
 		return true;
 	}
 
+	/**
+	 * Fills the free seats of the lobby with players played by the bot of the server, whose usernames cannot be taken by
+	 * the clients.
+	 * @param username the username of the player requesting the bots, who must be in the lobby.
+	 * @return {@code true} if and only if the seats have been filled, which requires the server to have a bot.
+	 */
+	public boolean fillWithBots(String username) {
+		if (bot == null || isStarted() || !players.contains(username)) return false;
+		for (int i = 1; players.size() < getInfo().getLobbySize(); i++) {
+			String name = BOT_PREFIX + i;
+			if (players.contains(name)) continue;
+			players.add(name);
+			bots.add(name);
+			info.setCurrentPlayers(info.getCurrentPlayers() + 1);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns {@code true} if and only if the moves of the specified player are chosen by the bot of the server, either
+	 * because the player is a bot which filled the lobby or because the player is disconnected and the server has a bot.
+	 * @param username the username of the player.
+	 * @return {@code true} if and only if the specified player is played by the bot.
+	 */
+	public boolean isPlayedByBot(String username) {
+		return bots.contains(username) || bot != null && !server.isConnected(username);
+	}
+
+	/**
+	 * Returns {@code true} if and only if the server has a bot which plays the turns of the disconnected players.
+	 * @return {@code true} if and only if the moves of the disconnected players are chosen by the bot.
+	 */
+	public boolean hasBot() {
+		return bot != null;
+	}
+
+	/**
+	 * Lets the bot search the next move of the specified player on a fork of the game, off the mailbox of the game, then
+	 * applies it on the mailbox through {@code move}, unless the game has moved on while the bot was searching, for
+	 * instance because the player has reconnected and played.
+	 * @param username the player whose move is searched.
+	 * @param search the search of the move, given the bot, the fork of the game and the last round flag.
+	 * @param move the action applying the move, which receives {@code null} if the search failed.
+	 * @param <T> the type of the move.
+	 */
+	public <T> void playBotMove(String username, BotSearch<T> search, Consumer<T> move) {
+		MessageHandler handler = messageHandler;
+		GameManager fork = gameManager.fork();
+		boolean round = lastRound;
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return search.search(bot, fork, round);
+			} catch (Exception e) {
+				System.out.println("This is a Throwable#printStackTrace() method call.");
+				e.printStackTrace();
+				return null;
+			}
+		}, bot.getPool()).thenAccept(choice -> submit(() -> {
+			if (started && handler == messageHandler && username.equals(getCurrentPlayer()) && isPlayedByBot(username))
+				move.accept(choice);
+		}));
+	}
+
 	/**
 	 * Disconnects the specified player from the game, removing them from the lobby if the game has not yet started or
 	 * pausing the game if the game has started and there are less than 2 players currently connected.
@@ -274,6 +403,7 @@ public class Game {
 			removePlayer(username);
 			notifyLobbyChange();
 		} else {
+			boardVersions.remove(username);
 			int connectedPlayers = checkConnectedPlayers();
 			if (connectedPlayers == 0) return;
 			broadcast(new DisconnectionUpdate(username, connectedPlayers, idle));
@@ -290,7 +420,7 @@ public class Game {
 	 */
 	public void reconnect(String username) {
 		int connectedPlayers =
-				players.stream().mapToInt(p -> server.isConnected(p) ? 1 : 0).reduce(0, Integer::sum);
+				players.stream().mapToInt(p -> isConnected(p) ? 1 : 0).reduce(0, Integer::sum);
 		broadcast(new ReconnectionUpdate(username, connectedPlayers, resume()));
 		messageHandler.sendReconnectUpdate(username);
 	}
@@ -408,6 +538,8 @@ public class Game {
 		String sender = message.getSender();
 		if (!players.contains(sender))
 			refuseRequest(message, "Access denied to game: " + info.getGameId());
+		else if (message instanceof BoardResync)
+			resyncBoard(message);
 		else if (!sender.equals(players.get(currentPlayer)))
 			refuseRequest(message, "Not your turn");
 		else if (idle)
@@ -459,27 +591,73 @@ public class Game {
 	}
 
 	/**
-	 * Sends an {@link InitialBoardStatus} message to every player.
+	 * Sends an {@link InitialBoardStatus} message to every player, starting the versioning of the board.
 	 */
 	public void sendInitialBoardStatus() {
-		broadcast(new InitialBoardStatus(gameManager));
+		lastBoard = new BoardStatus(gameManager);
+		boardVersion = 1;
+		boardVersions.clear();
+		EncodedMessage message = new EncodedMessage(new InitialBoardStatus(lastBoard, boardVersion));
+		for (String player : players)
+			if (send(player, message))
+				boardVersions.put(player, boardVersion);
 	}
 
 	/**
-	 * Sends a {@link BoardUpdate} message with the current {@link PhaseName} to every player.
+	 * Sends the changes of the board with the current {@link PhaseName} to every player.
 	 * @param phase the current game phase.
-	 * @see Game#sendUpdate(UserActionUpdate, boolean)
+	 * @see Game#sendBoardUpdate()
 	 */
 	public void sendBoardUpdate(PhaseName phase) {
-		sendUpdate(new BoardUpdate(gameManager, phase), true);
+		sendBoard(phase);
 	}
 
 	/**
-	 * Sends a {@link BoardUpdate} message to every player.
-	 * @see Game#sendUpdate(UserActionUpdate, boolean)
+	 * Sends the changes of the board to every player. A player who holds the previous version of the board receives a
+	 * {@link BoardDelta}, while a player who does not, for instance because they have just reconnected, receives a full
+	 * {@link BoardUpdate}.
 	 */
 	public void sendBoardUpdate() {
-		sendUpdate(new BoardUpdate(gameManager), true);
+		sendBoard(null);
+	}
+
+	private void sendBoard(PhaseName phase) {
+		BoardStatus current = new BoardStatus(gameManager);
+		int baseVersion = boardVersion++;
+		BoardDelta delta = lastBoard == null ? null : new BoardDelta(lastBoard, current, baseVersion, boardVersion, phase);
+		BoardUpdate full = new BoardUpdate(current, phase, boardVersion);
+		if (delta != null) delta.setNextPlayer(players.get(currentPlayer));
+		full.setNextPlayer(players.get(currentPlayer));
+		lastBoard = current;
+		if (phase != null) lastPhase = phase;
+		lastNextPlayer = players.get(currentPlayer);
+
+		EncodedMessage encodedDelta = delta == null ? null : new EncodedMessage(delta);
+		EncodedMessage encodedFull = new EncodedMessage(full);
+		for (String player : players) {
+			Integer version = boardVersions.get(player);
+			EncodedMessage message = delta != null && version != null && version == baseVersion ? encodedDelta : encodedFull;
+			if (send(player, message)) boardVersions.put(player, boardVersion);
+			else boardVersions.remove(player);
+		}
+	}
+
+	/**
+	 * Responds to a {@link BoardResync} request with a full {@link BoardUpdate} of the latest version of the board,
+	 * together with the phase and the next player of the latest update.
+	 * @param message the resync request.
+	 * @throws NoConnectionException if no connection can be retrieved for the sender of the message.
+	 */
+	private void resyncBoard(GameMessage message) throws NoConnectionException {
+		String sender = message.getSender();
+		if (lastBoard == null) {
+			refuseRequest(message, "Board not available yet");
+			return;
+		}
+		BoardUpdate update = new BoardUpdate(lastBoard, lastPhase, boardVersion);
+		update.setNextPlayer(lastNextPlayer);
+		server.getConnection(sender).write(update);
+		boardVersions.put(sender, boardVersion);
 	}
 
 	/**
@@ -502,32 +680,43 @@ public class Game {
 	 * Ends the game by notifying every player and deleting every reference to it.
 	 */
 	public void gameOver() {
-		started = false;
-		sendUpdate(new GameOverUpdate(gameManager.getWinner()), false);
-		server.gameOver(this, players);
+		gameOver(gameManager.getWinner());
 	}
 
 	private void gameOver(String winner) {
 		started = false;
 		sendUpdate(new GameOverUpdate(winner), false);
-		server.gameOver(this, players);
+		server.gameOver(this, players.stream().filter(p -> !bots.contains(p)).toList());
 	}
 
+	/**
+	 * Sends the specified message to every player, encoding it only once for all of them.
+	 * @param message the message to be sent to the players.
+	 */
 	private void broadcast(Message message) {
-		for (String player : players) {
-			try {
-				ClientConnection connection = server.getConnection(player);
-				if (connection.getGame().getInfo().getGameId() == this.info.getGameId())
-					connection.write(message);
-			} catch (NoConnectionException e) {
-				System.out.println(player + " disconnected");
-			}
+		EncodedMessage encoded = new EncodedMessage(message);
+		for (String player : players)
+			send(player, encoded);
+	}
+
+	private boolean send(String player, EncodedMessage message) {
+		if (bots.contains(player)) return false;
+		try {
+			ClientConnection connection = server.getConnection(player);
+			if (connection.getGame().getInfo().getGameId() != this.info.getGameId()) return false;
+			connection.write(message);
+			return true;
+		} catch (NoConnectionException e) {
+			System.out.println(player + " disconnected");
+			return false;
 		}
 	}
 
 	private void setGameManager() {
-		if (gameManager == null)
-			gameManager = new GameManager(players, getInfo().isExpertMode());
+		if (gameManager == null) {
+			gameManager = new GameManager(players, getInfo().isExpertMode(), seed);
+			System.out.println("Game " + info.getGameId() + " started with seed " + Long.toHexString(seed));
+		}
 	}
 
 	/**
@@ -545,15 +734,16 @@ public class Game {
 	 * If the current player is disconnected calls the disconnected turn handler.
 	 */
 	public void checkDisconnection() {
-		if (!server.isConnected(getCurrentPlayer())) {
+		if (!isConnected(getCurrentPlayer())) {
 			messageHandler.handleDisconnectedUser(getCurrentPlayer());
 		}
 	}
 
 	private int checkConnectedPlayers() {
-		List<String> connectedPlayers = players.stream().filter(server::isConnected).toList();
+		List<String> connectedPlayers = players.stream().filter(this::isConnected).toList();
 
-		if (connectedPlayers.size() == 1 && !idle)
+		// a lonely player keeps playing against the bot rather than waiting for the others to reconnect
+		if (connectedPlayers.size() == 1 && !idle && bot == null)
 			pause(connectedPlayers.get(0));
 		else if (connectedPlayers.size() == 0)
 			gameOver();
@@ -561,24 +751,39 @@ public class Game {
 		return connectedPlayers.size();
 	}
 
+	private boolean isConnected(String player) {
+		return !bots.contains(player) && server.isConnected(player);
+	}
+
 	private void pause(String connectedPlayer) {
 		idle = true;
-		idleThread = new Thread(() -> {
-			try {
-				Thread.sleep(60000);
-			} catch (InterruptedException e) {
-				return;
-			}
+		idleTimeout = server.getTimer().schedule(() -> submit(() -> {
 			if (idle) gameOver(connectedPlayer);
-		});
-		idleThread.start();
+		}), IDLE_TIMEOUT);
 	}
 
 	private boolean resume() {
 		if (!idle) return false;
 
 		idle = false;
-		idleThread.interrupt();
+		idleTimeout.cancel();
 		return true;
 	}
+
+	/**
+	 * The search of a move by the bot of the server.
+	 * @param <T> the type of the move.
+	 */
+	@FunctionalInterface
+	public interface BotSearch<T> {
+		/**
+		 * Searches the move on the specified fork of the game.
+		 * @param bot the bot of the server.
+		 * @param game the fork of the game, which can be read but must not be modified.
+		 * @param lastRound {@code true} if and only if the current round is the last one.
+		 * @return the chosen move.
+		 * @throws Exception if the search cannot be run on the current state of the game.
+		 */
+		T search(MonteCarloPlayer bot, GameManager game, boolean lastRound) throws Exception;
+	}
 }
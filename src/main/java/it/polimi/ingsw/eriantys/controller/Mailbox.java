@@ -0,0 +1,65 @@
+package it.polimi.ingsw.eriantys.controller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents the mailbox of a {@link Game}, which runs the submitted tasks one at a time and in submission
+ * order on a pool shared by every game. Since at most one task per mailbox is running at any time, the state of a game
+ * is only accessed by one thread at a time without any lock, while different games run in parallel.
+ */
+class Mailbox implements Executor {
+	/**
+	 * The maximum number of tasks run in a row before yielding the pool thread to other mailboxes.
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	private final Executor pool;
+	private final Queue<Runnable> tasks;
+	private final AtomicBoolean scheduled;
+
+	/**
+	 * Constructs an empty {@link Mailbox} whose tasks run on the specified pool.
+	 * @param pool the pool shared by the mailboxes
+	 */
+	Mailbox(Executor pool) {
+		this.pool = pool;
+		this.tasks = new ConcurrentLinkedQueue<>();
+		this.scheduled = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Appends a task to the mailbox. The method can be called from any thread, including the one running the mailbox.
+	 * @param task the task to run
+	 */
+	@Override
+	public void execute(Runnable task) {
+		tasks.add(task);
+		schedule();
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true))
+			pool.execute(this::run);
+	}
+
+	private void run() {
+		try {
+			Runnable task;
+			for (int i = 0; i < BATCH_SIZE && (task = tasks.poll()) != null; i++) {
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					// a failing task must not prevent the following ones from running
+					System.out.println("This is a Throwable#printStackTrace() method call.");
+					e.printStackTrace();
+				}
+			}
+		} finally {
+			scheduled.set(false);
+			if (!tasks.isEmpty()) schedule();
+		}
+	}
+}
@@ -34,7 +34,28 @@ public class MotherNatureDestinationHandler extends PlayCharacterCardHandler {
 
 	@Override
 	public void handleDisconnectedUser(String username) {
-		game.receiveCloudSelection();
+		if (!game.hasBot()) {
+			game.receiveCloudSelection();
+			return;
+		}
+
+		game.playBotMove(username,
+				(bot, gameManager, lastRound) -> bot.moveMotherNature(gameManager, username, lastRound),
+				destination -> {
+					boolean gameOver = false;
+
+					if (destination != null) {
+						try {
+							gameOver = game.moveMotherNature(destination);
+						} catch (InvalidArgumentException | IslandNotFoundException | NotEnoughMovementsException e) {
+							System.out.println("This is a Throwable#printStackTrace() method call.");
+							e.printStackTrace();
+						}
+					}
+
+					if (gameOver) game.gameOver();
+					else game.receiveCloudSelection();
+				});
 	}
 
 	@Override
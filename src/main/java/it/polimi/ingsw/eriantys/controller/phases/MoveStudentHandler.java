@@ -17,6 +17,7 @@ import java.util.LinkedHashMap;
  */
 public class MoveStudentHandler extends PlayCharacterCardHandler {
 	private int movementCount;
+	private boolean characterCardConsidered;
 
 	/**
 	 * Constructs a new {@link MoveStudentHandler} for the specified game.
@@ -36,7 +37,45 @@ public class MoveStudentHandler extends PlayCharacterCardHandler {
 
 	@Override
 	public void handleDisconnectedUser(String username) {
-		game.receiveMotherNatureMovement();
+		if (!game.hasBot()) {
+			game.receiveMotherNatureMovement();
+			return;
+		}
+
+		int movedStudents = movementCount;
+		if (movedStudents == 0 && !characterCardConsidered && game.getInfo().isExpertMode()) {
+			characterCardConsidered = true;
+			game.playBotMove(username,
+					(bot, gameManager, lastRound) -> bot.playCharacterCard(gameManager, username, lastRound),
+					play -> {
+						if (play != null) playCharacterCard(play.card(), play.params());
+						handleDisconnectedUser(username);
+					});
+			return;
+		}
+
+		game.playBotMove(username,
+				(bot, gameManager, lastRound) -> bot.moveStudent(gameManager, username, movedStudents, lastRound),
+				move -> {
+					// an empty entrance, which can only happen when the bag ran out, ends the movements of the turn
+					if (move == null) {
+						game.receiveMotherNatureMovement();
+						return;
+					}
+
+					try {
+						game.moveStudent(username, move.color(), move.destination());
+					} catch (NoMovementException | IslandNotFoundException | InvalidArgumentException e) {
+						System.out.println("This is a Throwable#printStackTrace() method call.");
+						e.printStackTrace();
+						game.receiveMotherNatureMovement();
+						return;
+					}
+
+					movementCount++;
+					checkStateTransition();
+					if (movementCount < game.getCloudSize()) game.checkDisconnection();
+				});
 	}
 
 	@Override
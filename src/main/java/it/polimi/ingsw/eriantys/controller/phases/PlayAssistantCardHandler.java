@@ -7,6 +7,7 @@ import it.polimi.ingsw.eriantys.messages.server.AssistantCardUpdate;
 import it.polimi.ingsw.eriantys.server.HelpContent;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,18 +46,20 @@ public class PlayAssistantCardHandler implements MessageHandler {
 
 	@Override
 	public void handleDisconnectedUser(String username) {
-		List<String> availableCardsForUser = availableCards.get(username);
-		String card = null;
+		List<String> playable = new ArrayList<>();
+		for (String card : availableCards.get(username))
+			if (isPlayable(username, card)) playable.add(card);
+		String firstPlayable = playable.isEmpty() ? null : playable.get(0);
 
-		for (int i = 0; i < availableCardsForUser.size() && card == null; i++) {
-			String c = availableCardsForUser.get(i);
-			if (isPlayable(username, c)) card = c;
+		if (!game.hasBot() || playable.size() < 2) {
+			play(username, firstPlayable);
+			return;
 		}
 
-		playedCards.put(username, card);
-		game.nextPlayer();
-		checkStateTransition();
-		game.checkDisconnection();
+		Map<String, String> played = new LinkedHashMap<>(playedCards);
+		game.playBotMove(username,
+				(bot, gameManager, lastRound) -> bot.playAssistantCard(gameManager, username, played, playable, lastRound),
+				card -> play(username, playable.contains(card) ? card : firstPlayable));
 	}
 
 	@Override
@@ -82,13 +85,24 @@ public class PlayAssistantCardHandler implements MessageHandler {
 		}
 	}
 
+	private void play(String username, String card) {
+		playedCards.put(username, card);
+		game.nextPlayer();
+		checkStateTransition();
+		game.checkDisconnection();
+	}
+
 	private boolean isPlayable(String username, String card) {
 		List<String> available = availableCards.get(username);
 		if (!available.contains(card))
 			return false;
 		if (!playedCards.containsValue(card))
 			return true;
-		return available.stream().filter(c -> !playedCards.containsValue(c)).toList().size() == 0;
+		// a card which was already played this round is allowed only if there is no other choice
+		for (String c : available)
+			if (!playedCards.containsValue(c))
+				return false;
+		return true;
 	}
 
 	private void checkStateTransition() {
@@ -40,33 +40,51 @@ public abstract class PlayCharacterCardHandler implements MessageHandler {
 		return HelpContent.IN_GAME.getContent();
 	}
 
+	/**
+	 * Plays the specified character card on behalf of the current player and notifies the players if it was played.
+	 * @param card the index of the character card.
+	 * @param params the parameters of the effect of the card.
+	 * @return {@code true} if and only if the card has been played.
+	 */
+	protected boolean playCharacterCard(int card, JsonObject params) {
+		if (play(card, params) != null) return false;
+		notifyCharacterCard(card);
+		return true;
+	}
+
 	private void process(PlayCharacterCard message) throws NoConnectionException {
 		int card = message.getCharacterCard();
-		JsonObject params = message.getParams();
+		String error = play(card, message.getParams());
+
+		if (error != null) {
+			game.refuseRequest(message, error);
+			return;
+		}
+
+		game.acceptRequest(message);
+		notifyCharacterCard(card);
+	}
 
+	private String play(int card, JsonObject params) {
 		try {
 			game.playCharacterCard(card, params);
 		} catch (ItemNotAvailableException e) {
-			game.refuseRequest(message, "Item not available");
-			return;
+			return "Item not available";
 		} catch (NoMovementException e) {
-			game.refuseRequest(message, "No movement");
-			return;
+			return "No movement";
 		} catch (InvalidArgumentException e) {
-			game.refuseRequest(message, e.getMessage() == null ? "Invalid argument" : e.getMessage());
-			return;
+			return e.getMessage() == null ? "Invalid argument" : e.getMessage();
 		} catch (DuplicateNoEntryTileException e) {
-			game.refuseRequest(message, "Duplicate no-entry tile");
-			return;
+			return "Duplicate no-entry tile";
 		} catch (NullPointerException e) {
-			game.refuseRequest(message, "Unexpected error");
-			return;
+			return "Unexpected error";
 		} catch (Exception e) {
-			game.refuseRequest(message, "Already played a character card in this turn");
-			return;
+			return "Already played a character card in this turn";
 		}
+		return null;
+	}
 
-		game.acceptRequest(message);
+	private void notifyCharacterCard(int card) {
 		game.sendUpdate(new CharacterCardUpdate(card), false);
 		game.sendBoardUpdate();
 	}
@@ -40,7 +40,27 @@ public class SelectCloudHandler extends PlayCharacterCardHandler {
 
 	@Override
 	public void handleDisconnectedUser(String username) {
-		game.advanceTurn();
+		if (!game.hasBot()) {
+			game.advanceTurn();
+			return;
+		}
+
+		game.playBotMove(username,
+				(bot, gameManager, lastRound) -> bot.selectCloud(gameManager, username, lastRound),
+				cloud -> {
+					// the cloud tiles can only be empty when the bag ran out before the last round
+					if (cloud != null && cloud >= 0) {
+						try {
+							game.selectCloud(username, cloud);
+							game.sendBoardUpdate();
+						} catch (InvalidArgumentException | NoMovementException e) {
+							System.out.println("This is a Throwable#printStackTrace() method call.");
+							e.printStackTrace();
+						}
+					}
+
+					game.advanceTurn();
+				});
 	}
 
 	@Override
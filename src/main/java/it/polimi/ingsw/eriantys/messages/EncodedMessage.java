@@ -0,0 +1,87 @@
+package it.polimi.ingsw.eriantys.messages;
+
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Message} which is sent to several recipients and is therefore encoded at most once per codec, no matter how
+ * many connections it is written to. The encoded forms are computed lazily and then shared, read-only, by every
+ * recipient using the same codec.
+ */
+public final class EncodedMessage {
+	/**
+	 * The number of bytes of the header written at the start of every object stream.
+	 */
+	private static final int STREAM_HEADER_SIZE = 4;
+
+	private final Message message;
+	private final byte[][] payloads;
+	private final ByteBuffer[] frames;
+
+	/**
+	 * Constructs an {@link EncodedMessage} wrapping the specified message, which must not be modified afterwards.
+	 * @param message the message to share
+	 */
+	public EncodedMessage(Message message) {
+		this.message = message;
+		this.payloads = new byte[Codecs.count()][];
+		this.frames = new ByteBuffer[Codecs.count()];
+	}
+
+	/**
+	 * A getter for the wrapped message.
+	 * @return the message
+	 */
+	public Message getMessage() {
+		return message;
+	}
+
+	/**
+	 * Returns the frame containing the message encoded with the specified codec, encoding it on the first request.
+	 * @param codec the codec used to encode the message
+	 * @return a read-only view of the frame, positioned at zero, which is owned by the caller
+	 * @throws IOException if the message cannot be encoded
+	 * @see Frames
+	 */
+	public synchronized ByteBuffer frame(MessageCodec codec) throws IOException {
+		ByteBuffer frame = frames[codec.getId()];
+		if (frame == null) {
+			byte[] payload = payload(codec);
+			frame = ByteBuffer.allocate(Frames.HEADER_SIZE + 1 + payload.length);
+			frame.putInt(1 + payload.length).put(codec.getId()).put(payload).flip();
+			frame = frame.asReadOnlyBuffer();
+			frames[codec.getId()] = frame;
+		}
+		return frame.duplicate();
+	}
+
+	/**
+	 * Writes the message on a stream read by an {@link java.io.ObjectInputStream}, as if it had been written by
+	 * {@link java.io.ObjectOutputStream#writeObject(Object)} right after a reset of the stream.
+	 * The caller must have reset the object stream wrapping {@code out} beforehand, so that the handles of both peers are
+	 * cleared and the pending bytes of the object stream are drained, and must reset it again before writing any further
+	 * object through it. The raw stream is not flushed, so that several messages can be gathered in a single write.
+	 * @param out the raw stream underlying the object stream
+	 * @throws IOException if the message cannot be encoded or an I/O error occurs
+	 */
+	public void writeObjectStreamTo(OutputStream out) throws IOException {
+		byte[] payload;
+		synchronized (this) {
+			payload = payload(Codecs.JAVA);
+		}
+		out.write(payload, STREAM_HEADER_SIZE, payload.length - STREAM_HEADER_SIZE);
+	}
+
+	private byte[] payload(MessageCodec codec) throws IOException {
+		byte[] payload = payloads[codec.getId()];
+		if (payload == null) {
+			payload = codec.encode(message);
+			payloads[codec.getId()] = payload;
+		}
+		return payload;
+	}
+}
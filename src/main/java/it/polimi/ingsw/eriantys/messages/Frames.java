@@ -0,0 +1,95 @@
+package it.polimi.ingsw.eriantys.messages;
+
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * A utility class which defines the length-prefixed framing used by the non-blocking transport.
+ * Every frame is made up of a 4-byte big-endian length followed by the body, that is the identifier of a
+ * {@link MessageCodec} and the payload produced by it: a frame can therefore be decoded without any knowledge of the
+ * frames preceding it.
+ */
+public final class Frames {
+	/**
+	 * The number of bytes used to encode the length of a frame.
+	 */
+	public static final int HEADER_SIZE = Integer.BYTES;
+
+	/**
+	 * The maximum size of a frame body which is accepted by a receiver.
+	 */
+	public static final int MAX_PAYLOAD_SIZE = 1 << 20;
+
+	private Frames() {}
+
+	/**
+	 * Encodes the specified message into a frame ready to be written on a channel.
+	 * @param message the message to encode
+	 * @param codec the codec used to encode the message
+	 * @return a buffer, positioned at zero, containing the length prefix and the body
+	 * @throws IOException if the message cannot be encoded
+	 */
+	public static ByteBuffer encode(Message message, MessageCodec codec) throws IOException {
+		byte[] payload = codec.encode(message);
+		ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + 1 + payload.length);
+		frame.putInt(1 + payload.length).put(codec.getId()).put(payload).flip();
+		return frame;
+	}
+
+	/**
+	 * Decodes a frame body into the message it contains.
+	 * @param body the array containing the body
+	 * @param offset the index of the first byte of the body
+	 * @param length the length of the body
+	 * @return the decoded message
+	 * @throws IOException if the body is malformed
+	 * @throws ClassNotFoundException if the body refers to an unknown class
+	 */
+	public static Message decode(byte[] body, int offset, int length) throws IOException, ClassNotFoundException {
+		if (length < 1) throw new IOException("Empty frame");
+		return Codecs.get(body[offset]).decode(body, offset + 1, length - 1);
+	}
+
+	/**
+	 * Writes a frame containing the specified message to a blocking stream.
+	 * @param out the destination stream
+	 * @param message the message to write
+	 * @param codec the codec used to encode the message
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(DataOutputStream out, Message message, MessageCodec codec) throws IOException {
+		byte[] payload = codec.encode(message);
+		out.writeInt(1 + payload.length);
+		out.writeByte(codec.getId());
+		out.write(payload);
+		out.flush();
+	}
+
+	/**
+	 * Reads the next frame from a blocking stream and decodes the message it contains.
+	 * @param in the source stream
+	 * @return the decoded message
+	 * @throws IOException if an I/O error occurs or if the frame is malformed
+	 * @throws ClassNotFoundException if the body refers to an unknown class
+	 */
+	public static Message read(DataInputStream in) throws IOException, ClassNotFoundException {
+		int length = in.readInt();
+		checkLength(length);
+		byte[] body = new byte[length];
+		in.readFully(body);
+		return decode(body, 0, length);
+	}
+
+	/**
+	 * Checks the length prefix of a frame.
+	 * @param length the length read from the header of the frame
+	 * @throws IOException if the length is negative or exceeds {@link #MAX_PAYLOAD_SIZE}
+	 */
+	public static void checkLength(int length) throws IOException {
+		if (length < 0 || length > MAX_PAYLOAD_SIZE)
+			throw new IOException("Invalid frame length: " + length);
+	}
+}
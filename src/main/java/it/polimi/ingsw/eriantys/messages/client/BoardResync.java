@@ -0,0 +1,16 @@
+package it.polimi.ingsw.eriantys.messages.client;
+
+import it.polimi.ingsw.eriantys.messages.GameMessage;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
+
+/**
+ * A {@link GameMessage} sent by a client which received a {@link BoardDelta} it could not apply,
+ * in order to ask the server for a full {@link BoardUpdate}.
+ * The request is served regardless of the current player.
+ */
+public class BoardResync extends GameMessage {
+	public BoardResync(String sender) {
+		super(sender);
+	}
+}
@@ -0,0 +1,24 @@
+package it.polimi.ingsw.eriantys.messages.client;
+
+import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+
+/**
+ * A {@link ConnectionMessage} sent by a client in order to request the server to fill the free seats of its lobby with
+ * bots, starting the game.
+ */
+public class FillLobby extends ConnectionMessage {
+	private final int gameId;
+
+	public FillLobby(String sender, int gameId) {
+		super(sender);
+		this.gameId = gameId;
+	}
+
+	/**
+	 * A getter for the identifier of the lobby which the user is requesting to fill.
+	 * @return the identifier of the game
+	 */
+	public int getGameId() {
+		return gameId;
+	}
+}
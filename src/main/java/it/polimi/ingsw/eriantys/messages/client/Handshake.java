@@ -1,13 +1,31 @@
 package it.polimi.ingsw.eriantys.messages.client;
 
 import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+
+import java.util.List;
 
 /**
  * A {@link ConnectionMessage} sent by a client in order to communicate the chosen (global and unique) username
  * and subsequently establish a connection with the server.
  */
 public class Handshake extends ConnectionMessage {
+	private final List<String> codecs;
+
 	public Handshake(String sender) {
+		this(sender, null);
+	}
+
+	public Handshake(String sender, List<String> codecs) {
 		super(sender);
+		this.codecs = codecs;
+	}
+
+	/**
+	 * A getter for the names of the {@link MessageCodec}s supported by the client, sorted by decreasing preference.
+	 * @return the names of the supported codecs, or {@code null} if the client did not advertise any
+	 */
+	public List<String> getCodecs() {
+		return codecs;
 	}
 }
@@ -4,9 +4,55 @@ import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
 
 /**
  * A {@link ConnectionMessage} sent by a client in order to request a list of the available server-side lobbies.
+ * The request may be restricted to a page of the lobbies matching a number of players and a game mode.
  */
 public class LobbiesRequest extends ConnectionMessage {
+	private final int page;
+	private final int pageSize;
+	private final Integer lobbySize;
+	private final Boolean expertMode;
+
 	public LobbiesRequest(String sender) {
+		this(sender, 0, 0, null, null);
+	}
+
+	public LobbiesRequest(String sender, int page, int pageSize, Integer lobbySize, Boolean expertMode) {
 		super(sender);
+		this.page = page;
+		this.pageSize = pageSize;
+		this.lobbySize = lobbySize;
+		this.expertMode = expertMode;
+	}
+
+	/**
+	 * A getter for the index of the requested page, starting from 0.
+	 * @return the requested page
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * A getter for the number of lobbies per page.
+	 * @return the number of lobbies per page, or {@code 0} for the largest page allowed by the server
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * A getter for the number of players which the requested lobbies must be set for.
+	 * @return the number of players, or {@code null} if any number is accepted
+	 */
+	public Integer getLobbySize() {
+		return lobbySize;
+	}
+
+	/**
+	 * A getter for the game mode which the requested lobbies must be set for.
+	 * @return {@code true} for expert mode lobbies, {@code false} for normal ones, or {@code null} if both are accepted
+	 */
+	public Boolean getExpertMode() {
+		return expertMode;
 	}
 }
@@ -0,0 +1,25 @@
+package it.polimi.ingsw.eriantys.messages.client;
+
+import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+import it.polimi.ingsw.eriantys.messages.server.LobbyEvents;
+
+/**
+ * A {@link ConnectionMessage} sent by a client in order to start or stop receiving the changes of the server-side lobbies
+ * as {@link LobbyEvents} messages, instead of polling them through {@link LobbiesRequest} messages.
+ */
+public class LobbiesSubscription extends ConnectionMessage {
+	private final boolean active;
+
+	public LobbiesSubscription(String sender, boolean active) {
+		super(sender);
+		this.active = active;
+	}
+
+	/**
+	 * A getter to know if the client is subscribing or unsubscribing.
+	 * @return {@code true} if and only if the client wants to receive the changes of the lobbies
+	 */
+	public boolean isActive() {
+		return active;
+	}
+}
@@ -35,4 +35,12 @@ public class PlayCharacterCard extends GameMessage {
 	public JsonObject getParams() {
 		return new Gson().fromJson(paramsJson, JsonObject.class);
 	}
+
+	/**
+	 * A getter for the parameters of the card, as sent by the client.
+	 * @return the JSON string containing the parameters
+	 */
+	public String getParamsJson() {
+		return paramsJson;
+	}
 }
@@ -0,0 +1,390 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link MessageCodec} based on a hand-written binary format. Every payload starts with a tag byte identifying the
+ * class of the message, followed by its fields written through a {@link WireOutput}. Messages which have no binary
+ * form are wrapped in a Java serialization payload, so that new message classes can be exchanged before being given
+ * a dedicated encoding.
+ */
+public class BinaryCodec implements MessageCodec {
+	private static final int SERIALIZED = 0;
+	private static final int PING = 1;
+	private static final int HANDSHAKE = 2;
+	private static final int HELP_REQUEST = 3;
+	private static final int JOIN_LOBBY = 4;
+	private static final int LEAVE_LOBBY = 5;
+	private static final int LOBBIES_REQUEST = 6;
+	private static final int LOBBY_CREATION = 7;
+	private static final int RECONNECT = 8;
+	private static final int GAME_SETUP_SELECTION = 9;
+	private static final int MOTHER_NATURE_DESTINATION = 10;
+	private static final int MOVE_STUDENT = 11;
+	private static final int PLAY_ASSISTANT_CARD = 12;
+	private static final int PLAY_CHARACTER_CARD = 13;
+	private static final int SELECT_CLOUD = 14;
+	private static final int ACCEPTED = 15;
+	private static final int ACCEPTED_JOIN_LOBBY = 16;
+	private static final int ACCEPTED_LEAVE_LOBBY = 17;
+	private static final int ACCEPTED_USERNAME = 18;
+	private static final int REFUSED = 19;
+	private static final int REFUSED_RECONNECT = 20;
+	private static final int HELP_RESPONSE = 21;
+	private static final int AVAILABLE_LOBBIES = 22;
+	private static final int LOBBY_UPDATE = 23;
+	private static final int CONNECTION_UPDATE_DISCONNECTION = 24;
+	private static final int CONNECTION_UPDATE_RECONNECTION = 25;
+	private static final int INITIAL_BOARD_STATUS = 26;
+	private static final int USER_SELECTION_UPDATE = 27;
+	private static final int ASSISTANT_CARD_UPDATE = 28;
+	private static final int BOARD_UPDATE = 29;
+	private static final int CHARACTER_CARD_UPDATE = 30;
+	private static final int LAST_ROUND_UPDATE = 31;
+	private static final int GAME_OVER_UPDATE = 32;
+	private static final int BOARD_DELTA = 33;
+	private static final int BOARD_RESYNC = 34;
+	private static final int LOBBIES_SUBSCRIPTION = 35;
+	private static final int LOBBY_EVENTS = 36;
+	private static final int FILL_LOBBY = 37;
+
+	private static final Map<Class<? extends Message>, Integer> tags = new HashMap<>();
+
+	static {
+		tags.put(Ping.class, PING);
+		tags.put(Handshake.class, HANDSHAKE);
+		tags.put(HelpRequest.class, HELP_REQUEST);
+		tags.put(JoinLobby.class, JOIN_LOBBY);
+		tags.put(LeaveLobby.class, LEAVE_LOBBY);
+		tags.put(LobbiesRequest.class, LOBBIES_REQUEST);
+		tags.put(LobbyCreation.class, LOBBY_CREATION);
+		tags.put(Reconnect.class, RECONNECT);
+		tags.put(GameSetupSelection.class, GAME_SETUP_SELECTION);
+		tags.put(MotherNatureDestination.class, MOTHER_NATURE_DESTINATION);
+		tags.put(MoveStudent.class, MOVE_STUDENT);
+		tags.put(PlayAssistantCard.class, PLAY_ASSISTANT_CARD);
+		tags.put(PlayCharacterCard.class, PLAY_CHARACTER_CARD);
+		tags.put(SelectCloud.class, SELECT_CLOUD);
+		tags.put(Accepted.class, ACCEPTED);
+		tags.put(AcceptedJoinLobby.class, ACCEPTED_JOIN_LOBBY);
+		tags.put(AcceptedLeaveLobby.class, ACCEPTED_LEAVE_LOBBY);
+		tags.put(AcceptedUsername.class, ACCEPTED_USERNAME);
+		tags.put(Refused.class, REFUSED);
+		tags.put(RefusedReconnect.class, REFUSED_RECONNECT);
+		tags.put(HelpResponse.class, HELP_RESPONSE);
+		tags.put(AvailableLobbies.class, AVAILABLE_LOBBIES);
+		tags.put(LobbyUpdate.class, LOBBY_UPDATE);
+		tags.put(DisconnectionUpdate.class, CONNECTION_UPDATE_DISCONNECTION);
+		tags.put(ReconnectionUpdate.class, CONNECTION_UPDATE_RECONNECTION);
+		tags.put(InitialBoardStatus.class, INITIAL_BOARD_STATUS);
+		tags.put(UserSelectionUpdate.class, USER_SELECTION_UPDATE);
+		tags.put(AssistantCardUpdate.class, ASSISTANT_CARD_UPDATE);
+		tags.put(BoardUpdate.class, BOARD_UPDATE);
+		tags.put(CharacterCardUpdate.class, CHARACTER_CARD_UPDATE);
+		tags.put(LastRoundUpdate.class, LAST_ROUND_UPDATE);
+		tags.put(GameOverUpdate.class, GAME_OVER_UPDATE);
+		tags.put(BoardDelta.class, BOARD_DELTA);
+		tags.put(BoardResync.class, BOARD_RESYNC);
+		tags.put(LobbiesSubscription.class, LOBBIES_SUBSCRIPTION);
+		tags.put(LobbyEvents.class, LOBBY_EVENTS);
+		tags.put(FillLobby.class, FILL_LOBBY);
+	}
+
+	private static final PhaseName[] phases = PhaseName.values();
+	private static final LobbyEvents.Type[] lobbyEventTypes = LobbyEvents.Type.values();
+
+	@Override
+	public byte getId() {
+		return 1;
+	}
+
+	@Override
+	public String getName() {
+		return "binary";
+	}
+
+	@Override
+	public byte[] encode(Message message) throws IOException {
+		Integer tag = tags.get(message.getClass());
+		WireOutput out = new WireOutput();
+		if (tag == null) {
+			out.writeByte(SERIALIZED);
+			byte[] serialized = Codecs.JAVA.encode(message);
+			byte[] payload = out.toByteArray();
+			byte[] result = new byte[payload.length + serialized.length];
+			System.arraycopy(payload, 0, result, 0, payload.length);
+			System.arraycopy(serialized, 0, result, payload.length, serialized.length);
+			return result;
+		}
+		out.writeByte(tag);
+		write(tag, message, out);
+		if (message instanceof UserActionUpdate update)
+			out.writeString(update.getNextPlayer());
+		return out.toByteArray();
+	}
+
+	@Override
+	public Message decode(byte[] data, int offset, int length) throws IOException, ClassNotFoundException {
+		WireInput in = new WireInput(data, offset, length);
+		int tag = in.readByte();
+		if (tag == SERIALIZED)
+			return Codecs.JAVA.decode(data, offset + 1, length - 1);
+		Message message = read(tag, in);
+		if (message instanceof UserActionUpdate update)
+			update.setNextPlayer(in.readString());
+		if (!in.isExhausted())
+			throw new IOException("Trailing bytes after message with tag " + tag);
+		return message;
+	}
+
+	private void write(int tag, Message m, WireOutput out) {
+		switch (tag) {
+			case PING, HANDSHAKE, HELP_REQUEST, BOARD_RESYNC -> {
+				out.writeString(m.getSender());
+				if (m instanceof Handshake handshake)
+					out.writeStringList(handshake.getCodecs());
+			}
+			case LOBBIES_REQUEST -> {
+				LobbiesRequest request = (LobbiesRequest) m;
+				out.writeString(request.getSender());
+				out.writeInt(request.getPage());
+				out.writeInt(request.getPageSize());
+				out.writeNullableInt(request.getLobbySize());
+				out.writeNullableInt(request.getExpertMode() == null ? null : request.getExpertMode() ? 1 : 0);
+			}
+			case JOIN_LOBBY -> {
+				out.writeString(m.getSender());
+				out.writeInt(((JoinLobby) m).getGameId());
+			}
+			case LEAVE_LOBBY -> {
+				out.writeString(m.getSender());
+				out.writeInt(((LeaveLobby) m).getGameId());
+			}
+			case FILL_LOBBY -> {
+				out.writeString(m.getSender());
+				out.writeInt(((FillLobby) m).getGameId());
+			}
+			case LOBBY_CREATION -> {
+				LobbyCreation lobbyCreation = (LobbyCreation) m;
+				out.writeString(m.getSender());
+				out.writeInt(lobbyCreation.getNumPlayers());
+				out.writeBoolean(lobbyCreation.isExpertMode());
+			}
+			case RECONNECT -> {
+				Reconnect reconnect = (Reconnect) m;
+				out.writeString(m.getSender());
+				out.writeInt(reconnect.getGameId());
+				out.writeString(reconnect.getPasscode());
+			}
+			case GAME_SETUP_SELECTION -> {
+				GameSetupSelection selection = (GameSetupSelection) m;
+				out.writeString(m.getSender());
+				out.writeString(selection.getTowerColor());
+				out.writeString(selection.getWizard());
+			}
+			case MOTHER_NATURE_DESTINATION -> {
+				out.writeString(m.getSender());
+				out.writeString(((MotherNatureDestination) m).getDestination());
+			}
+			case MOVE_STUDENT -> {
+				MoveStudent moveStudent = (MoveStudent) m;
+				out.writeString(m.getSender());
+				out.writeString(moveStudent.getColor());
+				out.writeString(moveStudent.getDestination());
+			}
+			case PLAY_ASSISTANT_CARD -> {
+				out.writeString(m.getSender());
+				out.writeString(((PlayAssistantCard) m).getAssistantCard());
+			}
+			case PLAY_CHARACTER_CARD -> {
+				PlayCharacterCard playCharacterCard = (PlayCharacterCard) m;
+				out.writeString(m.getSender());
+				out.writeInt(playCharacterCard.getCharacterCard());
+				out.writeString(playCharacterCard.getParamsJson());
+			}
+			case SELECT_CLOUD -> {
+				out.writeString(m.getSender());
+				out.writeInt(((SelectCloud) m).getCloud());
+			}
+			case ACCEPTED, ACCEPTED_LEAVE_LOBBY, LAST_ROUND_UPDATE -> {}
+			case ACCEPTED_JOIN_LOBBY -> {
+				AcceptedJoinLobby accepted = (AcceptedJoinLobby) m;
+				out.writeInt(accepted.getGameId());
+				out.writeString(accepted.getPasscode());
+			}
+			case ACCEPTED_USERNAME -> {
+				AcceptedUsername accepted = (AcceptedUsername) m;
+				out.writeString(accepted.getUsername());
+				out.writeString(accepted.getCodec());
+			}
+			case REFUSED, REFUSED_RECONNECT -> out.writeString(((Refused) m).getDetails());
+			case HELP_RESPONSE -> out.writeString(((HelpResponse) m).getContent());
+			case AVAILABLE_LOBBIES -> {
+				AvailableLobbies available = (AvailableLobbies) m;
+				List<GameInfo> lobbies = available.getLobbies();
+				out.writeInt(available.getPage());
+				out.writeInt(available.getTotal());
+				out.writeInt(lobbies.size());
+				for (GameInfo info : lobbies)
+					writeGameInfo(info, out);
+			}
+			case LOBBIES_SUBSCRIPTION -> {
+				out.writeString(m.getSender());
+				out.writeBoolean(((LobbiesSubscription) m).isActive());
+			}
+			case LOBBY_EVENTS -> {
+				List<LobbyEvents.Event> events = ((LobbyEvents) m).getEvents();
+				out.writeInt(events.size());
+				for (LobbyEvents.Event event : events) {
+					out.writeEnum(event.type());
+					out.writeInt(event.gameId());
+					if (event.type() != LobbyEvents.Type.REMOVED)
+						writeGameInfo(event.info(), out);
+				}
+			}
+			case LOBBY_UPDATE -> out.writeStringList(((LobbyUpdate) m).getPlayers());
+			case CONNECTION_UPDATE_DISCONNECTION -> {
+				DisconnectionUpdate update = (DisconnectionUpdate) m;
+				out.writeString(update.getSubject());
+				out.writeInt(update.getNumPlayers());
+				out.writeBoolean(update.isGameIdle());
+			}
+			case CONNECTION_UPDATE_RECONNECTION -> {
+				ReconnectionUpdate update = (ReconnectionUpdate) m;
+				out.writeString(update.getSubject());
+				out.writeInt(update.getNumPlayers());
+				out.writeBoolean(update.isGameResumed());
+			}
+			case INITIAL_BOARD_STATUS -> {
+				InitialBoardStatus initial = (InitialBoardStatus) m;
+				out.writeInt(initial.getVersion());
+				initial.getStatus().write(out);
+			}
+			case USER_SELECTION_UPDATE -> {
+				UserSelectionUpdate update = (UserSelectionUpdate) m;
+				out.writeStringList(update.getAvailableTowerColors());
+				out.writeStringList(update.getAvailableWizards());
+				out.writeStringMap(update.getTowerColors());
+				out.writeStringMap(update.getWizards());
+			}
+			case ASSISTANT_CARD_UPDATE -> {
+				AssistantCardUpdate update = (AssistantCardUpdate) m;
+				out.writeStringMap(update.getPlayedCards());
+				out.writeStringListMap(update.getAvailableCards());
+			}
+			case BOARD_UPDATE -> {
+				BoardUpdate update = (BoardUpdate) m;
+				out.writeEnum(update.getPhase());
+				out.writeInt(update.getVersion());
+				update.getStatus().write(out);
+			}
+			case BOARD_DELTA -> ((BoardDelta) m).write(out);
+			case CHARACTER_CARD_UPDATE -> out.writeInt(((CharacterCardUpdate) m).getCard());
+			case GAME_OVER_UPDATE -> out.writeString(((GameOverUpdate) m).getWinner());
+			default -> throw new IllegalStateException("Unexpected tag: " + tag);
+		}
+	}
+
+	private Message read(int tag, WireInput in) throws IOException {
+		return switch (tag) {
+			case PING -> new Ping(in.readString());
+			case HANDSHAKE -> new Handshake(in.readString(), in.readStringList());
+			case HELP_REQUEST -> new HelpRequest(in.readString());
+			case LOBBIES_REQUEST -> {
+				String sender = in.readString();
+				int page = in.readInt(), pageSize = in.readInt();
+				Integer lobbySize = in.readNullableInt();
+				Integer expertMode = in.readNullableInt();
+				yield new LobbiesRequest(sender, page, pageSize, lobbySize, expertMode == null ? null : expertMode != 0);
+			}
+			case JOIN_LOBBY -> new JoinLobby(in.readString(), in.readInt());
+			case LEAVE_LOBBY -> new LeaveLobby(in.readString(), in.readInt());
+			case FILL_LOBBY -> new FillLobby(in.readString(), in.readInt());
+			case LOBBY_CREATION -> new LobbyCreation(in.readString(), in.readInt(), in.readBoolean());
+			case RECONNECT -> new Reconnect(in.readString(), in.readInt(), in.readString());
+			case GAME_SETUP_SELECTION -> new GameSetupSelection(in.readString(), in.readString(), in.readString());
+			case MOTHER_NATURE_DESTINATION -> new MotherNatureDestination(in.readString(), in.readString());
+			case MOVE_STUDENT -> new MoveStudent(in.readString(), in.readString(), in.readString());
+			case PLAY_ASSISTANT_CARD -> new PlayAssistantCard(in.readString(), in.readString());
+			case PLAY_CHARACTER_CARD -> new PlayCharacterCard(in.readString(), in.readInt(), in.readString());
+			case SELECT_CLOUD -> new SelectCloud(in.readString(), in.readInt());
+			case ACCEPTED -> new Accepted();
+			case ACCEPTED_JOIN_LOBBY -> new AcceptedJoinLobby(in.readInt(), in.readString());
+			case ACCEPTED_LEAVE_LOBBY -> new AcceptedLeaveLobby();
+			case ACCEPTED_USERNAME -> new AcceptedUsername(in.readString(), in.readString());
+			case REFUSED -> new Refused(in.readString());
+			case REFUSED_RECONNECT -> new RefusedReconnect(in.readString());
+			case HELP_RESPONSE -> new HelpResponse(in.readString());
+			case AVAILABLE_LOBBIES -> {
+				int page = in.readInt(), total = in.readInt();
+				int size = in.readInt();
+				if (size < 0) throw new IOException("Invalid number of lobbies: " + size);
+				List<GameInfo> lobbies = new ArrayList<>();
+				for (int i = 0; i < size; i++)
+					lobbies.add(readGameInfo(in));
+				yield new AvailableLobbies(lobbies, page, total);
+			}
+			case LOBBIES_SUBSCRIPTION -> new LobbiesSubscription(in.readString(), in.readBoolean());
+			case LOBBY_EVENTS -> {
+				int size = in.readInt();
+				if (size < 0) throw new IOException("Invalid number of lobby events: " + size);
+				List<LobbyEvents.Event> events = new ArrayList<>();
+				for (int i = 0; i < size; i++) {
+					LobbyEvents.Type type = in.readEnum(lobbyEventTypes);
+					if (type == null) throw new IOException("Missing lobby event type");
+					int gameId = in.readInt();
+					GameInfo info = type == LobbyEvents.Type.REMOVED ? null : readGameInfo(in);
+					events.add(new LobbyEvents.Event(type, gameId, info));
+				}
+				yield new LobbyEvents(events);
+			}
+			case LOBBY_UPDATE -> new LobbyUpdate(in.readStringList());
+			case CONNECTION_UPDATE_DISCONNECTION -> new DisconnectionUpdate(in.readString(), in.readInt(), in.readBoolean());
+			case CONNECTION_UPDATE_RECONNECTION -> new ReconnectionUpdate(in.readString(), in.readInt(), in.readBoolean());
+			case INITIAL_BOARD_STATUS -> {
+				int version = in.readInt();
+				yield new InitialBoardStatus(BoardStatus.read(in), version);
+			}
+			case USER_SELECTION_UPDATE -> new UserSelectionUpdate(in.readStringList(), in.readStringList(),
+					in.readStringMap(), in.readStringMap());
+			case ASSISTANT_CARD_UPDATE -> new AssistantCardUpdate(in.readStringMap(), in.readStringListMap());
+			case BOARD_UPDATE -> {
+				PhaseName phase = in.readEnum(phases);
+				int version = in.readInt();
+				yield new BoardUpdate(BoardStatus.read(in), phase, version);
+			}
+			case BOARD_DELTA -> BoardDelta.read(in);
+			case BOARD_RESYNC -> new BoardResync(in.readString());
+			case CHARACTER_CARD_UPDATE -> new CharacterCardUpdate(in.readInt());
+			case LAST_ROUND_UPDATE -> new LastRoundUpdate();
+			case GAME_OVER_UPDATE -> new GameOverUpdate(in.readString());
+			default -> throw new IOException("Unknown message tag: " + tag);
+		};
+	}
+
+	private static void writeGameInfo(GameInfo info, WireOutput out) {
+		out.writeInt(info.getGameId());
+		out.writeString(info.getCreator());
+		out.writeInt(info.getLobbySize());
+		out.writeBoolean(info.isExpertMode());
+		out.writeInt(info.getCurrentPlayers());
+	}
+
+	private static GameInfo readGameInfo(WireInput in) throws IOException {
+		GameInfo info = new GameInfo(in.readInt(), in.readString(), in.readInt(), in.readBoolean());
+		info.setCurrentPlayers(in.readInt());
+		return info;
+	}
+}
@@ -0,0 +1,79 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A utility class which holds the {@link MessageCodec} instances known to the application.
+ */
+public final class Codecs {
+	/**
+	 * The codec based on Java serialization, which is always supported.
+	 */
+	public static final MessageCodec JAVA = new SerializationCodec();
+
+	/**
+	 * The compact binary codec.
+	 */
+	public static final MessageCodec BINARY = new BinaryCodec();
+
+	// sorted by decreasing preference, indexed by identifier
+	private static final MessageCodec[] byId = { JAVA, BINARY };
+	private static final List<MessageCodec> preferred = List.of(BINARY, JAVA);
+
+	private Codecs() {}
+
+	/**
+	 * A getter for the codec with the specified identifier.
+	 * @param id the identifier read from a frame
+	 * @return the codec with the specified identifier
+	 * @throws IOException if no codec has the specified identifier
+	 */
+	public static MessageCodec get(byte id) throws IOException {
+		if (id < 0 || id >= byId.length)
+			throw new IOException("Unknown codec: " + id);
+		return byId[id];
+	}
+
+	/**
+	 * A getter for the number of supported codecs, whose identifiers range from zero to the number itself, excluded.
+	 * @return the number of supported codecs
+	 */
+	public static int count() {
+		return byId.length;
+	}
+
+	/**
+	 * A getter for the names of the supported codecs, sorted by decreasing preference.
+	 * @return the names of the supported codecs
+	 */
+	public static List<String> names() {
+		return preferred.stream().map(MessageCodec::getName).toList();
+	}
+
+	/**
+	 * Chooses the codec to use with a peer.
+	 * @param offered the names of the codecs supported by the peer, or {@code null} if it did not advertise any
+	 * @return the most preferred codec supported by both ends, or {@link #JAVA} if there is none
+	 */
+	public static MessageCodec negotiate(List<String> offered) {
+		if (offered == null) return JAVA;
+		return preferred.stream()
+				.filter(c -> offered.contains(c.getName()))
+				.findFirst()
+				.orElse(JAVA);
+	}
+
+	/**
+	 * A getter for the codec with the specified name.
+	 * @param name the name of the codec
+	 * @return the codec with the specified name, or {@link #JAVA} if no codec is named so
+	 */
+	public static MessageCodec byName(String name) {
+		return Arrays.stream(byId)
+				.filter(c -> c.getName().equals(name))
+				.findFirst()
+				.orElse(JAVA);
+	}
+}
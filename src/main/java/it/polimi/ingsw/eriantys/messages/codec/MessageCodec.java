@@ -0,0 +1,44 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.IOException;
+
+/**
+ * An interface for the encodings which can be used to turn a {@link Message} into the payload of a frame and back.
+ * Client and server agree on the codec to use when the {@link it.polimi.ingsw.eriantys.messages.client.Handshake}
+ * is processed; every frame carries the identifier of the codec which produced it.
+ * @see Codecs
+ */
+public interface MessageCodec {
+	/**
+	 * A getter for the identifier written in every frame produced by the codec.
+	 * @return the identifier of the codec
+	 */
+	byte getId();
+
+	/**
+	 * A getter for the name advertised by the peers supporting the codec.
+	 * @return the name of the codec
+	 */
+	String getName();
+
+	/**
+	 * Encodes the specified message.
+	 * @param message the message to encode
+	 * @return the encoded message
+	 * @throws IOException if the message cannot be encoded
+	 */
+	byte[] encode(Message message) throws IOException;
+
+	/**
+	 * Decodes a message.
+	 * @param data the array containing the encoded message
+	 * @param offset the index of the first byte of the encoded message
+	 * @param length the length of the encoded message
+	 * @return the decoded message
+	 * @throws IOException if the encoded message is malformed
+	 * @throws ClassNotFoundException if the encoded message refers to an unknown class
+	 */
+	Message decode(byte[] data, int offset, int length) throws IOException, ClassNotFoundException;
+}
@@ -0,0 +1,37 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.*;
+
+/**
+ * A {@link MessageCodec} based on Java serialization. Every payload is a self-contained object stream, so it is
+ * understood by any peer, but it carries the class descriptors of the whole object graph.
+ */
+public class SerializationCodec implements MessageCodec {
+	@Override
+	public byte getId() {
+		return 0;
+	}
+
+	@Override
+	public String getName() {
+		return "java";
+	}
+
+	@Override
+	public byte[] encode(Message message) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(message);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Message decode(byte[] data, int offset, int length) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data, offset, length))) {
+			return (Message) in.readObject();
+		}
+	}
+}
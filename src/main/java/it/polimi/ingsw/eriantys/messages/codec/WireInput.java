@@ -0,0 +1,246 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.model.Color;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A reader of the primitives written by a {@link WireOutput}.
+ */
+public class WireInput {
+	private static final Color[] colors = Color.values();
+
+	private final byte[] data;
+	private final int limit;
+	private int position;
+	private final List<String> strings;
+
+	/**
+	 * Constructs a {@link WireInput} reading from the specified portion of an array.
+	 * @param data the array containing the encoded data
+	 * @param offset the index of the first byte to read
+	 * @param length the number of bytes which can be read
+	 */
+	public WireInput(byte[] data, int offset, int length) {
+		this.data = data;
+		this.position = offset;
+		this.limit = offset + length;
+		this.strings = new ArrayList<>();
+	}
+
+	/**
+	 * Reads a single byte.
+	 * @return the byte read, as an unsigned value
+	 * @throws IOException if no byte is left
+	 */
+	public int readByte() throws IOException {
+		if (position >= limit) throw new EOFException("Truncated payload");
+		return data[position++] & 0xFF;
+	}
+
+	/**
+	 * Reads a boolean.
+	 * @return the boolean read
+	 * @throws IOException if the data is truncated
+	 */
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	/**
+	 * Reads a zig-zag varint.
+	 * @return the integer read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public int readInt() throws IOException {
+		return unZigZag(readUnsigned());
+	}
+
+	/**
+	 * Reads an integer which may be {@code null}.
+	 * @return the integer read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public Integer readNullableInt() throws IOException {
+		long value = readUnsigned();
+		return value == 0 ? null : unZigZag(value - 1);
+	}
+
+	/**
+	 * Reads a string which may be {@code null}.
+	 * @return the string read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public String readString() throws IOException {
+		long header = readUnsigned();
+		if (header == 0) return null;
+		if ((header & 1) == 1) {
+			long reference = header >>> 1;
+			if (reference >= strings.size()) throw new IOException("Invalid string reference: " + reference);
+			return strings.get((int) reference);
+		}
+		long length = (header >>> 1) - 1;
+		if (length < 0 || length > limit - position) throw new EOFException("Truncated payload");
+		String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+		position += (int) length;
+		strings.add(value);
+		return value;
+	}
+
+	/**
+	 * Reads an enumeration literal, or {@code null}.
+	 * @param values the literals of the enumeration, sorted by ordinal
+	 * @param <E> the type of the enumeration
+	 * @return the literal read
+	 * @throws IOException if the data is truncated or the ordinal is out of range
+	 */
+	public <E extends Enum<E>> E readEnum(E[] values) throws IOException {
+		long value = readUnsigned();
+		if (value == 0) return null;
+		if (value > values.length) throw new IOException("Invalid ordinal: " + (value - 1));
+		return values[(int) value - 1];
+	}
+
+	/**
+	 * Reads a list of strings which may be {@code null}.
+	 * @return the list read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public List<String> readStringList() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		List<String> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			list.add(readString());
+		return list;
+	}
+
+	/**
+	 * Reads a map from strings to strings which may be {@code null}.
+	 * @return the map read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public Map<String, String> readStringMap() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		Map<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			map.put(readString(), readString());
+		return map;
+	}
+
+	/**
+	 * Reads a map from strings to integers which may be {@code null}.
+	 * @return the map read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public Map<String, Integer> readIntMap() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		Map<String, Integer> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			map.put(readString(), readNullableInt());
+		return map;
+	}
+
+	/**
+	 * Reads a map from strings to lists of strings which may be {@code null}.
+	 * @return the map read
+	 * @throws IOException if the data is truncated or malformed
+	 */
+	public Map<String, List<String>> readStringListMap() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		Map<String, List<String>> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			map.put(readString(), readStringList());
+		return map;
+	}
+
+	/**
+	 * Reads the representation of a student container.
+	 * @return the map read
+	 * @throws IOException if the data is truncated or malformed
+	 * @see WireOutput#writeStudents(Map)
+	 */
+	public Map<String, Integer> readStudents() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		Map<String, Integer> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			map.put(readColor(), readNullableInt());
+		return map;
+	}
+
+	/**
+	 * Reads a map from strings to student container representations.
+	 * @return the map read
+	 * @throws IOException if the data is truncated or malformed
+	 * @see WireOutput#writeStudentsMap(Map)
+	 */
+	public Map<String, Map<String, Integer>> readStudentsMap() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		Map<String, Map<String, Integer>> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			map.put(readString(), readStudents());
+		return map;
+	}
+
+	/**
+	 * Reads a map from {@link Color} literals to strings.
+	 * @return the map read
+	 * @throws IOException if the data is truncated or malformed
+	 * @see WireOutput#writeColorMap(Map)
+	 */
+	public Map<String, String> readColorMap() throws IOException {
+		int size = readSize();
+		if (size < 0) return null;
+		Map<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			map.put(readColor(), readString());
+		return map;
+	}
+
+	/**
+	 * A getter to know if the whole input has been consumed.
+	 * @return {@code true} if and only if no byte is left
+	 */
+	public boolean isExhausted() {
+		return position == limit;
+	}
+
+	private String readColor() throws IOException {
+		int ordinal = readByte();
+		if (ordinal == WireOutput.NOT_A_COLOR) return readString();
+		if (ordinal >= colors.length) throw new IOException("Invalid color: " + ordinal);
+		return colors[ordinal].toString();
+	}
+
+	private int readSize() throws IOException {
+		long size = readUnsigned() - 1;
+		if (size > limit - position) throw new EOFException("Truncated payload");
+		return (int) size;
+	}
+
+	private static int unZigZag(long value) {
+		int bits = (int) value;
+		return (bits >>> 1) ^ -(bits & 1);
+	}
+
+	private long readUnsigned() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+}
@@ -0,0 +1,240 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.model.Color;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A growable buffer which writes the primitives of the binary wire format.
+ * Integers are written as zig-zag varints, colors as ordinals and strings as UTF-8 bytes: a string which has already
+ * been written in the same buffer is replaced by a reference to its first occurrence.
+ * @see WireInput
+ */
+public class WireOutput {
+	/**
+	 * The marker written in place of a color ordinal when a student map contains a key which is not a color.
+	 */
+	static final int NOT_A_COLOR = 0xFF;
+
+	private static final List<Color> colors = List.of(Color.values());
+
+	private byte[] buffer;
+	private int size;
+	private final Map<String, Integer> strings;
+
+	/**
+	 * Constructs an empty {@link WireOutput}.
+	 */
+	public WireOutput() {
+		this.buffer = new byte[256];
+		this.size = 0;
+		this.strings = new HashMap<>();
+	}
+
+	/**
+	 * Writes a single byte.
+	 * @param value the byte to write, in its lowest eight bits
+	 */
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		buffer[size++] = (byte) value;
+	}
+
+	/**
+	 * Writes a boolean as a single byte.
+	 * @param value the boolean to write
+	 */
+	public void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	/**
+	 * Writes an integer as a zig-zag varint, which takes one byte for values between -64 and 63.
+	 * @param value the integer to write
+	 */
+	public void writeInt(int value) {
+		writeUnsigned(zigZag(value));
+	}
+
+	/**
+	 * Writes an integer which may be {@code null}.
+	 * @param value the integer to write
+	 */
+	public void writeNullableInt(Integer value) {
+		writeUnsigned(value == null ? 0 : zigZag(value) + 1);
+	}
+
+	/**
+	 * Writes a string which may be {@code null}.
+	 * @param value the string to write
+	 */
+	public void writeString(String value) {
+		if (value == null) {
+			writeUnsigned(0);
+			return;
+		}
+		Integer reference = strings.get(value);
+		if (reference != null) {
+			writeUnsigned((reference << 1) | 1);
+			return;
+		}
+		strings.put(value, strings.size());
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeUnsigned((bytes.length + 1) << 1);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, size, bytes.length);
+		size += bytes.length;
+	}
+
+	/**
+	 * Writes an enumeration literal as its ordinal, or {@code null}.
+	 * @param value the literal to write
+	 */
+	public void writeEnum(Enum<?> value) {
+		writeUnsigned(value == null ? 0 : value.ordinal() + 1);
+	}
+
+	/**
+	 * Writes a list of strings which may be {@code null}.
+	 * @param list the list to write
+	 */
+	public void writeStringList(List<String> list) {
+		if (writeSize(list == null ? -1 : list.size()))
+			for (String s : list)
+				writeString(s);
+	}
+
+	/**
+	 * Writes a map from strings to strings which may be {@code null}.
+	 * @param map the map to write
+	 */
+	public void writeStringMap(Map<String, String> map) {
+		if (writeSize(map == null ? -1 : map.size()))
+			for (Map.Entry<String, String> e : map.entrySet()) {
+				writeString(e.getKey());
+				writeString(e.getValue());
+			}
+	}
+
+	/**
+	 * Writes a map from strings to integers which may be {@code null}.
+	 * @param map the map to write
+	 */
+	public void writeIntMap(Map<String, Integer> map) {
+		if (writeSize(map == null ? -1 : map.size()))
+			for (Map.Entry<String, Integer> e : map.entrySet()) {
+				writeString(e.getKey());
+				writeNullableInt(e.getValue());
+			}
+	}
+
+	/**
+	 * Writes a map from strings to lists of strings which may be {@code null}.
+	 * @param map the map to write
+	 */
+	public void writeStringListMap(Map<String, List<String>> map) {
+		if (writeSize(map == null ? -1 : map.size()))
+			for (Map.Entry<String, List<String>> e : map.entrySet()) {
+				writeString(e.getKey());
+				writeStringList(e.getValue());
+			}
+	}
+
+	/**
+	 * Writes the representation of a student container, that is a map from {@link Color} literals to the number of
+	 * students of each color, which may be {@code null}. Colors are written as their ordinals.
+	 * @param students the map to write
+	 */
+	public void writeStudents(Map<String, Integer> students) {
+		if (!writeSize(students == null ? -1 : students.size())) return;
+		for (Map.Entry<String, Integer> e : students.entrySet()) {
+			writeColor(e.getKey());
+			writeNullableInt(e.getValue());
+		}
+	}
+
+	/**
+	 * Writes a map from strings to student container representations which may be {@code null}.
+	 * @param map the map to write
+	 * @see #writeStudents(Map)
+	 */
+	public void writeStudentsMap(Map<String, Map<String, Integer>> map) {
+		if (writeSize(map == null ? -1 : map.size()))
+			for (Map.Entry<String, Map<String, Integer>> e : map.entrySet()) {
+				writeString(e.getKey());
+				writeStudents(e.getValue());
+			}
+	}
+
+	/**
+	 * Writes a map from {@link Color} literals to strings which may be {@code null}. Colors are written as their ordinals.
+	 * @param map the map to write
+	 */
+	public void writeColorMap(Map<String, String> map) {
+		if (writeSize(map == null ? -1 : map.size()))
+			for (Map.Entry<String, String> e : map.entrySet()) {
+				writeColor(e.getKey());
+				writeString(e.getValue());
+			}
+	}
+
+	/**
+	 * A getter for the number of bytes written so far.
+	 * @return the size of the written data
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Copies the written data into a new array.
+	 * @return the written data
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, size);
+	}
+
+	private void writeColor(String literal) {
+		int ordinal = colorOrdinal(literal);
+		if (ordinal >= 0) {
+			writeByte(ordinal);
+		} else {
+			writeByte(NOT_A_COLOR);
+			writeString(literal);
+		}
+	}
+
+	private static int colorOrdinal(String literal) {
+		for (Color c : colors)
+			if (c.toString().equals(literal))
+				return c.ordinal();
+		return -1;
+	}
+
+	private boolean writeSize(int size) {
+		writeUnsigned(size + 1);
+		return size >= 0;
+	}
+
+	private static long zigZag(int value) {
+		return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+	}
+
+	private void writeUnsigned(long value) {
+		ensureCapacity(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[size++] = (byte) value;
+	}
+
+	private void ensureCapacity(int extra) {
+		if (size + extra > buffer.length)
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + extra));
+	}
+}
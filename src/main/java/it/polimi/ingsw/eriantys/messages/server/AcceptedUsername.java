@@ -1,6 +1,7 @@
 package it.polimi.ingsw.eriantys.messages.server;
 
 import it.polimi.ingsw.eriantys.messages.client.Handshake;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
 
 /**
  * A message of type {@link Accepted} sent by the server in order to
@@ -8,9 +9,15 @@ import it.polimi.ingsw.eriantys.messages.client.Handshake;
  */
 public class AcceptedUsername extends Accepted {
 	private final String username;
+	private final String codec;
 
 	public AcceptedUsername(String username) {
+		this(username, null);
+	}
+
+	public AcceptedUsername(String username, String codec) {
 		this.username = username;
+		this.codec = codec;
 	}
 
 	/**
@@ -20,4 +27,12 @@ public class AcceptedUsername extends Accepted {
 	public String getUsername() {
 		return username;
 	}
+
+	/**
+	 * A getter for the {@link MessageCodec} chosen by the server among the ones advertised in the {@link Handshake}.
+	 * @return the name of the chosen codec, or {@code null} if the connection does not use codecs
+	 */
+	public String getCodec() {
+		return codec;
+	}
 }
@@ -12,10 +12,18 @@ import java.util.List;
  */
 public class AvailableLobbies extends Message {
 	private final List<GameInfo> lobbies;
+	private final int page;
+	private final int total;
 
 	public AvailableLobbies(List<GameInfo> lobbies) {
+		this(lobbies, 0, lobbies.size());
+	}
+
+	public AvailableLobbies(List<GameInfo> lobbies, int page, int total) {
 		super(Server.name);
 		this.lobbies = lobbies;
+		this.page = page;
+		this.total = total;
 	}
 
 	/**
@@ -25,4 +33,20 @@ public class AvailableLobbies extends Message {
 	public List<GameInfo> getLobbies() {
 		return lobbies;
 	}
+
+	/**
+	 * A getter for the index of the page enclosed in {@code this}, starting from 0.
+	 * @return the page of the lobbies
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * A getter for the number of lobbies matching the request, across all pages.
+	 * @return the total number of matching lobbies
+	 */
+	public int getTotal() {
+		return total;
+	}
 }
@@ -0,0 +1,328 @@
+package it.polimi.ingsw.eriantys.messages.server;
+
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.codec.WireInput;
+import it.polimi.ingsw.eriantys.messages.codec.WireOutput;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A message of type {@link UserActionUpdate} sent by the server in place of a {@link BoardUpdate}, enclosing only the
+ * entries of the {@link BoardStatus} which changed since the previous version of the board.
+ * A client whose board is not at {@link #getBaseVersion()} cannot apply the delta and must ask for a full snapshot.
+ * @see BoardStatus#apply(BoardDelta)
+ */
+public class BoardDelta extends UserActionUpdate {
+	private final int baseVersion;
+	private final int version;
+	private final PhaseName phase;
+
+	private final List<String> players;
+	private final Map<String, Map<String, Integer>> playerEntrances, playerDiningRooms;
+	private final Map<String, String> playerTowerColors;
+	private final Map<String, Integer> playerTowers, playerCoins;
+
+	private final List<String> islands;
+	private final Map<String, Integer> islandSizes;
+	private final Map<String, Map<String, Integer>> islandStudents;
+	private final Map<String, String> islandControllers;
+	private final String motherNatureIsland;
+	private final Map<String, Integer> islandNoEntryTiles;
+
+	private final Map<String, Map<String, Integer>> cloudTiles;
+	private final Map<String, String> professors;
+
+	private final Map<String, Integer> characterCardsCost;
+	private final Map<String, Map<String, Integer>> characterCardsStudents;
+	private final Map<String, Integer> characterCardsNoEntryTiles;
+
+	/**
+	 * Constructs the delta between two versions of the board.
+	 * @param previous the status of the board at {@code baseVersion}
+	 * @param current the status of the board at {@code version}
+	 * @param baseVersion the version of the board the delta applies to
+	 * @param version the version of the board obtained by applying the delta
+	 * @param phase the phase name which prompts an information message to the UI, or {@code null}
+	 */
+	public BoardDelta(BoardStatus previous, BoardStatus current, int baseVersion, int version, PhaseName phase) {
+		super();
+		this.baseVersion = baseVersion;
+		this.version = version;
+		this.phase = phase;
+
+		this.players = Objects.equals(previous.getPlayers(), current.getPlayers()) ? null : current.getPlayers();
+		this.playerEntrances = changes(previous.getPlayerEntrances(), current.getPlayerEntrances());
+		this.playerDiningRooms = changes(previous.getPlayerDiningRooms(), current.getPlayerDiningRooms());
+		this.playerTowerColors = changes(previous.getPlayerTowerColors(), current.getPlayerTowerColors());
+		this.playerTowers = changes(previous.getPlayerTowers(), current.getPlayerTowers());
+		this.playerCoins = changes(previous.getPlayerCoins(), current.getPlayerCoins());
+
+		this.islands = Objects.equals(previous.getIslands(), current.getIslands()) ? null : current.getIslands();
+		this.islandSizes = changes(previous.getIslandSizes(), current.getIslandSizes());
+		this.islandStudents = changes(previous.getIslandStudents(), current.getIslandStudents());
+		this.islandControllers = changes(previous.getIslandControllers(), current.getIslandControllers());
+		this.motherNatureIsland = Objects.equals(previous.getMotherNatureIsland(), current.getMotherNatureIsland())
+				? null : current.getMotherNatureIsland();
+		this.islandNoEntryTiles = changes(previous.getIslandNoEntryTiles(), current.getIslandNoEntryTiles());
+
+		this.cloudTiles = changes(previous.getCloudTiles(), current.getCloudTiles());
+		this.professors = changes(previous.getProfessors(), current.getProfessors());
+
+		this.characterCardsCost = changes(previous.getCharacterCardsCost(), current.getCharacterCardsCost());
+		this.characterCardsStudents = changes(previous.getCharacterCardsStudents(), current.getCharacterCardsStudents());
+		this.characterCardsNoEntryTiles =
+				changes(previous.getCharacterCardsNoEntryTiles(), current.getCharacterCardsNoEntryTiles());
+	}
+
+	private BoardDelta(WireInput in) throws IOException {
+		super();
+		this.baseVersion = in.readInt();
+		this.version = in.readInt();
+		this.phase = in.readEnum(PhaseName.values());
+
+		this.players = in.readStringList();
+		this.playerEntrances = in.readStudentsMap();
+		this.playerDiningRooms = in.readStudentsMap();
+		this.playerTowerColors = in.readStringMap();
+		this.playerTowers = in.readIntMap();
+		this.playerCoins = in.readIntMap();
+
+		this.islands = in.readStringList();
+		this.islandSizes = in.readIntMap();
+		this.islandStudents = in.readStudentsMap();
+		this.islandControllers = in.readStringMap();
+		this.motherNatureIsland = in.readString();
+		this.islandNoEntryTiles = in.readIntMap();
+
+		this.cloudTiles = in.readStudentsMap();
+		this.professors = in.readColorMap();
+
+		this.characterCardsCost = in.readIntMap();
+		this.characterCardsStudents = in.readStudentsMap();
+		this.characterCardsNoEntryTiles = in.readIntMap();
+	}
+
+	/**
+	 * Collects the entries of {@code current} which are missing from {@code previous} or differ from it.
+	 * @param previous the map before the changes
+	 * @param current the map after the changes
+	 * @param <V> the type of the values
+	 * @return the changed entries, which may include {@code null} values
+	 */
+	private static <V> Map<String, V> changes(Map<String, V> previous, Map<String, V> current) {
+		Map<String, V> changes = new LinkedHashMap<>();
+		if (current == null) return changes;
+		for (Map.Entry<String, V> e : current.entrySet())
+			if (previous == null || !previous.containsKey(e.getKey())
+					|| !Objects.equals(previous.get(e.getKey()), e.getValue()))
+				changes.put(e.getKey(), e.getValue());
+		return changes;
+	}
+
+	/**
+	 * Writes {@code this}, except for the next player, in the binary wire format.
+	 * @param out the destination buffer
+	 */
+	public void write(WireOutput out) {
+		out.writeInt(baseVersion);
+		out.writeInt(version);
+		out.writeEnum(phase);
+
+		out.writeStringList(players);
+		out.writeStudentsMap(playerEntrances);
+		out.writeStudentsMap(playerDiningRooms);
+		out.writeStringMap(playerTowerColors);
+		out.writeIntMap(playerTowers);
+		out.writeIntMap(playerCoins);
+
+		out.writeStringList(islands);
+		out.writeIntMap(islandSizes);
+		out.writeStudentsMap(islandStudents);
+		out.writeStringMap(islandControllers);
+		out.writeString(motherNatureIsland);
+		out.writeIntMap(islandNoEntryTiles);
+
+		out.writeStudentsMap(cloudTiles);
+		out.writeColorMap(professors);
+
+		out.writeIntMap(characterCardsCost);
+		out.writeStudentsMap(characterCardsStudents);
+		out.writeIntMap(characterCardsNoEntryTiles);
+	}
+
+	/**
+	 * Reads a {@link BoardDelta} written in the binary wire format.
+	 * @param in the source buffer
+	 * @return the delta read
+	 * @throws IOException if the data is truncated or malformed
+	 * @see #write(WireOutput)
+	 */
+	public static BoardDelta read(WireInput in) throws IOException {
+		return new BoardDelta(in);
+	}
+
+	/**
+	 * A getter for the version of the board which the delta applies to.
+	 * @return the base version
+	 */
+	public int getBaseVersion() {
+		return baseVersion;
+	}
+
+	/**
+	 * A getter for the version of the board obtained by applying the delta.
+	 * @return the resulting version
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * A getter for the phase name which prompts an information message to the UI.
+	 * @return the phase name, or {@code null} if no message should be shown following the receiving of {@code this}
+	 */
+	public PhaseName getPhase() {
+		return phase;
+	}
+
+	/**
+	 * A getter for the new turn order.
+	 * @return the nicknames of the users following the new turn order, or {@code null} if it did not change
+	 */
+	public List<String> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * A getter for the changed entrances.
+	 * @return the changed entrances, mapped by nickname
+	 */
+	public Map<String, Map<String, Integer>> getPlayerEntrances() {
+		return playerEntrances;
+	}
+
+	/**
+	 * A getter for the changed dining rooms.
+	 * @return the changed dining rooms, mapped by nickname
+	 */
+	public Map<String, Map<String, Integer>> getPlayerDiningRooms() {
+		return playerDiningRooms;
+	}
+
+	/**
+	 * A getter for the changed tower colors.
+	 * @return the changed tower colors, mapped by nickname
+	 */
+	public Map<String, String> getPlayerTowerColors() {
+		return playerTowerColors;
+	}
+
+	/**
+	 * A getter for the changed numbers of towers.
+	 * @return the changed numbers of towers, mapped by nickname
+	 */
+	public Map<String, Integer> getPlayerTowers() {
+		return playerTowers;
+	}
+
+	/**
+	 * A getter for the changed numbers of coins.
+	 * @return the changed numbers of coins, mapped by nickname
+	 */
+	public Map<String, Integer> getPlayerCoins() {
+		return playerCoins;
+	}
+
+	/**
+	 * A getter for the new island identifiers, which change whenever two islands are merged.
+	 * @return the identifiers of the islands, or {@code null} if they did not change
+	 */
+	public List<String> getIslands() {
+		return islands;
+	}
+
+	/**
+	 * A getter for the changed island sizes.
+	 * @return the changed island sizes, mapped by island identifier
+	 */
+	public Map<String, Integer> getIslandSizes() {
+		return islandSizes;
+	}
+
+	/**
+	 * A getter for the changed students on the islands.
+	 * @return the changed students on the islands, mapped by island identifier
+	 */
+	public Map<String, Map<String, Integer>> getIslandStudents() {
+		return islandStudents;
+	}
+
+	/**
+	 * A getter for the changed island controllers.
+	 * @return the changed island controllers, mapped by island identifier
+	 */
+	public Map<String, String> getIslandControllers() {
+		return islandControllers;
+	}
+
+	/**
+	 * A getter for the island on which Mother Nature has been moved.
+	 * @return the identifier of the island, or {@code null} if Mother Nature did not move
+	 */
+	public String getMotherNatureIsland() {
+		return motherNatureIsland;
+	}
+
+	/**
+	 * A getter for the changed numbers of no-entry tiles on the islands.
+	 * @return the changed numbers of no-entry tiles, mapped by island identifier
+	 */
+	public Map<String, Integer> getIslandNoEntryTiles() {
+		return islandNoEntryTiles;
+	}
+
+	/**
+	 * A getter for the changed cloud tiles.
+	 * @return the changed cloud tiles, mapped by tile identifier
+	 */
+	public Map<String, Map<String, Integer>> getCloudTiles() {
+		return cloudTiles;
+	}
+
+	/**
+	 * A getter for the professors whose owner changed.
+	 * @return the new owners, mapped by professor color
+	 */
+	public Map<String, String> getProfessors() {
+		return professors;
+	}
+
+	/**
+	 * A getter for the changed costs of the character cards.
+	 * @return the changed costs, mapped by card name
+	 */
+	public Map<String, Integer> getCharacterCardsCost() {
+		return characterCardsCost;
+	}
+
+	/**
+	 * A getter for the changed students on the character cards.
+	 * @return the changed students, mapped by card name
+	 */
+	public Map<String, Map<String, Integer>> getCharacterCardsStudents() {
+		return characterCardsStudents;
+	}
+
+	/**
+	 * A getter for the changed numbers of no-entry tiles on the character cards.
+	 * @return the changed numbers of no-entry tiles, mapped by card name
+	 */
+	public Map<String, Integer> getCharacterCardsNoEntryTiles() {
+		return characterCardsNoEntryTiles;
+	}
+}
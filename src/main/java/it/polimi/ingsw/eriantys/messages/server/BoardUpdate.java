@@ -8,22 +8,37 @@ import it.polimi.ingsw.eriantys.model.GameManager;
 /**
  * A message of type {@link UserActionUpdate} sent by the server in order to
  * enclose the status of the {@link Board} of the game following a player action.
+ * Each update carries the version of the board it represents, which the clients use to apply later {@link BoardDelta}s.
  * @see BoardStatus
  */
 public class BoardUpdate extends UserActionUpdate {
 	private final BoardStatus status;
 	private final PhaseName phase;
+	private final int version;
 
 	public BoardUpdate(GameManager gm) {
 		super();
 		this.status = new BoardStatus(gm);
 		this.phase = null;
+		this.version = 0;
 	}
 
 	public BoardUpdate(GameManager gm, PhaseName phase) {
 		super();
 		this.status = new BoardStatus(gm);
 		this.phase = phase;
+		this.version = 0;
+	}
+
+	public BoardUpdate(BoardStatus status, PhaseName phase) {
+		this(status, phase, 0);
+	}
+
+	public BoardUpdate(BoardStatus status, PhaseName phase, int version) {
+		super();
+		this.status = status;
+		this.phase = phase;
+		this.version = version;
 	}
 
 	/**
@@ -41,4 +56,12 @@ public class BoardUpdate extends UserActionUpdate {
 	public PhaseName getPhase() {
 		return phase;
 	}
+
+	/**
+	 * A getter for the version of the board enclosed in {@code this}.
+	 * @return the version of the board, or {@code 0} if it is not tracked
+	 */
+	public int getVersion() {
+		return version;
+	}
 }
@@ -12,10 +12,20 @@ import it.polimi.ingsw.eriantys.server.Server;
  */
 public class InitialBoardStatus extends Message {
 	private final BoardStatus status;
+	private final int version;
 
 	public InitialBoardStatus(GameManager gm) {
+		this(new BoardStatus(gm), 0);
+	}
+
+	public InitialBoardStatus(BoardStatus status) {
+		this(status, 0);
+	}
+
+	public InitialBoardStatus(BoardStatus status, int version) {
 		super(Server.name);
-		this.status = new BoardStatus(gm);
+		this.status = status;
+		this.version = version;
 	}
 
 	/**
@@ -25,4 +35,12 @@ public class InitialBoardStatus extends Message {
 	public BoardStatus getStatus() {
 		return status;
 	}
+
+	/**
+	 * A getter for the version of the board enclosed in {@code this}.
+	 * @return the version of the board, or {@code 0} if it is not tracked
+	 */
+	public int getVersion() {
+		return version;
+	}
 }
@@ -0,0 +1,46 @@
+package it.polimi.ingsw.eriantys.messages.server;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.client.LobbiesSubscription;
+import it.polimi.ingsw.eriantys.server.Server;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A {@link Message} sent by the server to the clients which sent a {@link LobbiesSubscription}, enclosing the changes
+ * of the lobbies since the previous batch. Applying an event twice has no further effect, so that a batch can be
+ * applied on top of an {@link AvailableLobbies} snapshot which already includes some of its changes.
+ */
+public class LobbyEvents extends Message {
+	/**
+	 * The kinds of change of a lobby.
+	 */
+	public enum Type {
+		ADDED, CHANGED, REMOVED
+	}
+
+	/**
+	 * A change of a single lobby.
+	 * @param type the kind of change
+	 * @param gameId the identifier of the game
+	 * @param info the new information of the lobby, or {@code null} if it has been removed
+	 */
+	public record Event(Type type, int gameId, GameInfo info) implements Serializable {}
+
+	private final List<Event> events;
+
+	public LobbyEvents(List<Event> events) {
+		super(Server.name);
+		this.events = events;
+	}
+
+	/**
+	 * A getter for the changes of the lobbies, in the order in which they happened.
+	 * @return the events of the batch
+	 */
+	public List<Event> getEvents() {
+		return events;
+	}
+}
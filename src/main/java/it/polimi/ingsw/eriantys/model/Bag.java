@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * This class models the actual bag in the board game, which initially contains all the students discs.
@@ -14,14 +16,41 @@ public class Bag extends StudentContainer {
 	private static final int MAX_STUDENTS_PER_COLOR = 26;
 
 	/**
-	 * Constructs an empty {@code Bag}, then fills it with 26 students for each color, 130 total.
+	 * The generator driving every draw from the bag.
+	 */
+	private final RandomGenerator random;
+
+	/**
+	 * Constructs an empty {@code Bag} drawing through an unseeded generator, then fills it with 26 students for each
+	 * color, 130 total.
 	 * @see StudentContainer#fill()
 	 */
 	public Bag() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Constructs an empty {@code Bag} drawing through the specified generator, then fills it with 26 students for each
+	 * color, 130 total.
+	 * @param random the generator of the game, which makes the draws reproducible if seeded
+	 * @see StudentContainer#fill()
+	 */
+	public Bag(RandomGenerator random) {
 		super();
+		this.random = random;
 		fill();
 	}
 
+	/**
+	 * Constructs a copy of the specified {@code Bag}, with the same students, drawing through the specified generator.
+	 * @param source the bag to be copied
+	 * @param random the generator of the game which the copy belongs to
+	 */
+	Bag(Bag source, RandomGenerator random) {
+		super(source);
+		this.random = random;
+	}
+
 	/**
 	 * Sets up the islands at the start of the game.
 	 * @return a list containing two students of each {@link Color} in random order
@@ -30,7 +59,8 @@ public class Bag extends StudentContainer {
 	public List<Color> setupDraw() {
 		List<Color> colors = new ArrayList<>(Arrays.asList(Color.values()));
 		colors.addAll(Arrays.asList(Color.values()));
-		Collections.shuffle(colors);
+		for (int i = colors.size() - 1; i > 0; i--)
+			Collections.swap(colors, i, random.nextInt(i + 1));
 
 		return colors;
 	}
@@ -43,6 +73,14 @@ public class Bag extends StudentContainer {
 		return super.empty();
 	}
 
+	/**
+	 * Returns the generator of the game, which drives every draw from the {@code Bag}.
+	 */
+	@Override
+	protected RandomGenerator random() {
+		return random;
+	}
+
 	/**
 	 * Returns the remaining capacity of the container for the specified {@link Color}, an integer between 0 and
 	 * {@link Bag#MAX_STUDENTS_PER_COLOR}, or {@code -1} if {@code color} is {@code null}.
@@ -8,6 +8,7 @@ import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
  * This class contains the game objects that every player can interact with.
@@ -29,10 +30,31 @@ public class Board {
 	private final List<IslandGroup> islands;
 
 	/**
-	 * The index of the island where the Mother Nature pawn is currently located.
-	 * It should always be an integer between 0 and the current value of {@code islands.size()}.
+	 * The parent of each single island in the union-find forest of the island groups, ordered by identifier.
+	 * Every group is a tree whose root is one of its single islands.
 	 */
-	private int motherNatureIslandIndex;
+	private final int[] parents;
+
+	/**
+	 * The number of single islands in the group rooted in each single island, only meaningful for the roots.
+	 */
+	private final int[] groupSizes;
+
+	/**
+	 * The {@link IslandGroup} made up by the group rooted in each single island, only meaningful for the roots.
+	 */
+	private final IslandGroup[] groups;
+
+	/**
+	 * The index within the {@code islands} list of the group rooted in each single island, only meaningful for the roots.
+	 */
+	private final int[] groupIndexes;
+
+	/**
+	 * The index of the single island where the Mother Nature pawn is currently located, whose group is the island
+	 * where Mother Nature is found. It should always be an integer between 0 and 11, or -1 before the setup.
+	 */
+	private int motherNatureSingleIsland;
 
 	/**
 	 * The bag initially containing all the student discs, which are then moved around between the islands,
@@ -46,27 +68,87 @@ public class Board {
 	 */
 	private final StudentContainer[] cloudTiles;
 
+	/**
+	 * The generator driving the random choices of the game.
+	 */
+	private final RandomGenerator random;
+
 	private Consumer<Integer> returnTile;
 
 	/**
-	 * Constructs a {@code Board}, initializing the islands, bag and cloud tiles.
+	 * Constructs a {@code Board}, initializing the islands, bag and cloud tiles, whose random choices are driven by an
+	 * unseeded generator.
 	 * The number and capacity of the cloud tiles are constants in {@link GameManager}.
 	 * @param cloudNumber the number of cloud tiles to be instantiated
 	 * @param cloudSize the size of each cloud tile
 	 */
 	public Board(int cloudNumber, int cloudSize) {
+		this(cloudNumber, cloudSize, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a {@code Board}, initializing the islands, bag and cloud tiles.
+	 * The number and capacity of the cloud tiles are constants in {@link GameManager}.
+	 * @param cloudNumber the number of cloud tiles to be instantiated
+	 * @param cloudSize the size of each cloud tile
+	 * @param random the generator driving the random choices of the game, shared with the bag
+	 */
+	public Board(int cloudNumber, int cloudSize, RandomGenerator random) {
 		this.islands = new ArrayList<>();
 		for (int i = 0; i < NUMBER_OF_ISLANDS; i++)
 			islands.add(new IslandGroup(String.format("%02d", i+1)));
 
-		this.bag = new Bag();
-		this.motherNatureIslandIndex = -1;
+		this.parents = new int[NUMBER_OF_ISLANDS];
+		this.groupSizes = new int[NUMBER_OF_ISLANDS];
+		this.groups = new IslandGroup[NUMBER_OF_ISLANDS];
+		this.groupIndexes = new int[NUMBER_OF_ISLANDS];
+		for (int i = 0; i < NUMBER_OF_ISLANDS; i++) {
+			parents[i] = i;
+			groupSizes[i] = 1;
+			groups[i] = islands.get(i);
+			groupIndexes[i] = i;
+		}
+
+		this.random = random;
+		this.bag = new Bag(random);
+		this.motherNatureSingleIsland = -1;
 
 		this.cloudTiles = new StudentContainer[cloudNumber];
 		for (int i = 0; i < cloudNumber; i++)
 			cloudTiles[i] = new StudentContainer(cloudSize);
 	}
 
+	/**
+	 * Constructs a copy of the specified {@code Board}, with copies of its islands, bag and cloud tiles.
+	 * The no-entry tiles are not returned to any card until the copy of the {@link HerbGranny} binds itself to the copy.
+	 * @param source the board to be copied
+	 * @param players the players of the game which the copy belongs to, controlling the copied islands
+	 * @param random the generator of the game which the copy belongs to, shared with the bag
+	 */
+	Board(Board source, PlayerList players, RandomGenerator random) {
+		this.islands = new ArrayList<>(source.islands.size());
+		for (IslandGroup island : source.islands) {
+			Player controller = island.getController();
+			islands.add(new IslandGroup(island, controller == null ? null : players.get(controller.getNickname())));
+		}
+
+		this.parents = source.parents.clone();
+		this.groupSizes = source.groupSizes.clone();
+		this.groupIndexes = source.groupIndexes.clone();
+		this.groups = new IslandGroup[NUMBER_OF_ISLANDS];
+		for (int i = 0; i < NUMBER_OF_ISLANDS; i++)
+			if (parents[i] == i)
+				groups[i] = islands.get(groupIndexes[i]);
+
+		this.random = random;
+		this.bag = new Bag(source.bag, random);
+		this.motherNatureSingleIsland = source.motherNatureSingleIsland;
+
+		this.cloudTiles = new StudentContainer[source.cloudTiles.length];
+		for (int i = 0; i < cloudTiles.length; i++)
+			cloudTiles[i] = new StudentContainer(source.cloudTiles[i]);
+	}
+
 	/**
 	 * Returns the {@link IslandGroup} whose {@code id} matches the specified one.
 	 * @param id the requested island's identifier
@@ -89,15 +171,34 @@ public class Board {
 		return islands.size();
 	}
 
+	/**
+	 * A getter for the {@link IslandGroup} at the specified position.
+	 * @param index the index of the island, between 0 and {@link #getIslandNumber()} (excluded)
+	 * @return the {@link IslandGroup} at position {@code index}
+	 */
+	IslandGroup getIsland(int index) {
+		return islands.get(index);
+	}
+
+	/**
+	 * A getter for the position of the {@link IslandGroup} where Mother Nature is currently located.
+	 * @return the index of the island of Mother Nature, or -1 if Mother Nature has not been deployed yet
+	 */
+	int getMotherNatureIslandIndex() {
+		if (motherNatureSingleIsland == -1)
+			return -1;
+		return groupIndexes[find(motherNatureSingleIsland)];
+	}
+
 	/**
 	 * A getter for the {@link IslandGroup} where Mother Nature is currently located.
 	 * @return the {@link IslandGroup} where Mother Nature is currently located,
 	 * or {@code null} if Mother Nature has not been deployed yet
 	 */
 	public IslandGroup getMotherNatureIsland() {
-		if (motherNatureIslandIndex == -1)
+		if (motherNatureSingleIsland == -1)
 			return null;
-		return islands.get(motherNatureIslandIndex);
+		return groups[find(motherNatureSingleIsland)];
 	}
 
 	/**
@@ -127,12 +228,12 @@ public class Board {
 	 * @see Bag#setupDraw()
 	 */
 	public void setup() throws InvalidArgumentException, NoMovementException {
-		motherNatureIslandIndex = new Random().nextInt(NUMBER_OF_ISLANDS);
+		motherNatureSingleIsland = random.nextInt(NUMBER_OF_ISLANDS);
 
 		List<Color> colors = bag.setupDraw();
 
 		for (int i = 0; i < NUMBER_OF_ISLANDS; i++)
-			if (i != motherNatureIslandIndex && i != (motherNatureIslandIndex + 6) % 12)
+			if (i != motherNatureSingleIsland && i != (motherNatureSingleIsland + 6) % 12)
 				bag.moveTo(islands.get(i), colors.remove(0));
 	}
 
@@ -158,6 +259,23 @@ public class Board {
 		cloud.moveAllTo(recipient.getEntrance());
 	}
 
+	/**
+	 * Returns {@code true} if and only if the cloud tile at the specified index holds no students.
+	 * @param cloudIndex the index of the cloud tile
+	 * @return {@code true} if and only if the cloud tile is empty
+	 */
+	boolean isCloudEmpty(int cloudIndex) {
+		return cloudTiles[cloudIndex].empty();
+	}
+
+	/**
+	 * A getter for the number of cloud tiles.
+	 * @return the number of cloud tiles on the board
+	 */
+	int getCloudNumber() {
+		return cloudTiles.length;
+	}
+
 	/**
 	 * Returns {@code true} if and only if {@code destination} is a valid island,
 	 * in which case the Mother Nature pawn is placed on the specified island.
@@ -165,12 +283,12 @@ public class Board {
 	 * @return {@code true} if and only if {@code destination} is a valid island
 	 */
 	public boolean moveMotherNature(IslandGroup destination) {
-		int destinationIndex = islands.indexOf(destination);
+		int destinationIndex = destination == null ? -1 : getIslandIndex(destination.getId());
 
 		if (destinationIndex == -1)
 			return false;
 
-		motherNatureIslandIndex = destinationIndex;
+		motherNatureSingleIsland = singleIslandIndex(islands.get(destinationIndex).getFirstComponent());
 		return true;
 	}
 
@@ -211,55 +329,36 @@ public class Board {
 		if (target == null)
 			throw new InvalidArgumentException("target argument is null");	// this should not happen
 
-		int targetIndex = islands.indexOf(target);
+		int targetIndex = getIslandIndex(target.getId());
 		if (targetIndex == -1)
 			throw new IslandNotFoundException("Requested id: " + target.getId());	// this should not happen
 
-		IslandGroup motherNatureIsland = islands.get(motherNatureIslandIndex);
-
-		// Expected number of islands after unification
-		int size = islands.size();
-
-		IslandGroup prev = islands.get(previousIndex(targetIndex, size));
-		IslandGroup next = islands.get(nextIndex(targetIndex, size));
-
-		Integer finalIndex = null;
-		IslandGroup newIsland = target;
-		IslandGroup tempIsland;
+		IslandGroup newIsland = islands.get(targetIndex);
+		int newIndex = targetIndex;
+		// the lowest index among the removed groups, since the groups before it keep their indexes
+		int firstShifted = targetIndex;
 
-		tempIsland = tryMerge(prev, target);
-		if (tempIsland != null) {
-			size--;
-			finalIndex = previousIndex(targetIndex, size);
-			newIsland = tempIsland;
+		int prevIndex = previousIndex(targetIndex, islands.size());
+		if (tryMerge(islands.get(prevIndex), newIsland)) {
+			islands.remove(targetIndex);
+			newIndex = prevIndex < targetIndex ? prevIndex : prevIndex - 1;
+			newIsland = islands.get(newIndex);
 		}
 
-		tempIsland = tryMerge(newIsland, next);
-		if (tempIsland != null) {
-			size--;
-			// avoid index out of bounds caused by the resizing of islands
-			finalIndex = Math.min(finalIndex == null ? targetIndex : finalIndex, size - 1);
-			newIsland = tempIsland;
-		}
-
-		if (newIsland != target) {
-			islands.add(finalIndex, newIsland);
+		int nextIndex = nextIndex(newIndex, islands.size());
+		if (nextIndex != newIndex && tryMerge(newIsland, islands.get(nextIndex))) {
+			islands.remove(nextIndex);
+			firstShifted = Math.min(firstShifted, nextIndex);
 		}
 
 		/*
-			1. MN is placed before the islands to unify: MN island index is not affected by merge
-			2. MN is placed after the islands to unify: MN island index is shifted back by a unit
-			3. MN is placed on the left island to unify: MN island index is not affected by merge
-			4. MN is placed on the right island to unify: MN island index is shifted back by a unit
-			5. The islands to unify are like "12" and "01": MN island index is shifted back by a unit
+			Mother Nature stays on the same single island, so she is found on the merged group if she was on any of
+			the groups being merged, and the merged group is placed where the first of them was, except when the merge
+			wraps around the end of the list, like "12" and "01": then it is placed at the end and all the others are
+			shifted back by a unit
 		*/
-
-		// Place Mother Nature on the same island as before
-		motherNatureIslandIndex = islands.stream()
-				.filter(i -> i.getId().contains(motherNatureIsland.getId()))
-				.map(islands::indexOf)
-				.findAny()
-				.orElse(-1);
+		for (int i = firstShifted; i < islands.size(); i++)
+			groupIndexes[rootOf(islands.get(i))] = i;
 	}
 
 	/**
@@ -269,9 +368,9 @@ public class Board {
 	 * the island where it is currently placed to the {@code target} island
 	 */
 	public int getDistanceFromMotherNature(IslandGroup target) {
-		int targetIndex = islands.indexOf(target);
+		int targetIndex = target == null ? -1 : getIslandIndex(target.getId());
 		if (targetIndex == -1) return -1;
-		int diff = targetIndex - motherNatureIslandIndex;
+		int diff = targetIndex - groupIndexes[find(motherNatureSingleIsland)];
 		return diff < 0 ? diff + islands.size() : diff;
 	}
 
@@ -303,42 +402,91 @@ public class Board {
 
 	/**
 	 * A getter for the index of the island with the specified {@code id} within the {@code islands} list.
+	 * The group is found through the first of its single islands, then its identifier is checked.
 	 * @param id the requested island's identifier
 	 * @return the index of the island with the specified {@code id} within the {@code islands} list,
 	 * or -1 if no such island can be found
 	 */
-	private int getIslandIndex(String id) {
-		if (id == null)
+	int getIslandIndex(String id) {
+		int singleIsland = singleIslandIndex(id);
+		if (singleIsland == -1)
 			return -1;
 
-		for (int i = 0; i < islands.size(); i++)
-			if (islands.get(i).getId().equals(id))
-				return i;
+		int root = find(singleIsland);
+		if (!groups[root].getId().equals(id))
+			return -1;
+		return groupIndexes[root];
+	}
 
-		return -1;
+	/**
+	 * Parses the first single island of the specified identifier, such as 11 for {@code "11-12-01"}.
+	 * @param id the identifier of a single island or of a group
+	 * @return the index of the first single island, between 0 and 11, or -1 if {@code id} is not well-formed
+	 */
+	private static int singleIslandIndex(String id) {
+		if (id == null || id.length() < 2 || (id.length() > 2 && id.charAt(2) != '-'))
+			return -1;
+
+		int tens = id.charAt(0) - '0', units = id.charAt(1) - '0';
+		if (tens < 0 || tens > 9 || units < 0 || units > 9)
+			return -1;
+
+		int index = tens * 10 + units - 1;
+		return index >= 0 && index < NUMBER_OF_ISLANDS ? index : -1;
+	}
+
+	/**
+	 * Returns the root of the group containing the specified single island, halving the path to it.
+	 * @param singleIsland the index of the single island
+	 * @return the index of the single island which is the root of its group
+	 */
+	private int find(int singleIsland) {
+		while (parents[singleIsland] != singleIsland) {
+			parents[singleIsland] = parents[parents[singleIsland]];
+			singleIsland = parents[singleIsland];
+		}
+		return singleIsland;
+	}
+
+	/**
+	 * Returns the root of the specified group.
+	 * @param island the island group
+	 * @return the index of the single island which is the root of the group
+	 */
+	private int rootOf(IslandGroup island) {
+		return find(singleIslandIndex(island.getFirstComponent()));
 	}
 
 	/**
-	 * Merges {@code target} and {@code neighbor} and returns the resulting {@link IslandGroup},
-	 * or returns {@code null} if the islands are controlled by different players and cannot be merged.
-	 * @param target the first of the islands to merge
-	 * @param neighbor the second of the islands to merge
-	 * @return the {@link IslandGroup} resulting from merging {@code target} and {@code neighbor}, or {@code null} if the
-	 * operation cannot be completed
+	 * Merges {@code neighbor} into {@code target}, which comes first in the order of the islands, and joins their trees.
+	 * The groups are not merged if they are controlled by different players.
+	 * @param target the first of the islands to merge, which is kept
+	 * @param neighbor the second of the islands to merge, which is discarded
+	 * @return {@code true} if and only if the islands have been merged
 	 */
-	private IslandGroup tryMerge(IslandGroup target, IslandGroup neighbor) {
-		IslandGroup newIsland;
+	private boolean tryMerge(IslandGroup target, IslandGroup neighbor) {
+		int targetRoot = rootOf(target), neighborRoot = rootOf(neighbor);
+		if (targetRoot == neighborRoot)
+			return false;
 
 		try {
-			newIsland = IslandGroup.merge(target, neighbor);
+			target.absorb(neighbor);
 		} catch (IncompatibleControllersException e) {
-			return null;
+			return false;
 		}
 
-		islands.remove(target);
-		islands.remove(neighbor);
+		// union by size, so that the trees stay shallow
+		int root = targetRoot, child = neighborRoot;
+		if (groupSizes[root] < groupSizes[child]) {
+			root = neighborRoot;
+			child = targetRoot;
+		}
+		parents[child] = root;
+		groupSizes[root] += groupSizes[child];
+		groups[root] = target;
+		groupIndexes[root] = groupIndexes[targetRoot];
 
-		return newIsland;
+		return true;
 	}
 
 	private int previousIndex(int index, int size) {
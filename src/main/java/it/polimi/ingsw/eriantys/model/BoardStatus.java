@@ -1,10 +1,15 @@
 package it.polimi.ingsw.eriantys.model;
 
 import it.polimi.ingsw.eriantys.controller.Game;
+import it.polimi.ingsw.eriantys.messages.codec.WireInput;
+import it.polimi.ingsw.eriantys.messages.codec.WireOutput;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
 import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +36,99 @@ public class BoardStatus implements Serializable {
 		this.charactersInfo = new CharacterCardsInfo();
 	}
 
+	private BoardStatus(WireInput in) throws IOException {
+		this.gm = null;
+		this.playersInfo = new PlayersInfo(in);
+		this.islandsInfo = new IslandsInfo(in);
+		this.cloudTiles = in.readStudentsMap();
+		this.professors = in.readColorMap();
+		this.charactersInfo = new CharacterCardsInfo(in);
+	}
+
+	private BoardStatus(PlayersInfo playersInfo, IslandsInfo islandsInfo, Map<String, Map<String, Integer>> cloudTiles,
+						Map<String, String> professors, CharacterCardsInfo charactersInfo) {
+		this.gm = null;
+		this.playersInfo = playersInfo;
+		this.islandsInfo = islandsInfo;
+		this.cloudTiles = cloudTiles;
+		this.professors = professors;
+		this.charactersInfo = charactersInfo;
+	}
+
+	/**
+	 * Builds the status obtained by applying the specified {@link BoardDelta} to {@code this}, which is left unchanged.
+	 * The caller is responsible for checking that the delta has been computed against the version of {@code this}.
+	 * @param delta the changes to apply
+	 * @return the updated status
+	 */
+	public BoardStatus apply(BoardDelta delta) {
+		List<String> players = delta.getPlayers() != null ? delta.getPlayers() : playersInfo.players;
+		PlayersInfo newPlayersInfo = new PlayersInfo(players,
+				merge(players, playersInfo.playerEntrances, delta.getPlayerEntrances()),
+				merge(players, playersInfo.playerDiningRooms, delta.getPlayerDiningRooms()),
+				merge(players, playersInfo.playerTowerColors, delta.getPlayerTowerColors()),
+				merge(players, playersInfo.playerTowers, delta.getPlayerTowers()),
+				merge(players, playersInfo.playerCoins, delta.getPlayerCoins()));
+
+		List<String> islands = delta.getIslands() != null ? delta.getIslands() : islandsInfo.islands;
+		IslandsInfo newIslandsInfo = new IslandsInfo(islands,
+				merge(islands, islandsInfo.islandSizes, delta.getIslandSizes()),
+				merge(islands, islandsInfo.islandStudents, delta.getIslandStudents()),
+				merge(islands, islandsInfo.islandControllers, delta.getIslandControllers()),
+				delta.getMotherNatureIsland() != null ? delta.getMotherNatureIsland() : islandsInfo.motherNatureIsland,
+				merge(islands, islandsInfo.islandNoEntryTiles, delta.getIslandNoEntryTiles()));
+
+		List<String> characters = charactersInfo.characterCards;
+		CharacterCardsInfo newCharactersInfo = new CharacterCardsInfo(characters,
+				merge(characters, charactersInfo.characterCardsCost, delta.getCharacterCardsCost()),
+				merge(characters, charactersInfo.characterCardsStudents, delta.getCharacterCardsStudents()),
+				merge(characters, charactersInfo.characterCardsNoEntryTiles, delta.getCharacterCardsNoEntryTiles()));
+
+		return new BoardStatus(newPlayersInfo, newIslandsInfo,
+				merge(cloudTiles == null ? null : cloudTiles.keySet(), cloudTiles, delta.getCloudTiles()),
+				merge(professors == null ? null : professors.keySet(), professors, delta.getProfessors()),
+				newCharactersInfo);
+	}
+
+	/**
+	 * Builds a map holding, for each of the specified keys, the changed value if there is one, or the base value otherwise.
+	 * @param keys the keys of the resulting map, in iteration order
+	 * @param base the map before the changes
+	 * @param changes the changed entries
+	 * @param <V> the type of the values
+	 * @return the updated map, or {@code null} if the base map is {@code null}
+	 */
+	private static <V> Map<String, V> merge(Collection<String> keys, Map<String, V> base, Map<String, V> changes) {
+		if (base == null || keys == null) return base;
+		Map<String, V> result = new LinkedHashMap<>();
+		for (String k : keys)
+			result.put(k, changes != null && changes.containsKey(k) ? changes.get(k) : base.get(k));
+		return result;
+	}
+
+	/**
+	 * Writes {@code this} in the binary wire format.
+	 * @param out the destination buffer
+	 */
+	public void write(WireOutput out) {
+		playersInfo.write(out);
+		islandsInfo.write(out);
+		out.writeStudentsMap(cloudTiles);
+		out.writeColorMap(professors);
+		charactersInfo.write(out);
+	}
+
+	/**
+	 * Reads a {@link BoardStatus} written in the binary wire format.
+	 * @param in the source buffer
+	 * @return the board status read
+	 * @throws IOException if the data is truncated or malformed
+	 * @see #write(WireOutput)
+	 */
+	public static BoardStatus read(WireInput in) throws IOException {
+		return new BoardStatus(in);
+	}
+
 	/**
 	 * An inner class which holds player-related information.
 	 */
@@ -58,6 +156,35 @@ public class BoardStatus implements Serializable {
 				playerCoins.put(p, gm.coinsRepresentation(p));
 			}
 		}
+
+		private PlayersInfo(List<String> players, Map<String, Map<String, Integer>> playerEntrances,
+							Map<String, Map<String, Integer>> playerDiningRooms, Map<String, String> playerTowerColors,
+							Map<String, Integer> playerTowers, Map<String, Integer> playerCoins) {
+			this.players = players;
+			this.playerEntrances = playerEntrances;
+			this.playerDiningRooms = playerDiningRooms;
+			this.playerTowerColors = playerTowerColors;
+			this.playerTowers = playerTowers;
+			this.playerCoins = playerCoins;
+		}
+
+		private PlayersInfo(WireInput in) throws IOException {
+			this.players = in.readStringList();
+			this.playerEntrances = in.readStudentsMap();
+			this.playerDiningRooms = in.readStudentsMap();
+			this.playerTowerColors = in.readStringMap();
+			this.playerTowers = in.readIntMap();
+			this.playerCoins = in.readIntMap();
+		}
+
+		private void write(WireOutput out) {
+			out.writeStringList(players);
+			out.writeStudentsMap(playerEntrances);
+			out.writeStudentsMap(playerDiningRooms);
+			out.writeStringMap(playerTowerColors);
+			out.writeIntMap(playerTowers);
+			out.writeIntMap(playerCoins);
+		}
 	}
 
 	/**
@@ -89,6 +216,35 @@ public class BoardStatus implements Serializable {
 				this.islandNoEntryTiles.put(isle, gm.islandNoEntryTilesRepresentation(isle));
 			}
 		}
+
+		private IslandsInfo(List<String> islands, Map<String, Integer> islandSizes,
+							Map<String, Map<String, Integer>> islandStudents, Map<String, String> islandControllers,
+							String motherNatureIsland, Map<String, Integer> islandNoEntryTiles) {
+			this.islands = islands;
+			this.islandSizes = islandSizes;
+			this.islandStudents = islandStudents;
+			this.islandControllers = islandControllers;
+			this.motherNatureIsland = motherNatureIsland;
+			this.islandNoEntryTiles = islandNoEntryTiles;
+		}
+
+		private IslandsInfo(WireInput in) throws IOException {
+			this.islands = in.readStringList();
+			this.islandSizes = in.readIntMap();
+			this.islandStudents = in.readStudentsMap();
+			this.islandControllers = in.readStringMap();
+			this.motherNatureIsland = in.readString();
+			this.islandNoEntryTiles = in.readIntMap();
+		}
+
+		private void write(WireOutput out) {
+			out.writeStringList(islands);
+			out.writeIntMap(islandSizes);
+			out.writeStudentsMap(islandStudents);
+			out.writeStringMap(islandControllers);
+			out.writeString(motherNatureIsland);
+			out.writeIntMap(islandNoEntryTiles);
+		}
 	}
 
 	/**
@@ -119,6 +275,29 @@ public class BoardStatus implements Serializable {
 				this.characterCardsNoEntryTiles = null;
 			}
 		}
+
+		private CharacterCardsInfo(List<String> characterCards, Map<String, Integer> characterCardsCost,
+								   Map<String, Map<String, Integer>> characterCardsStudents,
+								   Map<String, Integer> characterCardsNoEntryTiles) {
+			this.characterCards = characterCards;
+			this.characterCardsCost = characterCardsCost;
+			this.characterCardsStudents = characterCardsStudents;
+			this.characterCardsNoEntryTiles = characterCardsNoEntryTiles;
+		}
+
+		private CharacterCardsInfo(WireInput in) throws IOException {
+			this.characterCards = in.readStringList();
+			this.characterCardsCost = in.readIntMap();
+			this.characterCardsStudents = in.readStudentsMap();
+			this.characterCardsNoEntryTiles = in.readIntMap();
+		}
+
+		private void write(WireOutput out) {
+			out.writeStringList(characterCards);
+			out.writeIntMap(characterCardsCost);
+			out.writeStudentsMap(characterCardsStudents);
+			out.writeIntMap(characterCardsNoEntryTiles);
+		}
 	}
 
 	// PlayersInfo getters
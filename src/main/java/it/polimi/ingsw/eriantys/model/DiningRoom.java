@@ -16,6 +16,14 @@ public class DiningRoom extends StudentContainer {
 		super(MAX_STUDENTS_PER_COLOR * Color.values().length);
 	}
 
+	/**
+	 * Constructs a copy of the specified {@code DiningRoom}, with the same students.
+	 * @param source the dining room to be copied
+	 */
+	DiningRoom(DiningRoom source) {
+		super(source);
+	}
+
 	/**
 	 * Returns {@code true} if and only if the {@link Player} who owns this {@code DiningRoom} is entitled to receive a
 	 * coin based on the number of students of color {@code color} it contains.
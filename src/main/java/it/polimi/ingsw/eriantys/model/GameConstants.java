@@ -1,14 +1,40 @@
 package it.polimi.ingsw.eriantys.model;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
 /**
  * A class representing all the constants parameters of the game itself.
+ * The constants for each number of players are parsed and validated once from the {@code config.json} resource, and
+ * they can be replaced as a whole by {@link #load(Path)}, which only affects the games created afterwards.
  */
 public class GameConstants {
+	private static volatile Map<Integer, GameConstants> byPlayers = loadResource();
+
 	private final int cloudSize;
 	private final int cloudNumber;
 	private final int entranceSize;
 	private final int towerNumber;
 
+	/**
+	 * The minimum number of players of a game.
+	 */
+	public static final int MIN_NUM_PLAYERS = 2;
+	/**
+	 * The maximum number of players of a game.
+	 */
+	public static final int MAX_NUM_PLAYERS = 3;
 	/**
 	 * An entity to deal with operations involving {@link DiningRoom} objects.
 	 */
@@ -25,6 +51,73 @@ public class GameConstants {
 		towerNumber = 0;
 	}
 
+	/**
+	 * Returns the constants of a game with the specified number of players, which are shared by all such games.
+	 * @param numPlayers the number of players of the game
+	 * @return the constants of the game
+	 * @throws IllegalArgumentException if no constants are defined for the specified number of players
+	 */
+	public static GameConstants forPlayers(int numPlayers) {
+		GameConstants constants = byPlayers.get(numPlayers);
+		if (constants == null)
+			throw new IllegalArgumentException("No game constants for " + numPlayers + " players");
+		return constants;
+	}
+
+	/**
+	 * Replaces the constants of every number of players with the ones read from the specified file, which has the same
+	 * format as the {@code config.json} resource. If the file cannot be read or is not valid, the constants are unchanged.
+	 * @param path the path of the file
+	 * @throws IOException if the file cannot be read or is not valid
+	 */
+	public static void load(Path path) throws IOException {
+		try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			byPlayers = parse(in);
+		}
+	}
+
+	private static Map<Integer, GameConstants> loadResource() {
+		InputStream configIn = GameConstants.class.getClassLoader().getResourceAsStream("config.json");
+		if (configIn == null)
+			throw new IllegalStateException("config.json resource not found");
+
+		try (Reader in = new InputStreamReader(configIn, StandardCharsets.UTF_8)) {
+			return parse(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Parses the constants of every number of players, checking that they are all positive and that every number of
+	 * players from {@link #MIN_NUM_PLAYERS} to {@link #MAX_NUM_PLAYERS} has its constants.
+	 * @param in the source of the constants
+	 * @return the constants mapped by number of players
+	 * @throws IOException if the constants are malformed or not valid
+	 */
+	private static Map<Integer, GameConstants> parse(Reader in) throws IOException {
+		Map<Integer, GameConstants> constants;
+		try {
+			constants = new Gson().fromJson(in, new TypeToken<Map<Integer, GameConstants>>() {}.getType());
+		} catch (JsonParseException e) {
+			throw new IOException("Malformed game constants", e);
+		}
+
+		if (constants == null || constants.isEmpty())
+			throw new IOException("No game constants found");
+		for (Map.Entry<Integer, GameConstants> e : constants.entrySet()) {
+			GameConstants c = e.getValue();
+			if (e.getKey() < MIN_NUM_PLAYERS || c == null
+					|| c.cloudSize <= 0 || c.cloudNumber <= 0 || c.entranceSize <= 0 || c.towerNumber <= 0)
+				throw new IOException("Invalid game constants for " + e.getKey() + " players");
+		}
+		for (int numPlayers = MIN_NUM_PLAYERS; numPlayers <= MAX_NUM_PLAYERS; numPlayers++)
+			if (!constants.containsKey(numPlayers))
+				throw new IOException("No game constants for " + numPlayers + " players");
+
+		return Map.copyOf(constants);
+	}
+
 	/**
 	 * A getter for the number of students on the cloud tiles of the {@link Board}.
 	 * @return the quantity of students on a cloud tile
@@ -1,6 +1,5 @@
 package it.polimi.ingsw.eriantys.model;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.model.characters.*;
@@ -8,9 +7,10 @@ import it.polimi.ingsw.eriantys.model.exceptions.*;
 import it.polimi.ingsw.eriantys.model.influence.CommonInfluence;
 import it.polimi.ingsw.eriantys.model.influence.InfluenceCalculator;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * This class represents the current state of a game, including all game objects and participating players. It exposes
@@ -20,6 +20,12 @@ import java.util.*;
  * that the internal structure of the model is not exposed.
  */
 public class GameManager {
+	/**
+	 * The factory of the generators of the games, whose state can be copied when a game is forked.
+	 */
+	private static final RandomGeneratorFactory<RandomGenerator.JumpableGenerator> GENERATORS =
+			RandomGeneratorFactory.of("Xoshiro256PlusPlus");
+
 	private final Board board;
 	private final PlayerList players;
 	private Player currPlayer;
@@ -27,34 +33,129 @@ public class GameManager {
 	private InfluenceCalculator calc;
 	private final boolean expertMode;
 	private final CharacterCard[] characters;
+	private final int[] characterIndexes;
 	private CharacterCard selectedCharacterCard;
 	private boolean lastRound;
+	private final long seed;
+	private final RandomGenerator.JumpableGenerator random;
+
+	private static final Color[] COLORS = Color.values();
+
+	/**
+	 * The influence of each player, by position, reused by every resolution of an island.
+	 */
+	private final int[] influences;
 
 	public final GameConstants constants;
 
 	/**
-	 * Constructs a {@code GameManager} that fits the number of players and the selected game mode.
+	 * Constructs a {@code GameManager} that fits the number of players and the selected game mode, whose random choices
+	 * are driven by a randomly chosen seed.
 	 * @param nicknames the nicknames of the players
 	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode
 	 */
 	public GameManager(List<String> nicknames, boolean expertMode) {
+		this(nicknames, expertMode, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Constructs a {@code GameManager} that fits the number of players and the selected game mode.
+	 * Every random choice of the game, from the draws from the bag to the selection of the character cards, is driven by
+	 * a single generator initialized with {@code seed}, so that two managers built with the same seed and fed the same
+	 * moves go through the same states.
+	 * @param nicknames the nicknames of the players
+	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode
+	 * @param seed the seed of the random choices of the game
+	 */
+	public GameManager(List<String> nicknames, boolean expertMode, long seed) {
 		int numPlayers = nicknames.size();
-		constants = loadConstants(numPlayers);
+		constants = GameConstants.forPlayers(numPlayers);
 
-		board = new Board(constants.getCloudNumber(), constants.getCloudSize());
+		this.seed = seed;
+		this.random = GENERATORS.create(seed);
+		board = new Board(constants.getCloudNumber(), constants.getCloudSize(), random);
 		players = new PlayerList(nicknames, constants.getEntranceSize(), constants.getTowerNumber());
-		professors = new ProfessorOwnership(this::currentPlayer);
+		influences = new int[numPlayers];
+		professors = new ProfessorOwnership(players, this::currentPlayer);
 		calc = new CommonInfluence();
 		lastRound = false;
 
 		this.expertMode = expertMode;
 		if (expertMode) {
 			characters = new CharacterCard[3];
+			characterIndexes = new int[characters.length];
 			initCharacterCards();
+		} else {
+			characters = null;
+			characterIndexes = null;
+		}
+	}
+
+	/**
+	 * Constructs an independent copy of the specified {@code GameManager}, in the same state, whose random choices are
+	 * driven by the specified generator.
+	 * @param source the game to be copied
+	 * @param random the generator of the copy
+	 * @see #fork()
+	 * @see #fork(long)
+	 */
+	private GameManager(GameManager source, RandomGenerator.JumpableGenerator random) {
+		constants = source.constants;
+		seed = source.seed;
+		this.random = random;
+		players = new PlayerList(source.players);
+		board = new Board(source.board, players, random);
+		currPlayer = source.currPlayer == null ? null : players.get(source.currPlayer.getNickname());
+		influences = new int[source.influences.length];
+		professors = new ProfessorOwnership(source.professors, players, this::currentPlayer);
+		// influence calculators are immutable and compare players by nickname, hence they can be shared
+		calc = source.calc;
+		lastRound = source.lastRound;
+
+		expertMode = source.expertMode;
+		characterIndexes = source.characterIndexes;
+		if (expertMode) {
+			characters = new CharacterCard[source.characters.length];
+			for (int i = 0; i < characters.length; i++) {
+				characters[i] = getCharacter(characterIndexes[i]);
+				characters[i].copyStateFrom(source.characters[i]);
+				if (source.selectedCharacterCard == source.characters[i])
+					selectedCharacterCard = characters[i];
+			}
 		} else
 			characters = null;
 	}
 
+	/**
+	 * Returns an independent copy of this game, which can be played without affecting {@code this}, in order to look
+	 * ahead of the current state.
+	 * Both games hold their own copy of every mutable object, from the students to the character cards, which are bound
+	 * to the copied game, and of the generator, so that the draws of the copy repeat the draws of {@code this}.
+	 * @return a copy of this game
+	 */
+	public GameManager fork() {
+		return new GameManager(this, random.copy());
+	}
+
+	/**
+	 * Returns an independent copy of this game whose future random choices are driven by {@code seed} rather than
+	 * repeating those of {@code this}, so that a search over the copy cannot foresee the draws from the bag.
+	 * @param seed the seed of the random choices of the copy
+	 * @return a copy of this game
+	 * @see #fork()
+	 */
+	public GameManager fork(long seed) {
+		return new GameManager(this, GENERATORS.create(seed));
+	}
+
+	/**
+	 * A getter for the seed of the random choices of the game, which allows the game to be replayed.
+	 * @return the seed of the game
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
 	/**
 	 * Sets the current player to the player matching {@code currentPlayerNickname}.
 	 * @param currentPlayerNickname the nickname of the current player
@@ -129,13 +230,17 @@ public class GameManager {
 	}
 
 	/**
-	 * Prepares the board for a new round to be played by refilling the cloud tiles.
+	 * Prepares the board for a new round to be played by refilling the cloud tiles. If the bag runs out while refilling
+	 * them, the round is the last one.
 	 * @throws InvalidArgumentException if an error occurs while refilling the cloud tiles
-	 * @throws NoMovementException if an error occurs while refilling the cloud tiles
 	 * @return {@code true} if and only if the current round will be the last in the game
 	 */
-	public boolean setupRound() throws InvalidArgumentException, NoMovementException {
-		board.refillClouds();
+	public boolean setupRound() throws InvalidArgumentException {
+		try {
+			board.refillClouds();
+		} catch (NoMovementException e) {
+			// the bag is empty, which lastRound() records
+		}
 		return lastRound();
 	}
 
@@ -184,12 +289,20 @@ public class GameManager {
 	 * @return the reference to a {@link List} containing the nicknames of the players and stating the turn order
 	 */
 	public List<String> getTurnOrder() {
-		List<Player> playerOrder = players.getTurnOrder();
+		return players.getNicknameTurnOrder();
+	}
 
-		return playerOrder
-			.stream()
-			.map(Player::getNickname)
-			.toList();
+	/**
+	 * A getter for the number of islands by which the specified player can move Mother Nature during the current turn,
+	 * which accounts for the played assistant card and for the effect of any played character card.
+	 * @param nickname the nickname of the player
+	 * @return the maximum number of Mother Nature's movements of the player
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 */
+	public int getMotherNatureMovements(String nickname) throws InvalidArgumentException {
+		Player player = players.get(nickname);
+		if (player == null) throw new InvalidArgumentException();
+		return player.getMotherNatureMovements();
 	}
 
 	/**
@@ -278,27 +391,28 @@ public class GameManager {
 		if (board.noEntryEnforced(island))
 			return false;
 
-		List<Player> players = this.players.getTurnOrder();
+		// the outcome does not depend on the order of the players, since ties leave the island unchanged
+		calc.calculateAll(players, island, professors, influences);
 		Player oldController = island.getController();
-		int maxInfluence =
-				oldController == null ? 0 :
-				calc.calculate(oldController, island,professors.getProfessors(oldController));
-		List<Player> maxInfluencePlayers = new ArrayList<>();
-
-		for (Player player : players) {
-			int influence = calc.calculate(player, island, professors.getProfessors(player));
-			if (influence > maxInfluence) {
-				maxInfluence = influence;
-				maxInfluencePlayers.clear();
-				maxInfluencePlayers.add(player);
-			} else if (influence == maxInfluence)
-				maxInfluencePlayers.add(player);
+		int maxInfluence = oldController == null ? 0 : influences[players.indexOf(oldController)];
+		Player newController = null;
+		int maxInfluencePlayers = 0;
+
+		for (int i = 0; i < players.size(); i++) {
+			if (influences[i] > maxInfluence) {
+				maxInfluence = influences[i];
+				newController = players.get(i);
+				maxInfluencePlayers = 1;
+			} else if (influences[i] == maxInfluence) {
+				if (maxInfluencePlayers == 0)
+					newController = players.get(i);
+				maxInfluencePlayers++;
+			}
 		}
 
-		if (maxInfluencePlayers.size() > 1)
+		if (maxInfluencePlayers > 1)
 			return false;
 
-		Player newController = maxInfluencePlayers.get(0);
 		boolean res = !Objects.equals(oldController, newController);
 		island.setController(newController);
 		if (res) {
@@ -404,6 +518,150 @@ public class GameManager {
 		selectedCharacterCard = null;
 	}
 
+	/**
+	 * Fills the specified buffer with the legal student moves of the specified player: every color of the students in
+	 * the entrance can be moved to every island, and to the dining room while the latter has room for that color.
+	 * The moves are ordered by color, the dining room coming before the islands, and are decoded by
+	 * {@link LegalMoves#color(int)} and {@link LegalMoves#island(int)}.
+	 * @param nickname the nickname of the player
+	 * @param moves the buffer to be filled
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 */
+	public void legalStudentMoves(String nickname, LegalMoves moves) throws InvalidArgumentException {
+		Player player = players.get(nickname);
+		if (player == null) throw new InvalidArgumentException();
+
+		StudentContainer entrance = player.getEntrance();
+		StudentContainer diningRoom = player.getDiningRoom();
+		int islandNumber = board.getIslandNumber();
+
+		moves.clear();
+		for (Color color : COLORS) {
+			if (entrance.getQuantity(color) == 0) continue;
+			if (diningRoom.remainingCapacity(color) > 0)
+				moves.add(LegalMoves.studentMove(color, LegalMoves.DINING_ROOM));
+			for (int i = 0; i < islandNumber; i++)
+				moves.add(LegalMoves.studentMove(color, i));
+		}
+	}
+
+	/**
+	 * Encodes the move of a student in the format of {@link #legalStudentMoves(String, LegalMoves)}, so that it can be
+	 * checked against the legal ones.
+	 * @param studentColor the string corresponding to the name of the {@link Color}
+	 * @param destination the string representing the destination, as in
+	 * {@link #handleMovedStudent(String, String, String)}
+	 * @return the encoded move, or -1 if no color or no destination matches the specified ones
+	 */
+	public int encodeStudentMove(String studentColor, String destination) {
+		Color student = null;
+		for (Color color : COLORS)
+			if (color.name().equals(studentColor))
+				student = color;
+		if (student == null || destination == null)
+			return -1;
+
+		int island = destination.equals(GameConstants.DINING_ROOM) ? LegalMoves.DINING_ROOM : board.getIslandIndex(destination);
+		if (island == -1 && !destination.equals(GameConstants.DINING_ROOM))
+			return -1;
+		return LegalMoves.studentMove(student, island);
+	}
+
+	/**
+	 * Fills the specified buffer with the numbers of islands by which the specified player can move Mother Nature,
+	 * in increasing order: at least one, and no more than the movements of the player nor a full lap.
+	 * @param nickname the nickname of the player
+	 * @param moves the buffer to be filled
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 * @see #getMotherNatureMovements(String)
+	 */
+	public void legalMotherNatureMoves(String nickname, LegalMoves moves) throws InvalidArgumentException {
+		int steps = Math.min(getMotherNatureMovements(nickname), board.getIslandNumber() - 1);
+
+		moves.clear();
+		for (int i = 1; i <= steps; i++)
+			moves.add(i);
+	}
+
+	/**
+	 * Fills the specified buffer with the indexes of the cloud tiles which can be selected, which are the ones holding
+	 * students, in increasing order.
+	 * @param moves the buffer to be filled
+	 */
+	public void legalClouds(LegalMoves moves) {
+		moves.clear();
+		for (int i = 0; i < board.getCloudNumber(); i++)
+			if (!board.isCloudEmpty(i))
+				moves.add(i);
+	}
+
+	/**
+	 * Fills the specified buffer with the character cards which the specified player can play as the current player,
+	 * which are the affordable cards whose effect can be applied, together with the domains of their parameters:
+	 * the colors which can be selected as target or source colors, the colors which can be selected as destination
+	 * colors, and whether any island can be selected as target.
+	 * Every single student of a domain can be selected, although a swap of several students may still be refused if the
+	 * first ones fill the dining room.
+	 * The buffer is left empty if expert mode is disabled, and whether a card was already played in the current turn is
+	 * up to the caller.
+	 * The moves are decoded by {@link LegalMoves#card(int)}, {@link LegalMoves#colors(int)},
+	 * {@link LegalMoves#destinationColors(int)} and {@link LegalMoves#needsIsland(int)}.
+	 * @param nickname the nickname of the player
+	 * @param moves the buffer to be filled
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 */
+	public void legalCharacterCards(String nickname, LegalMoves moves) throws InvalidArgumentException {
+		Player player = players.get(nickname);
+		if (player == null) throw new InvalidArgumentException();
+
+		moves.clear();
+		if (!expertMode) return;
+
+		StudentContainer entrance = player.getEntrance();
+		StudentContainer diningRoom = player.getDiningRoom();
+		boolean bagEmpty = board.getBag().empty();
+
+		for (int i = 0; i < characters.length; i++) {
+			CharacterCard card = characters[i];
+			if (card.getCost() > player.getCoins()) continue;
+
+			int colors = 0, destinationColors = 0;
+			boolean island = false, playable = true;
+			switch (card.getName()) {
+				case "Herald" -> island = true;
+				case "HerbGranny" -> {
+					island = true;
+					playable = ((HerbGranny) card).getNoEntryTiles() > 0;
+				}
+				case "MushroomGuy", "Thief" -> colors = (1 << COLORS.length) - 1;
+				// the student taken from the card is replaced by one drawn from the bag
+				case "Monk" -> {
+					colors = studentColors((StudentContainer) card, null);
+					island = true;
+					playable = colors != 0 && !bagEmpty;
+				}
+				case "SpoiledPrincess" -> {
+					colors = studentColors((StudentContainer) card, diningRoom);
+					playable = colors != 0 && !bagEmpty;
+				}
+				case "Jester" -> {
+					colors = studentColors((StudentContainer) card, null);
+					destinationColors = studentColors(entrance, null);
+					playable = colors != 0 && destinationColors != 0;
+				}
+				case "Minstrel" -> {
+					colors = studentColors(entrance, diningRoom);
+					destinationColors = studentColors(diningRoom, null);
+					playable = colors != 0 && destinationColors != 0;
+				}
+				default -> {}
+			}
+
+			if (playable)
+				moves.add(LegalMoves.characterMove(i, colors, destinationColors, island));
+		}
+	}
+
 	/**
 	 * A getter for the winner of the game.
 	 * @return the nickname of the winner of the game, or {@code null} if no winner has been declared yet
@@ -722,23 +980,10 @@ public class GameManager {
 				return true;
 			}
 
-		lastRound = board.getBag().isEmpty();
-		return board.getBag().isEmpty();
-	}
-
-	private GameConstants loadConstants(int numPlayers) {
-		Gson gson = new Gson();
-
-		InputStream configIn = getClass().getClassLoader().getResourceAsStream("config.json");
-
-		if (configIn == null)
-			throw new NullPointerException();
-
-		String jsonString =
-				gson.fromJson(new InputStreamReader(configIn), JsonObject.class)
-				.get(Integer.toString(numPlayers)).getAsJsonObject().toString();
-
-		return gson.fromJson(jsonString, GameConstants.class);
+		// students can be put back into the bag, but an empty bag has already made this round the last one
+		if (board.getBag().isEmpty())
+			lastRound = true;
+		return lastRound;
 	}
 
 	private Player currentPlayer() {
@@ -747,10 +992,11 @@ public class GameManager {
 
 	private void initCharacterCards() {
 		List<Integer> indexes = new ArrayList<>(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
-		Collections.shuffle(indexes);
 
-		for (int i = 0; i < characters.length; i++)
-			characters[i] = getCharacter(indexes.remove(0));
+		for (int i = 0; i < characters.length; i++) {
+			characterIndexes[i] = indexes.remove(random.nextInt(indexes.size()));
+			characters[i] = getCharacter(characterIndexes[i]);
+		}
 	}
 
 	private CharacterCard getCharacter(int index) {
@@ -771,6 +1017,20 @@ public class GameManager {
 		};
 	}
 
+	/**
+	 * Returns the bit mask of the colors of the students in {@code source} which {@code destination} has room for.
+	 * @param source the container of the students
+	 * @param destination the container receiving the students, or {@code null} if any student can be selected
+	 * @return the bit mask of the selectable colors, one bit for every {@link Color} by ordinal
+	 */
+	private static int studentColors(StudentContainer source, StudentContainer destination) {
+		int colors = 0;
+		for (Color color : COLORS)
+			if (source.getQuantity(color) > 0 && (destination == null || destination.remainingCapacity(color) > 0))
+				colors |= 1 << color.ordinal();
+		return colors;
+	}
+
 	private IslandGroup tryGetIsland(String islandId) {
 		try {
 			return board.getIsland(islandId);
@@ -803,13 +1063,13 @@ public class GameManager {
 	private List<Player> mostProfessorsOwned(List<Player> candidates) {
 		List<Player> potentialWinners = new ArrayList<>();
 		potentialWinners.add(candidates.get(0));
-		int maxProfessors = professors.getProfessors(candidates.get(0)).size();
+		int maxProfessors = Integer.bitCount(professors.getProfessorMask(candidates.get(0)));
 
 		if (maxProfessors == Color.values().length) return potentialWinners;
 
 		for (int i = 1; i < candidates.size(); i++) {
 			Player player = candidates.get(i);
-			int playerProfessors = professors.getProfessors(player).size();
+			int playerProfessors = Integer.bitCount(professors.getProfessorMask(player));
 			if (playerProfessors > maxProfessors) {
 				maxProfessors = playerProfessors;
 				potentialWinners.clear();
@@ -14,9 +14,10 @@ import java.util.Stack;
  * This class represents a group of islands, which contains at least one island.
  * At the beginning of the game, each {@link IslandGroup} is made up of a single island,
  * but its size can grow during the game as more islands are unified.
+ * The {@link Board} unifies the islands in place, and the identifier of a group is only built when requested.
  */
 public class IslandGroup extends StudentContainer {
-	private final String id;
+	private String id;
 	private final List<String> islandIds;
 	private Player controller;
 	private final Stack<Integer> noEntryTiles;
@@ -36,10 +37,25 @@ public class IslandGroup extends StudentContainer {
 		this.islandIds.add(id);
 	}
 
+	/**
+	 * Constructs a copy of the specified {@link IslandGroup}, with the same students, components and no-entry tiles.
+	 * @param source the island to be copied
+	 * @param controller the player of the game which the copy belongs to matching the controller of {@code source}
+	 */
+	IslandGroup(IslandGroup source, Player controller) {
+		super(source);
+
+		this.id = source.id;
+		this.controller = controller;
+		this.noEntryTiles = new Stack<>();
+		this.noEntryTiles.addAll(source.noEntryTiles);
+		this.islandIds = new ArrayList<>(source.islandIds);
+	}
+
 	private IslandGroup(IslandGroup i1, IslandGroup i2) {
 		super();
 
-		this.id = i1.id + "-" + i2.id;
+		this.id = i1.getId() + "-" + i2.getId();
 		this.controller = i1.controller;
 		this.noEntryTiles = new Stack<>();
 
@@ -69,16 +85,18 @@ public class IslandGroup extends StudentContainer {
 			return null;
 
 		if (!i1.hasSameController(i2))
-			throw new IncompatibleControllersException("Ids: " + i1.id + ", " + i2.id);	// this should not happen
+			throw new IncompatibleControllersException("Ids: " + i1.getId() + ", " + i2.getId());	// this should not happen
 
 		return new IslandGroup(i1, i2);
 	}
 
 	/**
-	 * A getter for the island's {@code id}.
+	 * A getter for the island's {@code id}, which joins the identifiers of the single islands making up the group.
 	 * @return the island's {@code id}
 	 */
 	public String getId() {
+		if (id == null)
+			id = String.join("-", islandIds);
 		return id;
 	}
 
@@ -148,6 +166,37 @@ public class IslandGroup extends StudentContainer {
 		return noEntryTiles.size();
 	}
 
+	/**
+	 * Moves the students, the no-entry tiles and the single islands of {@code that} to {@code this}, whose single islands
+	 * come first in the identifier of the resulting group. The students are moved by adding up their counters.
+	 * @param that the island to merge into {@code this}, which should be discarded afterwards
+	 * @throws IncompatibleControllersException if {@code this} and {@code that} are controlled by different {@link Player}s
+	 */
+	void absorb(IslandGroup that) throws IncompatibleControllersException {
+		if (!hasSameController(that))
+			throw new IncompatibleControllersException("Ids: " + getId() + ", " + that.getId());
+
+		try {
+			that.moveAllTo(this);
+		} catch (InvalidArgumentException | NoMovementException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		}
+
+		noEntryTiles.addAll(that.noEntryTiles);
+		that.noEntryTiles.clear();
+		islandIds.addAll(that.islandIds);
+		id = null;
+	}
+
+	/**
+	 * A getter for the {@code id} of the first single island of the {@link IslandGroup}.
+	 * @return the {@code id} of the first single island
+	 */
+	String getFirstComponent() {
+		return islandIds.get(0);
+	}
+
 	/**
 	 * A getter for the list of the {@code id}s of the single islands components of an {@link IslandGroup}.
 	 * @return a list of the {@code id}s of the single islands making up this {@link IslandGroup}
@@ -167,11 +216,11 @@ public class IslandGroup extends StudentContainer {
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		IslandGroup that = (IslandGroup) o;
-		return id.equals(that.id);
+		return getId().equals(that.getId());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id);
+		return Objects.hash(getId());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package it.polimi.ingsw.eriantys.model;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of the legal moves of a player, filled by the generators of {@link GameManager}.
+ * Every move is encoded in a single {@code int}, whose meaning depends on the generator which filled the buffer:
+ * <ul>
+ *     <li>student moves pack the {@link Color} of the student and the index of its destination island,
+ *     or {@link #DINING_ROOM}, and are decoded by {@link #color(int)} and {@link #island(int)};</li>
+ *     <li>Mother Nature moves are the number of islands by which Mother Nature is moved;</li>
+ *     <li>cloud moves are the indexes of the cloud tiles;</li>
+ *     <li>character moves pack the index of the card and the domains of its parameters, decoded by
+ *     {@link #card(int)}, {@link #colors(int)}, {@link #destinationColors(int)} and {@link #needsIsland(int)}.</li>
+ * </ul>
+ * The buffer is cleared by every generator, so that a single instance can be used for every move of a game without
+ * allocating, but it is not thread-safe.
+ */
+public class LegalMoves {
+	/**
+	 * The destination of a student move which moves the student to the dining room.
+	 */
+	public static final int DINING_ROOM = -1;
+
+	private static final Color[] COLORS = Color.values();
+	private static final int COLOR_BITS = COLORS.length;
+	private static final int CARD_BITS = 4;
+
+	private int[] moves;
+	private int size;
+
+	/**
+	 * Constructs an empty {@code LegalMoves}.
+	 */
+	public LegalMoves() {
+		moves = new int[32];
+	}
+
+	/**
+	 * A getter for the number of legal moves.
+	 * @return the number of moves in the buffer
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns {@code true} if and only if there are no legal moves.
+	 * @return {@code true} if and only if the buffer is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * A getter for the legal move at the specified position.
+	 * @param index the position of the move, between 0 and {@link #size()} (excluded)
+	 * @return the encoded move
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		return moves[index];
+	}
+
+	/**
+	 * Returns {@code true} if and only if the specified move is legal.
+	 * @param move the encoded move
+	 * @return {@code true} if and only if the buffer contains {@code move}
+	 */
+	public boolean contains(int move) {
+		for (int i = 0; i < size; i++)
+			if (moves[i] == move) return true;
+		return false;
+	}
+
+	/**
+	 * Encodes the move of a student of the specified color to the specified destination.
+	 * @param color the color of the student
+	 * @param island the index of the destination island, or {@link #DINING_ROOM}
+	 * @return the encoded move
+	 */
+	public static int studentMove(Color color, int island) {
+		return (island + 1) * COLOR_BITS + color.ordinal();
+	}
+
+	/**
+	 * Decodes the color of the student of a student move.
+	 * @param move the encoded student move
+	 * @return the color of the moved student
+	 */
+	public static Color color(int move) {
+		return COLORS[move % COLOR_BITS];
+	}
+
+	/**
+	 * Decodes the destination of a student move.
+	 * @param move the encoded student move
+	 * @return the index of the destination island, or {@link #DINING_ROOM}
+	 */
+	public static int island(int move) {
+		return move / COLOR_BITS - 1;
+	}
+
+	/**
+	 * Decodes the index of the card of a character move.
+	 * @param move the encoded character move
+	 * @return the index of the character card
+	 */
+	public static int card(int move) {
+		return move & ((1 << CARD_BITS) - 1);
+	}
+
+	/**
+	 * Decodes the colors which can be selected as the target color or the source colors of a character move,
+	 * one bit for every {@link Color} by ordinal.
+	 * @param move the encoded character move
+	 * @return the bit mask of the selectable colors, {@code 0} if the card takes no such parameter
+	 */
+	public static int colors(int move) {
+		return (move >>> CARD_BITS) & ((1 << COLOR_BITS) - 1);
+	}
+
+	/**
+	 * Decodes the colors which can be selected as the destination colors of a character move,
+	 * one bit for every {@link Color} by ordinal.
+	 * @param move the encoded character move
+	 * @return the bit mask of the selectable colors, {@code 0} if the card takes no such parameter
+	 */
+	public static int destinationColors(int move) {
+		return (move >>> (CARD_BITS + COLOR_BITS)) & ((1 << COLOR_BITS) - 1);
+	}
+
+	/**
+	 * Returns {@code true} if and only if the card of a character move takes a target island, which can be any island.
+	 * @param move the encoded character move
+	 * @return {@code true} if and only if the card takes a target island
+	 */
+	public static boolean needsIsland(int move) {
+		return (move >>> (CARD_BITS + 2 * COLOR_BITS) & 1) == 1;
+	}
+
+	/**
+	 * Returns {@code true} if and only if the specified color belongs to the specified bit mask of colors.
+	 * @param colors the bit mask of the colors
+	 * @param color the color
+	 * @return {@code true} if and only if the bit of {@code color} is set
+	 */
+	public static boolean hasColor(int colors, Color color) {
+		return (colors >>> color.ordinal() & 1) == 1;
+	}
+
+	static int characterMove(int card, int colors, int destinationColors, boolean island) {
+		return card | colors << CARD_BITS | destinationColors << (CARD_BITS + COLOR_BITS)
+				| (island ? 1 : 0) << (CARD_BITS + 2 * COLOR_BITS);
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	void add(int move) {
+		if (size == moves.length)
+			moves = Arrays.copyOf(moves, 2 * size);
+		moves[size++] = move;
+	}
+}
@@ -0,0 +1,144 @@
+package it.polimi.ingsw.eriantys.model;
+
+/**
+ * This class provides the helpers to handle a group of student discs packed into a single {@code long}, so that the
+ * students of a {@link StudentContainer} can be copied, compared and hashed as a primitive value, for instance while
+ * simulating or snapshotting a game.
+ * The number of students of each {@link Color} takes an 8-bit lane, starting from the least significant byte in
+ * {@link Color#ordinal()} order, and the total number of students takes the following 8-bit lane. Since a color has at
+ * most 26 students and the game has 130 students, no lane can overflow.
+ * @see StudentContainer#pack()
+ */
+public final class PackedStudents {
+	/**
+	 * The empty group of students.
+	 */
+	public static final long EMPTY = 0L;
+
+	private static final Color[] COLORS = Color.values();
+	private static final int LANE_BITS = 8;
+	private static final long LANE_MASK = 0xFFL;
+	private static final int TOTAL_SHIFT = LANE_BITS * COLORS.length;
+	private static final long COLORS_MASK = (1L << TOTAL_SHIFT) - 1;
+	private static final long MAX_LANE = 127;
+
+	/**
+	 * The most significant bit of every color lane, used to compare all the lanes at once.
+	 */
+	private static final long HIGH_BITS = 0x80_80_80_80_80L;
+
+	private PackedStudents() {}
+
+	/**
+	 * Packs the specified numbers of students.
+	 * @param counts the number of students of each color, indexed by {@link Color#ordinal()}
+	 * @return the packed students
+	 * @throws IllegalArgumentException if the counts are not one per color or any of them is out of range
+	 */
+	public static long of(int... counts) {
+		if (counts.length != COLORS.length)
+			throw new IllegalArgumentException("Expected " + COLORS.length + " counts, found " + counts.length);
+		long packed = EMPTY;
+		for (Color color : COLORS)
+			packed = add(packed, color, counts[color.ordinal()]);
+		return packed;
+	}
+
+	/**
+	 * Returns the number of students of the specified color.
+	 * @param packed the packed students
+	 * @param color the color of the students
+	 * @return the number of students of color {@code color}
+	 */
+	public static int count(long packed, Color color) {
+		return (int) (packed >>> (LANE_BITS * color.ordinal()) & LANE_MASK);
+	}
+
+	/**
+	 * Returns the total number of students, which is stored rather than computed.
+	 * @param packed the packed students
+	 * @return the total number of students
+	 */
+	public static int total(long packed) {
+		return (int) (packed >>> TOTAL_SHIFT & LANE_MASK);
+	}
+
+	/**
+	 * Adds students of the specified color.
+	 * @param packed the packed students
+	 * @param color the color of the students
+	 * @param amount the number of students to add, which may be negative
+	 * @return the packed students after the addition
+	 * @throws IllegalArgumentException if the number of students of the color would fall out of range
+	 */
+	public static long add(long packed, Color color, int amount) {
+		int count = count(packed, color) + amount;
+		if (count < 0 || count > MAX_LANE || total(packed) + amount > LANE_MASK)
+			throw new IllegalArgumentException("Invalid number of " + color + " students: " + count);
+		return packed + ((long) amount << (LANE_BITS * color.ordinal())) + ((long) amount << TOTAL_SHIFT);
+	}
+
+	/**
+	 * Removes students of the specified color.
+	 * @param packed the packed students
+	 * @param color the color of the students
+	 * @param amount the number of students to remove
+	 * @return the packed students after the removal
+	 * @throws IllegalArgumentException if there are less than {@code amount} students of the color
+	 */
+	public static long remove(long packed, Color color, int amount) {
+		return add(packed, color, -amount);
+	}
+
+	/**
+	 * Adds all the students of a group to another one, lane by lane in a single addition.
+	 * @param packed the packed students
+	 * @param other the packed students to add
+	 * @return the packed students after the addition
+	 * @throws IllegalArgumentException if the number of students of any color would fall out of range
+	 */
+	public static long addAll(long packed, long other) {
+		long sum = packed + other;
+		if (((sum & COLORS_MASK) & HIGH_BITS) != 0 || total(packed) + total(other) > LANE_MASK)
+			throw new IllegalArgumentException("Too many students");
+		return sum;
+	}
+
+	/**
+	 * Removes all the students of a group from another one, lane by lane in a single subtraction.
+	 * @param packed the packed students
+	 * @param other the packed students to remove
+	 * @return the packed students after the removal
+	 * @throws IllegalArgumentException if {@code packed} does not contain all the students of {@code other}
+	 */
+	public static long removeAll(long packed, long other) {
+		if (!containsAll(packed, other))
+			throw new IllegalArgumentException("Not enough students");
+		return packed - other;
+	}
+
+	/**
+	 * Compares two groups color by color, testing all the lanes at once: setting the high bit of every lane of
+	 * {@code packed} keeps the lanes from borrowing, and the bit survives the subtraction only where no borrow was needed.
+	 * @param packed the packed students
+	 * @param other the packed students to look for
+	 * @return {@code true} if and only if {@code packed} has at least as many students as {@code other} for every color
+	 */
+	public static boolean containsAll(long packed, long other) {
+		return (((packed & COLORS_MASK) | HIGH_BITS) - (other & COLORS_MASK) & HIGH_BITS) == HIGH_BITS;
+	}
+
+	/**
+	 * Returns a readable representation of the packed students, ordered by {@link Color} enum declarations.
+	 * @param packed the packed students
+	 * @return the representation of the students
+	 */
+	public static String toString(long packed) {
+		StringBuilder builder = new StringBuilder("{");
+		for (Color color : COLORS) {
+			if (color.ordinal() > 0) builder.append(", ");
+			builder.append(color).append('=').append(count(packed, color));
+		}
+		return builder.append('}').toString();
+	}
+}
@@ -32,6 +32,20 @@ public class Player {
 		coins = 1;
 	}
 
+	/**
+	 * Constructs a copy of the specified {@code Player}, with a copy of its school board and of its deck.
+	 * @param source the player to be copied
+	 */
+	Player(Player source) {
+		this.nickname = source.nickname;
+		schoolBoard = new SchoolBoard(source.schoolBoard);
+		towerColor = source.towerColor;
+		wizard = source.wizard;
+		deck = new ArrayList<>(source.deck);
+		motherNatureMovements = source.motherNatureMovements;
+		coins = source.coins;
+	}
+
 	/**
 	 * A getter for the nickname of a {@code Player}'s object.
 	 * @return the internal state for a {@code Player}'s nickname
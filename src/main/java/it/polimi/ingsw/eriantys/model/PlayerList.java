@@ -1,22 +1,44 @@
 package it.polimi.ingsw.eriantys.model;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A {@link GameManager} helper class to handle the players of the game,
  * in particular for the variability of the turn order.
+ * Players are addressed by their fixed position, found through their nickname in constant time, and the turn order
+ * is only rebuilt when the first player of the round changes.
  */
 public class PlayerList {
 	private final Player[] players;
+	private final Map<String, Integer> indexes;
 	private int firstInRound;
+	private List<Player> turnOrder;
+	private List<String> nicknameTurnOrder;
 
 	public PlayerList(List<String> nicknames, int entranceSize, int towerNumber) {
 		players = new Player[nicknames.size()];
-		for (int i = 0; i < nicknames.size(); i++)
+		indexes = new HashMap<>();
+		for (int i = 0; i < nicknames.size(); i++) {
 			players[i] = new Player(nicknames.get(i), entranceSize, towerNumber);
+			indexes.put(nicknames.get(i), i);
+		}
+		updateTurnOrder();
+	}
+
+	/**
+	 * Constructs a copy of the specified {@code PlayerList}, with copies of its players in the same turn order.
+	 * The positions of the nicknames never change, hence they are shared with {@code source}.
+	 * @param source the list to be copied
+	 */
+	PlayerList(PlayerList source) {
+		players = new Player[source.players.length];
+		for (int i = 0; i < players.length; i++)
+			players[i] = new Player(source.players[i]);
+		indexes = source.indexes;
+		firstInRound = source.firstInRound;
+		updateTurnOrder();
 	}
 
 	/**
@@ -24,20 +46,58 @@ public class PlayerList {
 	 * @param target the {@link Player} which will play as first
 	 */
 	public void setFirst(Player target) {
-		int index = new ArrayList<>(Arrays.asList(players)).indexOf(target);
+		int index = indexOf(target);
 
-		if (index != -1)
+		if (index != -1 && index != firstInRound) {
 			firstInRound = index;
+			updateTurnOrder();
+		}
 	}
 
 	/**
 	 * A getter for a {@link List} containing the turn order referred to the current round.
+	 * The list is immutable and shared until the turn order changes, so it can be retrieved without copying.
 	 * @return the reference to a {@link List} stating the turn order
 	 */
 	public List<Player> getTurnOrder() {
-		List<Player> temp = new ArrayList<>(List.of(players));
-		Collections.rotate(temp, -firstInRound);
-		return temp;
+		return turnOrder;
+	}
+
+	/**
+	 * A getter for a {@link List} containing the nicknames of the players following the turn order of the current round.
+	 * The list is immutable and shared until the turn order changes.
+	 * @return the reference to a {@link List} stating the turn order by nickname
+	 */
+	public List<String> getNicknameTurnOrder() {
+		return nicknameTurnOrder;
+	}
+
+	/**
+	 * A getter for the number of players.
+	 * @return the number of players
+	 */
+	public int size() {
+		return players.length;
+	}
+
+	/**
+	 * A getter for the {@link Player} sitting at the specified position, which does not depend on the turn order.
+	 * @param index the position of the {@link Player}, between 0 and {@link #size()} - 1
+	 * @return the {@link Player} at the specified position
+	 */
+	public Player get(int index) {
+		return players[index];
+	}
+
+	/**
+	 * A getter for the position of the specified {@link Player}, which does not depend on the turn order.
+	 * @param player the target {@link Player}
+	 * @return the position of the {@link Player}, or -1 if it is not part of the game
+	 */
+	public int indexOf(Player player) {
+		if (player == null)
+			return -1;
+		return indexes.getOrDefault(player.getNickname(), -1);
 	}
 
 	/**
@@ -46,11 +106,24 @@ public class PlayerList {
 	 * @return the {@link Player} corresponding to the given nickname if it exists, {@code null} otherwise
 	 */
 	public Player get(String nickname) {
-		Player temp = new Player(nickname, 0, 0);
-		int index = new ArrayList<>(Arrays.asList(players)).indexOf(temp);
+		Integer index = nickname == null ? null : indexes.get(nickname);
 
-		if (index != -1)
+		if (index != null)
 			return players[index];
 		return null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Rebuilds the cached turn order, starting from the first player of the round.
+	 */
+	private void updateTurnOrder() {
+		Player[] order = new Player[players.length];
+		String[] nicknames = new String[players.length];
+		for (int i = 0; i < players.length; i++) {
+			order[i] = players[(firstInRound + i) % players.length];
+			nicknames[i] = order[i].getNickname();
+		}
+		turnOrder = List.of(order);
+		nicknameTurnOrder = List.of(nicknames);
+	}
+}
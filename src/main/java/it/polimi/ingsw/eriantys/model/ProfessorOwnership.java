@@ -4,7 +4,6 @@ import it.polimi.ingsw.eriantys.model.characters.Farmer;
 
 import java.util.*;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * This class represents the association between each {@link Color}'s professor and its respective owner.
@@ -13,28 +12,91 @@ import java.util.stream.Collectors;
  * and a method to update the professors owners after a movement of students.
  */
 public class ProfessorOwnership {
-	private final Map<Color, Player> ownerships;
+	private static final Color[] COLORS = Color.values();
+
+	/**
+	 * The players of the game, whose positions index the masks.
+	 */
+	private final PlayerList players;
+
+	/**
+	 * The position in {@code players} of the owner of each professor, by color ordinal, or -1 if it is not owned.
+	 */
+	private final byte[] ownerIndexes;
+
+	/**
+	 * The professors owned by each player, by position in {@code players}, as a mask with the bit
+	 * {@code 1 << color.ordinal()} set for each owned professor.
+	 */
+	private final int[] masks;
+
 	private Comparator<Integer> comparator;
 	private final Supplier<Player> playerSupplier;
 
-	public ProfessorOwnership(Supplier<Player> playerSupplier) {
+	/**
+	 * Constructs a {@code ProfessorOwnership} where no professor is owned.
+	 * @param players the players of the game
+	 * @param playerSupplier the supplier of the current player of the game
+	 */
+	public ProfessorOwnership(PlayerList players, Supplier<Player> playerSupplier) {
+		this.players = players;
 		this.playerSupplier = playerSupplier;
 		this.comparator = Integer::compareTo;
-		this.ownerships = new EnumMap<>(Color.class);
-		for (Color color : Color.values())
-			this.ownerships.put(color, null);
+		this.ownerIndexes = new byte[COLORS.length];
+		Arrays.fill(ownerIndexes, (byte) -1);
+		this.masks = new int[players.size()];
+	}
+
+	/**
+	 * Constructs a copy of the specified {@code ProfessorOwnership}, whose owners are the matching players of the copied
+	 * game.
+	 * @param source the ownership to be copied
+	 * @param players the players of the game which the copy belongs to
+	 * @param playerSupplier the supplier of the current player of the game which the copy belongs to
+	 */
+	ProfessorOwnership(ProfessorOwnership source, PlayerList players, Supplier<Player> playerSupplier) {
+		this.players = players;
+		this.playerSupplier = playerSupplier;
+		this.comparator = source.comparator;
+		this.ownerIndexes = source.ownerIndexes.clone();
+		this.masks = source.masks.clone();
 	}
 
 	/**
 	 * Returns the {@link Color} of the professors owned by {@code player}.
 	 * @param player the {@link Player} whose professors' colors are returned
 	 * @return the respective {@link Color} of each professor owned by {@code player}
+	 * @see #getProfessorMask(Player)
 	 */
 	public Set<Color> getProfessors(Player player) {
-		if (player == null)
-			return new HashSet<>();
-		return ownerships.keySet().stream()
-					.filter(c -> ownerships.get(c) != null && ownerships.get(c).equals(player)).collect(Collectors.toSet());
+		Set<Color> professors = EnumSet.noneOf(Color.class);
+		int mask = getProfessorMask(player);
+		for (Color color : COLORS)
+			if ((mask & 1 << color.ordinal()) != 0)
+				professors.add(color);
+		return professors;
+	}
+
+	/**
+	 * Returns the professors owned by {@code player} as a mask, with the bit {@code 1 << color.ordinal()} set for each
+	 * owned professor, which takes constant time and does not allocate.
+	 * @param player the {@link Player} whose professors are returned
+	 * @return the mask of the professors owned by {@code player}, which is 0 if {@code player} is {@code null} or is not
+	 * part of the game
+	 */
+	public int getProfessorMask(Player player) {
+		int index = players.indexOf(player);
+		return index == -1 ? 0 : masks[index];
+	}
+
+	/**
+	 * Returns the professors owned by the player at the specified position of the {@link PlayerList} as a mask.
+	 * @param index the position of the player
+	 * @return the mask of the professors owned by the player
+	 * @see #getProfessorMask(Player)
+	 */
+	public int getProfessorMask(int index) {
+		return masks[index];
 	}
 
 	/**
@@ -58,19 +120,18 @@ public class ProfessorOwnership {
 	 */
 	public void update(Set<Color> target) {
 		Player currentPlayer = playerSupplier.get();
-		boolean changeOwner;
 
 		if (currentPlayer == null)
 			return;
 
 		for (Color color : target) {
-			Player currentOwner = ownerships.get(color);
+			Player currentOwner = getOwnership(color);
 			if (!currentPlayer.equals(currentOwner)) {
 				int currAmt = currentPlayer.getDiningRoom().getQuantity(color);
 				int ownerAmt = currentOwner == null ? 0 : currentOwner.getDiningRoom().getQuantity(color);
 
-				changeOwner = currAmt > 0 && comparator.compare(currAmt, ownerAmt) > 0;
-				ownerships.put(color, changeOwner ? currentPlayer : currentOwner);
+				if (currAmt > 0 && comparator.compare(currAmt, ownerAmt) > 0)
+					setOwnership(color, currentPlayer);
 			}
 		}
 	}
@@ -81,6 +142,24 @@ public class ProfessorOwnership {
 	 * @return a representation for the {@link Player} owning the professor of the specified {@link Color}
 	 */
 	public Player getOwnership(Color c) {
-		return ownerships.get(c);
+		int index = ownerIndexes[c.ordinal()];
+		return index == -1 ? null : players.get(index);
+	}
+
+	/**
+	 * Moves the professor of the specified {@link Color} to {@code owner}, keeping the masks up-to-date.
+	 * @param color the {@link Color} of the professor
+	 * @param owner the new owner of the professor
+	 */
+	private void setOwnership(Color color, Player owner) {
+		int index = players.indexOf(owner);
+		if (index == -1) return;
+
+		int bit = 1 << color.ordinal();
+		int previous = ownerIndexes[color.ordinal()];
+		if (previous != -1)
+			masks[previous] &= ~bit;
+		masks[index] |= bit;
+		ownerIndexes[color.ordinal()] = (byte) index;
 	}
 }
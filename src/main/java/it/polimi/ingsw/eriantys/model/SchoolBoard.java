@@ -42,6 +42,17 @@ public class SchoolBoard {
 		towers = towerNumber;
 	}
 
+	/**
+	 * Constructs a copy of the specified {@code SchoolBoard}, with copies of its entrance and dining room.
+	 * @param source the school board to be copied
+	 */
+	SchoolBoard(SchoolBoard source) {
+		this.towerNumber = source.towerNumber;
+		entrance = new StudentContainer(source.entrance);
+		diningRoom = new DiningRoom(source.diningRoom);
+		towers = source.towers;
+	}
+
 	/**
 	 * A getter for the object's entrance.
 	 * @return this {@code SchoolBoard}'s entrance
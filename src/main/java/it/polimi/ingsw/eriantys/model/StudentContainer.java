@@ -3,7 +3,10 @@ package it.polimi.ingsw.eriantys.model;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 
-import java.util.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * This class provides a container for student discs.
@@ -26,11 +29,20 @@ public class StudentContainer {
 	private static final int MAX_STUDENTS_PER_COLOR = 26;
 
 	/**
-	 * The {@link Map} containing the number of students stored in the container for each {@link Color}.
-	 * Keys must be all and only the values of {@link Color}.
-	 * Values must be non-{@code null} integers greater than or equal to 0.
+	 * The colors of the students, cached in order to avoid copying {@link Color#values()} on every iteration.
 	 */
-	private final Map<Color, Integer> students;
+	private static final Color[] COLORS = Color.values();
+
+	/**
+	 * The number of students stored in the container for each {@link Color}, indexed by {@link Color#ordinal()}.
+	 * Values must be integers greater than or equal to 0.
+	 */
+	private final int[] students;
+
+	/**
+	 * The total number of students stored in the container, kept equal to the sum of {@link #students}.
+	 */
+	private int size;
 
 	/**
 	 * The maximum number of students allowed in the {@code StudentContainer} at any time.
@@ -43,10 +55,7 @@ public class StudentContainer {
 	 * with no specified maximum size.
 	 */
 	public StudentContainer() {
-		this.maxSize = NO_MAX_SIZE;
-		this.students = new EnumMap<>(Color.class);
-		for (Color color : Color.values())
-			students.put(color, 0);
+		this(NO_MAX_SIZE);
 	}
 
 	/**
@@ -55,9 +64,27 @@ public class StudentContainer {
 	 */
 	public StudentContainer(int maxSize) {
 		this.maxSize = Math.min(maxSize, NO_MAX_SIZE);
-		this.students = new EnumMap<>(Color.class);
-		for (Color color : Color.values())
-			students.put(color, 0);
+		this.students = new int[COLORS.length];
+		this.size = 0;
+	}
+
+	/**
+	 * Constructs a copy of the specified {@code StudentContainer}, with the same maximum size and the same students.
+	 * @param source the container to be copied
+	 */
+	protected StudentContainer(StudentContainer source) {
+		this.maxSize = source.maxSize;
+		this.students = source.students.clone();
+		this.size = source.size;
+	}
+
+	/**
+	 * Replaces the students in {@code this} with the students in {@code source}, which should have the same maximum size.
+	 * @param source the container whose students are copied
+	 */
+	protected void copyStudentsFrom(StudentContainer source) {
+		System.arraycopy(source.students, 0, students, 0, students.length);
+		size = source.size;
 	}
 
 	/**
@@ -70,8 +97,7 @@ public class StudentContainer {
 		if (color == null)
 			return -1;
 
-		Integer res = students.putIfAbsent(color, 0);
-		return (res == null) ? 0 : res;
+		return students[color.ordinal()];
 	}
 
 	/**
@@ -90,22 +116,18 @@ public class StudentContainer {
 		if (!dest.hasRemainingCapacity(color))
 			throw new NoMovementException("0/1 - the destination container is full");	// this should not happen
 
-		Integer srcAmount = this.students.putIfAbsent(color, 0);
-		Integer destAmount = dest.students.get(color);
-
-		if (srcAmount == null || srcAmount == 0)
+		if (this.students[color.ordinal()] == 0)
 			throw new NoMovementException("0/1 - the source container is empty.");	// TODO this could happen (Thief)
 
-		if (destAmount == null)
-			destAmount = 0;
-
-		this.students.put(color, srcAmount - 1);
-		dest.students.put(color, destAmount + 1);
+		this.remove(color, 1);
+		dest.add(color, 1);
 	}
 
 	/**
-	 * Moves {@code amount} students of random colors from {@code this} to the destination container {@code dest}.
-	 * Students are moved one by one until {@code amount} is reached or no colors that
+	 * Draws {@code amount} random students from {@code this} and moves them to the destination container {@code dest}.
+	 * Every student which can be added to {@code dest} is equally likely to be drawn, as if it was picked from a bag,
+	 * and the drawing is driven by the generator returned by {@link #random()}.
+	 * Students are moved one by one in a single pass until {@code amount} is reached or no colors that
 	 * can be both removed from {@code this} and added to {@code dest} can be found,
 	 * at which point no subsequent movements occur.
 	 * @param dest the destination {@code StudentContainer}
@@ -117,11 +139,13 @@ public class StudentContainer {
 	public void moveTo(StudentContainer dest, int amount) throws InvalidArgumentException, NoMovementException {
 		if (dest == null)
 			throw new InvalidArgumentException("dest argument is null");	// this should not happen
+		RandomGenerator random = random();
 		for (int i = 0; i < amount; i++) {
-			Color color = this.getRandomColor(dest);
+			Color color = this.drawColor(dest, random);
 			if (color == null)
 				throw new NoMovementException(i + "/" + amount + " - no matching colors were found");	// this should not happen
-			moveTo(dest, color);
+			this.remove(color, 1);
+			dest.add(color, 1);
 		}
 	}
 
@@ -140,19 +164,12 @@ public class StudentContainer {
 
 		boolean destinationFull = false;
 
-		for (Color color : Color.values()) {
+		for (Color color : COLORS) {
 			if (!destinationFull) {
-				Integer srcAmount = this.students.get(color);
-				Integer destAmount = dest.students.get(color);
-
-				if (srcAmount == null)
-					srcAmount = 0;
-				if (destAmount == null)
-					destAmount = 0;
-
+				int srcAmount = this.students[color.ordinal()];
 				int maxMovements = Math.min(dest.remainingCapacity(color), srcAmount);
-				this.students.put(color, srcAmount - maxMovements);
-				dest.students.put(color, destAmount + maxMovements);
+				this.remove(color, maxMovements);
+				dest.add(color, maxMovements);
 				if (maxMovements < srcAmount)
 					destinationFull = true;
 			}
@@ -202,23 +219,20 @@ public class StudentContainer {
 		if (thisColor == thatColor)
 			return;
 
-		Integer thisAmount = this.students.putIfAbsent(thisColor, 0);
-		Integer thatAmount = that.students.putIfAbsent(thatColor, 0);
-
-		if (thisAmount == null || thisAmount == 0 || thatAmount == null || thatAmount == 0)
+		if (this.students[thisColor.ordinal()] == 0 || that.students[thatColor.ordinal()] == 0)
 			throw new NoMovementException("0/1 - a container is empty");	// this should not happen
 
-		this.students.put(thisColor, thisAmount - 1);
-		that.students.put(thatColor, thatAmount - 1);
+		this.remove(thisColor, 1);
+		that.remove(thatColor, 1);
 
 		if (!this.hasRemainingCapacity(thatColor) || !that.hasRemainingCapacity(thisColor)) {
-			this.students.put(thisColor, thisAmount);
-			that.students.put(thatColor, thatAmount);
+			this.add(thisColor, 1);
+			that.add(thatColor, 1);
 			throw new NoMovementException("0/1 - a container is full.");	// TODO this could happen (NoSwapException)
 		}
 
-		this.students.put(thatColor, this.students.get(thatColor) + 1);
-		that.students.put(thisColor, that.students.get(thisColor) + 1);
+		this.add(thatColor, 1);
+		that.add(thisColor, 1);
 	}
 
 	/**
@@ -228,28 +242,75 @@ public class StudentContainer {
 	public Map<String, Integer> getRepresentation() {
 		Map<String, Integer> rep = new LinkedHashMap<>();
 
-		List<String> colorLiterals = Arrays.stream(Color.values()).map(Color::toString).toList();
-		for (String c : colorLiterals)
-			rep.put(c, students.get(Color.valueOf(c)));
+		for (Color color : COLORS)
+			rep.put(color.toString(), students[color.ordinal()]);
 
 		return rep;
 	}
 
 	/**
-	 * Returns a random {@link Color} such that {@code this} contains students of that color and {@code destination} has
-	 * the capacity to contain more, or {@code null} if no such color can be found.
+	 * Packs the students of {@code this} into a single {@code long}, which can be copied, compared and hashed as a
+	 * value and later loaded back through {@link #unpack(long)}.
+	 * @return the packed students
+	 * @see PackedStudents
+	 */
+	public long pack() {
+		long packed = PackedStudents.EMPTY;
+		for (Color color : COLORS)
+			packed = PackedStudents.add(packed, color, students[color.ordinal()]);
+		return packed;
+	}
+
+	/**
+	 * Replaces the students of {@code this} with the packed ones.
+	 * @param packed the packed students, usually obtained through {@link #pack()}
+	 * @throws InvalidArgumentException if the students exceed the capacity of {@code this}
+	 * @see PackedStudents
+	 */
+	public void unpack(long packed) throws InvalidArgumentException {
+		if (PackedStudents.total(packed) > maxSize)
+			throw new InvalidArgumentException("too many students for the container");
+		for (Color color : COLORS)
+			students[color.ordinal()] = PackedStudents.count(packed, color);
+		size = PackedStudents.total(packed);
+	}
+
+	/**
+	 * Returns the generator driving the random draws from {@code this}. Containers which are not bound to a game draw
+	 * through the generator of the current thread, while a {@link Bag} draws through the generator of its game.
+	 * @return the random generator of the container
+	 */
+	protected RandomGenerator random() {
+		return ThreadLocalRandom.current();
+	}
+
+	/**
+	 * Draws the color of a random student of {@code this} which {@code destination} has the capacity to contain, with
+	 * each color weighted by its number of students, or returns {@code null} if there is no such student.
+	 * The draw scans the cumulative counts of the colors, so it takes constant time and does not allocate.
 	 * @param destination the destination {@code StudentContainer}.
-	 * @return a random {@link Color} such that {@code this} contains students of that color and {@code destination} has
-	 * the capacity to contain more, or {@code null} if no such color can be found.
+	 * @param random the generator driving the draw
+	 * @return the color of the drawn student, or {@code null} if no student can be moved to {@code destination}
 	 */
-	private Color getRandomColor(StudentContainer destination) {
-		List<Color> available = students.keySet().stream().filter(c -> students.get(c) > 0).toList();
-		List<Color> destAvailable = destination.students.keySet().stream().filter(destination::hasRemainingCapacity).toList();
-		available = available.stream().filter(destAvailable::contains).toList();
+	private Color drawColor(StudentContainer destination, RandomGenerator random) {
+		int eligible = 0;
+		for (Color color : COLORS)
+			if (students[color.ordinal()] > 0 && destination.hasRemainingCapacity(color))
+				eligible += students[color.ordinal()];
 
-		if (available.size() == 0)
+		if (eligible == 0)
 			return null;
-		return available.get(new Random().nextInt(available.size()));
+
+		int drawn = random.nextInt(eligible);
+		for (Color color : COLORS) {
+			int count = students[color.ordinal()];
+			if (count > 0 && destination.hasRemainingCapacity(color)) {
+				if (drawn < count)
+					return color;
+				drawn -= count;
+			}
+		}
+		return null;	// this should not happen
 	}
 
 	/**
@@ -268,8 +329,7 @@ public class StudentContainer {
 	 * @see StudentContainer#remainingCapacity(Color)
 	 */
 	private int remainingCapacity() {
-		int currentOccupation = students.values().stream().reduce(0, Integer::sum);
-		return maxSize - currentOccupation;
+		return maxSize - size;
 	}
 
 	/**
@@ -291,8 +351,9 @@ public class StudentContainer {
 	 * is only to be called while constructing a {@link Bag} object.
 	 */
 	protected void fill() {
-		for (Color color : Color.values())
-			students.put(color, MAX_STUDENTS_PER_COLOR);
+		for (Color color : COLORS)
+			students[color.ordinal()] = MAX_STUDENTS_PER_COLOR;
+		size = MAX_STUDENTS_PER_COLOR * COLORS.length;
 	}
 
 	/**
@@ -300,10 +361,26 @@ public class StudentContainer {
 	 * @return true if and only if the container is empty
 	 */
 	protected boolean empty() {
-		for (Color color : Color.values())
-			if (students.get(color) != null && students.get(color) > 0)
-				return false;
+		return size == 0;
+	}
+
+	/**
+	 * Adds students to the container, keeping the total up-to-date. Capacity checks are up to the caller.
+	 * @param color the color of the students
+	 * @param amount the number of students to add
+	 */
+	private void add(Color color, int amount) {
+		students[color.ordinal()] += amount;
+		size += amount;
+	}
 
-		return true;
+	/**
+	 * Removes students from the container, keeping the total up-to-date. Availability checks are up to the caller.
+	 * @param color the color of the students
+	 * @param amount the number of students to remove
+	 */
+	private void remove(Color color, int amount) {
+		students[color.ordinal()] -= amount;
+		size -= amount;
 	}
 }
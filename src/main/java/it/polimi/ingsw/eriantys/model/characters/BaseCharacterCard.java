@@ -41,4 +41,9 @@ public abstract class BaseCharacterCard implements CharacterCard {
 
 	@Override
 	public void cancelEffect() throws InvalidArgumentException {}
+
+	@Override
+	public void copyStateFrom(CharacterCard source) {
+		increasedCost = ((BaseCharacterCard) source).increasedCost;
+	}
 }
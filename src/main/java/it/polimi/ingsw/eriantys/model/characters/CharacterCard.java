@@ -51,6 +51,14 @@ public interface CharacterCard {
 	 */
 	void cancelEffect() throws InvalidArgumentException;
 
+	/**
+	 * Copies the state of the specified card, which must be of the same class, into this card of a forked game.
+	 * The references to the objects of the game are not copied, since this card is already bound to the forked game.
+	 *
+	 * @param source the card of the original game
+	 */
+	void copyStateFrom(CharacterCard source);
+
 	/**
 	 * A getter for the name of the class, representing the character name.
 	 * @return the simple name of the card
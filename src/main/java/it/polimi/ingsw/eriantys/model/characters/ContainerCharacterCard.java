@@ -53,4 +53,11 @@ public abstract class ContainerCharacterCard extends StudentContainer implements
 
 	@Override
 	public void cancelEffect() {}
+
+	@Override
+	public void copyStateFrom(CharacterCard source) {
+		ContainerCharacterCard card = (ContainerCharacterCard) source;
+		increasedCost = card.increasedCost;
+		copyStudentsFrom(card);
+	}
 }
@@ -71,6 +71,22 @@ public class HerbGranny extends BaseCharacterCard {
 		board.setReturnNoEntryTile(this::returnTile);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * The board of the forked game is bound to this card, so that the no-entry tiles are returned to it.
+	 */
+	@Override
+	public void copyStateFrom(CharacterCard source) {
+		super.copyStateFrom(source);
+		tiles.addAll(((HerbGranny) source).tiles);
+		try {
+			board.setReturnNoEntryTile(this::returnTile);
+		} catch (InvalidArgumentException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		}
+	}
+
 	@Override
 	public void applyEffect(List<Color> sourceColors, List<Color> destinationColors, Color targetColor, IslandGroup targetIsland)
 			throws DuplicateNoEntryTileException, InvalidArgumentException, ItemNotAvailableException {
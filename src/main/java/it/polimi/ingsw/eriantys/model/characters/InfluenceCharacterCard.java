@@ -49,4 +49,14 @@ public abstract class InfluenceCharacterCard extends BaseCharacterCard {
 		super.cancelEffect();
 		gameManager.changeInfluenceState(normalInfluenceCalculator);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * The influence calculators are immutable and compare players by nickname, hence the active one is shared.
+	 */
+	@Override
+	public void copyStateFrom(CharacterCard source) {
+		super.copyStateFrom(source);
+		effectInfluenceCalculator = ((InfluenceCharacterCard) source).effectInfluenceCalculator;
+	}
 }
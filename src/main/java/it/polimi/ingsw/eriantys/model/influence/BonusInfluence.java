@@ -29,4 +29,12 @@ public class BonusInfluence extends CommonInfluence implements InfluenceCalculat
 
 		return (user.equals(player)) ? result + 2 : result;
 	}
+
+	@Override
+	protected int evaluateBonus(Player player) throws InvalidArgumentException {
+		if (user == null)
+			throw new InvalidArgumentException("Cannot proceed with null internal attributes parameter(s).");
+
+		return (user.equals(player)) ? 2 : 0;
+	}
 }
\ No newline at end of file
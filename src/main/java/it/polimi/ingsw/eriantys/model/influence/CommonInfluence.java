@@ -3,6 +3,8 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.PlayerList;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.StudentContainer;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
@@ -14,6 +16,8 @@ import java.util.Set;
  * defines the influence calculation when it is not affected by any {@link CharacterCard}.
  */
 public class CommonInfluence implements InfluenceCalculator {
+	private static final Color[] COLORS = Color.values();
+
 	@Override
 	public int calculate(Player player, IslandGroup island, Set<Color> ownedProfessors) throws InvalidArgumentException {
 		if (player == null || island == null || ownedProfessors == null)
@@ -28,6 +32,80 @@ public class CommonInfluence implements InfluenceCalculator {
 		return result;
 	}
 
+	/**
+	 * The method evaluates the influence of a {@link Player} through the mask of the owned professors, without
+	 * allocating. Subclasses adjust the result through {@link #countsColor(Color)}, {@link #countsTowers()} and
+	 * {@link #evaluateBonus(Player)}.
+	 */
+	@Override
+	public int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		if (player == null || island == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		int result = evaluateBonus(player);
+
+		for (Color c : COLORS)
+			if ((professorMask & 1 << c.ordinal()) != 0 && countsColor(c))
+				result += evaluateColor(island, c);
+		if (countsTowers())
+			result += evaluateTowers(island, player);
+
+		return result;
+	}
+
+	/**
+	 * The method evaluates the influence of every {@link Player} on a certain island in a single pass over the students,
+	 * without allocating: each color is credited to the owner of its professor, and the towers to the controller.
+	 * Subclasses adjust the result through {@link #countsColor(Color)}, {@link #countsTowers()} and
+	 * {@link #evaluateBonus(Player)}.
+	 */
+	@Override
+	public void calculateAll(PlayerList players, IslandGroup island, ProfessorOwnership professors, int[] influences)
+			throws InvalidArgumentException {
+		if (players == null || island == null || professors == null || influences == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		for (int i = 0; i < players.size(); i++)
+			influences[i] = evaluateBonus(players.get(i));
+
+		for (Color c : COLORS) {
+			Player owner = professors.getOwnership(c);
+			if (owner != null && countsColor(c))
+				influences[players.indexOf(owner)] += evaluateColor(island, c);
+		}
+
+		Player controller = island.getController();
+		if (controller != null && countsTowers())
+			influences[players.indexOf(controller)] += island.getTowers();
+	}
+
+	/**
+	 * The method states whether the students of a {@link Color} contribute to the influence.
+	 * @param c the desired target {@link Color}
+	 * @return {@code true} if and only if the students of the given {@link Color} are counted
+	 */
+	protected boolean countsColor(Color c) {
+		return true;
+	}
+
+	/**
+	 * The method states whether the towers on an island contribute to the influence.
+	 * @return {@code true} if and only if the towers are counted
+	 */
+	protected boolean countsTowers() {
+		return true;
+	}
+
+	/**
+	 * The method evaluates the bonus which a {@link Player} adds to the influence on any island.
+	 * @param player the target {@link Player}
+	 * @return the bonus of the given {@link Player}
+	 * @throws InvalidArgumentException if the internal attributes of the calculator are illegal
+	 */
+	protected int evaluateBonus(Player player) throws InvalidArgumentException {
+		return 0;
+	}
+
 	/**
 	 * The method evaluates the quantity of students of a {@link Color} on an island.
 	 * @param island the game location used for the calculation
@@ -36,4 +36,17 @@ public class ExcludeColorInfluence extends CommonInfluence implements InfluenceC
 
 		return result;
 	}
+
+	@Override
+	protected boolean countsColor(Color c) {
+		return c != excluded;
+	}
+
+	@Override
+	protected int evaluateBonus(Player player) throws InvalidArgumentException {
+		if (excluded == null)
+			throw new InvalidArgumentException("Cannot proceed with null internal attributes parameter(s).");
+
+		return 0;
+	}
 }
\ No newline at end of file
@@ -3,8 +3,11 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.PlayerList;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -21,4 +24,40 @@ public interface InfluenceCalculator {
 	 * @throws InvalidArgumentException if one or more parameters are illegal
 	 */
 	int calculate(Player player, IslandGroup island, Set<Color> ownedProfessors) throws InvalidArgumentException;
+
+	/**
+	 * The method evaluates the influence of a {@link Player} on a certain island, given the owned professors as a mask.
+	 * @param player the main target of the calculation
+	 * @param island the game location used for the calculation
+	 * @param professorMask the professors which the {@link Player} owns, with the bit {@code 1 << color.ordinal()} set
+	 * for each owned professor
+	 * @return the influence value for the given {@link Player} on the specified island
+	 * @throws InvalidArgumentException if one or more parameters are illegal
+	 * @see ProfessorOwnership#getProfessorMask(Player)
+	 */
+	default int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		Set<Color> ownedProfessors = EnumSet.noneOf(Color.class);
+		for (Color c : Color.values())
+			if ((professorMask & 1 << c.ordinal()) != 0)
+				ownedProfessors.add(c);
+		return calculate(player, island, ownedProfessors);
+	}
+
+	/**
+	 * The method evaluates the influence of every {@link Player} on a certain island. By default it is evaluated player
+	 * by player, while {@link CommonInfluence} and its subclasses do it in a single pass over the students.
+	 * @param players the players of the game
+	 * @param island the game location used for the calculation
+	 * @param professors the current owners of the professors
+	 * @param influences the array filled with the influence of each {@link Player}, by position in {@code players}
+	 * @throws InvalidArgumentException if one or more parameters are illegal
+	 */
+	default void calculateAll(PlayerList players, IslandGroup island, ProfessorOwnership professors, int[] influences)
+			throws InvalidArgumentException {
+		if (players == null || professors == null || influences == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		for (int i = 0; i < players.size(); i++)
+			influences[i] = calculate(players.get(i), island, professors.getProfessorMask(i));
+	}
 }
\ No newline at end of file
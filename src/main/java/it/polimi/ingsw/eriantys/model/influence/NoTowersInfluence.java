@@ -26,4 +26,9 @@ public class NoTowersInfluence extends CommonInfluence implements InfluenceCalcu
 
 		return result;
 	}
+
+	@Override
+	protected boolean countsTowers() {
+		return false;
+	}
 }
\ No newline at end of file
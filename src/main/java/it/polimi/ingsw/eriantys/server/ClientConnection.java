@@ -2,47 +2,61 @@ package it.polimi.ingsw.eriantys.server;
 
 import it.polimi.ingsw.eriantys.controller.Game;
 import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
 import it.polimi.ingsw.eriantys.messages.GameMessage;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.FillLobby;
 import it.polimi.ingsw.eriantys.messages.client.Handshake;
 import it.polimi.ingsw.eriantys.messages.client.HelpRequest;
 import it.polimi.ingsw.eriantys.messages.client.LeaveLobby;
 import it.polimi.ingsw.eriantys.messages.client.Reconnect;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
 import it.polimi.ingsw.eriantys.messages.server.Refused;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * This class represents a single client-server connection.
- * It exposes methods which allow to read from and write to the connection's I/O streams.
+ * This class represents a single client-server connection, regardless of the transport used to exchange messages.
+ * It holds the session state of the client and exposes a method to dispatch the received messages, while the concrete
+ * subclasses define how messages are actually read from and written to the network.
+ * @see SocketClientConnection
+ * @see NioClientConnection
  */
-public class ClientConnection {
-	private final Server server;
-	private final Socket socketToClient;
-	private final ObjectOutputStream out;
-	private final ObjectInputStream in;
-	private boolean running;
-	private boolean joinedLobby;
-	private Game game;
+public abstract class ClientConnection {
+	/**
+	 * The period between two consecutive heartbeats of a connection, in milliseconds.
+	 */
+	public static final long HEARTBEAT_INTERVAL = 2500;
+
+	/**
+	 * The maximum time for which a client can be silent before being disconnected, in milliseconds.
+	 */
+	public static final long READ_TIMEOUT = 10000;
+
+	protected final Server server;
+	private volatile boolean running;
+	private volatile long lastRead;
+	private volatile long lastWrite;
+	private TimerWheel.Timeout heartbeat;
+	private final AtomicBoolean evicted;
+	private volatile boolean joinedLobby;
+	private volatile Game game;
 
 	/**
-	 * Constructs a new instance of {@link ClientConnection} with the specified parameters.
+	 * Constructs a new instance of {@link ClientConnection} bound to the specified server.
 	 * @param server the game server
-	 * @param socketToClient the socket between the server and this connection's client
-	 * @throws IOException if an error occurs when retrieving the input or output stream
 	 */
-	public ClientConnection(Server server, Socket socketToClient) throws IOException {
+	protected ClientConnection(Server server) {
 		this.server = server;
-		this.socketToClient = socketToClient;
-		this.socketToClient.setSoTimeout(10000);
-		this.out = new ObjectOutputStream(socketToClient.getOutputStream());
-		this.in = new ObjectInputStream(socketToClient.getInputStream());
 		this.running = true;
+		this.lastRead = System.currentTimeMillis();
+		this.lastWrite = 0;
+		this.evicted = new AtomicBoolean(false);
 		this.joinedLobby = false;
 		this.game = null;
 	}
@@ -51,10 +65,18 @@ public class ClientConnection {
 	 * Sets the {@code running} member variable to the specified value.
 	 * @param running the desired value
 	 */
-	public synchronized void setRunning(boolean running) {
+	public void setRunning(boolean running) {
 		this.running = running;
 	}
 
+	/**
+	 * A getter to know if the connection is still being served.
+	 * @return {@code true} if and only if the connection has not been shut down yet
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
 	/**
 	 * A getter for the game which {@code this} refers to.
 	 * @return the game which the connection refers to (if there is one), or {@code null} otherwise.
@@ -88,74 +110,156 @@ public class ClientConnection {
 	}
 
 	/**
-	 * Continuously checks for new messages being sent by the client through the connection socket's input stream and
-	 * handles them according to the game phase, disconnecting the client if an I/O error occurs
-	 * or if the client is unresponsive to ping messages.
-	 */
-	public void read() {
-		try (socketToClient) {
-			while (running) { // TODO: try {} catch(NoConnectionException e) {}
-				Message message = (Message) in.readObject();
-				if (message instanceof Reconnect reconnect) {
-					String sender = reconnect.getSender();
-					int gameId = reconnect.getGameId();
-					String passcode = reconnect.getPasscode();
-					server.reconnect(sender, gameId, passcode, this);
-				} else if (message instanceof Handshake) {
-					server.connect(message.getSender(), this);
-				} else if (message instanceof ConnectionMessage connectionMessage) {
-					if (game != null && !(message instanceof LeaveLobby)) {
-						Message response = new Refused("Already participating in a game");
-						write(response);
-					} else {
-						server.handleMessage(connectionMessage);
-					}
-				} else if (message instanceof GameMessage gameMessage) {
-					if (game == null) {
-						Message response = new Refused("Not in a lobby yet");
-						write(response);
-					} else {
-						game.handleMessage(gameMessage);
-					}
-				} else if (message instanceof HelpRequest helpRequest) {
-					if (game == null) {
-						server.sendHelp(helpRequest);
-					} else {
-						game.sendHelp(helpRequest);
-					}
-				}
-			}
-		} catch (IOException | NoConnectionException | ClassNotFoundException e) {
+	 * Stops serving the connection and its heartbeat.
+	 * Subclasses release their network resources as soon as it is safe to do so.
+	 */
+	public void close() {
+		setRunning(false);
+		if (heartbeat != null) heartbeat.cancel();
+	}
+
+	/**
+	 * Schedules the heartbeat of the connection on the timer of the server.
+	 * @see #heartbeat()
+	 */
+	void startHeartbeat() {
+		heartbeat = server.getTimer().scheduleAtFixedRate(this::heartbeat, 0, HEARTBEAT_INTERVAL);
+	}
+
+	/**
+	 * Disconnects the client if it has been silent for longer than {@link #READ_TIMEOUT}, or sends it a {@link Ping}
+	 * otherwise. The ping is skipped when another message has been sent during the last interval and the client has
+	 * recently been heard from, since the connection is then known to be working.
+	 */
+	void heartbeat() {
+		if (!isRunning()) return;
+		long now = System.currentTimeMillis();
+		if (now - lastRead > READ_TIMEOUT)
 			server.disconnect(this);
-		}
+		else if (now - lastWrite >= HEARTBEAT_INTERVAL || now - lastRead >= READ_TIMEOUT / 2)
+			sendPing();
+	}
+
+	/**
+	 * Disconnects a client whose backlog of outgoing messages has reached the high-water mark of the
+	 * {@link OutboundPolicy}. The disconnection runs on the timer of the server rather than on the calling thread,
+	 * which may be in the middle of a broadcast.
+	 */
+	protected void evict() {
+		if (!evicted.compareAndSet(false, true)) return;
+		System.out.println("Disconnecting a slow client");
+		server.getTimer().schedule(() -> server.disconnect(this), 0);
+	}
+
+	/**
+	 * Checks if the specified message only carries the status of the board, which is superseded by any later status.
+	 * @param message the message to check
+	 * @return {@code true} if and only if the message can be dropped in favour of a later board update
+	 */
+	protected static boolean isSupersedable(Message message) {
+		return message instanceof BoardUpdate || message instanceof BoardDelta;
+	}
+
+	/**
+	 * Records that some bytes have just been received from the client.
+	 */
+	protected void markRead() {
+		lastRead = System.currentTimeMillis();
+	}
+
+	/**
+	 * Records that a message has just been sent to the client. Pings are not recorded, so that they never
+	 * suppress each other.
+	 */
+	protected void markWritten() {
+		lastWrite = System.currentTimeMillis();
+	}
+
+	/**
+	 * Sends a {@link Ping} message to the client.
+	 */
+	protected abstract void sendPing();
+
+	/**
+	 * Chooses the {@link MessageCodec} used to encode the messages sent to the client. Transports which do not rely on
+	 * codecs ignore the request.
+	 * @param offered the names of the codecs supported by the client, or {@code null} if it did not advertise any
+	 */
+	protected void negotiateCodec(List<String> offered) {}
+
+	/**
+	 * A getter for the name of the {@link MessageCodec} used to encode the messages sent to the client.
+	 * @return the name of the codec, or {@code null} if the transport does not rely on codecs
+	 */
+	public String getCodecName() {
+		return null;
 	}
 
 	/**
-	 * Writes the specified {@link Message} to the connection socket's output stream,
-	 * disconnecting the client if an I/O error occurs.
+	 * Writes the specified {@link Message} to the client, disconnecting it if an I/O error occurs.
 	 * @param message the message to be written and sent to the client
 	 */
-	public synchronized void write(Message message) {
-		try {
-			out.reset();
-			out.writeObject(message);
-		} catch (IOException e) {
-			server.disconnect(this);
-		}
+	public abstract void write(Message message);
+
+	/**
+	 * Writes the specified {@link EncodedMessage} to the client, reusing its encoded form when the transport allows it,
+	 * and disconnecting the client if an I/O error occurs.
+	 * @param message the shared message to be sent to the client
+	 */
+	public void write(EncodedMessage message) {
+		write(message.getMessage());
 	}
 
 	/**
-	 * Sends a {@link Ping} message to the client approximately every 2.5 seconds in order to
-	 * ensure that the connection is working, disconnecting the client if an I/O error occurs.
+	 * Handles a message received from the client according to the game phase. The messages addressed to a game are
+	 * queued on its mailbox, so that the reading thread never runs the game logic.
+	 * @param message the received message
+	 * @throws NoConnectionException if no connection can be retrieved for the sender of the message
 	 */
-	public void ping() {
-		try {
-			while (running) {
-				write(new Ping());
-				Thread.sleep(2500);
+	protected void dispatch(Message message) throws NoConnectionException {
+		if (message instanceof Reconnect reconnect) {
+			String sender = reconnect.getSender();
+			int gameId = reconnect.getGameId();
+			String passcode = reconnect.getPasscode();
+			server.reconnect(sender, gameId, passcode, this);
+		} else if (message instanceof Handshake handshake) {
+			negotiateCodec(handshake.getCodecs());
+			server.connect(message.getSender(), this);
+		} else if (message instanceof ConnectionMessage connectionMessage) {
+			// the members of a lobby can still leave it or fill it with bots
+			if (game != null && !(message instanceof LeaveLobby || message instanceof FillLobby)) {
+				Message response = new Refused("Already participating in a game");
+				write(response);
+			} else {
+				server.handleMessage(connectionMessage);
+			}
+		} else if (message instanceof GameMessage gameMessage) {
+			if (game == null) {
+				Message response = new Refused("Not in a lobby yet");
+				write(response);
+			} else {
+				Game target = game;
+				target.submit(() -> {
+					try {
+						target.handleMessage(gameMessage);
+					} catch (NoConnectionException e) {
+						server.disconnect(this);
+					}
+				});
+			}
+		} else if (message instanceof HelpRequest helpRequest) {
+			if (game == null) {
+				server.sendHelp(helpRequest);
+			} else {
+				Game target = game;
+				target.submit(() -> {
+					try {
+						target.sendHelp(helpRequest);
+					} catch (NoConnectionException e) {
+						server.disconnect(this);
+					}
+				});
 			}
-		} catch (InterruptedException e) {
-			server.disconnect(this);
 		}
 	}
 }
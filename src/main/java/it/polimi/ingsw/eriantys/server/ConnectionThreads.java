@@ -0,0 +1,41 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An enumeration of the kinds of threads which can run the reading loops of the connections served by
+ * the blocking transport.
+ * @see SocketClientConnection
+ */
+public enum ConnectionThreads {
+	/**
+	 * Each loop runs on a dedicated platform thread.
+	 */
+	PLATFORM,
+
+	/**
+	 * Each loop runs on a virtual thread, so that a blocked read only parks a cheap continuation
+	 * instead of holding an operating system thread. Virtual threads require Java 21: on older runtimes
+	 * platform threads are used instead.
+	 */
+	VIRTUAL;
+
+	/**
+	 * Creates a factory for the threads of the connection loops.
+	 * @return a factory of virtual threads if they have been requested and are supported by the runtime,
+	 * or a factory of platform threads otherwise
+	 */
+	public ThreadFactory factory() {
+		if (this == VIRTUAL) {
+			try {
+				// Thread.ofVirtual() is resolved reflectively, as the project targets a runtime which predates it;
+				// factory() is looked up on the public Thread.Builder interface, since the class of the builder is not public
+				Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+				return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+			} catch (ReflectiveOperationException e) {
+				System.out.println("Virtual threads are not available (" + e + "), falling back to platform threads");
+			}
+		}
+		return Thread::new;
+	}
+}
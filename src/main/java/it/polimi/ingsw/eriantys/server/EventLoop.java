@@ -0,0 +1,129 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class represents a single thread of the non-blocking transport. It multiplexes a set of
+ * {@link NioClientConnection} objects over a {@link Selector}, reading and dispatching their frames and flushing their
+ * outgoing queues. Heartbeats are driven by the timer of the server.
+ */
+class EventLoop implements Runnable {
+	private final Server server;
+	private final Selector selector;
+	private final Queue<NioClientConnection> pendingRegistrations;
+	private final Queue<NioClientConnection> pendingFlushes;
+	private volatile boolean running;
+
+	/**
+	 * Constructs a new {@link EventLoop} for the specified server.
+	 * @param server the game server
+	 * @throws IOException if the selector could not be opened
+	 */
+	EventLoop(Server server) throws IOException {
+		this.server = server;
+		this.selector = Selector.open();
+		this.pendingRegistrations = new ConcurrentLinkedQueue<>();
+		this.pendingFlushes = new ConcurrentLinkedQueue<>();
+		this.running = true;
+	}
+
+	/**
+	 * Hands the specified channel over to the event loop, which will serve it from then on.
+	 * @param channel a freshly accepted channel
+	 * @throws IOException if the channel could not be configured
+	 */
+	void register(SocketChannel channel) throws IOException {
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+		pendingRegistrations.add(new NioClientConnection(server, channel, this));
+		selector.wakeup();
+	}
+
+	/**
+	 * Asks the event loop to flush the outgoing queue of the specified connection.
+	 * @param connection the connection with pending frames
+	 */
+	void requestFlush(NioClientConnection connection) {
+		pendingFlushes.add(connection);
+		selector.wakeup();
+	}
+
+	/**
+	 * Stops the event loop, closing the selector and every connection it serves.
+	 */
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		try (selector) {
+			while (running) {
+				selector.select();
+				registerPending();
+				flushPending();
+				processSelectedKeys();
+			}
+			for (SelectionKey key : selector.keys())
+				((NioClientConnection) key.attachment()).close();
+		} catch (IOException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		}
+	}
+
+	private void registerPending() {
+		NioClientConnection connection;
+		while ((connection = pendingRegistrations.poll()) != null) {
+			try {
+				SelectionKey key = connection.channel().register(selector, SelectionKey.OP_READ, connection);
+				connection.onRegistered(key);
+				connection.startHeartbeat();
+			} catch (IOException e) {
+				connection.close();
+			}
+		}
+	}
+
+	private void flushPending() {
+		NioClientConnection connection;
+		while ((connection = pendingFlushes.poll()) != null) {
+			try {
+				connection.flush();
+			} catch (IOException | RuntimeException e) {
+				server.disconnect(connection);
+			}
+		}
+	}
+
+	private void processSelectedKeys() {
+		Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+		while (iterator.hasNext()) {
+			SelectionKey key = iterator.next();
+			iterator.remove();
+			NioClientConnection connection = (NioClientConnection) key.attachment();
+			try {
+				if (key.isValid() && key.isReadable())
+					connection.onReadable();
+				if (key.isValid() && key.isWritable())
+					connection.flush();
+			} catch (IOException | ClassNotFoundException | NoConnectionException e) {
+				server.disconnect(connection);
+			} catch (RuntimeException e) {
+				// a failure while handling a single message must not take down the other connections of the loop
+				System.out.println("This is a Throwable#printStackTrace() method call.");
+				e.printStackTrace();
+				server.disconnect(connection);
+			}
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.model.GameConstants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * A periodic task which reloads the {@link GameConstants} whenever their file is modified, so that the games created
+ * afterwards use the new constants. A file which cannot be read or is not valid is reported and ignored.
+ */
+class GameConstantsWatcher implements Runnable {
+	private final Path path;
+	private FileTime lastModified;
+
+	/**
+	 * Constructs a watcher of the specified file, whose constants are assumed to be already loaded.
+	 * @param path the path of the file
+	 * @throws IOException if the modification time of the file cannot be read
+	 */
+	GameConstantsWatcher(Path path) throws IOException {
+		this.path = path;
+		this.lastModified = Files.getLastModifiedTime(path);
+	}
+
+	@Override
+	public void run() {
+		try {
+			FileTime modified = Files.getLastModifiedTime(path);
+			if (modified.equals(lastModified))
+				return;
+			lastModified = modified;
+			GameConstants.load(path);
+			System.out.println("Reloaded game constants from " + path);
+		} catch (IOException e) {
+			System.out.println("Could not reload game constants from " + path + ": " + e.getMessage());
+		}
+	}
+}
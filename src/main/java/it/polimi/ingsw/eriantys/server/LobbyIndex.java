@@ -0,0 +1,112 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
+import it.polimi.ingsw.eriantys.messages.client.LobbiesRequest;
+import it.polimi.ingsw.eriantys.messages.server.AvailableLobbies;
+import it.polimi.ingsw.eriantys.messages.server.LobbyEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * This class keeps the lobbies which can be joined in, ordered by game identifier, and answers the
+ * {@link LobbiesRequest} messages. The index is updated whenever a lobby is created, joined, left or started, so that
+ * answering a request never scans the games of the server, and the answers are encoded once and cached until the next
+ * update of the index.
+ */
+class LobbyIndex {
+	/**
+	 * The maximum number of lobbies in a page, which also applies to the requests asking for every lobby.
+	 */
+	static final int MAX_PAGE_SIZE = 100;
+	private static final int MAX_CACHED_QUERIES = 256;
+
+	private record Query(int page, int pageSize, Integer lobbySize, Boolean expertMode) {}
+
+	private final ConcurrentNavigableMap<Integer, GameInfo> lobbies;
+	private volatile Map<Query, EncodedMessage> cache;
+
+	/**
+	 * Constructs an empty {@link LobbyIndex}.
+	 */
+	LobbyIndex() {
+		this.lobbies = new ConcurrentSkipListMap<>();
+		this.cache = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Adds or updates the lobby of a game. Since the information of a game changes over time, a copy is stored.
+	 * @param info the current information of the game
+	 * @return the change of the index, or {@code null} if the lobby was already up-to-date
+	 */
+	LobbyEvents.Event update(GameInfo info) {
+		GameInfo copy = new GameInfo(info.getGameId(), info.getCreator(), info.getLobbySize(), info.isExpertMode());
+		copy.setCurrentPlayers(info.getCurrentPlayers());
+		GameInfo previous = lobbies.put(copy.getGameId(), copy);
+		if (previous != null && previous.getCurrentPlayers() == copy.getCurrentPlayers()) return null;
+		invalidate();
+		LobbyEvents.Type type = previous == null ? LobbyEvents.Type.ADDED : LobbyEvents.Type.CHANGED;
+		return new LobbyEvents.Event(type, copy.getGameId(), copy);
+	}
+
+	/**
+	 * Removes the lobby of a game, which has started or has been deleted.
+	 * @param gameId the identifier of the game
+	 * @return the change of the index, or {@code null} if the lobby was not in the index
+	 */
+	LobbyEvents.Event remove(int gameId) {
+		if (lobbies.remove(gameId) == null) return null;
+		invalidate();
+		return new LobbyEvents.Event(LobbyEvents.Type.REMOVED, gameId, null);
+	}
+
+	/**
+	 * A getter for the number of lobbies which can be joined in.
+	 * @return the size of the index
+	 */
+	int size() {
+		return lobbies.size();
+	}
+
+	/**
+	 * Answers the specified request, encoding the answer only if the same page has not been requested since the last
+	 * update of the index.
+	 * @param request the request of the client
+	 * @return the lobbies matching the request, ready to be written to any connection
+	 */
+	EncodedMessage query(LobbiesRequest request) {
+		int pageSize = request.getPageSize() <= 0 ? MAX_PAGE_SIZE : Math.min(request.getPageSize(), MAX_PAGE_SIZE);
+		Query query = new Query(Math.max(request.getPage(), 0), pageSize, request.getLobbySize(), request.getExpertMode());
+		// the index is updated before the cache is replaced, so an answer computed from stale data is never cached
+		// in the current map
+		Map<Query, EncodedMessage> current = cache;
+		EncodedMessage answer = current.get(query);
+		if (answer == null) {
+			answer = new EncodedMessage(find(query));
+			if (current.size() < MAX_CACHED_QUERIES) current.putIfAbsent(query, answer);
+		}
+		return answer;
+	}
+
+	private AvailableLobbies find(Query query) {
+		List<GameInfo> page = new ArrayList<>();
+		int first = query.page() * query.pageSize();
+		int matching = 0;
+		for (GameInfo info : lobbies.values()) {
+			if (query.lobbySize() != null && info.getLobbySize() != query.lobbySize()) continue;
+			if (query.expertMode() != null && info.isExpertMode() != query.expertMode()) continue;
+			if (matching >= first && page.size() < query.pageSize()) page.add(info);
+			matching++;
+		}
+		return new AvailableLobbies(page, query.page(), matching);
+	}
+
+	private void invalidate() {
+		cache = new ConcurrentHashMap<>();
+	}
+}
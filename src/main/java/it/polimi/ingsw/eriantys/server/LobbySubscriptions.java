@@ -0,0 +1,98 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
+import it.polimi.ingsw.eriantys.messages.server.LobbyEvents;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class pushes the changes of the {@link LobbyIndex} to the connections which subscribed to them.
+ * The changes are collected for {@link #FLUSH_INTERVAL} milliseconds, keeping only the latest change of each lobby,
+ * and then sent to every subscriber as a single {@link LobbyEvents} message encoded once, so that a subscriber receives
+ * at most one message per interval however often the lobbies change.
+ */
+class LobbySubscriptions {
+	/**
+	 * The minimum time between two batches of events, in milliseconds.
+	 */
+	static final long FLUSH_INTERVAL = 250;
+
+	private final TimerWheel timer;
+	private final Set<ClientConnection> subscribers;
+	private final Map<Integer, LobbyEvents.Event> pending;
+	private boolean flushScheduled;
+
+	/**
+	 * Constructs a {@link LobbySubscriptions} object without subscribers.
+	 * @param timer the timer which sends the batches of events
+	 */
+	LobbySubscriptions(TimerWheel timer) {
+		this.timer = timer;
+		this.subscribers = ConcurrentHashMap.newKeySet();
+		this.pending = new LinkedHashMap<>();
+		this.flushScheduled = false;
+	}
+
+	/**
+	 * Adds a subscriber, which receives the batches sent from now on.
+	 * @param connection the connection of the subscriber
+	 */
+	void subscribe(ClientConnection connection) {
+		subscribers.add(connection);
+	}
+
+	/**
+	 * Removes a subscriber, if present.
+	 * @param connection the connection of the subscriber
+	 */
+	void unsubscribe(ClientConnection connection) {
+		subscribers.remove(connection);
+	}
+
+	/**
+	 * A method to know if a connection is subscribed to the changes of the lobbies.
+	 * @param connection the target connection
+	 * @return {@code true} if and only if the connection is a subscriber
+	 */
+	boolean isSubscribed(ClientConnection connection) {
+		return subscribers.contains(connection);
+	}
+
+	/**
+	 * Queues a change of a lobby for the next batch, scheduling the batch if it is the first change since the previous
+	 * one. A lobby which has been added and then changed within the same batch is still reported as added.
+	 * @param event the change of the lobby, or {@code null} if nothing changed
+	 */
+	synchronized void publish(LobbyEvents.Event event) {
+		if (event == null) return;
+		LobbyEvents.Event previous = pending.get(event.gameId());
+		if (previous != null && previous.type() == LobbyEvents.Type.ADDED && event.type() == LobbyEvents.Type.CHANGED)
+			event = new LobbyEvents.Event(LobbyEvents.Type.ADDED, event.gameId(), event.info());
+		pending.put(event.gameId(), event);
+		if (!flushScheduled) {
+			flushScheduled = true;
+			timer.schedule(this::flush, FLUSH_INTERVAL);
+		}
+	}
+
+	/**
+	 * Sends the queued changes to every subscriber.
+	 */
+	void flush() {
+		List<LobbyEvents.Event> batch;
+		synchronized (this) {
+			batch = new ArrayList<>(pending.values());
+			pending.clear();
+			flushScheduled = false;
+		}
+		if (batch.isEmpty() || subscribers.isEmpty()) return;
+		EncodedMessage message = new EncodedMessage(new LobbyEvents(batch));
+		for (ClientConnection subscriber : subscribers)
+			subscriber.write(message);
+	}
+}
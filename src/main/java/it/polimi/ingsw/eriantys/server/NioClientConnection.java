@@ -0,0 +1,230 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
+import it.polimi.ingsw.eriantys.messages.Frames;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents a client-server connection served by the non-blocking transport.
+ * It owns a read buffer, where incoming frames are accumulated until they can be decoded, and a bounded queue of
+ * outgoing frames which are written by the {@link EventLoop} the connection is bound to, several at a time.
+ * Apart from the {@code write} methods and {@link #close()}, every method is only meant to be called by the event loop
+ * thread.
+ * @see Frames
+ */
+public class NioClientConnection extends ClientConnection {
+	private static final int INITIAL_BUFFER_SIZE = 4096;
+	private static final int MAX_GATHERED_FRAMES = 16;
+	private static final ByteBuffer[] pings = { encodePing(Codecs.JAVA), encodePing(Codecs.BINARY) };
+
+	private final SocketChannel channel;
+	private final EventLoop loop;
+	private final OutboundQueue<ByteBuffer> outbound;
+	private final ByteBuffer[] gathered;
+	private final AtomicBoolean flushScheduled;
+	private final AtomicBoolean closed;
+	private ByteBuffer readBuffer;
+	private SelectionKey key;
+	private volatile MessageCodec codec;
+
+	/**
+	 * Constructs a new instance of {@link NioClientConnection} with the specified parameters.
+	 * @param server the game server
+	 * @param channel the channel between the server and this connection's client
+	 * @param loop the event loop which serves the connection
+	 */
+	NioClientConnection(Server server, SocketChannel channel, EventLoop loop) {
+		super(server);
+		this.channel = channel;
+		this.loop = loop;
+		this.outbound = new OutboundQueue<>(server.getOutboundPolicy());
+		this.gathered = new ByteBuffer[MAX_GATHERED_FRAMES];
+		this.flushScheduled = new AtomicBoolean(false);
+		this.closed = new AtomicBoolean(false);
+		this.readBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+		this.codec = Codecs.JAVA;
+	}
+
+	/**
+	 * Encodes the specified {@link Message} into a frame, using the codec negotiated with the client, and queues it for
+	 * the event loop to write it, disconnecting the client if the message cannot be encoded.
+	 * @param message the message to be written and sent to the client
+	 */
+	@Override
+	public void write(Message message) {
+		if (!isRunning()) return;
+		try {
+			if (enqueue(Frames.encode(message, codec), isSupersedable(message)))
+				markWritten();
+		} catch (IOException e) {
+			server.disconnect(this);
+		}
+	}
+
+	/**
+	 * Queues the frame of the specified {@link EncodedMessage} for the codec negotiated with the client, which is
+	 * encoded only by the first recipient using that codec, disconnecting the client if it cannot be encoded.
+	 * @param message the shared message to be sent to the client
+	 */
+	@Override
+	public void write(EncodedMessage message) {
+		if (!isRunning()) return;
+		try {
+			if (enqueue(message.frame(codec), isSupersedable(message.getMessage())))
+				markWritten();
+		} catch (IOException e) {
+			server.disconnect(this);
+		}
+	}
+
+	@Override
+	protected void sendPing() {
+		if (isRunning()) enqueue(pings[codec.getId()].duplicate(), false);
+	}
+
+	@Override
+	protected void negotiateCodec(List<String> offered) {
+		codec = Codecs.negotiate(offered);
+	}
+
+	@Override
+	public String getCodecName() {
+		return codec.getName();
+	}
+
+	/**
+	 * Stops serving the connection and closes the underlying channel.
+	 */
+	@Override
+	public void close() {
+		super.close();
+		if (closed.compareAndSet(false, true)) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				System.out.println("This is a Throwable#printStackTrace() method call.");
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Queues an already encoded frame and asks the event loop to flush it, disconnecting the client if its backlog has
+	 * reached the high-water mark.
+	 * @param frame the frame to send, positioned at its first byte
+	 * @param supersedable {@code true} if and only if the frame carries a board update which a later one supersedes
+	 * @return {@code true} if and only if the frame has been queued
+	 */
+	boolean enqueue(ByteBuffer frame, boolean supersedable) {
+		if (!outbound.offer(frame, supersedable)) {
+			evict();
+			return false;
+		}
+		if (flushScheduled.compareAndSet(false, true))
+			loop.requestFlush(this);
+		return true;
+	}
+
+	/**
+	 * Binds the connection to the key obtained by registering its channel with the event loop selector.
+	 * @param key the selection key of the channel
+	 */
+	void onRegistered(SelectionKey key) {
+		this.key = key;
+	}
+
+	/**
+	 * Reads the available bytes from the channel and dispatches every complete frame received so far.
+	 * @throws IOException if an I/O error occurs, if the client closed the connection or if a frame is malformed
+	 * @throws ClassNotFoundException if a frame refers to an unknown class
+	 * @throws NoConnectionException if no connection can be retrieved for the sender of a message
+	 */
+	void onReadable() throws IOException, ClassNotFoundException, NoConnectionException {
+		if (channel.read(readBuffer) == -1)
+			throw new IOException("Connection closed by the client");
+		markRead();
+
+		readBuffer.flip();
+		while (isRunning() && readBuffer.remaining() >= Frames.HEADER_SIZE) {
+			int start = readBuffer.position();
+			int length = readBuffer.getInt(start);
+			Frames.checkLength(length);
+			if (readBuffer.remaining() < Frames.HEADER_SIZE + length) {
+				ensureCapacity(Frames.HEADER_SIZE + length);
+				break;
+			}
+			readBuffer.position(start + Frames.HEADER_SIZE + length);
+			dispatch(Frames.decode(readBuffer.array(), readBuffer.arrayOffset() + start + Frames.HEADER_SIZE, length));
+		}
+		readBuffer.compact();
+	}
+
+	/**
+	 * Clears the flush request of the connection and writes as many queued frames as the channel accepts, gathering up
+	 * to {@value #MAX_GATHERED_FRAMES} frames in each write and registering interest in write readiness if some bytes
+	 * are left. Superseded board updates are dropped first if the client has fallen behind.
+	 * @throws IOException if an I/O error occurs
+	 */
+	void flush() throws IOException {
+		flushScheduled.set(false);
+		if (!key.isValid()) return;
+
+		ByteBuffer head = outbound.peek();
+		outbound.coalesce(head != null && head.position() > 0);
+		int count;
+		while ((count = outbound.peek(gathered)) > 0) {
+			channel.write(gathered, 0, count);
+			int written = 0;
+			while (written < count && !gathered[written].hasRemaining()) {
+				outbound.poll();
+				written++;
+			}
+			Arrays.fill(gathered, 0, count, null);
+			if (written < count) {
+				key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+				return;
+			}
+		}
+		key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+	}
+
+	/**
+	 * A getter for the channel between the server and this connection's client.
+	 * @return the channel of the connection
+	 */
+	SocketChannel channel() {
+		return channel;
+	}
+
+	/**
+	 * Grows the read buffer so that it is able to hold a frame of the specified size, keeping the unread bytes.
+	 * The buffer must be in read mode when this method is called.
+	 * @param frameSize the total size of the frame being received
+	 */
+	private void ensureCapacity(int frameSize) {
+		if (readBuffer.capacity() >= frameSize) return;
+		ByteBuffer larger = ByteBuffer.allocate(frameSize);
+		larger.put(readBuffer).flip();
+		readBuffer = larger;
+	}
+
+	private static ByteBuffer encodePing(MessageCodec codec) {
+		try {
+			return Frames.encode(new Ping(), codec).asReadOnlyBuffer();
+		} catch (IOException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+}
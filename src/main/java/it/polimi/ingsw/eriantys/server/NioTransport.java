@@ -0,0 +1,61 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * This class represents the non-blocking transport of the {@link Server}. The server thread accepts the incoming
+ * connections and distributes them in a round-robin fashion over a small, fixed pool of {@link EventLoop} threads,
+ * so that the number of threads does not grow with the number of connected clients.
+ */
+class NioTransport {
+	private final Server server;
+	private final ServerSocketChannel serverChannel;
+	private final EventLoop[] loops;
+	private int nextLoop;
+
+	/**
+	 * Constructs a {@link NioTransport} bound to the specified port.
+	 * @param server the game server
+	 * @param port the port number on which the transport will accept connections
+	 * @param eventLoops the number of event loop threads
+	 * @throws IOException if the server channel or one of the selectors could not be opened
+	 */
+	NioTransport(Server server, int port, int eventLoops) throws IOException {
+		this.server = server;
+		this.serverChannel = ServerSocketChannel.open();
+		this.serverChannel.bind(new InetSocketAddress(port));
+		this.loops = new EventLoop[Math.max(1, eventLoops)];
+		for (int i = 0; i < loops.length; i++)
+			loops[i] = new EventLoop(server);
+		this.nextLoop = 0;
+	}
+
+	/**
+	 * Starts the event loops and accepts connections on the calling thread until the server stops running.
+	 * @throws IOException if an I/O error occurs while accepting a connection
+	 */
+	void serve() throws IOException {
+		for (int i = 0; i < loops.length; i++) {
+			Thread thread = new Thread(loops[i], Server.name + "-EventLoop-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		try (serverChannel) {
+			System.out.println("Accepting connections on port " + serverChannel.socket().getLocalPort()
+					+ " (non-blocking transport, " + loops.length + " event loops)");
+			while (server.isRunning()) {
+				SocketChannel channel = serverChannel.accept();
+				System.out.println("Client connected at " + channel.getRemoteAddress());
+				loops[nextLoop].register(channel);
+				nextLoop = (nextLoop + 1) % loops.length;
+			}
+		} finally {
+			for (EventLoop loop : loops)
+				loop.shutdown();
+		}
+	}
+}
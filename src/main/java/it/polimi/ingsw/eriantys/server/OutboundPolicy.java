@@ -0,0 +1,55 @@
+package it.polimi.ingsw.eriantys.server;
+
+/**
+ * This class represents the policy applied by every connection of the {@link Server} to the messages which are waiting
+ * to be written to a slow client. Once the backlog of a connection exceeds the coalescing mark, board updates which have
+ * been superseded by a newer one are dropped; once it reaches the high-water mark, the client is disconnected.
+ */
+public final class OutboundPolicy {
+	/**
+	 * The policy used when none is specified.
+	 */
+	public static final OutboundPolicy DEFAULT = new OutboundPolicy(128, 512);
+
+	private final int coalesceMark;
+	private final int highWaterMark;
+
+	/**
+	 * Constructs an {@link OutboundPolicy} with the specified marks, expressed as numbers of queued messages.
+	 * @param coalesceMark the backlog above which superseded board updates are dropped
+	 * @param highWaterMark the maximum backlog of a connection
+	 * @throws IllegalArgumentException if a mark is not positive or if the coalescing mark exceeds the high-water mark
+	 */
+	public OutboundPolicy(int coalesceMark, int highWaterMark) {
+		if (coalesceMark <= 0 || highWaterMark <= 0 || coalesceMark > highWaterMark)
+			throw new IllegalArgumentException("Invalid outbound marks: " + coalesceMark + ", " + highWaterMark);
+		this.coalesceMark = coalesceMark;
+		this.highWaterMark = highWaterMark;
+	}
+
+	/**
+	 * Constructs an {@link OutboundPolicy} with the specified high-water mark, coalescing when a quarter of it is reached.
+	 * @param highWaterMark the maximum backlog of a connection
+	 * @return the policy
+	 * @throws IllegalArgumentException if the mark is not positive
+	 */
+	public static OutboundPolicy withHighWaterMark(int highWaterMark) {
+		return new OutboundPolicy(Math.max(1, highWaterMark / 4), highWaterMark);
+	}
+
+	/**
+	 * A getter for the backlog above which superseded board updates are dropped.
+	 * @return the coalescing mark
+	 */
+	public int getCoalesceMark() {
+		return coalesceMark;
+	}
+
+	/**
+	 * A getter for the maximum backlog of a connection.
+	 * @return the high-water mark
+	 */
+	public int getHighWaterMark() {
+		return highWaterMark;
+	}
+}
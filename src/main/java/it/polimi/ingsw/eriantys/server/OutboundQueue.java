@@ -0,0 +1,122 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents the bounded queue of the items waiting to be written to a client. Any thread can offer items
+ * without locking, while a single writer thread drains them, possibly in batches.
+ * @param <T> the type of the queued items
+ * @see OutboundPolicy
+ */
+class OutboundQueue<T> {
+	private final Queue<Entry<T>> entries;
+	private final AtomicInteger size;
+	private final OutboundPolicy policy;
+
+	/**
+	 * Constructs an empty {@link OutboundQueue} bounded by the specified policy.
+	 * @param policy the policy of the queue
+	 */
+	OutboundQueue(OutboundPolicy policy) {
+		this.entries = new ConcurrentLinkedQueue<>();
+		this.size = new AtomicInteger(0);
+		this.policy = policy;
+	}
+
+	/**
+	 * Appends an item to the queue, unless the high-water mark has been reached.
+	 * @param item the item to append
+	 * @param supersedable {@code true} if and only if the item can be dropped in favour of a later supersedable item
+	 * @return {@code true} if and only if the item has been appended
+	 */
+	boolean offer(T item, boolean supersedable) {
+		if (size.incrementAndGet() > policy.getHighWaterMark()) {
+			size.decrementAndGet();
+			return false;
+		}
+		entries.add(new Entry<>(item, supersedable));
+		return true;
+	}
+
+	/**
+	 * Returns the first item of the queue without removing it. Only meant to be called by the writer thread.
+	 * @return the first item, or {@code null} if the queue is empty
+	 */
+	T peek() {
+		Entry<T> entry = entries.peek();
+		return entry == null ? null : entry.item;
+	}
+
+	/**
+	 * Removes and returns the first item of the queue. Only meant to be called by the writer thread.
+	 * @return the first item, or {@code null} if the queue is empty
+	 */
+	T poll() {
+		Entry<T> entry = entries.poll();
+		if (entry == null) return null;
+		size.decrementAndGet();
+		return entry.item;
+	}
+
+	/**
+	 * Copies the first items of the queue into the specified array, without removing them.
+	 * Only meant to be called by the writer thread.
+	 * @param batch the destination array
+	 * @return the number of items copied
+	 */
+	int peek(T[] batch) {
+		int count = 0;
+		for (Iterator<Entry<T>> iterator = entries.iterator(); iterator.hasNext() && count < batch.length; count++)
+			batch[count] = iterator.next().item;
+		return count;
+	}
+
+	/**
+	 * Drops every supersedable item which is followed by a later supersedable item, provided that the backlog exceeds the
+	 * coalescing mark. Only meant to be called by the writer thread.
+	 * @param headInFlight {@code true} if and only if the first item has been partially written and must be kept
+	 * @return the number of items dropped
+	 */
+	int coalesce(boolean headInFlight) {
+		if (size.get() <= policy.getCoalesceMark()) return 0;
+
+		Entry<T> last = null;
+		for (Entry<T> entry : entries)
+			if (entry.supersedable) last = entry;
+		if (last == null) return 0;
+
+		int dropped = 0;
+		boolean head = true;
+		for (Iterator<Entry<T>> iterator = entries.iterator(); iterator.hasNext(); head = false) {
+			Entry<T> entry = iterator.next();
+			if (entry == last) break;
+			if (entry.supersedable && !(head && headInFlight)) {
+				iterator.remove();
+				dropped++;
+			}
+		}
+		size.addAndGet(-dropped);
+		return dropped;
+	}
+
+	/**
+	 * A getter for the number of queued items.
+	 * @return the backlog of the queue
+	 */
+	int size() {
+		return size.get();
+	}
+
+	private static final class Entry<T> {
+		private final T item;
+		private final boolean supersedable;
+
+		private Entry(T item, boolean supersedable) {
+			this.item = item;
+			this.supersedable = supersedable;
+		}
+	}
+}
@@ -5,16 +5,23 @@ import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.client.*;
 import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.GameConstants;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+import it.polimi.ingsw.eriantys.simulation.MonteCarloPlayer;
 import org.apache.commons.cli.*;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.HashMap;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents the application server thread. It handles all the clients, instantiating
@@ -22,15 +29,24 @@ import java.util.Optional;
  */
 public class Server extends Thread {
 	private final int port;
+	private final Transport transport;
 	private final ServerSocket serverSocket;
-	private boolean running;
+	private final NioTransport nioTransport;
+	private final ThreadFactory connectionThreads;
+	private final OutboundPolicy outboundPolicy;
+	private final TimerWheel timer;
+	private final ExecutorService gameExecutor;
+	private volatile MonteCarloPlayer bot;
+	private volatile boolean running;
 	private final Map<Integer, Game> gameById;
-	private final Map<String, ClientConnection> connectionByUsername;
-	private final Map<String, Boolean> reconnectionSettings;
-	private int nextGameId;
+	private final SessionRegistry sessions;
+	private final LobbyIndex lobbies;
+	private final LobbySubscriptions subscriptions;
+	private final AtomicInteger nextGameId;
 
-	private static final int MIN_NUM_PLAYERS = 2;
-	private static final int MAX_NUM_PLAYERS = 3;
+	private static final long TIMER_TICK = 100;
+	private static final int TIMER_TICKS_PER_WHEEL = 512;
+	private static final long CONSTANTS_POLL_INTERVAL = 5000;
 
 	public static final String name = "Server";
 
@@ -41,8 +57,20 @@ public class Server extends Thread {
 	public static void main(String[] args) {
 		String serverAddress = "localhost";
 		int serverPort = 9133;
+		Transport transport = Transport.BLOCKING;
+		int eventLoops = Runtime.getRuntime().availableProcessors();
+		ConnectionThreads threads = ConnectionThreads.PLATFORM;
+		OutboundPolicy outboundPolicy = OutboundPolicy.DEFAULT;
+		Path constantsPath = null;
+		long botBudget = 0;
 		Options options = new Options();
 		options.addOption(new Option("p", "port", true, "Server port"));
+		options.addOption(new Option("t", "transport", true, "Server transport (blocking or nio)"));
+		options.addOption(new Option("l", "event-loops", true, "Number of event loop threads of the nio transport"));
+		options.addOption(new Option("th", "threads", true, "Connection threads of the blocking transport (platform or virtual)"));
+		options.addOption(new Option("q", "queue-limit", true, "Maximum number of messages queued for a client"));
+		options.addOption(new Option("c", "config", true, "Game constants file, reloaded when modified"));
+		options.addOption(new Option("b", "bot-budget", true, "Time budget of the moves of the bot in milliseconds, which enables the bot"));
 		CommandLineParser parser = new DefaultParser();
 		try {
 			CommandLine line = parser.parse(options, args);
@@ -51,13 +79,37 @@ public class Server extends Thread {
 				if (port >= 0 && port <= 65535)
 					serverPort = port;
 			}
+			if (line.hasOption("t"))
+				transport = Transport.valueOf(line.getOptionValue("transport").toUpperCase());
+			if (line.hasOption("l")) {
+				int loops = Integer.parseInt(line.getOptionValue("event-loops"));
+				if (loops > 0)
+					eventLoops = loops;
+			}
+			if (line.hasOption("th"))
+				threads = ConnectionThreads.valueOf(line.getOptionValue("threads").toUpperCase());
+			if (line.hasOption("q"))
+				outboundPolicy = OutboundPolicy.withHighWaterMark(Integer.parseInt(line.getOptionValue("queue-limit")));
+			if (line.hasOption("c")) {
+				constantsPath = Path.of(line.getOptionValue("config"));
+				GameConstants.load(constantsPath);
+			}
+			if (line.hasOption("b")) {
+				botBudget = Long.parseLong(line.getOptionValue("bot-budget"));
+				if (botBudget <= 0)
+					throw new IllegalArgumentException();
+			}
 		}
-		catch (ParseException e) {
+		catch (ParseException | IllegalArgumentException | IOException e) {
 			System.out.println("Parsing failed");
 			System.exit(1);
 		}
 		try {
-			Server server = new Server(serverPort);
+			Server server = new Server(serverPort, transport, eventLoops, threads, outboundPolicy);
+			if (constantsPath != null)
+				server.watchGameConstants(constantsPath);
+			if (botBudget > 0)
+				server.enableBot(botBudget);
 			server.start();
 		} catch (IOException e) {
 			System.out.println("This is a Throwable#printStackTrace() method call.");
@@ -66,58 +118,199 @@ public class Server extends Thread {
 	}
 
 	/**
-	 * Constructs a {@code Server} object, starting the {@link ServerSocket}.
+	 * Constructs a {@code Server} object which uses the blocking transport, starting the {@link ServerSocket}.
 	 * @param port the port number on which the {@code Server} will run
 	 * @throws IOException if the {@link ServerSocket} could not be opened
 	 */
 	public Server(int port) throws IOException {
+		this(port, Transport.BLOCKING, 0);
+	}
+
+	/**
+	 * Constructs a {@code Server} object which uses the specified transport.
+	 * @param port the port number on which the {@code Server} will run
+	 * @param transport the transport used to serve the clients
+	 * @param eventLoops the number of event loop threads, only relevant for {@link Transport#NIO}
+	 * @throws IOException if the server socket could not be opened
+	 */
+	public Server(int port, Transport transport, int eventLoops) throws IOException {
+		this(port, transport, eventLoops, ConnectionThreads.PLATFORM);
+	}
+
+	/**
+	 * Constructs a {@code Server} object which uses the specified transport and kind of connection threads.
+	 * @param port the port number on which the {@code Server} will run
+	 * @param transport the transport used to serve the clients
+	 * @param eventLoops the number of event loop threads, only relevant for {@link Transport#NIO}
+	 * @param threads the kind of threads running the connection loops, only relevant for {@link Transport#BLOCKING}
+	 * @throws IOException if the server socket could not be opened
+	 */
+	public Server(int port, Transport transport, int eventLoops, ConnectionThreads threads) throws IOException {
+		this(port, transport, eventLoops, threads, OutboundPolicy.DEFAULT);
+	}
+
+	/**
+	 * Constructs a {@code Server} object which uses the specified transport, kind of connection threads and policy for
+	 * the messages queued for slow clients.
+	 * @param port the port number on which the {@code Server} will run
+	 * @param transport the transport used to serve the clients
+	 * @param eventLoops the number of event loop threads, only relevant for {@link Transport#NIO}
+	 * @param threads the kind of threads running the connection loops, only relevant for {@link Transport#BLOCKING}
+	 * @param outboundPolicy the policy applied to the outgoing queue of every connection
+	 * @throws IOException if the server socket could not be opened
+	 */
+	public Server(int port, Transport transport, int eventLoops, ConnectionThreads threads,
+				  OutboundPolicy outboundPolicy) throws IOException {
 		this.port = port;
-		this.gameById = new HashMap<>();
-		this.connectionByUsername = new HashMap<>();
-		this.reconnectionSettings = new HashMap<>();
-		this.nextGameId = 0;
-		this.serverSocket = new ServerSocket(port);
+		this.transport = transport;
+		this.connectionThreads = threads.factory();
+		this.outboundPolicy = outboundPolicy;
+		this.timer = new TimerWheel(name + "-Timer", TIMER_TICK, TIMER_TICKS_PER_WHEEL,
+				Executors.newCachedThreadPool(task -> {
+					Thread thread = new Thread(task);
+					thread.setDaemon(true);
+					return thread;
+				}));
+		this.gameExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, name + "-Game-" + count.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.gameById = new ConcurrentHashMap<>();
+		this.sessions = new SessionRegistry();
+		this.lobbies = new LobbyIndex();
+		this.subscriptions = new LobbySubscriptions(timer);
+		this.nextGameId = new AtomicInteger();
+		this.running = true;
+		if (transport == Transport.NIO) {
+			this.serverSocket = null;
+			this.nioTransport = new NioTransport(this, port, eventLoops);
+		} else {
+			this.serverSocket = new ServerSocket(port);
+			this.nioTransport = null;
+		}
+	}
+
+	/**
+	 * Reloads the {@link GameConstants} from the specified file whenever it is modified, checking it periodically on the
+	 * timer of the server. The games which are already running keep their constants.
+	 * @param path the path of the file, whose constants should already be loaded
+	 * @throws IOException if the modification time of the file cannot be read
+	 */
+	public void watchGameConstants(Path path) throws IOException {
+		timer.scheduleAtFixedRate(new GameConstantsWatcher(path), CONSTANTS_POLL_INTERVAL, CONSTANTS_POLL_INTERVAL);
+	}
+
+	/**
+	 * Enables the bot of the server, which plays the turns of the disconnected players and the seats of the lobbies filled
+	 * on request, searching every move on a pool sized to the available processors. The bot is only given to the games
+	 * created afterwards.
+	 * @param budgetMillis the time budget of every move of the bot, in milliseconds
+	 */
+	public void enableBot(long budgetMillis) {
+		bot = new MonteCarloPlayer(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), budgetMillis);
+	}
+
+	/**
+	 * A getter for the bot of the server, whose search throughput is exposed by
+	 * {@link MonteCarloPlayer#getPlayoutsPerSecondPerCore()}.
+	 * @return the bot of the server, or {@code null} if the bot is not enabled
+	 */
+	public MonteCarloPlayer getBot() {
+		return bot;
 	}
 
 	@Override
 	public void run() {
+		try {
+			if (transport == Transport.NIO)
+				nioTransport.serve();
+			else
+				serveBlocking();
+		} catch (IOException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Accepts connections on the {@link ServerSocket}, serving each client with a reading and a writing thread created by
+	 * the connection thread factory and with a heartbeat scheduled on the timer.
+	 * @throws IOException if an I/O error occurs while accepting a connection
+	 */
+	private void serveBlocking() throws IOException {
 		try (serverSocket) {
 			System.out.println("Accepting connections on port " + port);
-			running = true;
 			while (running) {
 				Socket socketToClient = serverSocket.accept();
-				ClientConnection connection = new ClientConnection(this, socketToClient);
+				SocketClientConnection connection = new SocketClientConnection(this, socketToClient);
 				System.out.println("Client connected at " + socketToClient.getRemoteSocketAddress());
-				new Thread(connection::read).start();
-				new Thread(connection::ping).start();
+				connectionThreads.newThread(connection::read).start();
+				connectionThreads.newThread(connection::drain).start();
+				connection.startHeartbeat();
 			}
-		} catch (IOException e) {
-			System.out.println("This is a Throwable#printStackTrace() method call.");
-			e.printStackTrace();
 		}
 	}
 
+	/**
+	 * A getter for the timer shared by the connections and the games of the server.
+	 * @return the timer of the server
+	 */
+	public TimerWheel getTimer() {
+		return timer;
+	}
+
+	/**
+	 * A getter for the pool running the mailboxes of the games, which is sized to the available processors.
+	 * @return the executor shared by the games of the server
+	 */
+	public ExecutorService getGameExecutor() {
+		return gameExecutor;
+	}
+
+	/**
+	 * A getter for the policy applied to the outgoing queue of every connection.
+	 * @return the outbound policy of the server
+	 */
+	public OutboundPolicy getOutboundPolicy() {
+		return outboundPolicy;
+	}
+
+	/**
+	 * A getter to know if the server is still accepting connections.
+	 * @return {@code true} if and only if the server is running
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
 	/**
 	 * Handles a user connection by processing a {@link Handshake} communication item.
 	 * @param username the username requested by the client
 	 * @param connection a reference to the client connection instance
 	 */
-	public synchronized void connect(String username, ClientConnection connection) {
+	public void connect(String username, ClientConnection connection) {
 		Message response;
-		if (connectionByUsername.containsKey(username)) {
+		String existingUsername = sessions.getUsername(connection);
+		if (username != null && username.startsWith(Game.BOT_PREFIX)) {
+			response = new Refused("Usernames starting with " + Game.BOT_PREFIX + " are reserved");
+		} else if (sessions.isConnected(username)) {
 			response = new Refused("The requested username already exists");
-		} else if (connectionByUsername.containsValue(connection)) {
-			Optional<String> existingUsername = connectionByUsername.keySet().stream()
-					.filter(k -> connectionByUsername.get(k) == connection)
-					.reduce((a, b) -> a);
-			String details = existingUsername
-					.map(u -> "Client already connected with username " + u)
-					.orElse("Client already connected, but no username found");
-			response = new Refused(details);
+		} else if (existingUsername != null) {
+			response = new Refused("Client already connected with username " + existingUsername);
+		} else if (!sessions.register(username, connection)) {
+			// another client has taken the username, or this one has registered, in the meantime
+			existingUsername = sessions.getUsername(connection);
+			response = new Refused(existingUsername == null
+					? "The requested username already exists"
+					: "Client already connected with username " + existingUsername);
 		} else {
-			connectionByUsername.put(username, connection);
-			reconnectionSettings.putIfAbsent(username, false);
-			response = new AcceptedUsername(username);
+			response = new AcceptedUsername(username, connection.getCodecName());
 		}
 		connection.write(response);
 	}
@@ -129,21 +322,25 @@ public class Server extends Thread {
 	 * @param passcode the hexadecimal code which has been associated with the client by the disconnection handling infrastructure
 	 * @param connection a reference to the client connection instance
 	 */
-	public synchronized void reconnect(String username, int gameId, String passcode, ClientConnection connection) {
+	public void reconnect(String username, int gameId, String passcode, ClientConnection connection) {
 		Message response;
-		if (reconnectionSettings.get(username) != null && reconnectionSettings.get(username)) {
-			if (!gameById.containsKey(gameId) || gameById.get(gameId) == null)
+		if (sessions.canReconnect(username)) {
+			Game game = gameById.get(gameId);
+			if (game == null)
 				response = new RefusedReconnect("The game #" + gameId + " does not exist");
 			else {
-				Game game = gameById.get(gameId);
-				if (game.checkCredentials(username, passcode)) {
-					response = new Accepted();
-					connection.setGame(game);
-					game.reconnect(username);
-				} else
-					response = new RefusedReconnect("Incorrect credentials");
+				// the credentials and the state of the players belong to the game, hence the check runs on its mailbox
+				game.submit(() -> {
+					if (game.checkCredentials(username, passcode)) {
+						connection.setGame(game);
+						game.reconnect(username);
+						connection.write(new Accepted());
+					} else
+						connection.write(new RefusedReconnect("Incorrect credentials"));
+				});
+				return;
 			}
-		} else if (!connectionByUsername.containsKey(username)) {
+		} else if (!sessions.isConnected(username)) {
 			response = new RefusedReconnect("The requested username does not exist");
 		} else {
 			response = new RefusedReconnect("Unable to reconnect to game #" + gameId);
@@ -154,22 +351,22 @@ public class Server extends Thread {
 
 	/**
 	 * Handles a user disconnection, causing an update on the internal state of the class.
+	 * The disconnection is notified to the game of the user through its mailbox.
 	 * @param connection a reference to the client connection instance
 	 */
-	public synchronized void disconnect(ClientConnection connection) {
-		connection.setRunning(false);
-		connectionByUsername.keySet().stream()
-				.filter(k -> connectionByUsername.get(k) == connection)
-				.toList()
-				.forEach(user -> {
-					Game game = connection.getGame();
-					connectionByUsername.remove(user);
-					if (game != null) {
-						reconnectionSettings.put(user, game.isStarted());
-						game.disconnect(user);
-						if (game.isEmpty()) gameById.remove(game.getInfo().getGameId());
-					}
-				});
+	public void disconnect(ClientConnection connection) {
+		connection.close();
+		subscriptions.unsubscribe(connection);
+		String user = sessions.unregister(connection);
+		Game game = connection.getGame();
+		if (user != null && game != null) {
+			game.submit(() -> {
+				sessions.setReconnect(user, game.isStarted());
+				game.disconnect(user);
+				if (game.isEmpty()) gameById.remove(game.getInfo().getGameId(), game);
+				updateLobby(game);
+			});
+		}
 	}
 
 	/**
@@ -178,7 +375,7 @@ public class Server extends Thread {
 	 * @return {@code true} if and only if a {@link ClientConnection} exists for the target username
 	 */
 	public boolean isConnected(String username) {
-		return connectionByUsername.get(username) != null;
+		return sessions.isConnected(username);
 	}
 
 	/**
@@ -188,7 +385,7 @@ public class Server extends Thread {
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
 	public ClientConnection getConnection(String username) throws NoConnectionException {
-		ClientConnection connection = connectionByUsername.get(username);
+		ClientConnection connection = sessions.getConnection(username);
 		if (connection == null) throw new NoConnectionException();
 		return connection;
 	}
@@ -201,10 +398,14 @@ public class Server extends Thread {
 	public void handleMessage(ConnectionMessage message) throws NoConnectionException {
 		if (message instanceof LobbiesRequest lobbiesRequest)
 			handleLobbiesRequest(lobbiesRequest);
+		else if (message instanceof LobbiesSubscription lobbiesSubscription)
+			handleLobbiesSubscription(lobbiesSubscription);
 		else if (message instanceof JoinLobby joinLobby)
 			handleJoinLobby(joinLobby);
 		else if (message instanceof LeaveLobby leaveLobby)
 			handleLeaveLobby(leaveLobby);
+		else if (message instanceof FillLobby fillLobby)
+			handleFillLobby(fillLobby);
 		else if (message instanceof LobbyCreation lobbyCreation)
 			handleLobbyCreation(lobbyCreation);
 		else
@@ -220,10 +421,25 @@ public class Server extends Thread {
 		String sender = message.getSender();
 		ClientConnection connection = getConnection(sender);
 
-		Message response = new AvailableLobbies(
-				gameById.values().stream().filter(g -> !g.isStarted()).map(Game::getInfo).toList());
 		System.out.println("Sending lobby list...");
-		connection.write(response);
+		connection.write(lobbies.query(message));
+	}
+
+	/**
+	 * Handles a user request by processing a {@link LobbiesSubscription} communication item. A new subscriber receives
+	 * the current lobbies, on top of which the following {@link LobbyEvents} messages are applied.
+	 * @param message the target message to process
+	 * @throws NoConnectionException if no connection can be retrieved for the target player
+	 */
+	private void handleLobbiesSubscription(LobbiesSubscription message) throws NoConnectionException {
+		String sender = message.getSender();
+		ClientConnection connection = getConnection(sender);
+
+		if (message.isActive()) {
+			subscriptions.subscribe(connection);
+			connection.write(lobbies.query(new LobbiesRequest(sender)));
+		} else
+			subscriptions.unsubscribe(connection);
 	}
 
 	/**
@@ -241,26 +457,38 @@ public class Server extends Thread {
 		if (connection.hasJoinedLobby()) {
 			System.out.println("Already joined a lobby");
 			connection.write(new Refused("Already joined a lobby"));
-		}	else if (target == null || target.isStarted()) {
+		}	else if (target == null) {
 			System.out.printf("Unavailable game: #%d%n", gameId);
 			connection.write(new Refused("Unavailable game: #" + gameId));
 		} else {
-			String passcode = target.addPlayer(sender);
-			if (passcode == null) {
-				System.out.printf("Already participating in game: #%d%n", gameId);
-				connection.write(new Refused("Already participating in game: #" + gameId));
-			} else {
-				System.out.printf("Joined game: #%d%n", gameId);
-				connection.setGame(target);
-				connection.write(new AcceptedJoinLobby(gameId, passcode));
-				connection.setJoinedLobby(true);
-				reconnectionSettings.put(sender, true);
-				target.notifyLobbyChange();
-				if (target.meetsStartupCondition()) {
-					target.setup();
-					target.promptSelection();
+			// the lobby is reserved right away, so that a second request cannot be accepted while this one is queued
+			connection.setJoinedLobby(true);
+			target.submit(() -> {
+				if (target.isStarted() || target.isEmpty()) {
+					System.out.printf("Unavailable game: #%d%n", gameId);
+					connection.setJoinedLobby(false);
+					connection.write(new Refused("Unavailable game: #" + gameId));
+					return;
 				}
-			}
+				String passcode = target.addPlayer(sender);
+				if (passcode == null) {
+					System.out.printf("Already participating in game: #%d%n", gameId);
+					connection.setJoinedLobby(false);
+					connection.write(new Refused("Already participating in game: #" + gameId));
+				} else {
+					System.out.printf("Joined game: #%d%n", gameId);
+					subscriptions.unsubscribe(connection);
+					connection.setGame(target);
+					connection.write(new AcceptedJoinLobby(gameId, passcode));
+					sessions.setReconnect(sender, true);
+					target.notifyLobbyChange();
+					if (target.meetsStartupCondition()) {
+						target.setup();
+						target.promptSelection();
+					}
+					updateLobby(target);
+				}
+			});
 		}
 	}
 
@@ -279,21 +507,64 @@ public class Server extends Thread {
 		if (!connection.hasJoinedLobby()) {
 			System.out.println("Not part of a lobby");
 			connection.write(new Refused("Not part of a lobby"));
-		} else if (target == null || target.isStarted()) {
+		} else if (target == null) {
 			System.out.printf("Cannot leave game: #%d%n", gameId);
 			connection.write(new Refused("Cannot leave game: #" + gameId));
-		} else if (!target.removePlayer(sender)) {
-			System.out.printf("Not participating in game: #%d%n", gameId);
-			connection.write(new Refused("Not participating in game: #" + gameId));
 		} else {
-			System.out.printf("Left game: #%d%n", gameId);
-			connection.setGame(null);
-			connection.write(new AcceptedLeaveLobby());
-			connection.setJoinedLobby(false);
-			reconnectionSettings.put(sender, false);
-			target.notifyLobbyChange();
-			if (target.isEmpty())
-				gameById.remove(gameId);
+			target.submit(() -> {
+				if (target.isStarted()) {
+					System.out.printf("Cannot leave game: #%d%n", gameId);
+					connection.write(new Refused("Cannot leave game: #" + gameId));
+				} else if (!target.removePlayer(sender)) {
+					System.out.printf("Not participating in game: #%d%n", gameId);
+					connection.write(new Refused("Not participating in game: #" + gameId));
+				} else {
+					System.out.printf("Left game: #%d%n", gameId);
+					connection.setGame(null);
+					connection.write(new AcceptedLeaveLobby());
+					connection.setJoinedLobby(false);
+					sessions.setReconnect(sender, false);
+					target.notifyLobbyChange();
+					if (target.isEmpty())
+						gameById.remove(gameId, target);
+					updateLobby(target);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Handles a user request by processing a {@link FillLobby} communication item, which starts the game once the free
+	 * seats of the lobby are taken by bots.
+	 * @param message the target message to process
+	 * @throws NoConnectionException if no connection can be retrieved for the target player
+	 */
+	private void handleFillLobby(FillLobby message) throws NoConnectionException {
+		String sender = message.getSender();
+		ClientConnection connection = getConnection(sender);
+
+		Integer gameId = message.getGameId();
+		Game target = gameById.get(gameId);
+
+		if (!connection.hasJoinedLobby()) {
+			System.out.println("Not part of a lobby");
+			connection.write(new Refused("Not part of a lobby"));
+		} else if (target == null) {
+			System.out.printf("Cannot fill game: #%d%n", gameId);
+			connection.write(new Refused("Cannot fill game: #" + gameId));
+		} else {
+			target.submit(() -> {
+				if (!target.fillWithBots(sender)) {
+					System.out.printf("Cannot fill game: #%d%n", gameId);
+					connection.write(new Refused("Cannot fill game: #" + gameId));
+				} else {
+					System.out.printf("Filled game: #%d%n", gameId);
+					target.notifyLobbyChange();
+					target.setup();
+					target.promptSelection();
+					updateLobby(target);
+				}
+			});
 		}
 	}
 
@@ -312,24 +583,42 @@ public class Server extends Thread {
 		if (connection.hasJoinedLobby()) {
 			System.out.println("Already joined a lobby");
 			connection.write(new Refused("Already joined a lobby"));
-		} else if (numPlayers < MIN_NUM_PLAYERS || numPlayers > MAX_NUM_PLAYERS) {
+		} else if (numPlayers < GameConstants.MIN_NUM_PLAYERS || numPlayers > GameConstants.MAX_NUM_PLAYERS) {
 			System.out.printf("Invalid number of players: %d%n", numPlayers);
 			connection.write(new Refused("Invalid number of players: " + numPlayers));
 		} else {
 			String username = message.getSender();
-			Game game = new Game(this, nextGameId, username, numPlayers, expertMode);
-			String passcode = game.addPlayer(username);
-			gameById.put(nextGameId, game);
-			System.out.printf("Game created successfully: #%d%n", nextGameId);
-			connection.setGame(game);
-			connection.write(new AcceptedJoinLobby(nextGameId, passcode));
+			int gameId = nextGameId.getAndIncrement();
+			Game game = new Game(this, gameId, username, numPlayers, expertMode);
 			connection.setJoinedLobby(true);
-			reconnectionSettings.put(sender, true);
-			game.notifyLobbyChange();
-			nextGameId++;
+			// the creator is queued before the game is published, so that nobody can join ahead of them
+			game.submit(() -> {
+				String passcode = game.addPlayer(username);
+				System.out.printf("Game created successfully: #%d%n", gameId);
+				subscriptions.unsubscribe(connection);
+				connection.setGame(game);
+				connection.write(new AcceptedJoinLobby(gameId, passcode));
+				sessions.setReconnect(sender, true);
+				game.notifyLobbyChange();
+				subscriptions.publish(lobbies.update(game.getInfo()));
+			});
+			gameById.put(gameId, game);
 		}
 	}
 
+	/**
+	 * Updates the lobby of the specified game in the index, removing it if the game has started, is empty or has been
+	 * deleted, and notifies the change to the subscribers. The method runs on the mailbox of the game, so that the updates of a lobby are applied in order.
+	 * @param game the target game
+	 */
+	private void updateLobby(Game game) {
+		int gameId = game.getInfo().getGameId();
+		if (game.isStarted() || game.isEmpty() || gameById.get(gameId) != game)
+			subscriptions.publish(lobbies.remove(gameId));
+		else
+			subscriptions.publish(lobbies.update(game.getInfo()));
+	}
+
 	/**
 	 * Handles the processing of an unexpected {@link ConnectionMessage} communication item.
 	 * @param message the target message
@@ -353,7 +642,7 @@ public class Server extends Thread {
 	}
 
 	/**
-	 * Processes the server-side end of the game.
+	 * Processes the server-side end of the game. The method is called from the mailbox of the game.
 	 * @param game the identifier of the game which has been ended
 	 * @param players the list of usernames who played the game
 	 */
@@ -363,14 +652,15 @@ public class Server extends Thread {
 				Game playerGame = getConnection(player).getGame();
 				if (playerGame != null && playerGame.getInfo().getGameId() == game.getInfo().getGameId()) {
 					getConnection(player).setGame(null);
-					connectionByUsername.remove(player);
+					sessions.unregister(player);
 				}
 			} catch (NoConnectionException e) {
 				System.out.println("This is a Throwable#printStackTrace() method call.");
 				e.printStackTrace();
-				connectionByUsername.remove(player);
+				sessions.unregister(player);
 			}
 		}
 		gameById.remove(game.getInfo().getGameId(), game);
+		subscriptions.publish(lobbies.remove(game.getInfo().getGameId()));
 	}
 }
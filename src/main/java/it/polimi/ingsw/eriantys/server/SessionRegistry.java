@@ -0,0 +1,139 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class keeps track of the users connected to the server and of the users allowed to reconnect to a game.
+ * The users are indexed both by username and by {@link ClientConnection}, so that no lookup needs to scan the
+ * registry, and the updates concerning a user are serialized by a lock striped on the username, so that logins and
+ * logouts of different users do not contend with each other.
+ */
+public class SessionRegistry {
+	private static final int STRIPES = 64;
+
+	private final Map<String, ClientConnection> connectionByUsername;
+	private final Map<ClientConnection, String> usernameByConnection;
+	private final Map<String, Boolean> reconnectionSettings;
+	private final Lock[] stripes;
+
+	/**
+	 * Constructs an empty {@link SessionRegistry}.
+	 */
+	public SessionRegistry() {
+		this.connectionByUsername = new ConcurrentHashMap<>();
+		this.usernameByConnection = new ConcurrentHashMap<>();
+		this.reconnectionSettings = new ConcurrentHashMap<>();
+		this.stripes = new Lock[STRIPES];
+		for (int i = 0; i < STRIPES; i++)
+			stripes[i] = new ReentrantLock();
+	}
+
+	/**
+	 * Binds the specified username to the specified connection, unless the username is already taken or the
+	 * connection is already bound to another username.
+	 * @param username the username requested by the client
+	 * @param connection the connection of the client
+	 * @return {@code true} if and only if the username has been bound to the connection
+	 */
+	public boolean register(String username, ClientConnection connection) {
+		Lock lock = stripe(username);
+		lock.lock();
+		try {
+			if (usernameByConnection.containsKey(connection)
+					|| connectionByUsername.putIfAbsent(username, connection) != null)
+				return false;
+			usernameByConnection.put(connection, username);
+			reconnectionSettings.putIfAbsent(username, false);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the user bound to the specified connection, if any.
+	 * @param connection the connection of the client
+	 * @return the username which was bound to the connection, or {@code null} if there was none
+	 */
+	public String unregister(ClientConnection connection) {
+		String username = usernameByConnection.get(connection);
+		if (username == null) return null;
+		Lock lock = stripe(username);
+		lock.lock();
+		try {
+			if (!usernameByConnection.remove(connection, username)) return null;
+			connectionByUsername.remove(username, connection);
+			return username;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the specified user, whichever connection it is bound to.
+	 * @param username the target user
+	 */
+	public void unregister(String username) {
+		if (username == null) return;
+		Lock lock = stripe(username);
+		lock.lock();
+		try {
+			ClientConnection connection = connectionByUsername.remove(username);
+			if (connection != null) usernameByConnection.remove(connection, username);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * A getter for the connection bound to the specified user.
+	 * @param username the target user
+	 * @return the connection of the user, or {@code null} if the user is not connected
+	 */
+	public ClientConnection getConnection(String username) {
+		return username == null ? null : connectionByUsername.get(username);
+	}
+
+	/**
+	 * A getter for the user bound to the specified connection.
+	 * @param connection the connection of the client
+	 * @return the username bound to the connection, or {@code null} if there is none
+	 */
+	public String getUsername(ClientConnection connection) {
+		return usernameByConnection.get(connection);
+	}
+
+	/**
+	 * A method to know if the specified user is connected.
+	 * @param username the target user
+	 * @return {@code true} if and only if a connection is bound to the user
+	 */
+	public boolean isConnected(String username) {
+		return getConnection(username) != null;
+	}
+
+	/**
+	 * A method to know if the specified user is allowed to reconnect to a game.
+	 * @param username the target user
+	 * @return {@code true} if and only if the user left a game which has started
+	 */
+	public boolean canReconnect(String username) {
+		return username != null && reconnectionSettings.getOrDefault(username, false);
+	}
+
+	/**
+	 * Sets whether the specified user is allowed to reconnect to a game.
+	 * @param username the target user
+	 * @param reconnect the desired value
+	 */
+	public void setReconnect(String username, boolean reconnect) {
+		reconnectionSettings.put(username, reconnect);
+	}
+
+	private Lock stripe(String username) {
+		return stripes[(username.hashCode() & Integer.MAX_VALUE) % STRIPES];
+	}
+}
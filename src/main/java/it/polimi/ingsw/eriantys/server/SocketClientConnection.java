@@ -0,0 +1,139 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class represents a client-server connection served by the blocking transport.
+ * The connection's I/O streams are bound to a {@link Socket}, and each instance needs a thread reading from it and a
+ * thread draining its queue of outgoing messages, while the client is pinged by the timer of the server.
+ * Writers never touch the socket, so that a slow client cannot stall the thread producing its messages.
+ */
+public class SocketClientConnection extends ClientConnection {
+	private static final int WRITE_BUFFER_SIZE = 1 << 16;
+	private static final long IDLE_PARK = TimeUnit.SECONDS.toNanos(1);
+
+	private final Socket socketToClient;
+	private final OutputStream rawOut;
+	private final ObjectOutputStream out;
+	private final ObjectInputStream in;
+	private final OutboundQueue<EncodedMessage> outbound;
+	private volatile Thread writer;
+
+	/**
+	 * Constructs a new instance of {@link SocketClientConnection} with the specified parameters.
+	 * @param server the game server
+	 * @param socketToClient the socket between the server and this connection's client
+	 * @throws IOException if an error occurs when retrieving the input or output stream
+	 */
+	public SocketClientConnection(Server server, Socket socketToClient) throws IOException {
+		super(server);
+		this.socketToClient = socketToClient;
+		this.socketToClient.setSoTimeout(10000);
+		this.rawOut = new BufferedOutputStream(socketToClient.getOutputStream(), WRITE_BUFFER_SIZE);
+		this.out = new ObjectOutputStream(rawOut);
+		this.out.flush();
+		this.in = new ObjectInputStream(socketToClient.getInputStream());
+		this.outbound = new OutboundQueue<>(server.getOutboundPolicy());
+	}
+
+	/**
+	 * Continuously checks for new messages being sent by the client through the connection socket's input stream and
+	 * handles them according to the game phase, disconnecting the client if an I/O error occurs
+	 * or if the client is unresponsive to ping messages.
+	 */
+	public void read() {
+		try (socketToClient) {
+			while (isRunning()) { // TODO: try {} catch(NoConnectionException e) {}
+				Message message = (Message) in.readObject();
+				markRead();
+				dispatch(message);
+			}
+		} catch (IOException | NoConnectionException | ClassNotFoundException e) {
+			server.disconnect(this);
+		}
+	}
+
+	/**
+	 * Continuously writes the queued messages to the connection socket's output stream, disconnecting the client if an
+	 * I/O error occurs. The messages queued at the same time are gathered in a single buffer, which is flushed once,
+	 * and superseded board updates are dropped when the client falls behind.
+	 */
+	public void drain() {
+		writer = Thread.currentThread();
+		try {
+			while (isRunning()) {
+				if (outbound.size() == 0) {
+					LockSupport.parkNanos(this, IDLE_PARK);
+					continue;
+				}
+				outbound.coalesce(false);
+				EncodedMessage message;
+				while ((message = outbound.poll()) != null) {
+					// the reset drains the object stream, so the shared bytes can follow it on the raw stream
+					out.reset();
+					message.writeObjectStreamTo(rawOut);
+				}
+				rawOut.flush();
+			}
+		} catch (IOException e) {
+			server.disconnect(this);
+		}
+	}
+
+	/**
+	 * Queues the specified {@link Message} for the writing thread, disconnecting the client if its backlog has reached
+	 * the high-water mark.
+	 * @param message the message to be written and sent to the client
+	 */
+	@Override
+	public void write(Message message) {
+		write(new EncodedMessage(message));
+	}
+
+	/**
+	 * Queues the specified {@link EncodedMessage} for the writing thread, disconnecting the client if its backlog has
+	 * reached the high-water mark. Since the object stream is reset before every message, the bytes produced by a
+	 * standalone serialization of the message can be written as they are.
+	 * @param message the shared message to be sent to the client
+	 */
+	@Override
+	public void write(EncodedMessage message) {
+		if (send(message)) markWritten();
+	}
+
+	@Override
+	protected void sendPing() {
+		send(new EncodedMessage(new Ping()));
+	}
+
+	/**
+	 * Stops serving the connection, waking up the writing thread so that it terminates.
+	 */
+	@Override
+	public void close() {
+		super.close();
+		LockSupport.unpark(writer);
+	}
+
+	private boolean send(EncodedMessage message) {
+		if (!isRunning()) return false;
+		if (!outbound.offer(message, isSupersedable(message.getMessage()))) {
+			evict();
+			return false;
+		}
+		LockSupport.unpark(writer);
+		return true;
+	}
+}
@@ -0,0 +1,228 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents a hashed wheel timer, which is shared by the whole server to drive heartbeats,
+ * idle game timeouts and any other delayed or periodic task. A single thread advances the wheel once per tick,
+ * so that scheduling and cancelling a task are constant-time operations regardless of the number of pending tasks,
+ * at the cost of a precision of one tick. Expired tasks are handed over to an {@link Executor}, so that a task
+ * blocking on a slow client cannot delay the others.
+ */
+public class TimerWheel {
+	private final long tickDuration;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Executor executor;
+	private final Queue<Timeout> pending;
+	private final Queue<Timeout> cancelled;
+	private final Thread worker;
+	private final long startTime;
+	private volatile boolean running;
+	private long tick;
+
+	/**
+	 * Constructs and starts a {@link TimerWheel} with the specified parameters.
+	 * @param name the name of the thread advancing the wheel
+	 * @param tickDuration the duration of a tick, in milliseconds
+	 * @param ticksPerWheel the number of buckets of the wheel, rounded up to a power of two
+	 * @param executor the executor running the expired tasks
+	 */
+	public TimerWheel(String name, long tickDuration, int ticksPerWheel, Executor executor) {
+		if (tickDuration <= 0 || ticksPerWheel <= 0)
+			throw new IllegalArgumentException("The tick duration and the number of ticks per wheel must be positive");
+		this.tickDuration = tickDuration;
+		int size = Integer.highestOneBit(ticksPerWheel);
+		if (size < ticksPerWheel) size <<= 1;
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++)
+			wheel[i] = new Bucket();
+		this.mask = size - 1;
+		this.executor = executor;
+		this.pending = new ConcurrentLinkedQueue<>();
+		this.cancelled = new ConcurrentLinkedQueue<>();
+		this.startTime = System.currentTimeMillis();
+		this.running = true;
+		this.tick = 0;
+		this.worker = new Thread(this::work, name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	/**
+	 * Schedules a task to be run once after the specified delay.
+	 * @param task the task to run
+	 * @param delay the delay, in milliseconds
+	 * @return a handle which can be used to cancel the task
+	 */
+	public Timeout schedule(Runnable task, long delay) {
+		return add(new Timeout(task, deadline(delay), 0));
+	}
+
+	/**
+	 * Schedules a task to be run periodically, until it is cancelled.
+	 * @param task the task to run
+	 * @param initialDelay the delay before the first run, in milliseconds
+	 * @param period the period between two consecutive runs, in milliseconds
+	 * @return a handle which can be used to cancel the task
+	 */
+	public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+		if (period <= 0)
+			throw new IllegalArgumentException("The period must be positive");
+		return add(new Timeout(task, deadline(initialDelay), period));
+	}
+
+	/**
+	 * Stops the thread advancing the wheel. The tasks which have not expired yet are discarded.
+	 */
+	public void stop() {
+		running = false;
+		worker.interrupt();
+	}
+
+	private long deadline(long delay) {
+		return System.currentTimeMillis() - startTime + Math.max(0, delay);
+	}
+
+	private Timeout add(Timeout timeout) {
+		if (running) pending.add(timeout);
+		return timeout;
+	}
+
+	private void work() {
+		while (running) {
+			long deadline = (tick + 1) * tickDuration;
+			long sleep = deadline - (System.currentTimeMillis() - startTime);
+			if (sleep > 0) {
+				try {
+					Thread.sleep(sleep);
+				} catch (InterruptedException e) {
+					continue;
+				}
+			}
+			removeCancelled();
+			transferPending();
+			expire(wheel[(int) (tick & mask)], deadline);
+			tick++;
+		}
+	}
+
+	private void removeCancelled() {
+		Timeout timeout;
+		while ((timeout = cancelled.poll()) != null)
+			if (timeout.bucket != null)
+				timeout.bucket.remove(timeout);
+	}
+
+	private void transferPending() {
+		Timeout timeout;
+		while ((timeout = pending.poll()) != null)
+			if (!timeout.isCancelled())
+				place(timeout);
+	}
+
+	private void place(Timeout timeout) {
+		long ticks = Math.max(timeout.deadline / tickDuration, tick);
+		timeout.remainingRounds = (ticks - tick) / wheel.length;
+		wheel[(int) (ticks & mask)].add(timeout);
+	}
+
+	private void expire(Bucket bucket, long deadline) {
+		Timeout timeout = bucket.head;
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			if (timeout.isCancelled()) {
+				bucket.remove(timeout);
+			} else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+				bucket.remove(timeout);
+				executor.execute(timeout::run);
+				if (timeout.period > 0) {
+					timeout.deadline += timeout.period;
+					pending.add(timeout);
+				}
+			} else {
+				timeout.remainingRounds--;
+			}
+			timeout = next;
+		}
+	}
+
+	/**
+	 * This class represents a task scheduled on the wheel.
+	 */
+	public final class Timeout {
+		private final Runnable task;
+		private final long period;
+		private final AtomicBoolean cancelledFlag;
+		private long deadline;
+		private long remainingRounds;
+		private Bucket bucket;
+		private Timeout prev;
+		private Timeout next;
+
+		private Timeout(Runnable task, long deadline, long period) {
+			this.task = task;
+			this.deadline = deadline;
+			this.period = period;
+			this.cancelledFlag = new AtomicBoolean(false);
+		}
+
+		/**
+		 * Cancels the task, preventing any further run of it. The method can be called from any thread.
+		 * @return {@code true} if and only if the task had not been cancelled yet
+		 */
+		public boolean cancel() {
+			if (!cancelledFlag.compareAndSet(false, true)) return false;
+			cancelled.add(this);
+			return true;
+		}
+
+		/**
+		 * A getter to know if the task has been cancelled.
+		 * @return {@code true} if and only if {@link #cancel()} has been called
+		 */
+		public boolean isCancelled() {
+			return cancelledFlag.get();
+		}
+
+		private void run() {
+			if (isCancelled()) return;
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				System.out.println("This is a Throwable#printStackTrace() method call.");
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * A doubly linked list of the tasks expiring in the same slot of the wheel, only accessed by the worker thread.
+	 */
+	private static final class Bucket {
+		private Timeout head;
+		private Timeout tail;
+
+		private void add(Timeout timeout) {
+			timeout.bucket = this;
+			timeout.prev = tail;
+			timeout.next = null;
+			if (tail == null) head = timeout;
+			else tail.next = timeout;
+			tail = timeout;
+		}
+
+		private void remove(Timeout timeout) {
+			if (timeout.prev == null) head = timeout.next;
+			else timeout.prev.next = timeout.next;
+			if (timeout.next == null) tail = timeout.prev;
+			else timeout.next.prev = timeout.prev;
+			timeout.bucket = null;
+			timeout.prev = null;
+			timeout.next = null;
+		}
+	}
+}
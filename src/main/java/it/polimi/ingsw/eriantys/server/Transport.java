@@ -0,0 +1,16 @@
+package it.polimi.ingsw.eriantys.server;
+
+/**
+ * An enumeration of the transports which can be used by the {@link Server} to serve its clients.
+ */
+public enum Transport {
+	/**
+	 * Each client is served by a dedicated pair of threads exchanging Java object streams.
+	 */
+	BLOCKING,
+
+	/**
+	 * Clients are multiplexed over a fixed pool of selector threads exchanging length-prefixed frames.
+	 */
+	NIO
+}
@@ -0,0 +1,146 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.model.Color;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.LegalMoves;
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * A helper which builds the parameters of the character cards in the format sent by the clients, drawing the colors and
+ * the islands at random within the domains of the legal character moves generated by the game.
+ */
+final class CharacterParameters {
+	private static final Color[] COLORS = Color.values();
+	private static final int ANY_COLOR = (1 << COLORS.length) - 1;
+
+	private CharacterParameters() {}
+
+	/**
+	 * Returns the character cards which the specified player can play.
+	 * @param game the simulated game
+	 * @param player the nickname of the current player
+	 * @return a new buffer of the legal character moves
+	 * @throws IllegalArgumentException if no player matches the specified nickname
+	 * @see GameManager#legalCharacterCards(String, LegalMoves)
+	 */
+	static LegalMoves legalCharacterCards(GameManager game, String player) {
+		LegalMoves moves = new LegalMoves();
+		try {
+			game.legalCharacterCards(player, moves);
+		} catch (InvalidArgumentException e) {
+			throw new IllegalArgumentException("Unknown player: " + player, e);
+		}
+		return moves;
+	}
+
+	/**
+	 * Builds random parameters for the specified legal character move.
+	 * @param game the simulated game
+	 * @param player the nickname of the player of the card
+	 * @param move the character move, as generated by {@link GameManager#legalCharacterCards(String, LegalMoves)}
+	 * @param random the generator of the random choices
+	 * @return the parameters of the effect
+	 */
+	static JsonObject random(GameManager game, String player, int move, RandomGenerator random) {
+		String card = game.charactersRepresentation().get(LegalMoves.card(move));
+		int colors = LegalMoves.colors(move);
+		JsonObject params = new JsonObject();
+		switch (card) {
+			case "MushroomGuy", "Thief" -> params.addProperty("targetColor", anyColor(colors, random));
+			case "Monk", "SpoiledPrincess" ->
+					params.addProperty("targetColor", anyStudent(game.characterStudentsRepresentation(card), colors, random));
+			case "Jester" -> addSwaps(params, game.characterStudentsRepresentation(card), game.entranceRepresentation(player),
+					false, 1 + random.nextInt(3), random);
+			case "Minstrel" -> addSwaps(params, game.entranceRepresentation(player), game.diningRoomRepresentation(player),
+					true, 1 + random.nextInt(2), random);
+			default -> {}
+		}
+		if (LegalMoves.needsIsland(move))
+			params.addProperty("targetIsland", anyIsland(game, random));
+		return params;
+	}
+
+	/**
+	 * Draws a student from the specified students, each student being equally likely to be drawn.
+	 * @param students the number of students of each color
+	 * @param random the generator of the random choices
+	 * @return the color of the drawn student, or {@code null} if there are no students
+	 */
+	static String anyStudent(Map<String, Integer> students, RandomGenerator random) {
+		return anyStudent(students, ANY_COLOR, random);
+	}
+
+	/**
+	 * Draws a student of the specified colors from the specified students, each student being equally likely to be drawn.
+	 * @param students the number of students of each color
+	 * @param colors the bit mask of the colors which can be drawn
+	 * @param random the generator of the random choices
+	 * @return the color of the drawn student, or {@code null} if there are no students of those colors
+	 */
+	private static String anyStudent(Map<String, Integer> students, int colors, RandomGenerator random) {
+		int total = 0;
+		for (Map.Entry<String, Integer> e : students.entrySet())
+			if (LegalMoves.hasColor(colors, Color.valueOf(e.getKey())))
+				total += e.getValue();
+		if (total == 0) return null;
+
+		int drawn = random.nextInt(total);
+		for (Map.Entry<String, Integer> e : students.entrySet()) {
+			if (!LegalMoves.hasColor(colors, Color.valueOf(e.getKey()))) continue;
+			drawn -= e.getValue();
+			if (drawn < 0) return e.getKey();
+		}
+		return null;
+	}
+
+	private static String anyColor(int colors, RandomGenerator random) {
+		int drawn = random.nextInt(Integer.bitCount(colors));
+		for (Color color : COLORS)
+			if (LegalMoves.hasColor(colors, color) && drawn-- == 0)
+				return color.toString();
+		return null;
+	}
+
+	private static String anyIsland(GameManager game, RandomGenerator random) {
+		List<String> islands = game.islandsRepresentation();
+		return islands.get(random.nextInt(islands.size()));
+	}
+
+	private static void addSwaps(JsonObject params, Map<String, Integer> source, Map<String, Integer> destination,
+								 boolean diningRoom, int swaps, RandomGenerator random) {
+		JsonArray sourceColors = new JsonArray(swaps);
+		JsonArray destinationColors = new JsonArray(swaps);
+		for (int i = 0; i < swaps; i++) {
+			String to = anyStudent(destination, random);
+			String from = anyStudent(source, diningRoom ? fittingColors(destination, to) : ANY_COLOR, random);
+			if (from == null || to == null) break;
+			// every student is picked once, as the swaps are performed one after the other
+			source.merge(from, -1, Integer::sum);
+			destination.merge(to, -1, Integer::sum);
+			// the students swapped into the dining room take its room from the following swaps
+			if (diningRoom) destination.merge(from, 1, Integer::sum);
+			sourceColors.add(from);
+			destinationColors.add(to);
+		}
+
+		params.add("sourceColors", sourceColors);
+		params.add("destinationColors", destinationColors);
+	}
+
+	/**
+	 * Returns the colors of the students which can be swapped into the dining room for a student of color {@code to}.
+	 */
+	private static int fittingColors(Map<String, Integer> diningRoom, String to) {
+		int colors = 0;
+		for (Color color : COLORS)
+			if (color.toString().equals(to) || RandomPolicy.fitsDiningRoom(diningRoom, color.toString()))
+				colors |= 1 << color.ordinal();
+		return colors;
+	}
+}
@@ -0,0 +1,163 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.AssistantCard;
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.LegalMoves;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link Policy} which takes every decision by looking at its immediate outcome only: it plays the lowest assistant
+ * card, moves the students which gain or keep a professor, moves Mother Nature to the island where its influence
+ * exceeds the others' the most, and takes the cloud with the most students of the colors whose professors it owns.
+ * Ties are broken at random.
+ */
+public class GreedyPolicy implements Policy {
+	@Override
+	public String playAssistantCard(GameManager game, String player, List<String> playable, RandomGenerator random) {
+		String best = null;
+		for (String card : playable)
+			if (best == null || AssistantCard.valueOf(card).value() < AssistantCard.valueOf(best).value())
+				best = card;
+		return best;
+	}
+
+	/**
+	 * Plays the most expensive character card which the player can afford and whose effect can be applied.
+	 */
+	@Override
+	public CharacterPlay playCharacterCard(GameManager game, String player, RandomGenerator random) {
+		List<String> characters = game.charactersRepresentation();
+		LegalMoves legal = CharacterParameters.legalCharacterCards(game, player);
+		int best = -1, bestCost = 0;
+		for (int i = 0; i < legal.size(); i++) {
+			int cost = game.characterCostRepresentation(characters.get(LegalMoves.card(legal.get(i))));
+			if (cost > bestCost) {
+				best = legal.get(i);
+				bestCost = cost;
+			}
+		}
+		if (best == -1) return null;
+
+		return new CharacterPlay(LegalMoves.card(best), CharacterParameters.random(game, player, best, random));
+	}
+
+	/**
+	 * Moves to the dining room the student which gains a professor, or a coin, or else adds to an owned professor;
+	 * if there is none, it moves a student whose professor is owned to the island next to Mother Nature.
+	 */
+	@Override
+	public StudentMove moveStudent(GameManager game, String player, RandomGenerator random) {
+		Map<String, Integer> entrance = game.entranceRepresentation(player);
+		Map<String, Integer> diningRoom = game.diningRoomRepresentation(player);
+		Map<String, String> professors = game.professorsRepresentation();
+		List<String> players = game.getTurnOrder();
+
+		String best = null;
+		int bestScore = -1, ties = 0;
+		for (Map.Entry<String, Integer> e : entrance.entrySet()) {
+			String color = e.getKey();
+			if (e.getValue() == 0 || !RandomPolicy.fitsDiningRoom(diningRoom, color)) continue;
+
+			int students = diningRoom.get(color) + 1;
+			int score = 0;
+			if (!player.equals(professors.get(color)) && students > mostStudents(game, players, player, color))
+				score += 4;
+			if (students % 3 == 0)
+				score += 2;
+			if (player.equals(professors.get(color)))
+				score += 1;
+
+			if (score > bestScore) {
+				best = color;
+				bestScore = score;
+				ties = 1;
+			} else if (score == bestScore && random.nextInt(++ties) == 0)
+				best = color;
+		}
+
+		if (bestScore > 0)
+			return new StudentMove(best, GameConstants.DINING_ROOM);
+
+		List<String> islands = game.islandsRepresentation();
+		String island = islands.get((islands.indexOf(game.motherNatureIslandRepresentation()) + 1) % islands.size());
+		for (Map.Entry<String, Integer> e : entrance.entrySet())
+			if (e.getValue() > 0 && player.equals(professors.get(e.getKey())))
+				return new StudentMove(e.getKey(), island);
+		return new StudentMove(best != null ? best : CharacterParameters.anyStudent(entrance, random), island);
+	}
+
+	@Override
+	public String moveMotherNature(GameManager game, String player, List<String> reachable, RandomGenerator random) {
+		Map<String, String> professors = game.professorsRepresentation();
+		List<String> players = game.getTurnOrder();
+
+		String best = null;
+		int bestScore = Integer.MIN_VALUE, ties = 0;
+		for (String island : reachable) {
+			Map<String, Integer> students = game.islandStudentsRepresentation(island);
+			String controller = game.islandControllerRepresentation(island);
+			int towers = game.islandSizeRepresentation(island);
+
+			int own = influence(player, students, professors, controller, towers);
+			int others = 0;
+			for (String other : players)
+				if (!other.equals(player))
+					others = Math.max(others, influence(other, students, professors, controller, towers));
+
+			// conquering an island is worth more than any margin on an island which is already controlled
+			int score = own - others;
+			if (score > 0 && !player.equals(controller))
+				score += 100 * towers;
+
+			if (score > bestScore) {
+				best = island;
+				bestScore = score;
+				ties = 1;
+			} else if (score == bestScore && random.nextInt(++ties) == 0)
+				best = island;
+		}
+		return best;
+	}
+
+	@Override
+	public int selectCloud(GameManager game, String player, List<Integer> clouds, RandomGenerator random) {
+		Map<String, Map<String, Integer>> tiles = game.cloudTilesRepresentation();
+		Map<String, String> professors = game.professorsRepresentation();
+
+		int best = clouds.get(0), bestScore = -1, ties = 0;
+		for (int cloud : clouds) {
+			int score = 0;
+			for (Map.Entry<String, Integer> e : tiles.get(Integer.toString(cloud)).entrySet())
+				score += e.getValue() * (player.equals(professors.get(e.getKey())) ? 2 : 1);
+
+			if (score > bestScore) {
+				best = cloud;
+				bestScore = score;
+				ties = 1;
+			} else if (score == bestScore && random.nextInt(++ties) == 0)
+				best = cloud;
+		}
+		return best;
+	}
+
+	private static int mostStudents(GameManager game, List<String> players, String player, String color) {
+		int most = 0;
+		for (String other : players)
+			if (!other.equals(player))
+				most = Math.max(most, game.diningRoomRepresentation(other).get(color));
+		return most;
+	}
+
+	private static int influence(String player, Map<String, Integer> students, Map<String, String> professors,
+								 String controller, int towers) {
+		int influence = player.equals(controller) ? towers : 0;
+		for (Map.Entry<String, Integer> e : students.entrySet())
+			if (player.equals(professors.get(e.getKey())))
+				influence += e.getValue();
+		return influence;
+	}
+}
@@ -0,0 +1,341 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.LegalMoves;
+import it.polimi.ingsw.eriantys.model.exceptions.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class plays the seat of a player by searching the best move with Monte Carlo playouts: every candidate move is
+ * applied to a fork of the game, whose rest is then played by the playout {@link Policy} for every player, and the move
+ * winning the most playouts is chosen.
+ * The search is parallelized at the root: each worker of the pool runs its own UCB1 selection among the candidates on
+ * its own playouts, and the visits of the workers are summed once the time budget of the move is over.
+ * Every playout forks the game with a fresh seed, so that the search samples the draws from the bag rather than
+ * foreseeing the ones of the actual game.
+ * A candidate move refused by the game loses its playouts, while any other exception thrown by a playout reveals a defect
+ * and is rethrown by the method which started the search.
+ * The methods are thread-safe, and the game passed to them is only read, hence it must not be modified until they return.
+ */
+public class MonteCarloPlayer {
+	private static final double EXPLORATION = Math.sqrt(2);
+	private static final int CHARACTER_SAMPLES = 3;
+
+	private final ForkJoinPool pool;
+	private final long budgetNanos;
+	private final Policy policy;
+	private final LongAdder playouts = new LongAdder();
+	private final LongAdder searchNanos = new LongAdder();
+	private final LongAdder refusedMoves = new LongAdder();
+
+	/**
+	 * Constructs a {@code MonteCarloPlayer} whose playouts are played by a {@link GreedyPolicy}.
+	 * @param pool the pool whose workers run the playouts
+	 * @param budgetMillis the time budget of every move, in milliseconds
+	 */
+	public MonteCarloPlayer(ForkJoinPool pool, long budgetMillis) {
+		this(pool, budgetMillis, new GreedyPolicy());
+	}
+
+	/**
+	 * Constructs a {@code MonteCarloPlayer} whose playouts are played by the specified policy.
+	 * @param pool the pool whose workers run the playouts
+	 * @param budgetMillis the time budget of every move, in milliseconds
+	 * @param policy the policy of every player in the playouts
+	 * @throws IllegalArgumentException if the budget is not positive
+	 */
+	public MonteCarloPlayer(ForkJoinPool pool, long budgetMillis, Policy policy) {
+		if (budgetMillis <= 0) throw new IllegalArgumentException("Invalid budget: " + budgetMillis);
+		this.pool = pool;
+		this.budgetNanos = budgetMillis * 1_000_000;
+		this.policy = policy;
+	}
+
+	/**
+	 * A getter for the pool whose workers run the playouts.
+	 * @return the pool of the player
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Chooses the assistant card to be played in the planning phase.
+	 * @param game the game, which is not modified
+	 * @param player the nickname of the player
+	 * @param playedCards the assistant cards already played in the current round, in turn order
+	 * @param playable the assistant cards which the player is allowed to play, never empty
+	 * @param lastRound {@code true} if and only if the current round is the last one
+	 * @return one of the {@code playable} cards
+	 */
+	public String playAssistantCard(GameManager game, String player, Map<String, String> playedCards,
+									List<String> playable, boolean lastRound) {
+		return search(game, player, playable, lastRound, (fork, card, playout) -> {
+			Map<String, String> played = new LinkedHashMap<>(playedCards);
+			played.put(player, card);
+			return playout.resume(played);
+		});
+	}
+
+	/**
+	 * Chooses the character card to be played at the beginning of the turn, if any, among the legal cards played
+	 * with a few samples of their parameters.
+	 * @param game the game, which is not modified
+	 * @param player the nickname of the current player
+	 * @param lastRound {@code true} if and only if the current round is the last one
+	 * @return the character card to be played with its parameters, or {@code null} if no card should be played
+	 */
+	public Policy.CharacterPlay playCharacterCard(GameManager game, String player, boolean lastRound) {
+		List<String> characters = game.charactersRepresentation();
+		if (characters == null) return null;
+
+		int turn = game.getTurnOrder().indexOf(player);
+		SplittableRandom random = new SplittableRandom();
+		List<Policy.CharacterPlay> candidates = new ArrayList<>();
+		Set<String> sampled = new HashSet<>();
+		candidates.add(null);
+		LegalMoves legal = CharacterParameters.legalCharacterCards(game, player);
+		for (int j = 0; j < legal.size(); j++) {
+			int card = LegalMoves.card(legal.get(j));
+			for (int i = 0; i < CHARACTER_SAMPLES; i++) {
+				JsonObject params = CharacterParameters.random(game, player, legal.get(j), random);
+				if (sampled.add(card + params.toString()))
+					candidates.add(new Policy.CharacterPlay(card, params));
+			}
+		}
+
+		return search(game, player, candidates, lastRound, (fork, play, playout) -> {
+			if (play != null && fork.handleCharacterCard(play.card(), play.params()))
+				playout.setLastRound();
+			return playout.resume(turn, 0, false);
+		});
+	}
+
+	/**
+	 * Chooses a student to be moved from the entrance of the current player.
+	 * @param game the game, which is not modified
+	 * @param player the nickname of the current player
+	 * @param movedStudents the number of students already moved by the player in the current turn
+	 * @param lastRound {@code true} if and only if the current round is the last one
+	 * @return the color and the destination of the student, or {@code null} if the entrance is empty
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 */
+	public Policy.StudentMove moveStudent(GameManager game, String player, int movedStudents, boolean lastRound)
+			throws InvalidArgumentException {
+		LegalMoves legal = new LegalMoves();
+		game.legalStudentMoves(player, legal);
+		if (legal.isEmpty()) return null;
+
+		List<String> islands = game.islandsRepresentation();
+		List<Policy.StudentMove> candidates = new ArrayList<>(legal.size());
+		for (int i = 0; i < legal.size(); i++) {
+			int island = LegalMoves.island(legal.get(i));
+			candidates.add(new Policy.StudentMove(LegalMoves.color(legal.get(i)).toString(),
+					island == LegalMoves.DINING_ROOM ? GameConstants.DINING_ROOM : islands.get(island)));
+		}
+
+		int turn = game.getTurnOrder().indexOf(player);
+		return search(game, player, candidates, lastRound, (fork, move, playout) -> {
+			fork.handleMovedStudent(player, move.color(), move.destination());
+			return playout.resume(turn, movedStudents + 1, false);
+		});
+	}
+
+	/**
+	 * Chooses the island on which the current player moves Mother Nature.
+	 * @param game the game, which is not modified
+	 * @param player the nickname of the current player
+	 * @param lastRound {@code true} if and only if the current round is the last one
+	 * @return the identifier of one of the islands which Mother Nature can reach
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 */
+	public String moveMotherNature(GameManager game, String player, boolean lastRound) throws InvalidArgumentException {
+		List<String> reachable = SimulatedGame.reachableIslands(game, player, new LegalMoves());
+		int turn = game.getTurnOrder().indexOf(player);
+		return search(game, player, reachable, lastRound, (fork, island, playout) -> {
+			if (fork.handleMotherNatureMovement(island))
+				return fork.getWinner();
+			return playout.resume(turn, 0, true);
+		});
+	}
+
+	/**
+	 * Chooses the cloud tile from which the current player takes new students.
+	 * @param game the game, which is not modified
+	 * @param player the nickname of the current player
+	 * @param lastRound {@code true} if and only if the current round is the last one
+	 * @return the index of one of the cloud tiles which are not empty, or {@code -1} if they are all empty
+	 */
+	public int selectCloud(GameManager game, String player, boolean lastRound) {
+		List<Integer> clouds = SimulatedGame.selectableClouds(game, new LegalMoves());
+		if (clouds.isEmpty()) return -1;
+
+		int turn = game.getTurnOrder().indexOf(player);
+		return search(game, player, clouds, lastRound, (fork, cloud, playout) -> {
+			fork.handleSelectedCloud(player, cloud);
+			fork.cancelCharacterCardEffect();
+			return playout.resume(turn + 1);
+		});
+	}
+
+	/**
+	 * A getter for the number of playouts played since the construction of the player.
+	 * @return the total number of playouts
+	 */
+	public long getPlayouts() {
+		return playouts.sum();
+	}
+
+	/**
+	 * A getter for the number of playouts in which the game refused the candidate move, which the search counts as lost.
+	 * Any other failure of a playout is not caught, and aborts the search.
+	 * @return the total number of refused candidate moves
+	 */
+	public long getRefusedMoves() {
+		return refusedMoves.sum();
+	}
+
+	/**
+	 * Returns the search throughput of the player, which is the number of playouts played by a worker in a second.
+	 * @return the number of playouts per second per core, or {@code 0} if no search has been run yet
+	 */
+	public double getPlayoutsPerSecondPerCore() {
+		long nanos = searchNanos.sum();
+		return nanos == 0 ? 0 : playouts.sum() * 1e9 / nanos;
+	}
+
+	private <T> T search(GameManager game, String player, List<T> candidates, boolean lastRound, Move<T> move) {
+		if (candidates.size() == 1) return candidates.get(0);
+
+		long deadline = System.nanoTime() + budgetNanos;
+		SplittableRandom random = new SplittableRandom();
+		List<Worker<T>> workers = new ArrayList<>(pool.getParallelism());
+		for (int i = 0; i < pool.getParallelism(); i++)
+			workers.add(new Worker<>(game, player, candidates, lastRound, move, deadline, random.split()));
+		if (ForkJoinTask.getPool() == pool)
+			ForkJoinTask.invokeAll(workers);
+		else
+			pool.invoke(new RecursiveAction() {
+				@Override
+				protected void compute() {
+					invokeAll(workers);
+				}
+			});
+
+		long[] visits = new long[candidates.size()];
+		double[] rewards = new double[candidates.size()];
+		for (Worker<T> worker : workers)
+			for (int i = 0; i < visits.length; i++) {
+				visits[i] += worker.visits[i];
+				rewards[i] += worker.rewards[i];
+			}
+
+		// the most visited candidate is the most robust choice, ties being broken by the mean reward
+		int best = 0;
+		for (int i = 1; i < visits.length; i++)
+			if (visits[i] > visits[best] || visits[i] == visits[best] && rewards[i] > rewards[best])
+				best = i;
+		return candidates.get(best);
+	}
+
+	/**
+	 * A candidate move applied to a fork of the game, followed by the playout of the rest of the game.
+	 * @param <T> the type of the move
+	 */
+	@FunctionalInterface
+	private interface Move<T> {
+		/**
+		 * Applies the move to the fork and plays the rest of the game.
+		 * @param fork the fork of the game
+		 * @param move the move
+		 * @param playout the playout of the fork
+		 * @return the nickname of the winner, or {@link GameConstants#TIE}
+		 * @throws InvalidArgumentException if the game refuses the move
+		 * @throws NoMovementException if the game refuses the move
+		 * @throws IslandNotFoundException if the game refuses the move
+		 * @throws NotEnoughMovementsException if the game refuses the move
+		 * @throws ItemNotAvailableException if the game refuses the move
+		 * @throws DuplicateNoEntryTileException if the game refuses the move
+		 */
+		String play(GameManager fork, T move, SimulatedGame playout) throws InvalidArgumentException, NoMovementException,
+				IslandNotFoundException, NotEnoughMovementsException, ItemNotAvailableException, DuplicateNoEntryTileException;
+	}
+
+	private class Worker<T> extends RecursiveAction {
+		private final GameManager game;
+		private final String player;
+		private final List<T> candidates;
+		private final boolean lastRound;
+		private final Move<T> move;
+		private final long deadline;
+		private final SplittableRandom random;
+		private final long[] visits;
+		private final double[] rewards;
+
+		Worker(GameManager game, String player, List<T> candidates, boolean lastRound, Move<T> move, long deadline,
+			   SplittableRandom random) {
+			this.game = game;
+			this.player = player;
+			this.candidates = candidates;
+			this.lastRound = lastRound;
+			this.move = move;
+			this.deadline = deadline;
+			this.random = random;
+			this.visits = new long[candidates.size()];
+			this.rewards = new double[candidates.size()];
+		}
+
+		@Override
+		protected void compute() {
+			List<String> seats = game.getTurnOrder();
+			List<Policy> policies = Collections.nCopies(seats.size(), policy);
+			SimulationReport report = new SimulationReport(seats.toArray(new String[0]));
+			long start = System.nanoTime(), now = start;
+			int total = 0;
+
+			// a playout is only started if it is expected to end within the budget, judging by the previous ones
+			while (now + (total == 0 ? 0 : (now - start) / total) < deadline) {
+				int i = select(total);
+				GameManager fork = game.fork(random.nextLong());
+				SimulatedGame playout = new SimulatedGame(fork, seats, policies, lastRound, random, report);
+				visits[i]++;
+				total++;
+				try {
+					String winner = move.play(fork, candidates.get(i), playout);
+					if (player.equals(winner)) rewards[i] += 1;
+					else if (GameConstants.TIE.equals(winner)) rewards[i] += 1.0 / seats.size();
+				} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException |
+						 NotEnoughMovementsException | ItemNotAvailableException | DuplicateNoEntryTileException e) {
+					// a refused move loses the playout, so that it is never chosen over a legal one
+					refusedMoves.increment();
+				}
+				now = System.nanoTime();
+			}
+
+			playouts.add(total);
+			searchNanos.add(now - start);
+		}
+
+		private int select(int total) {
+			if (total < visits.length) return total;
+
+			int best = 0;
+			double bestScore = Double.NEGATIVE_INFINITY, logTotal = Math.log(total);
+			for (int i = 0; i < visits.length; i++) {
+				double score = rewards[i] / visits[i] + EXPLORATION * Math.sqrt(logTotal / visits[i]);
+				if (score > bestScore) {
+					best = i;
+					bestScore = score;
+				}
+			}
+			return best;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.model.GameManager;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * This interface represents the decisions taken by a player of a simulated game, one method for every phase of the game.
+ * A policy only observes the game through the representations exposed by {@link GameManager}, and any random choice
+ * must be drawn from the given generator, so that a simulated game can be replayed from its seed.
+ * The same instance may be shared by several games running in parallel, hence implementations should be stateless.
+ */
+public interface Policy {
+	/**
+	 * Chooses the assistant card to be played in the planning phase.
+	 * @param game the simulated game
+	 * @param player the nickname of the player
+	 * @param playable the assistant cards which the player is allowed to play, never empty
+	 * @param random the generator of the random choices
+	 * @return one of the {@code playable} cards
+	 */
+	String playAssistantCard(GameManager game, String player, List<String> playable, RandomGenerator random);
+
+	/**
+	 * Chooses the character card to be played at the beginning of the action phase, if any.
+	 * It is only called in expert mode, and an illegal choice is counted as rejected and otherwise ignored.
+	 * @param game the simulated game
+	 * @param player the nickname of the player
+	 * @param random the generator of the random choices
+	 * @return the character card to be played with its parameters, or {@code null} if no card should be played
+	 */
+	default CharacterPlay playCharacterCard(GameManager game, String player, RandomGenerator random) {
+		return null;
+	}
+
+	/**
+	 * Chooses a student to be moved from the entrance of the player.
+	 * @param game the simulated game
+	 * @param player the nickname of the player
+	 * @param random the generator of the random choices
+	 * @return the color and the destination of the student
+	 */
+	StudentMove moveStudent(GameManager game, String player, RandomGenerator random);
+
+	/**
+	 * Chooses the island on which Mother Nature is moved.
+	 * @param game the simulated game
+	 * @param player the nickname of the player
+	 * @param reachable the identifiers of the islands which Mother Nature can reach, nearest first, never empty
+	 * @param random the generator of the random choices
+	 * @return one of the {@code reachable} islands
+	 */
+	String moveMotherNature(GameManager game, String player, List<String> reachable, RandomGenerator random);
+
+	/**
+	 * Chooses the cloud tile from which the player takes new students.
+	 * @param game the simulated game
+	 * @param player the nickname of the player
+	 * @param clouds the indexes of the cloud tiles which are not empty, never empty
+	 * @param random the generator of the random choices
+	 * @return one of the {@code clouds}
+	 */
+	int selectCloud(GameManager game, String player, List<Integer> clouds, RandomGenerator random);
+
+	/**
+	 * The movement of a student from the entrance of a player.
+	 * @param color the color of the student
+	 * @param destination the identifier of an island, or {@link it.polimi.ingsw.eriantys.model.GameConstants#DINING_ROOM}
+	 */
+	record StudentMove(String color, String destination) {}
+
+	/**
+	 * The choice of a character card.
+	 * @param card the index of the card among the character cards of the game
+	 * @param params the parameters of the effect, in the format sent by the clients
+	 */
+	record CharacterPlay(int card, JsonObject params) {}
+}
@@ -0,0 +1,81 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.LegalMoves;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link Policy} which takes every decision uniformly at random among the legal ones.
+ * Character cards are played with a fixed probability, whenever the player can play at least one of them.
+ */
+public class RandomPolicy implements Policy {
+	private static final int DINING_ROOM_CAPACITY = 10;
+
+	private final double characterRate;
+
+	/**
+	 * Constructs a {@code RandomPolicy} which tries to play a character card in a quarter of its turns.
+	 */
+	public RandomPolicy() {
+		this(0.25);
+	}
+
+	/**
+	 * Constructs a {@code RandomPolicy} which tries to play a character card with the specified probability.
+	 * @param characterRate the probability of trying to play a character card at the beginning of a turn
+	 */
+	public RandomPolicy(double characterRate) {
+		this.characterRate = characterRate;
+	}
+
+	@Override
+	public String playAssistantCard(GameManager game, String player, List<String> playable, RandomGenerator random) {
+		return playable.get(random.nextInt(playable.size()));
+	}
+
+	@Override
+	public CharacterPlay playCharacterCard(GameManager game, String player, RandomGenerator random) {
+		if (random.nextDouble() >= characterRate) return null;
+
+		LegalMoves legal = CharacterParameters.legalCharacterCards(game, player);
+		if (legal.isEmpty()) return null;
+
+		int move = legal.get(random.nextInt(legal.size()));
+		return new CharacterPlay(LegalMoves.card(move), CharacterParameters.random(game, player, move, random));
+	}
+
+	@Override
+	public StudentMove moveStudent(GameManager game, String player, RandomGenerator random) {
+		String color = CharacterParameters.anyStudent(game.entranceRepresentation(player), random);
+		if (random.nextBoolean() && fitsDiningRoom(game.diningRoomRepresentation(player), color))
+			return new StudentMove(color, GameConstants.DINING_ROOM);
+
+		List<String> islands = game.islandsRepresentation();
+		return new StudentMove(color, islands.get(random.nextInt(islands.size())));
+	}
+
+	@Override
+	public String moveMotherNature(GameManager game, String player, List<String> reachable, RandomGenerator random) {
+		return reachable.get(random.nextInt(reachable.size()));
+	}
+
+	@Override
+	public int selectCloud(GameManager game, String player, List<Integer> clouds, RandomGenerator random) {
+		return clouds.get(random.nextInt(clouds.size()));
+	}
+
+	/**
+	 * Returns {@code true} if and only if the specified player could move a student of the specified color to the dining
+	 * room.
+	 * @param diningRoom the dining room of the player
+	 * @param color the color of the student
+	 * @return {@code true} if and only if the dining room has room for the student
+	 */
+	static boolean fitsDiningRoom(Map<String, Integer> diningRoom, String color) {
+		return diningRoom.get(color) < DINING_ROOM_CAPACITY;
+	}
+}
@@ -0,0 +1,69 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.AssistantCard;
+import it.polimi.ingsw.eriantys.model.GameManager;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link Policy} which follows a fixed script of assistant cards and Mother Nature movements, one entry per round,
+ * and leaves every other decision, as well as the rounds which are not covered by the script or whose scripted choice
+ * is not legal, to a fallback policy.
+ * The round is derived from the number of assistant cards left to the player, so that the same instance can be shared by
+ * games running in parallel.
+ */
+public class ScriptedPolicy implements Policy {
+	private static final int DECK_SIZE = AssistantCard.values().length;
+
+	private final Policy fallback;
+	private final List<String> assistantCards;
+	private final List<Integer> motherNatureMovements;
+
+	/**
+	 * Constructs a {@code ScriptedPolicy} with the specified script.
+	 * @param fallback the policy taking the decisions which are not scripted
+	 * @param assistantCards the assistant card to be played in each round
+	 * @param motherNatureMovements the number of islands by which Mother Nature is moved in each round
+	 */
+	public ScriptedPolicy(Policy fallback, List<String> assistantCards, List<Integer> motherNatureMovements) {
+		this.fallback = fallback;
+		this.assistantCards = List.copyOf(assistantCards);
+		this.motherNatureMovements = List.copyOf(motherNatureMovements);
+	}
+
+	@Override
+	public String playAssistantCard(GameManager game, String player, List<String> playable, RandomGenerator random) {
+		// the card of the current round has not been played yet
+		int round = DECK_SIZE - game.getAvailableAssistantCards().get(player).size();
+		if (round < assistantCards.size() && playable.contains(assistantCards.get(round)))
+			return assistantCards.get(round);
+		return fallback.playAssistantCard(game, player, playable, random);
+	}
+
+	@Override
+	public CharacterPlay playCharacterCard(GameManager game, String player, RandomGenerator random) {
+		return fallback.playCharacterCard(game, player, random);
+	}
+
+	@Override
+	public StudentMove moveStudent(GameManager game, String player, RandomGenerator random) {
+		return fallback.moveStudent(game, player, random);
+	}
+
+	@Override
+	public String moveMotherNature(GameManager game, String player, List<String> reachable, RandomGenerator random) {
+		int round = DECK_SIZE - game.getAvailableAssistantCards().get(player).size() - 1;
+		if (round < motherNatureMovements.size()) {
+			int movements = motherNatureMovements.get(round);
+			if (movements >= 1 && movements <= reachable.size())
+				return reachable.get(movements - 1);
+		}
+		return fallback.moveMotherNature(game, player, reachable, random);
+	}
+
+	@Override
+	public int selectCloud(GameManager game, String player, List<Integer> clouds, RandomGenerator random) {
+		return fallback.selectCloud(game, player, clouds, random);
+	}
+}
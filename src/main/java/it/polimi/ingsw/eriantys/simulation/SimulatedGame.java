@@ -0,0 +1,321 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.LegalMoves;
+import it.polimi.ingsw.eriantys.model.TowerColor;
+import it.polimi.ingsw.eriantys.model.Wizard;
+import it.polimi.ingsw.eriantys.model.exceptions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * This class drives a single game from the setup to the end, in the same sequence of phases as the controller, asking
+ * the policy of the current player for every decision.
+ * A decision which is refused by the game is recorded and replaced by a legal one, so that a faulty policy cannot stall
+ * the game.
+ */
+class SimulatedGame {
+	private final List<String> seats;
+	private final List<Policy> policies;
+	private final SimulationReport report;
+	private final SplittableRandom random;
+	private final GameManager game;
+	private final LegalMoves legal = new LegalMoves();
+
+	private boolean lastRound;
+	private int rounds, turns;
+
+	/**
+	 * Constructs a game played by the specified policies, whose random choices, both of the game and of the policies,
+	 * are all driven by {@code seed}.
+	 * @param seats the nicknames of the players, by seat
+	 * @param policies the policies of the players, by seat
+	 * @param expertMode {@code true} if and only if the game is to be played in expert mode
+	 * @param seed the seed of the game
+	 * @param report the report in which the outcome of the game is recorded
+	 */
+	SimulatedGame(List<String> seats, List<Policy> policies, boolean expertMode, long seed, SimulationReport report) {
+		this.seats = seats;
+		this.policies = policies;
+		this.report = report;
+		this.random = new SplittableRandom(seed);
+		this.game = new GameManager(seats, expertMode, random.nextLong());
+	}
+
+	/**
+	 * Constructs the remainder of a game forked in the middle of a round, played by the specified policies.
+	 * @param game the forked game, which is played on
+	 * @param seats the nicknames of the players, by seat
+	 * @param policies the policies of the players, by seat
+	 * @param lastRound {@code true} if and only if the round of the fork is the last one
+	 * @param random the generator of the random choices of the policies
+	 * @param report the report in which the outcome of the game is recorded
+	 */
+	SimulatedGame(GameManager game, List<String> seats, List<Policy> policies, boolean lastRound,
+				  SplittableRandom random, SimulationReport report) {
+		this.seats = seats;
+		this.policies = policies;
+		this.report = report;
+		this.random = random;
+		this.game = game;
+		this.lastRound = lastRound;
+	}
+
+	/**
+	 * Plays the game until its end, then records its outcome.
+	 * @throws IllegalStateException if the game refuses an action which should have been legal
+	 */
+	void play() {
+		try {
+			game.setupBoard();
+			game.setupEntrances();
+			for (int i = 0; i < seats.size(); i++)
+				game.setupPlayer(seats.get(i), TowerColor.stringLiterals().get(i), Wizard.stringLiterals().get(i));
+			playRounds();
+		} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException | NotEnoughMovementsException e) {
+			throw refused(e);
+		}
+
+		recordGame();
+	}
+
+	/**
+	 * Plays a game forked in the planning phase until its end, then records its outcome.
+	 * @param playedCards the assistant cards already played in the current round, in turn order
+	 * @return the nickname of the winner, or {@link it.polimi.ingsw.eriantys.model.GameConstants#TIE}
+	 * @throws IllegalStateException if the game refuses an action which should have been legal
+	 */
+	String resume(Map<String, String> playedCards) {
+		try {
+			rounds++;
+			planningPhase(new LinkedHashMap<>(playedCards));
+			if (!actionPhases(0, 0, false, false))
+				playRounds();
+		} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException | NotEnoughMovementsException e) {
+			throw refused(e);
+		}
+
+		return recordGame();
+	}
+
+	/**
+	 * Plays a game forked in the action phase between two turns until its end, then records its outcome.
+	 * @param turn the index in the turn order of the next player, which is the number of players if the round is over
+	 * @return the nickname of the winner, or {@link it.polimi.ingsw.eriantys.model.GameConstants#TIE}
+	 * @throws IllegalStateException if the game refuses an action which should have been legal
+	 */
+	String resume(int turn) {
+		try {
+			rounds++;
+			if (!actionPhases(turn, 0, false, false))
+				playRounds();
+		} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException | NotEnoughMovementsException e) {
+			throw refused(e);
+		}
+
+		return recordGame();
+	}
+
+	/**
+	 * Plays a game forked in the middle of a turn of the action phase until its end, then records its outcome.
+	 * The player of the forked turn does not play any character card for the rest of the turn.
+	 * @param turn the index of the current player in the turn order
+	 * @param movedStudents the number of students moved by the current player
+	 * @param motherNatureMoved {@code true} if and only if the current player has moved Mother Nature
+	 * @return the nickname of the winner, or {@link it.polimi.ingsw.eriantys.model.GameConstants#TIE}
+	 * @throws IllegalStateException if the game refuses an action which should have been legal
+	 */
+	String resume(int turn, int movedStudents, boolean motherNatureMoved) {
+		try {
+			rounds++;
+			if (!actionPhases(turn, movedStudents, motherNatureMoved, true))
+				playRounds();
+		} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException | NotEnoughMovementsException e) {
+			throw refused(e);
+		}
+
+		return recordGame();
+	}
+
+	/**
+	 * Makes the current round of the game the last one, as a character card played on the fork can do.
+	 */
+	void setLastRound() {
+		lastRound = true;
+	}
+
+	/**
+	 * A getter for the manager of the game.
+	 * @return the manager of the game
+	 */
+	GameManager getGameManager() {
+		return game;
+	}
+
+	private void playRounds()
+			throws InvalidArgumentException, NoMovementException, IslandNotFoundException, NotEnoughMovementsException {
+		while (!lastRound) {
+			lastRound = game.setupRound();
+			rounds++;
+			planningPhase(new LinkedHashMap<>());
+			if (actionPhases(0, 0, false, false))
+				return;
+		}
+	}
+
+	private void planningPhase(Map<String, String> played) {
+		Map<String, List<String>> available = game.getAvailableAssistantCards();
+
+		for (String player : game.getTurnOrder()) {
+			if (played.containsKey(player)) continue;
+			List<String> playable = new ArrayList<>(available.get(player));
+			playable.removeAll(played.values());
+			// a card which was already played this round is allowed only if there is no other choice
+			if (playable.isEmpty()) playable = available.get(player);
+
+			String card = policy(player).playAssistantCard(game, player, playable, random);
+			if (!playable.contains(card)) {
+				report.recordRejectedAction();
+				card = playable.get(0);
+			}
+			played.put(player, card);
+		}
+
+		lastRound |= game.handleAssistantCards(played);
+	}
+
+	private boolean actionPhases(int turn, int movedStudents, boolean motherNatureMoved, boolean resumed)
+			throws InvalidArgumentException, NoMovementException, IslandNotFoundException, NotEnoughMovementsException {
+		List<String> turnOrder = game.getTurnOrder();
+		for (int i = turn; i < turnOrder.size(); i++) {
+			turns++;
+			if (resumed && i == turn ? actionPhase(turnOrder.get(i), movedStudents, motherNatureMoved) : actionPhase(turnOrder.get(i)))
+				return true;
+		}
+		return false;
+	}
+
+	private boolean actionPhase(String player)
+			throws InvalidArgumentException, NoMovementException, IslandNotFoundException, NotEnoughMovementsException {
+		game.setCurrentPlayer(player);
+		if (game.charactersRepresentation() != null)
+			playCharacterCard(policy(player), player);
+		return actionPhase(player, 0, false);
+	}
+
+	private boolean actionPhase(String player, int movedStudents, boolean motherNatureMoved)
+			throws InvalidArgumentException, NoMovementException, IslandNotFoundException, NotEnoughMovementsException {
+		Policy policy = policy(player);
+		game.setCurrentPlayer(player);
+
+		if (!motherNatureMoved) {
+			int moves = game.constants.getCloudSize();
+			for (int i = movedStudents; i < moves; i++)
+				if (!moveStudent(policy, player)) break;
+
+			List<String> reachable = reachableIslands(game, player, legal);
+			String destination = policy.moveMotherNature(game, player, reachable, random);
+			if (!reachable.contains(destination)) {
+				report.recordRejectedAction();
+				destination = reachable.get(0);
+			}
+			if (game.handleMotherNatureMovement(destination))
+				return true;
+		}
+
+		List<Integer> clouds = selectableClouds(game, legal);
+		// the cloud tiles can only be empty when the bag ran out before the last round
+		if (!clouds.isEmpty()) {
+			int cloud = policy.selectCloud(game, player, clouds, random);
+			if (!clouds.contains(cloud)) {
+				report.recordRejectedAction();
+				cloud = clouds.get(0);
+			}
+			game.handleSelectedCloud(player, cloud);
+		}
+
+		game.cancelCharacterCardEffect();
+		return false;
+	}
+
+	private void playCharacterCard(Policy policy, String player) {
+		Policy.CharacterPlay play = policy.playCharacterCard(game, player, random);
+		if (play == null) return;
+
+		try {
+			lastRound |= game.handleCharacterCard(play.card(), play.params());
+			report.recordCharacter(game.charactersRepresentation().get(play.card()));
+		} catch (InvalidArgumentException | ItemNotAvailableException | NoMovementException |
+				 DuplicateNoEntryTileException | IllegalArgumentException e) {
+			report.recordRejectedAction();
+		}
+	}
+
+	private boolean moveStudent(Policy policy, String player)
+			throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
+		game.legalStudentMoves(player, legal);
+		if (legal.isEmpty()) return false;
+
+		Policy.StudentMove move = policy.moveStudent(game, player, random);
+		if (move == null || !legal.contains(game.encodeStudentMove(move.color(), move.destination()))) {
+			report.recordRejectedAction();
+			// islands have no capacity, hence a student can always be moved to the island of Mother Nature
+			move = new Policy.StudentMove(LegalMoves.color(legal.get(0)).toString(), game.motherNatureIslandRepresentation());
+		}
+		game.handleMovedStudent(player, move.color(), move.destination());
+		return true;
+	}
+
+	private String recordGame() {
+		String winner = game.getWinner();
+		report.recordGame(seats.indexOf(winner), rounds, turns);
+		return winner;
+	}
+
+	private IllegalStateException refused(Exception e) {
+		return new IllegalStateException("Game " + Long.toHexString(game.getSeed()) + " refused a legal action", e);
+	}
+
+	private Policy policy(String player) {
+		return policies.get(seats.indexOf(player));
+	}
+
+	/**
+	 * Returns the islands which Mother Nature can reach on the move of the specified player, nearest first.
+	 * @param game the game
+	 * @param player the nickname of the player
+	 * @param moves the buffer in which the legal moves are generated
+	 * @return the identifiers of the reachable islands
+	 * @throws InvalidArgumentException if no player matches the specified nickname
+	 * @see GameManager#legalMotherNatureMoves(String, LegalMoves)
+	 */
+	static List<String> reachableIslands(GameManager game, String player, LegalMoves moves) throws InvalidArgumentException {
+		game.legalMotherNatureMoves(player, moves);
+		List<String> islands = game.islandsRepresentation();
+		int from = islands.indexOf(game.motherNatureIslandRepresentation());
+
+		List<String> reachable = new ArrayList<>(moves.size());
+		for (int i = 0; i < moves.size(); i++)
+			reachable.add(islands.get((from + moves.get(i)) % islands.size()));
+		return reachable;
+	}
+
+	/**
+	 * Returns the cloud tiles which still hold students.
+	 * @param game the game
+	 * @param moves the buffer in which the legal moves are generated
+	 * @return the indexes of the cloud tiles which are not empty
+	 * @see GameManager#legalClouds(LegalMoves)
+	 */
+	static List<Integer> selectableClouds(GameManager game, LegalMoves moves) {
+		game.legalClouds(moves);
+		List<Integer> clouds = new ArrayList<>(moves.size());
+		for (int i = 0; i < moves.size(); i++)
+			clouds.add(moves.get(i));
+		return clouds;
+	}
+}
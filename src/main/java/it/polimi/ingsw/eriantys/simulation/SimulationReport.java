@@ -0,0 +1,188 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class collects the aggregate statistics of a batch of simulated games: the outcome of each game by seat, the
+ * length of the games and the usage of the character cards.
+ * An instance is only updated by one thread, and the reports of the parts of a batch are then merged together.
+ */
+public class SimulationReport {
+	private final String[] seats;
+	private final long[] wins;
+	private long games, ties, rounds, turns, rejectedActions;
+	private int minRounds = Integer.MAX_VALUE, maxRounds;
+	private final Map<String, Long> characterPlays = new TreeMap<>();
+	private long elapsedNanos;
+
+	/**
+	 * Constructs an empty report for games played by the specified seats.
+	 * @param seats the nicknames of the players, by seat
+	 */
+	SimulationReport(String[] seats) {
+		this.seats = seats;
+		this.wins = new long[seats.length];
+	}
+
+	/**
+	 * Records the outcome of a game.
+	 * @param winner the seat of the winner, or {@code -1} in case of a tie
+	 * @param gameRounds the number of rounds played
+	 * @param gameTurns the number of turns played
+	 */
+	void recordGame(int winner, int gameRounds, int gameTurns) {
+		games++;
+		if (winner == -1) ties++;
+		else wins[winner]++;
+		rounds += gameRounds;
+		turns += gameTurns;
+		minRounds = Math.min(minRounds, gameRounds);
+		maxRounds = Math.max(maxRounds, gameRounds);
+	}
+
+	/**
+	 * Records a character card played successfully.
+	 * @param card the name of the character card
+	 */
+	void recordCharacter(String card) {
+		characterPlays.merge(card, 1L, Long::sum);
+	}
+
+	/**
+	 * Records an action chosen by a policy which was refused by the game and replaced by a legal one.
+	 */
+	void recordRejectedAction() {
+		rejectedActions++;
+	}
+
+	/**
+	 * Adds the statistics of {@code other} to {@code this}.
+	 * @param other a report for the same seats
+	 * @return {@code this}
+	 */
+	SimulationReport merge(SimulationReport other) {
+		games += other.games;
+		ties += other.ties;
+		for (int i = 0; i < wins.length; i++)
+			wins[i] += other.wins[i];
+		rounds += other.rounds;
+		turns += other.turns;
+		rejectedActions += other.rejectedActions;
+		minRounds = Math.min(minRounds, other.minRounds);
+		maxRounds = Math.max(maxRounds, other.maxRounds);
+		other.characterPlays.forEach((card, plays) -> characterPlays.merge(card, plays, Long::sum));
+		return this;
+	}
+
+	void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * A getter for the number of games played.
+	 * @return the number of games played
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * A getter for the number of games won by the specified seat.
+	 * @param seat the seat of the player
+	 * @return the number of games won
+	 */
+	public long getWins(int seat) {
+		return wins[seat];
+	}
+
+	/**
+	 * A getter for the number of games which ended in a tie.
+	 * @return the number of ties
+	 */
+	public long getTies() {
+		return ties;
+	}
+
+	/**
+	 * Returns the fraction of the games won by the specified seat.
+	 * @param seat the seat of the player
+	 * @return the win rate of the seat, between 0 and 1
+	 */
+	public double getWinRate(int seat) {
+		return games == 0 ? 0 : (double) wins[seat] / games;
+	}
+
+	/**
+	 * Returns the average number of rounds of a game.
+	 * @return the average length of the games, in rounds
+	 */
+	public double getAverageRounds() {
+		return games == 0 ? 0 : (double) rounds / games;
+	}
+
+	/**
+	 * A getter for the number of rounds of the shortest game.
+	 * @return the minimum number of rounds, or {@code 0} if no games were played
+	 */
+	public int getMinRounds() {
+		return games == 0 ? 0 : minRounds;
+	}
+
+	/**
+	 * A getter for the number of rounds of the longest game.
+	 * @return the maximum number of rounds
+	 */
+	public int getMaxRounds() {
+		return maxRounds;
+	}
+
+	/**
+	 * A getter for the number of turns played in all the games.
+	 * @return the number of turns
+	 */
+	public long getTurns() {
+		return turns;
+	}
+
+	/**
+	 * A getter for the number of times each character card was played successfully.
+	 * @return the number of plays, mapped by card name
+	 */
+	public Map<String, Long> getCharacterPlays() {
+		return characterPlays;
+	}
+
+	/**
+	 * A getter for the number of actions which were refused by the game and replaced by a legal one.
+	 * @return the number of rejected actions
+	 */
+	public long getRejectedActions() {
+		return rejectedActions;
+	}
+
+	/**
+	 * Returns the throughput of the batch.
+	 * @return the number of games played per second of wall-clock time
+	 */
+	public double getGamesPerSecond() {
+		return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder res = new StringBuilder();
+		res.append(String.format("%d games in %.2f s (%.1f games/s)%n", games, elapsedNanos / 1e9, getGamesPerSecond()));
+		for (int i = 0; i < seats.length; i++)
+			res.append(String.format("  %-10s %6.2f%% wins%n", seats[i], 100 * getWinRate(i)));
+		res.append(String.format("  %-10s %6.2f%%%n", "ties", games == 0 ? 0 : 100.0 * ties / games));
+		res.append(String.format("Rounds per game: %.2f average, %d min, %d max%n",
+				getAverageRounds(), getMinRounds(), maxRounds));
+		if (!characterPlays.isEmpty()) {
+			res.append("Character cards played:").append(System.lineSeparator());
+			characterPlays.forEach((card, plays) -> res.append(String.format("  %-16s %d%n", card, plays)));
+		}
+		res.append(String.format("Rejected actions: %d%n", rejectedActions));
+		return res.toString();
+	}
+}
@@ -0,0 +1,156 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import org.apache.commons.cli.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class runs batches of headless games, driving {@link it.polimi.ingsw.eriantys.model.GameManager} directly with
+ * one {@link Policy} per seat, and reports their aggregate statistics.
+ * The games of a batch are split among the workers of a {@link ForkJoinPool}, and the seed of every game is derived from
+ * the seed of the batch and the index of the game, so that the report of a batch does not depend on the parallelism.
+ */
+public class Simulator {
+	private static final int GAMES_PER_TASK = 16;
+
+	private final List<String> seats;
+	private final List<Policy> policies;
+	private final boolean expertMode;
+
+	/**
+	 * Launches a batch of simulated games and prints its report.
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		int games = 10000;
+		long seed = ThreadLocalRandom.current().nextLong();
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean expertMode = false;
+		List<Policy> policies = new ArrayList<>(List.of(new GreedyPolicy(), new RandomPolicy()));
+		Options options = new Options();
+		options.addOption(new Option("n", "games", true, "Number of games"));
+		options.addOption(new Option("p", "policies", true, "Comma-separated policy of each seat (random or greedy)"));
+		options.addOption(new Option("e", "expert", false, "Play in expert mode"));
+		options.addOption(new Option("s", "seed", true, "Seed of the batch, in hexadecimal"));
+		options.addOption(new Option("t", "threads", true, "Number of worker threads"));
+		CommandLineParser parser = new DefaultParser();
+		try {
+			CommandLine line = parser.parse(options, args);
+			if (line.hasOption("n"))
+				games = Integer.parseInt(line.getOptionValue("games"));
+			if (line.hasOption("p")) {
+				policies.clear();
+				for (String name : line.getOptionValue("policies").split(","))
+					policies.add(switch (name.trim().toLowerCase()) {
+						case "random" -> new RandomPolicy();
+						case "greedy" -> new GreedyPolicy();
+						default -> throw new IllegalArgumentException("Unknown policy: " + name);
+					});
+			}
+			expertMode = line.hasOption("e");
+			if (line.hasOption("s"))
+				seed = Long.parseUnsignedLong(line.getOptionValue("seed"), 16);
+			if (line.hasOption("t"))
+				threads = Integer.parseInt(line.getOptionValue("threads"));
+			GameConstants.forPlayers(policies.size());
+		}
+		catch (ParseException | IllegalArgumentException e) {
+			System.out.println("Parsing failed");
+			System.exit(1);
+		}
+
+		System.out.println("Batch seed: " + Long.toHexString(seed));
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			System.out.print(new Simulator(policies, expertMode).run(games, seed, pool));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Constructs a {@code Simulator} for games with one player for each of the specified policies.
+	 * @param policies the policy of each seat, in order
+	 * @param expertMode {@code true} if and only if the games are to be played in expert mode
+	 * @throws IllegalArgumentException if the game cannot be played by the specified number of players
+	 */
+	public Simulator(List<Policy> policies, boolean expertMode) {
+		GameConstants.forPlayers(policies.size());
+		List<String> seats = new ArrayList<>(policies.size());
+		for (int i = 0; i < policies.size(); i++)
+			seats.add("Player" + (i + 1));
+		this.seats = List.copyOf(seats);
+		this.policies = List.copyOf(policies);
+		this.expertMode = expertMode;
+	}
+
+	/**
+	 * Plays a batch of games on the common pool.
+	 * @param games the number of games
+	 * @param seed the seed of the batch
+	 * @return the report of the batch
+	 * @see #run(int, long, ForkJoinPool)
+	 */
+	public SimulationReport run(int games, long seed) {
+		return run(games, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Plays a batch of games on the specified pool.
+	 * @param games the number of games
+	 * @param seed the seed of the batch
+	 * @param pool the pool whose workers play the games
+	 * @return the report of the batch
+	 * @throws IllegalStateException if a game refused an action which should have been legal
+	 */
+	public SimulationReport run(int games, long seed, ForkJoinPool pool) {
+		long start = System.nanoTime();
+		SimulationReport report = pool.invoke(new Batch(seed, 0, games));
+		report.setElapsedNanos(System.nanoTime() - start);
+		return report;
+	}
+
+	/**
+	 * Plays the game of the specified index within a batch on the calling thread.
+	 * @param seed the seed of the batch
+	 * @param index the index of the game
+	 * @return the report of the single game
+	 */
+	public SimulationReport play(long seed, int index) {
+		SimulationReport report = new SimulationReport(seats.toArray(new String[0]));
+		new SimulatedGame(seats, policies, expertMode, seed + index, report).play();
+		return report;
+	}
+
+	private class Batch extends RecursiveTask<SimulationReport> {
+		private final long seed;
+		private final int from, to;
+
+		Batch(long seed, int from, int to) {
+			this.seed = seed;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected SimulationReport compute() {
+			if (to - from <= GAMES_PER_TASK) {
+				SimulationReport report = new SimulationReport(seats.toArray(new String[0]));
+				for (int i = from; i < to; i++)
+					new SimulatedGame(seats, policies, expertMode, seed + i, report).play();
+				return report;
+			}
+
+			int middle = (from + to) >>> 1;
+			Batch left = new Batch(seed, from, middle);
+			left.fork();
+			SimulationReport report = new Batch(seed, middle, to).compute();
+			return report.merge(left.join());
+		}
+	}
+}
@@ -2,14 +2,19 @@ package it.polimi.ingsw.eriantys.controller;
 
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.client.Client;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.client.BoardResync;
 import it.polimi.ingsw.eriantys.messages.client.GameSetupSelection;
 import it.polimi.ingsw.eriantys.messages.client.Handshake;
 import it.polimi.ingsw.eriantys.messages.client.HelpRequest;
 import it.polimi.ingsw.eriantys.messages.client.SelectCloud;
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import it.polimi.ingsw.eriantys.server.ClientConnection;
 import it.polimi.ingsw.eriantys.server.Server;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
 import org.junit.jupiter.api.Test;
@@ -18,6 +23,8 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -130,6 +137,55 @@ class GameTest {
 		assertTrue(game.meetsStartupCondition());
 	}
 
+	@Test
+	void fillWithBots_NoBot_ReturnFalse() {
+		Game game = construct();
+		game.addPlayer("P1");
+		assertFalse(game.fillWithBots("P1"));
+		assertFalse(game.meetsStartupCondition());
+	}
+
+	@Test
+	void fillWithBots_BotEnabled_LobbyFilled() throws IOException {
+		Server server = new Server(9361);
+		server.enableBot(10);
+
+		Game game = new Game(server, 1, "Tom", 3, false);
+		game.addPlayer("P1");
+		assertFalse(game.fillWithBots("P2"));
+		assertTrue(game.fillWithBots("P1"));
+		assertTrue(game.meetsStartupCondition());
+		assertEquals(3, game.getInfo().getCurrentPlayers());
+		assertTrue(game.isPlayedByBot("Bot#1"));
+		assertTrue(game.isPlayedByBot("Bot#2"));
+	}
+
+	@Test
+	void promptSelection_EveryPlayerPlayedByBot_GameEnds() throws Exception {
+		Server server = new Server(9362);
+		server.enableBot(10);
+
+		Game game = new Game(server, 1, "Tom", 2, false);
+		game.addPlayer("P1");
+		assertTrue(game.fillWithBots("P1"));
+		game.submit(() -> {
+			game.setup();
+			game.promptSelection();
+		});
+
+		// the game ends at the end of the first turn, since no player is connected
+		for (int i = 0; i < 100; i++) {
+			CompletableFuture<Boolean> started = new CompletableFuture<>();
+			game.submit(() -> started.complete(game.isStarted()));
+			if (!started.get()) break;
+			Thread.sleep(100);
+		}
+		CompletableFuture<Boolean> started = new CompletableFuture<>();
+		game.submit(() -> started.complete(game.isStarted()));
+		assertFalse(started.get());
+		assertTrue(server.getBot().getPlayouts() > 0);
+	}
+
 	@Test
 	void setup_NormalPreconditions_NoExceptions() {
 		Game game = construct();
@@ -252,6 +308,40 @@ class GameTest {
 		assertDoesNotThrow(game::receiveCloudSelection);
 	}
 
+	@Test
+	void handleMessage_BoardResyncAfterPhaseUpdate_SendPhaseAndNextPlayer() throws Exception {
+		Server server = new Server(9366);
+		List<Message> received = new CopyOnWriteArrayList<>();
+		ClientConnection connection = new ClientConnection(server) {
+			@Override
+			protected void sendPing() {}
+
+			@Override
+			public void write(Message message) {
+				received.add(message);
+			}
+		};
+		server.connect("P2", connection);
+
+		Game game = construct(server);
+		connection.setGame(game);
+		game.addPlayer("P1");
+		game.addPlayer("P2");
+		assertDoesNotThrow(game::setup);
+		assertDoesNotThrow(() -> game.setupPlayer("P1", "WHITE", "SNOW"));
+		assertDoesNotThrow(() -> game.setupPlayer("P2", "BLACK", "SKY"));
+		assertDoesNotThrow(game::start);
+		game.receiveMotherNatureMovement();
+		game.sendBoardUpdate();
+
+		received.clear();
+		game.handleMessage(new BoardResync("P2"));
+
+		BoardUpdate update = assertInstanceOf(BoardUpdate.class, received.get(0));
+		assertEquals(PhaseName.MOTHER_NATURE, update.getPhase());
+		assertEquals(game.getCurrentPlayer(), update.getNextPlayer());
+	}
+
 	@Test
 	void addPlayer_ExistingPlayer_ReturnNull() {
 		Game game = construct();
@@ -717,4 +807,26 @@ class GameTest {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	void promptSelection_BotSeats_NoExceptions() throws IOException, InterruptedException, NoConnectionException {
+		Server server = new Server(9365);
+		server.enableBot(10);
+		server.start();
+
+		Game game = new Game(server, 1, "Tom", 3, false);
+		game.addPlayer("P1");
+		assertTrue(game.fillWithBots("P1"));
+
+		Client client = new Client("localhost", 9365, false);
+		client.start();
+		client.write(new Handshake("P1"));
+		while (!server.isConnected("P1"))
+			Thread.sleep(50);
+		server.getConnection("P1").setGame(game);
+
+		assertDoesNotThrow(game::setup);
+		assertDoesNotThrow(game::promptSelection);
+		assertTrue(game.isPlayedByBot("Bot#1"));
+	}
+}
@@ -0,0 +1,76 @@
+package it.polimi.ingsw.eriantys.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailboxTest {
+	ExecutorService pool;
+
+	@BeforeEach
+	void init() {
+		pool = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void shutdown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	void execute_ManyProducers_RunSeriallyInSubmissionOrder() throws InterruptedException {
+		Mailbox mailbox = new Mailbox(pool);
+		int producers = 4, tasks = 1000;
+		List<List<Integer>> runs = new ArrayList<>();
+		for (int p = 0; p < producers; p++) runs.add(new ArrayList<>());
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(producers * tasks);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			List<Integer> run = runs.get(p);
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < tasks; i++) {
+					int value = i;
+					mailbox.execute(() -> {
+						if (running.incrementAndGet() != 1) overlaps.incrementAndGet();
+						run.add(value);
+						running.decrementAndGet();
+						done.countDown();
+					});
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(0, overlaps.get());
+		for (List<Integer> run : runs)
+			for (int i = 0; i < tasks; i++)
+				assertEquals(i, run.get(i));
+	}
+
+	@Test
+	void execute_TaskThrows_FollowingTasksRun() throws InterruptedException {
+		Mailbox mailbox = new Mailbox(pool);
+		CountDownLatch done = new CountDownLatch(1);
+
+		mailbox.execute(() -> {
+			throw new IllegalStateException();
+		});
+		mailbox.execute(done::countDown);
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+	}
+}
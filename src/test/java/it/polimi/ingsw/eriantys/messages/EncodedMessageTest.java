@@ -0,0 +1,83 @@
+package it.polimi.ingsw.eriantys.messages;
+
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.server.LobbyUpdate;
+import it.polimi.ingsw.eriantys.messages.server.Refused;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedMessageTest {
+	static class CountingCodec implements MessageCodec {
+		int encoded = 0;
+
+		@Override
+		public byte getId() {
+			return Codecs.BINARY.getId();
+		}
+
+		@Override
+		public String getName() {
+			return Codecs.BINARY.getName();
+		}
+
+		@Override
+		public byte[] encode(Message message) throws IOException {
+			encoded++;
+			return Codecs.BINARY.encode(message);
+		}
+
+		@Override
+		public Message decode(byte[] data, int offset, int length) throws IOException, ClassNotFoundException {
+			return Codecs.BINARY.decode(data, offset, length);
+		}
+	}
+
+	@Test
+	void frame_ManyRecipients_EncodedOnce() throws Exception {
+		CountingCodec codec = new CountingCodec();
+		EncodedMessage message = new EncodedMessage(new Refused("No"));
+
+		ByteBuffer first = message.frame(codec);
+		ByteBuffer second = message.frame(codec);
+		first.position(first.limit());
+
+		assertEquals(1, codec.encoded);
+		assertTrue(second.isReadOnly());
+		assertEquals(0, second.position());
+		int length = second.getInt();
+		byte[] body = new byte[length];
+		second.get(body);
+		assertEquals("No", ((Refused) Frames.decode(body, 0, length)).getDetails());
+	}
+
+	@Test
+	void writeObjectStreamTo_BetweenObjects_ReadByObjectInputStream() throws Exception {
+		ByteArrayOutputStream raw = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(raw);
+		EncodedMessage shared = new EncodedMessage(new LobbyUpdate(List.of("Alice", "Bob")));
+
+		out.reset();
+		out.writeObject(new Refused("First"));
+		out.reset();
+		shared.writeObjectStreamTo(raw);
+		out.reset();
+		out.writeObject(new Refused("Last"));
+		out.flush();
+
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(raw.toByteArray()))) {
+			assertEquals("First", ((Refused) in.readObject()).getDetails());
+			assertEquals(List.of("Alice", "Bob"), ((LobbyUpdate) in.readObject()).getPlayers());
+			assertEquals("Last", ((Refused) in.readObject()).getDetails());
+		}
+	}
+}
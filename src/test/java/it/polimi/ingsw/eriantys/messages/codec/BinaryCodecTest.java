@@ -0,0 +1,233 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Frames;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+	MessageCodec binary = Codecs.BINARY;
+	MessageCodec java = Codecs.JAVA;
+	GameManager gm;
+
+	@BeforeEach
+	void init() throws Exception {
+		gm = new GameManager(List.of("Alice", "Bob", "Eve"), true);
+		gm.setupBoard();
+		gm.setupEntrances();
+		gm.setupPlayer("Alice", "WHITE", "FOREST");
+		gm.setupPlayer("Bob", "BLACK", "DESERT");
+		gm.setupPlayer("Eve", "GREY", "SKY");
+		gm.setupRound();
+	}
+
+	@SuppressWarnings("unchecked")
+	<T extends Message> T roundTrip(T message) throws Exception {
+		byte[] payload = binary.encode(message);
+		Message decoded = binary.decode(payload, 0, payload.length);
+		assertSame(message.getClass(), decoded.getClass());
+		assertEquals(message.getSender(), decoded.getSender());
+		return (T) decoded;
+	}
+
+	@Test
+	void roundTrip_ClientMessages_FieldsPreserved() throws Exception {
+		assertEquals(List.of("binary", "java"), roundTrip(new Handshake("Alice", Codecs.names())).getCodecs());
+		assertNull(roundTrip(new Handshake("Alice")).getCodecs());
+		roundTrip(new HelpRequest("Alice"));
+		roundTrip(new LobbiesRequest("Alice"));
+		LobbiesRequest lobbiesRequest = roundTrip(new LobbiesRequest("Alice", 2, 10, 3, false));
+		assertEquals(2, lobbiesRequest.getPage());
+		assertEquals(10, lobbiesRequest.getPageSize());
+		assertEquals(3, lobbiesRequest.getLobbySize());
+		assertEquals(false, lobbiesRequest.getExpertMode());
+		assertNull(roundTrip(new LobbiesRequest("Alice")).getExpertMode());
+		assertFalse(roundTrip(new LobbiesSubscription("Alice", false)).isActive());
+		assertEquals(7, roundTrip(new JoinLobby("Alice", 7)).getGameId());
+		assertEquals(7, roundTrip(new LeaveLobby("Alice", 7)).getGameId());
+		assertEquals(7, roundTrip(new FillLobby("Alice", 7)).getGameId());
+
+		LobbyCreation lobbyCreation = roundTrip(new LobbyCreation("Alice", 3, true));
+		assertEquals(3, lobbyCreation.getNumPlayers());
+		assertTrue(lobbyCreation.isExpertMode());
+
+		Reconnect reconnect = roundTrip(new Reconnect("Alice", 300, "7f3a"));
+		assertEquals(300, reconnect.getGameId());
+		assertEquals("7f3a", reconnect.getPasscode());
+
+		GameSetupSelection selection = roundTrip(new GameSetupSelection("Alice", "WHITE", "FOREST"));
+		assertEquals("WHITE", selection.getTowerColor());
+		assertEquals("FOREST", selection.getWizard());
+
+		assertEquals("03", roundTrip(new MotherNatureDestination("Alice", "03")).getDestination());
+
+		MoveStudent moveStudent = roundTrip(new MoveStudent("Alice", "RED", "DiningRoom"));
+		assertEquals("RED", moveStudent.getColor());
+		assertEquals("DiningRoom", moveStudent.getDestination());
+
+		assertEquals("CHEETAH", roundTrip(new PlayAssistantCard("Alice", "CHEETAH")).getAssistantCard());
+
+		PlayCharacterCard playCharacterCard = roundTrip(new PlayCharacterCard("Alice", 2, "{\"island\":\"05\"}"));
+		assertEquals(2, playCharacterCard.getCharacterCard());
+		assertEquals("05", playCharacterCard.getParams().get("island").getAsString());
+
+		assertEquals(-1, roundTrip(new SelectCloud("Alice", -1)).getCloud());
+		assertEquals("Alice", roundTrip(new Ping("Alice")).getSender());
+	}
+
+	@Test
+	void roundTrip_ServerMessages_FieldsPreserved() throws Exception {
+		roundTrip(new Accepted());
+		roundTrip(new AcceptedLeaveLobby());
+		roundTrip(new LastRoundUpdate());
+
+		AcceptedJoinLobby acceptedJoinLobby = roundTrip(new AcceptedJoinLobby(4, "beef"));
+		assertEquals(4, acceptedJoinLobby.getGameId());
+		assertEquals("beef", acceptedJoinLobby.getPasscode());
+
+		AcceptedUsername acceptedUsername = roundTrip(new AcceptedUsername("Alice", "binary"));
+		assertEquals("Alice", acceptedUsername.getUsername());
+		assertEquals("binary", acceptedUsername.getCodec());
+
+		assertEquals("No", roundTrip(new Refused("No")).getDetails());
+		assertEquals("No", roundTrip(new RefusedReconnect("No")).getDetails());
+		assertEquals("Help", roundTrip(new HelpResponse("Help")).getContent());
+
+		GameInfo info = new GameInfo(3, "Bob", 3, true);
+		info.setCurrentPlayers(2);
+		GameInfo decodedInfo = roundTrip(new AvailableLobbies(List.of(info))).getLobbies().get(0);
+		assertEquals(info.toString(), decodedInfo.toString());
+
+		LobbyEvents events = roundTrip(new LobbyEvents(List.of(
+				new LobbyEvents.Event(LobbyEvents.Type.CHANGED, 3, info),
+				new LobbyEvents.Event(LobbyEvents.Type.REMOVED, 5, null))));
+		assertEquals(info.toString(), events.getEvents().get(0).info().toString());
+		assertEquals(LobbyEvents.Type.REMOVED, events.getEvents().get(1).type());
+		assertEquals(5, events.getEvents().get(1).gameId());
+		assertNull(events.getEvents().get(1).info());
+
+		assertEquals(List.of("Alice", "Bob"), roundTrip(new LobbyUpdate(List.of("Alice", "Bob"))).getPlayers());
+
+		DisconnectionUpdate disconnection = roundTrip(new DisconnectionUpdate("Bob", 1, true));
+		assertEquals("Bob", disconnection.getSubject());
+		assertEquals(1, disconnection.getNumPlayers());
+		assertTrue(disconnection.isGameIdle());
+
+		ReconnectionUpdate reconnection = roundTrip(new ReconnectionUpdate("Bob", 2, false));
+		assertEquals(2, reconnection.getNumPlayers());
+		assertFalse(reconnection.isGameResumed());
+
+		UserSelectionUpdate selection = new UserSelectionUpdate(List.of("BLACK"), List.of("SKY", "DESERT"),
+				Map.of("Alice", "WHITE"), Map.of("Alice", "FOREST"));
+		selection.setNextPlayer("Bob");
+		UserSelectionUpdate decodedSelection = roundTrip(selection);
+		assertEquals("Bob", decodedSelection.getNextPlayer());
+		assertEquals(selection.getAvailableWizards(), decodedSelection.getAvailableWizards());
+		assertEquals(selection.getTowerColors(), decodedSelection.getTowerColors());
+
+		AssistantCardUpdate cards = new AssistantCardUpdate(Map.of("Alice", "CHEETAH"),
+				Map.of("Alice", List.of("DOG", "CAT")));
+		assertEquals(cards.getAvailableCards(), roundTrip(cards).getAvailableCards());
+
+		assertEquals(1, roundTrip(new CharacterCardUpdate(1)).getCard());
+		assertEquals("Eve", roundTrip(new GameOverUpdate("Eve")).getWinner());
+		assertNull(roundTrip(new GameOverUpdate(null)).getWinner());
+	}
+
+	@Test
+	void roundTrip_BoardUpdate_StatusPreserved() throws Exception {
+		BoardUpdate update = new BoardUpdate(gm, PhaseName.MOTHER_NATURE);
+		update.setNextPlayer("Eve");
+		BoardUpdate decoded = roundTrip(update);
+
+		assertEquals(PhaseName.MOTHER_NATURE, decoded.getPhase());
+		assertEquals("Eve", decoded.getNextPlayer());
+		assertBoardEquals(update.getStatus(), decoded.getStatus());
+		assertBoardEquals(update.getStatus(), roundTrip(new InitialBoardStatus(gm)).getStatus());
+	}
+
+	@Test
+	void roundTrip_BoardDelta_ChangesPreserved() throws Exception {
+		gm.setCurrentPlayer("Bob");
+		BoardStatus previous = new BoardStatus(gm);
+		String color = gm.entranceRepresentation("Bob").entrySet().stream()
+				.filter(e -> e.getValue() > 0).map(Map.Entry::getKey).findFirst().orElseThrow();
+		gm.handleMovedStudent("Bob", color, GameConstants.DINING_ROOM);
+		BoardDelta delta = new BoardDelta(previous, new BoardStatus(gm), 4, 5, PhaseName.MOVE_STUDENT);
+		delta.setNextPlayer("Bob");
+		BoardDelta decoded = roundTrip(delta);
+
+		assertEquals(4, decoded.getBaseVersion());
+		assertEquals(5, decoded.getVersion());
+		assertEquals(PhaseName.MOVE_STUDENT, decoded.getPhase());
+		assertEquals("Bob", decoded.getNextPlayer());
+		assertNull(decoded.getIslands());
+		assertNull(decoded.getMotherNatureIsland());
+		assertEquals(delta.getPlayerEntrances(), decoded.getPlayerEntrances());
+		assertEquals(delta.getProfessors(), decoded.getProfessors());
+		assertBoardEquals(previous.apply(delta), previous.apply(decoded));
+		assertEquals(5, roundTrip(new BoardUpdate(previous, null, 5)).getVersion());
+		assertEquals(1, roundTrip(new InitialBoardStatus(previous, 1)).getVersion());
+		assertEquals("Bob", roundTrip(new BoardResync("Bob")).getSender());
+	}
+
+	@Test
+	void encode_BoardUpdate_SmallerThanSerialization() throws Exception {
+		BoardUpdate update = new BoardUpdate(gm, PhaseName.MOVE_STUDENT);
+		int binarySize = binary.encode(update).length;
+		int javaSize = java.encode(update).length;
+
+		assertTrue(binarySize * 4 < javaSize, "binary: " + binarySize + " bytes, java: " + javaSize + " bytes");
+	}
+
+	@Test
+	void decode_Frame_UsesCodecOfTheFrame() throws Exception {
+		for (MessageCodec codec : List.of(binary, java)) {
+			ByteBuffer frame = Frames.encode(new Refused("No"), codec);
+			int length = frame.getInt();
+			Message decoded = Frames.decode(frame.array(), Frames.HEADER_SIZE, length);
+			assertEquals("No", ((Refused) decoded).getDetails());
+		}
+	}
+
+	@Test
+	void decode_TruncatedPayload_ThrowsException() throws Exception {
+		byte[] payload = binary.encode(new BoardUpdate(gm));
+		assertThrows(java.io.IOException.class, () -> binary.decode(payload, 0, payload.length / 2));
+	}
+
+	void assertBoardEquals(BoardStatus expected, BoardStatus actual) {
+		assertEquals(expected.getPlayers(), actual.getPlayers());
+		assertEquals(expected.getPlayerEntrances(), actual.getPlayerEntrances());
+		assertEquals(expected.getPlayerDiningRooms(), actual.getPlayerDiningRooms());
+		assertEquals(expected.getPlayerTowerColors(), actual.getPlayerTowerColors());
+		assertEquals(expected.getPlayerTowers(), actual.getPlayerTowers());
+		assertEquals(expected.getPlayerCoins(), actual.getPlayerCoins());
+		assertEquals(expected.getIslands(), actual.getIslands());
+		assertEquals(expected.getIslandSizes(), actual.getIslandSizes());
+		assertEquals(expected.getIslandStudents(), actual.getIslandStudents());
+		assertEquals(expected.getIslandControllers(), actual.getIslandControllers());
+		assertEquals(expected.getMotherNatureIsland(), actual.getMotherNatureIsland());
+		assertEquals(expected.getIslandNoEntryTiles(), actual.getIslandNoEntryTiles());
+		assertEquals(expected.getCharacterCards(), actual.getCharacterCards());
+		assertEquals(expected.getCharacterCardsCost(), actual.getCharacterCardsCost());
+		assertEquals(expected.getCharacterCardsStudents(), actual.getCharacterCardsStudents());
+		assertEquals(expected.getCharacterCardsNoEntryTiles(), actual.getCharacterCardsNoEntryTiles());
+		assertEquals(expected.getCloudTiles(), actual.getCloudTiles());
+		assertEquals(expected.getProfessors(), actual.getProfessors());
+	}
+}
@@ -5,6 +5,7 @@ import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +35,37 @@ class BagTest {
 		}
 	}
 
+	@Test
+	void moveTo_SameSeed_SameDraws() throws InvalidArgumentException, NoMovementException {
+		Bag first = new Bag(new SplittableRandom(42));
+		Bag second = new Bag(new SplittableRandom(42));
+		assertEquals(first.setupDraw(), second.setupDraw());
+
+		for (int i = 0; i < 10; i++) {
+			StudentContainer firstCloud = new StudentContainer(4);
+			StudentContainer secondCloud = new StudentContainer(4);
+			first.moveTo(firstCloud, 4);
+			second.moveTo(secondCloud, 4);
+			assertEquals(firstCloud.pack(), secondCloud.pack());
+		}
+	}
+
+	@Test
+	void moveTo_OtherColorsExhausted_OnlyRemainingColorDrawn() throws InvalidArgumentException, NoMovementException {
+		Bag bag = new Bag(new SplittableRandom(7));
+		StudentContainer dest = new StudentContainer();
+		for (Color color : Color.values())
+			if (color != Color.GREEN)
+				for (int i = 0; i < 26; i++)
+					bag.moveTo(dest, color);
+
+		StudentContainer cloud = new StudentContainer(30);
+		bag.moveTo(cloud, 26);
+		assertEquals(26, cloud.getQuantity(Color.GREEN));
+		assertTrue(bag.empty());
+		assertThrows(NoMovementException.class, () -> bag.moveTo(cloud, 1));
+	}
+
 	@Test
 	void remainingCapacity_EmptyBag_Return26() throws InvalidArgumentException, NoMovementException {
 		Bag bag = new Bag();
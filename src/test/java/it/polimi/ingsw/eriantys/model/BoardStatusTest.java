@@ -0,0 +1,124 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardStatusTest {
+	GameManager gm;
+
+	@BeforeEach
+	void init() throws Exception {
+		gm = new GameManager(List.of("Alice", "Bob", "Eve"), true);
+		gm.setupBoard();
+		gm.setupEntrances();
+		gm.setupPlayer("Alice", "WHITE", "FOREST");
+		gm.setupPlayer("Bob", "BLACK", "DESERT");
+		gm.setupPlayer("Eve", "GREY", "SKY");
+		gm.setupRound();
+	}
+
+	static void assertBoardEquals(BoardStatus expected, BoardStatus actual) {
+		assertEquals(expected.getPlayers(), actual.getPlayers());
+		assertEquals(expected.getPlayerEntrances(), actual.getPlayerEntrances());
+		assertEquals(expected.getPlayerDiningRooms(), actual.getPlayerDiningRooms());
+		assertEquals(expected.getPlayerTowerColors(), actual.getPlayerTowerColors());
+		assertEquals(expected.getPlayerTowers(), actual.getPlayerTowers());
+		assertEquals(expected.getPlayerCoins(), actual.getPlayerCoins());
+		assertEquals(expected.getIslands(), actual.getIslands());
+		assertEquals(expected.getIslandSizes(), actual.getIslandSizes());
+		assertEquals(expected.getIslandStudents(), actual.getIslandStudents());
+		assertEquals(expected.getIslandControllers(), actual.getIslandControllers());
+		assertEquals(expected.getMotherNatureIsland(), actual.getMotherNatureIsland());
+		assertEquals(expected.getIslandNoEntryTiles(), actual.getIslandNoEntryTiles());
+		assertEquals(expected.getCloudTiles(), actual.getCloudTiles());
+		assertEquals(expected.getProfessors(), actual.getProfessors());
+		assertEquals(expected.getCharacterCards(), actual.getCharacterCards());
+		assertEquals(expected.getCharacterCardsCost(), actual.getCharacterCardsCost());
+		assertEquals(expected.getCharacterCardsStudents(), actual.getCharacterCardsStudents());
+		assertEquals(expected.getCharacterCardsNoEntryTiles(), actual.getCharacterCardsNoEntryTiles());
+	}
+
+	String anyEntranceStudent(String player) {
+		return gm.entranceRepresentation(player).entrySet().stream()
+				.filter(e -> e.getValue() > 0)
+				.map(Map.Entry::getKey)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	@Test
+	void apply_NothingChanged_StatusUnchanged() {
+		BoardStatus previous = new BoardStatus(gm);
+		BoardDelta delta = new BoardDelta(previous, new BoardStatus(gm), 1, 2, null);
+
+		assertNull(delta.getPlayers());
+		assertNull(delta.getIslands());
+		assertNull(delta.getMotherNatureIsland());
+		assertTrue(delta.getPlayerEntrances().isEmpty());
+		assertTrue(delta.getIslandStudents().isEmpty());
+		assertTrue(delta.getProfessors().isEmpty());
+		assertBoardEquals(previous, previous.apply(delta));
+	}
+
+	@Test
+	void delta_StudentMovedToDiningRoom_OnlyChangedEntriesCarried()
+			throws NoMovementException, IslandNotFoundException, InvalidArgumentException {
+		gm.setCurrentPlayer("Alice");
+		BoardStatus previous = new BoardStatus(gm);
+		String color = anyEntranceStudent("Alice");
+		gm.handleMovedStudent("Alice", color, GameConstants.DINING_ROOM);
+		BoardStatus current = new BoardStatus(gm);
+
+		BoardDelta delta = new BoardDelta(previous, current, 1, 2, PhaseName.MOVE_STUDENT);
+
+		assertEquals(Set.of("Alice"), delta.getPlayerEntrances().keySet());
+		assertEquals(Set.of("Alice"), delta.getPlayerDiningRooms().keySet());
+		assertEquals(Map.of(color, "Alice"), delta.getProfessors());
+		assertTrue(delta.getIslandStudents().isEmpty());
+		assertNull(delta.getIslands());
+		assertBoardEquals(current, previous.apply(delta));
+	}
+
+	@Test
+	void apply_WholeRound_MatchesFreshStatus() throws Exception {
+		BoardStatus status = new BoardStatus(gm);
+		Map<String, String> played = new HashMap<>();
+		played.put("Alice", "TURTLE");
+		played.put("Bob", "ELEPHANT");
+		played.put("Eve", "DOG");
+		gm.handleAssistantCards(played);
+
+		int version = 1;
+		for (String player : gm.getTurnOrder()) {
+			gm.setCurrentPlayer(player);
+			for (int i = 0; i < 4; i++) {
+				List<String> islands = gm.islandsRepresentation();
+				String destination = i % 2 == 0 ? GameConstants.DINING_ROOM : islands.get(i % islands.size());
+				gm.handleMovedStudent(player, anyEntranceStudent(player), destination);
+			}
+
+			List<String> islands = gm.islandsRepresentation();
+			int motherNature = islands.indexOf(gm.motherNatureIslandRepresentation());
+			gm.handleMotherNatureMovement(islands.get((motherNature + 1) % islands.size()));
+			gm.handleSelectedCloud(player, gm.getTurnOrder().indexOf(player));
+
+			BoardStatus current = new BoardStatus(gm);
+			BoardDelta delta = new BoardDelta(status, current, version, version + 1, null);
+			status = status.apply(delta);
+			version++;
+			assertBoardEquals(current, status);
+		}
+	}
+}
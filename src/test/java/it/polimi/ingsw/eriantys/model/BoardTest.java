@@ -253,6 +253,52 @@ class BoardTest {
 		assertDoesNotThrow(() -> board.getIsland("01-02-03"));
 	}
 
+	@Test
+	void unifyIslands_MergesAcrossTheEnd_LookupsAndDistancesUpdated() throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
+		Board board = new Board(2, 3);
+		board.setup();	// Needed due to MN index retrieval
+		board.moveMotherNature(board.getIsland("05"));
+		Player p = new Player("p", 9, 6);
+
+		for (String id : List.of("12", "01", "11", "06", "07"))
+			board.getIsland(id).setController(p);
+
+		board.unifyIslands(board.getIsland("01"));
+		board.unifyIslands(board.getIsland("12-01"));
+		board.unifyIslands(board.getIsland("07"));
+
+		List<String> rep = board.getIslandsRepresentation();
+		assertEquals(List.of("02", "03", "04", "05", "06-07", "08", "09", "10", "11-12-01"), rep);
+		assertEquals("05", board.getMotherNatureIsland().getId());
+		for (String isle : rep) {
+			IslandGroup island = board.getIsland(isle);
+			assertEquals(isle, island.getId());
+			assertEquals(Math.floorMod(rep.indexOf(isle) - rep.indexOf("05"), rep.size()),
+					board.getDistanceFromMotherNature(island));
+		}
+	}
+
+	@Test
+	void unifyIslands_NoEntryTilesAndStudents_KeptOnMergedIsland() throws Exception {
+		Board board = new Board(2, 3);
+		board.setup();	// Needed due to MN index retrieval
+		Player p = new Player("p", 9, 6);
+
+		board.getIsland("04").setController(p);
+		board.getIsland("05").setController(p);
+		board.getIsland("04").putNoEntryTile(1);
+		board.getBag().moveTo(board.getIsland("04"), Color.RED);
+		board.getBag().moveTo(board.getIsland("05"), Color.RED);
+		int red = board.getIsland("04").getQuantity(Color.RED) + board.getIsland("05").getQuantity(Color.RED);
+
+		board.unifyIslands(board.getIsland("05"));
+
+		IslandGroup merged = board.getIsland("04-05");
+		assertEquals(red, merged.getQuantity(Color.RED));
+		assertEquals(1, merged.getNoEntryTiles());
+		assertEquals(2, merged.getTowers());
+	}
+
 	@Test
 	void unifyIslands_MoreThanTwoIslandsSameController_MergeOnlyTwoIslands() throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
 		Board board = new Board(2, 3);
@@ -0,0 +1,53 @@
+package it.polimi.ingsw.eriantys.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameConstantsTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	void forPlayers_SameNumberOfPlayers_SharedConstants() {
+		GameConstants constants = GameConstants.forPlayers(3);
+
+		assertSame(constants, GameConstants.forPlayers(3));
+		assertEquals(4, constants.getCloudSize());
+		assertEquals(3, constants.getCloudNumber());
+		assertEquals(9, constants.getEntranceSize());
+		assertEquals(6, constants.getTowerNumber());
+	}
+
+	@Test
+	void forPlayers_UndefinedNumberOfPlayers_ThrowException() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> GameConstants.forPlayers(1));
+	}
+
+	@Test
+	void load_InvalidFile_ConstantsUnchanged() throws IOException {
+		GameConstants constants = GameConstants.forPlayers(2);
+		Path invalid = Files.writeString(dir.resolve("invalid.json"),
+				"{\"2\": {\"cloudSize\": 3, \"cloudNumber\": 2, \"entranceSize\": 7, \"towerNumber\": 0}}");
+		Path malformed = Files.writeString(dir.resolve("malformed.json"), "{\"2\": ");
+
+		assertThrows(IOException.class, () -> GameConstants.load(invalid));
+		assertThrows(IOException.class, () -> GameConstants.load(malformed));
+		assertSame(constants, GameConstants.forPlayers(2));
+	}
+
+	@Test
+	void load_MissingNumberOfPlayers_ConstantsUnchanged() throws IOException {
+		GameConstants constants = GameConstants.forPlayers(3);
+		Path missing = Files.writeString(dir.resolve("missing.json"),
+				"{\"2\": {\"cloudSize\": 3, \"cloudNumber\": 2, \"entranceSize\": 7, \"towerNumber\": 8}}");
+
+		assertThrows(IOException.class, () -> GameConstants.load(missing));
+		assertSame(constants, GameConstants.forPlayers(3));
+	}
+}
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.eriantys.model;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
@@ -31,6 +32,104 @@ class GameManagerTest {
 		assertThrows(Throwable.class, () -> new GameManager(List.of("foo"), false));
 	}
 
+	@Test
+	void createGameManager_SameSeed_SameBoard() throws Exception {
+		GameManager first = new GameManager(players, true, 1234L);
+		GameManager second = new GameManager(players, true, 1234L);
+
+		for (GameManager gm : List.of(first, second)) {
+			gm.setupBoard();
+			gm.setupEntrances();
+			gm.setupPlayer("Alice", "WHITE", "FOREST");
+			gm.setupPlayer("Bob", "BLACK", "DESERT");
+			gm.setupPlayer("Eve", "GREY", "SKY");
+			gm.setupRound();
+		}
+
+		assertEquals(1234L, first.getSeed());
+		BoardStatusTest.assertBoardEquals(new BoardStatus(first), new BoardStatus(second));
+	}
+
+	GameManager startedGame() throws Exception {
+		GameManager gm = new GameManager(players, true, 99L);
+		gm.setupBoard();
+		gm.setupEntrances();
+		gm.setupPlayer("Alice", "WHITE", "FOREST");
+		gm.setupPlayer("Bob", "BLACK", "DESERT");
+		gm.setupPlayer("Eve", "GREY", "SKY");
+		gm.setupRound();
+		gm.handleAssistantCards(Map.of("Alice", "TURTLE", "Bob", "ELEPHANT", "Eve", "DOG"));
+		return gm;
+	}
+
+	void playTurn(GameManager gm, String player) throws Exception {
+		gm.setCurrentPlayer(player);
+		for (int i = 0; i < gm.constants.getCloudSize(); i++) {
+			String color = gm.entranceRepresentation(player).entrySet().stream()
+					.filter(e -> e.getValue() > 0)
+					.map(Map.Entry::getKey)
+					.findFirst()
+					.orElseThrow();
+			List<String> islands = gm.islandsRepresentation();
+			gm.handleMovedStudent(player, color, i % 2 == 0 ? GameConstants.DINING_ROOM : islands.get(i));
+		}
+		List<String> islands = gm.islandsRepresentation();
+		int motherNature = islands.indexOf(gm.motherNatureIslandRepresentation());
+		gm.handleMotherNatureMovement(islands.get((motherNature + 1) % islands.size()));
+		gm.handleSelectedCloud(player, gm.getTurnOrder().indexOf(player));
+		gm.cancelCharacterCardEffect();
+	}
+
+	@Test
+	void fork_SameMoves_SameStates() throws Exception {
+		GameManager gm = startedGame();
+		playTurn(gm, gm.getTurnOrder().get(0));
+		GameManager fork = gm.fork();
+
+		BoardStatusTest.assertBoardEquals(new BoardStatus(gm), new BoardStatus(fork));
+		for (GameManager game : List.of(gm, fork)) {
+			for (String player : game.getTurnOrder().subList(1, 3))
+				playTurn(game, player);
+			// the clouds are refilled by the copied generator
+			game.setupRound();
+		}
+
+		BoardStatusTest.assertBoardEquals(new BoardStatus(gm), new BoardStatus(fork));
+		assertEquals(gm.getAvailableAssistantCards(), fork.getAvailableAssistantCards());
+		assertEquals(gm.getTurnOrder(), fork.getTurnOrder());
+	}
+
+	@Test
+	void fork_MovesOnFork_OriginalUnchanged() throws Exception {
+		GameManager gm = startedGame();
+		BoardStatus before = new BoardStatus(gm);
+		GameManager fork = gm.fork();
+
+		for (String player : fork.getTurnOrder())
+			playTurn(fork, player);
+		fork.setupRound();
+
+		BoardStatusTest.assertBoardEquals(before, new BoardStatus(gm));
+		assertNotEquals(before.getCloudTiles(), new BoardStatus(fork).getCloudTiles());
+	}
+
+	@Test
+	void forkWithSeed_SameMoves_SameStatesExceptDraws() throws Exception {
+		GameManager gm = startedGame();
+		GameManager fork = gm.fork(7L);
+
+		BoardStatusTest.assertBoardEquals(new BoardStatus(gm), new BoardStatus(fork));
+		for (GameManager game : List.of(gm, fork)) {
+			for (String player : game.getTurnOrder())
+				playTurn(game, player);
+			game.setupRound();
+		}
+
+		assertEquals(gm.islandsRepresentation(), fork.islandsRepresentation());
+		assertEquals(gm.professorsRepresentation(), fork.professorsRepresentation());
+		assertNotEquals(new BoardStatus(gm).getCloudTiles(), new BoardStatus(fork).getCloudTiles());
+	}
+
 	@Test
 	void setupEntrances_NormalPreConditions_NormalPostConditions() {
 		GameManager gm = new GameManager(players, false);
@@ -269,6 +368,143 @@ class GameManagerTest {
 		assertEquals(Bob.getNickname(), turnOrder.get(2));
 	}
 
+	@Test
+	void getMotherNatureMovements_AssistantCardPlayed_CardMovements() throws InvalidArgumentException {
+		GameManager gm = new GameManager(players, false);
+
+		gm.handleAssistantCards(Map.of(Alice.getNickname(), AssistantCard.FOX.toString()));
+
+		assertEquals(AssistantCard.FOX.movement(), gm.getMotherNatureMovements(Alice.getNickname()));
+		assertThrowsExactly(InvalidArgumentException.class, () -> gm.getMotherNatureMovements("Mallory"));
+	}
+
+	@Test
+	void legalStudentMoves_StartedGame_EveryMoveAccepted() throws Exception {
+		GameManager gm = startedGame();
+		LegalMoves moves = new LegalMoves();
+
+		gm.legalStudentMoves("Alice", moves);
+
+		int colors = (int) gm.entranceRepresentation("Alice").values().stream().filter(q -> q > 0).count();
+		assertEquals(colors * (1 + gm.islandsRepresentation().size()), moves.size());
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			GameManager fork = gm.fork();
+			List<String> islands = fork.islandsRepresentation();
+			String destination = LegalMoves.island(move) == LegalMoves.DINING_ROOM ?
+					GameConstants.DINING_ROOM : islands.get(LegalMoves.island(move));
+			assertEquals(move, fork.encodeStudentMove(LegalMoves.color(move).toString(), destination));
+			assertDoesNotThrow(() -> fork.handleMovedStudent("Alice", LegalMoves.color(move).toString(), destination));
+		}
+		assertThrowsExactly(InvalidArgumentException.class, () -> gm.legalStudentMoves("Mallory", moves));
+	}
+
+	@Test
+	void legalStudentMoves_EmptyColorOrFullDiningRoom_NoSuchMoves() throws Exception {
+		GameManager gm = startedGame();
+		LegalMoves moves = new LegalMoves();
+		gm.legalStudentMoves("Alice", moves);
+		Color color = LegalMoves.color(moves.get(0));
+
+		while (gm.entranceRepresentation("Alice").get(color.toString()) > 0)
+			gm.handleMovedStudent("Alice", color.toString(), GameConstants.DINING_ROOM);
+		gm.legalStudentMoves("Alice", moves);
+
+		for (int i = 0; i < moves.size(); i++)
+			assertNotEquals(color, LegalMoves.color(moves.get(i)));
+		assertEquals(-1, gm.encodeStudentMove("BLACK", GameConstants.DINING_ROOM));
+		assertEquals(-1, gm.encodeStudentMove(color.toString(), "13"));
+	}
+
+	@Test
+	void legalMotherNatureMoves_AssistantCardPlayed_UpToCardMovements() throws Exception {
+		GameManager gm = startedGame();
+		LegalMoves moves = new LegalMoves();
+
+		gm.legalMotherNatureMoves("Alice", moves);
+
+		assertEquals(AssistantCard.TURTLE.movement(), moves.size());
+		for (int i = 0; i < moves.size(); i++)
+			assertEquals(i + 1, moves.get(i));
+		List<String> islands = gm.islandsRepresentation();
+		int motherNature = islands.indexOf(gm.motherNatureIslandRepresentation());
+		gm.setCurrentPlayer("Alice");
+		assertDoesNotThrow(() -> gm.handleMotherNatureMovement(islands.get((motherNature + moves.get(moves.size() - 1)) % islands.size())));
+	}
+
+	@Test
+	void legalClouds_CloudSelected_OtherClouds() throws Exception {
+		GameManager gm = startedGame();
+		LegalMoves moves = new LegalMoves();
+
+		gm.legalClouds(moves);
+		assertEquals(gm.constants.getCloudNumber(), moves.size());
+
+		playTurn(gm, "Alice");
+		gm.legalClouds(moves);
+		assertEquals(gm.constants.getCloudNumber() - 1, moves.size());
+		assertFalse(moves.contains(gm.getTurnOrder().indexOf("Alice")));
+	}
+
+	@Test
+	void legalCharacterCards_SimplifiedMode_NoMoves() throws Exception {
+		GameManager gm = new GameManager(players, false);
+		LegalMoves moves = new LegalMoves();
+
+		gm.legalCharacterCards("Alice", moves);
+
+		assertTrue(moves.isEmpty());
+	}
+
+	@Test
+	void legalCharacterCards_SeveralGames_AffordableMovesAccepted() throws Exception {
+		for (long seed = 0; seed < 20; seed++) {
+			GameManager gm = new GameManager(players, true, seed);
+			gm.setupBoard();
+			gm.setupEntrances();
+			gm.setupRound();
+			gm.setCurrentPlayer("Alice");
+			LegalMoves moves = new LegalMoves();
+
+			gm.legalCharacterCards("Alice", moves);
+
+			List<String> characters = gm.charactersRepresentation();
+			for (int i = 0; i < moves.size(); i++) {
+				int move = moves.get(i);
+				String card = characters.get(LegalMoves.card(move));
+				assertTrue(gm.characterCostRepresentation(card) <= gm.coinsRepresentation("Alice"));
+				JsonObject params = new JsonObject();
+				Color color = firstColor(LegalMoves.colors(move));
+				Color destinationColor = firstColor(LegalMoves.destinationColors(move));
+				if (destinationColor != null) {
+					params.add("sourceColors", new JsonArray());
+					params.getAsJsonArray("sourceColors").add(color.toString());
+					params.add("destinationColors", new JsonArray());
+					params.getAsJsonArray("destinationColors").add(destinationColor.toString());
+				} else if (color != null)
+					params.addProperty("targetColor", color.toString());
+				if (LegalMoves.needsIsland(move))
+					params.addProperty("targetIsland", gm.islandsRepresentation().get(0));
+
+				GameManager fork = gm.fork();
+				assertDoesNotThrow(() -> fork.handleCharacterCard(LegalMoves.card(move), params), card);
+			}
+			for (int i = 0; i < characters.size(); i++)
+				if (gm.characterCostRepresentation(characters.get(i)) > gm.coinsRepresentation("Alice")) {
+					int card = i;
+					for (int j = 0; j < moves.size(); j++)
+						assertNotEquals(card, LegalMoves.card(moves.get(j)));
+				}
+		}
+	}
+
+	Color firstColor(int colors) {
+		for (Color color : Color.values())
+			if (LegalMoves.hasColor(colors, color))
+				return color;
+		return null;
+	}
+
 	@Test
 	void changeInfluenceState_PassNull_ThrowException() {
 		GameManager gm = new GameManager(players, false);
@@ -284,6 +520,47 @@ class GameManagerTest {
 		assertThrowsExactly(InvalidArgumentException.class, () -> gm.handleCharacterCard(4, new JsonObject()));
 	}
 
+	@Test
+	void handleCharacterCard_ThiefAfterBagEmptied_StillLastRound() throws Exception {
+		long seed = 0;
+		while (!new GameManager(players, true, seed).charactersRepresentation().contains("Thief"))
+			seed++;
+		GameManager gm = new GameManager(players, true, seed);
+		int thief = gm.charactersRepresentation().indexOf("Thief");
+		gm.setupBoard();
+		gm.setupEntrances();
+		gm.setupPlayer("Alice", "WHITE", "FOREST");
+		gm.setupPlayer("Bob", "BLACK", "DESERT");
+		gm.setupPlayer("Eve", "GREY", "SKY");
+
+		AssistantCard[] cards = AssistantCard.values();
+		int round = 0;
+		while (!gm.setupRound()) {
+			gm.handleAssistantCards(Map.of("Alice", cards[round].toString(), "Bob", cards[(round + 3) % cards.length].toString(),
+					"Eve", cards[(round + 6) % cards.length].toString()));
+			for (String player : gm.getTurnOrder())
+				playTurn(gm, player);
+			round++;
+		}
+		gm.handleAssistantCards(Map.of("Alice", cards[round].toString(), "Bob", cards[(round + 3) % cards.length].toString(),
+				"Eve", cards[(round + 6) % cards.length].toString()));
+
+		String player = players.stream()
+				.filter(p -> gm.coinsRepresentation(p) >= gm.characterCostRepresentation("Thief"))
+				.findFirst()
+				.orElseThrow();
+		String color = gm.diningRoomRepresentation(player).entrySet().stream()
+				.filter(e -> e.getValue() > 0)
+				.map(Map.Entry::getKey)
+				.findFirst()
+				.orElseThrow();
+		gm.setCurrentPlayer(player);
+		JsonObject params = new JsonObject();
+		params.addProperty("targetColor", color);
+
+		assertTrue(gm.handleCharacterCard(thief, params));
+	}
+
 	@Test
 	void getWinner_MoreTowers_ReturnCorrectPlayer() {
 		GameManager gm = new GameManager(players, false);
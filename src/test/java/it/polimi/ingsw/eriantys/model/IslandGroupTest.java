@@ -36,6 +36,21 @@ class IslandGroupTest {
 		assertThrowsExactly(IncompatibleControllersException.class, () -> IslandGroup.merge(i1, i2));
 	}
 
+	@Test
+	void merge_AbsorbedGroupWithDifferentController_MessageHasIds() throws IncompatibleControllersException {
+		Player p1 = new Player("p1", 7, 8);
+		IslandGroup i1 = new IslandGroup("01");
+		IslandGroup i2 = new IslandGroup("02");
+		IslandGroup i3 = new IslandGroup("03");
+		i1.setController(p1);
+		i2.setController(p1);
+		i3.setController(new Player("p2", 7, 8));
+		i1.absorb(i2);
+
+		Exception e = assertThrowsExactly(IncompatibleControllersException.class, () -> IslandGroup.merge(i1, i3));
+		assertEquals("Ids: 01-02, 03", e.getMessage());
+	}
+
 	@Test
 	void merge_PassNull_ReturnNull() throws IncompatibleControllersException {
 		IslandGroup island = new IslandGroup("03");
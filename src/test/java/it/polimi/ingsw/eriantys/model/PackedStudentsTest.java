@@ -0,0 +1,57 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedStudentsTest {
+	@Test
+	void add_EveryColor_CountsAndTotalUpdated() {
+		long packed = PackedStudents.of(1, 2, 3, 4, 26);
+
+		assertEquals(26, PackedStudents.count(packed, Color.PINK));
+		assertEquals(36, PackedStudents.total(packed));
+		packed = PackedStudents.remove(packed, Color.BLUE, 2);
+		assertEquals(0, PackedStudents.count(packed, Color.BLUE));
+		assertEquals(3, PackedStudents.count(packed, Color.GREEN));
+		assertEquals(34, PackedStudents.total(packed));
+		assertThrows(IllegalArgumentException.class, () -> PackedStudents.remove(PackedStudents.EMPTY, Color.RED, 1));
+	}
+
+	@Test
+	void addAll_TwoGroups_LaneWiseSum() {
+		long sum = PackedStudents.addAll(PackedStudents.of(1, 0, 5, 26, 0), PackedStudents.of(2, 3, 0, 26, 1));
+
+		assertEquals(PackedStudents.of(3, 3, 5, 52, 1), sum);
+		assertEquals(64, PackedStudents.total(sum));
+		assertEquals(PackedStudents.of(1, 0, 5, 26, 0), PackedStudents.removeAll(sum, PackedStudents.of(2, 3, 0, 26, 1)));
+	}
+
+	@Test
+	void containsAll_LaneSmallerThanOther_False() {
+		long packed = PackedStudents.of(3, 0, 2, 26, 1);
+
+		assertTrue(PackedStudents.containsAll(packed, PackedStudents.of(3, 0, 1, 26, 0)));
+		assertTrue(PackedStudents.containsAll(packed, PackedStudents.EMPTY));
+		assertFalse(PackedStudents.containsAll(packed, PackedStudents.of(0, 1, 0, 0, 0)));
+		assertFalse(PackedStudents.containsAll(packed, PackedStudents.of(3, 0, 2, 26, 2)));
+		assertThrows(IllegalArgumentException.class, () -> PackedStudents.removeAll(packed, PackedStudents.of(4, 0, 0, 0, 0)));
+	}
+
+	@Test
+	void pack_ContainerAfterMovements_UnpackedCopyEqual() throws InvalidArgumentException, NoMovementException {
+		Bag bag = new Bag();
+		StudentContainer container = new StudentContainer(10);
+		bag.moveTo(container, 7);
+
+		StudentContainer copy = new StudentContainer(10);
+		copy.unpack(container.pack());
+
+		assertEquals(container.getRepresentation(), copy.getRepresentation());
+		assertEquals(container.pack(), copy.pack());
+		assertEquals(123, PackedStudents.total(bag.pack()));
+		assertThrows(InvalidArgumentException.class, () -> new StudentContainer(3).unpack(container.pack()));
+	}
+}
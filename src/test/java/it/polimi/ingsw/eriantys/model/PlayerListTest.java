@@ -60,4 +60,29 @@ class PlayerListTest {
 
 		assertNull(ans);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getTurnOrder_FirstUnchanged_SameList() {
+		List<Player> turnOrder = l.getTurnOrder();
+		l.setFirst(Alice);
+
+		assertSame(turnOrder, l.getTurnOrder());
+		assertThrows(UnsupportedOperationException.class, () -> turnOrder.add(Eve));
+
+		l.setFirst(Bob);
+		assertEquals(List.of(Bob, Eve, Alice), l.getTurnOrder());
+		assertEquals(List.of("Bob", "Eve", "Alice"), l.getNicknameTurnOrder());
+	}
+
+	@Test
+	void get_Nickname_PlayerAtFixedPosition() {
+		l.setFirst(Eve);
+
+		assertEquals(Bob, l.get("Bob"));
+		assertEquals(1, l.indexOf(Bob));
+		assertEquals(Bob, l.get(1));
+		assertNull(l.get("admin"));
+		assertNull(l.get(null));
+		assertEquals(-1, l.indexOf(new Player("admin", 9, 6)));
+	}
+}
@@ -12,23 +12,24 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProfessorOwnershipTest {
+	PlayerList players = new PlayerList(List.of("p", "p1", "p2"), 7, 8);
 	Player currentPlayer;
 
 	@Test
 	void getProfessors_PassNull_ReturnEmptySet() {
-		assertEquals(0, new ProfessorOwnership(this::supplyPlayer).getProfessors(null).size());
+		assertEquals(0, new ProfessorOwnership(players, this::supplyPlayer).getProfessors(null).size());
 	}
 
 	@Test
 	void getProfessors_PlayerWithNoProfessors_ReturnEmptySet() {
-		assertEquals(0, new ProfessorOwnership(this::supplyPlayer).getProfessors(new Player("p", 9, 6)).size());
+		assertEquals(0, new ProfessorOwnership(players, this::supplyPlayer).getProfessors(players.get("p")).size());
 	}
 
 	@Test
 	void getProfessors_PlayerWithSomeProfessors_ReturnNonEmptySet() throws InvalidArgumentException, NoMovementException {
-		Player p = new Player("p", 9, 6);
+		Player p = players.get("p");
 		this.currentPlayer = p;
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 		Bag bag = new Bag();
 
 		bag.moveTo(p.getDiningRoom(), Color.PINK);
@@ -38,10 +39,10 @@ class ProfessorOwnershipTest {
 
 	@Test
 	void update_TieEffectActive_ChangeProfessorsWithWinOrTie() throws InvalidArgumentException, NoMovementException {
-		Player p1 = new Player("p1", 7, 8);
-		Player p2 = new Player("p2", 7, 8);
+		Player p1 = players.get("p1");
+		Player p2 = players.get("p2");
 		Bag bag = new Bag();
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 
 		ownership.activateEffect();
 
@@ -59,10 +60,10 @@ class ProfessorOwnershipTest {
 
 	@Test
 	void update_TieEffectInactive_NoChangeProfessorsWithTie() throws InvalidArgumentException, NoMovementException {
-		Player p1 = new Player("p1", 7, 8);
-		Player p2 = new Player("p2", 7, 8);
+		Player p1 = players.get("p1");
+		Player p2 = players.get("p2");
 		Bag bag = new Bag();
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 
 		ownership.activateEffect();
 		ownership.deactivateEffect();
@@ -81,10 +82,10 @@ class ProfessorOwnershipTest {
 
 	@Test
 	void update_TieEffectActive_ChangeProfessorsWithWin() throws InvalidArgumentException, NoMovementException {
-		Player p1 = new Player("p1", 7, 8);
-		Player p2 = new Player("p2", 7, 8);
+		Player p1 = players.get("p1");
+		Player p2 = players.get("p2");
 		Bag bag = new Bag();
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 
 		ownership.activateEffect();
 
@@ -103,10 +104,10 @@ class ProfessorOwnershipTest {
 
 	@Test
 	void update_TieEffectInactive_ChangeProfessorsWithWin() throws InvalidArgumentException, NoMovementException {
-		Player p1 = new Player("p1", 7, 8);
-		Player p2 = new Player("p2", 7, 8);
+		Player p1 = players.get("p1");
+		Player p2 = players.get("p2");
 		Bag bag = new Bag();
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 
 		this.currentPlayer = p1;
 		bag.moveTo(p1.getDiningRoom(), Color.YELLOW);
@@ -123,8 +124,8 @@ class ProfessorOwnershipTest {
 
 	@Test
 	void update_TieEffectActive_NoChangeProfessorsWithTieAt0() {
-		Player p = new Player("p", 9, 6);
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		Player p = players.get("p");
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 
 		this.currentPlayer = p;
 
@@ -136,8 +137,8 @@ class ProfessorOwnershipTest {
 
 	@Test
 	void update_TieEffectInactive_NoChangeProfessorsWithTieAt0() {
-		Player p = new Player("p", 9, 6);
-		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		Player p = players.get("p");
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
 
 		this.currentPlayer = p;
 
@@ -146,6 +147,43 @@ class ProfessorOwnershipTest {
 		assertEquals(0, ownership.getProfessors(p).size());
 	}
 
+	@Test
+	void getProfessorMask_ProfessorsChangeHands_MasksUpdated() throws InvalidArgumentException, NoMovementException {
+		Player p1 = players.get("p1");
+		Player p2 = players.get("p2");
+		Bag bag = new Bag();
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
+
+		this.currentPlayer = p1;
+		bag.moveTo(p1.getDiningRoom(), Color.BLUE);
+		bag.moveTo(p1.getDiningRoom(), Color.RED);
+		ownership.update(new HashSet<>(List.of(Color.BLUE, Color.RED)));
+		assertEquals(1 << Color.BLUE.ordinal() | 1 << Color.RED.ordinal(), ownership.getProfessorMask(p1));
+
+		this.currentPlayer = p2;
+		bag.moveTo(p2.getDiningRoom(), Color.RED);
+		bag.moveTo(p2.getDiningRoom(), Color.RED);
+		ownership.update(new HashSet<>(List.of(Color.RED)));
+		assertEquals(1 << Color.BLUE.ordinal(), ownership.getProfessorMask(p1));
+		assertEquals(1 << Color.RED.ordinal(), ownership.getProfessorMask(p2));
+		assertEquals(p2, ownership.getOwnership(Color.RED));
+		assertEquals(0, ownership.getProfessorMask(null));
+	}
+
+	@Test
+	void getProfessorMask_FirstOwnerNotFirstPlayer_MaskAtPlayerPosition() throws InvalidArgumentException, NoMovementException {
+		Player p2 = players.get("p2");
+		ProfessorOwnership ownership = new ProfessorOwnership(players, this::supplyPlayer);
+
+		this.currentPlayer = p2;
+		new Bag().moveTo(p2.getDiningRoom(), Color.GREEN);
+		ownership.update(new HashSet<>(List.of(Color.GREEN)));
+
+		assertEquals(1 << Color.GREEN.ordinal(), ownership.getProfessorMask(players.indexOf(p2)));
+		assertEquals(0, ownership.getProfessorMask(0));
+		assertEquals(0, ownership.getProfessorMask(new Player("other", 7, 8)));
+	}
+
 	Player supplyPlayer() {
 		return currentPlayer;
 	}
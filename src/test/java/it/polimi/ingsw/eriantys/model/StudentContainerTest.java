@@ -401,6 +401,66 @@ class StudentContainerTest {
 		assertEquals(-1, container.remainingCapacity(null));
 	}
 
+	@Test
+	void moveTo_FailedAndPartialMoves_TotalMatchesQuantities() throws InvalidArgumentException, NoMovementException {
+		StudentContainer src = new StudentContainer();
+		StudentContainer cloud = new StudentContainer(5);
+		StudentContainer diningRoom = new DiningRoom();
+		src.fill();
+
+		for (int i = 0; i < 3; i++)
+			src.moveTo(cloud, Color.RED);
+		src.moveTo(cloud, Color.BLUE);
+		assertTotal(126, src, 130);
+		assertTotal(4, cloud, 5);
+
+		assertThrowsExactly(NoMovementException.class, () -> new StudentContainer().moveTo(cloud, Color.RED));
+		assertTotal(4, cloud, 5);
+
+		assertThrowsExactly(NoMovementException.class, () -> src.moveTo(cloud, 3));
+		assertTotal(125, src, 130);
+		assertTotal(5, cloud, 5);
+
+		assertThrowsExactly(NoMovementException.class, () -> src.moveTo(cloud, Color.GREEN));
+		assertTotal(125, src, 130);
+		assertTotal(5, cloud, 5);
+
+		// the swap is rolled back, since the dining room has no room left for blue students
+		for (int i = 0; i < 10; i++)
+			src.moveTo(diningRoom, Color.BLUE);
+		src.moveTo(diningRoom, Color.PINK);
+		assertThrowsExactly(NoMovementException.class, () -> cloud.swap(diningRoom, Color.BLUE, Color.PINK));
+		assertTotal(5, cloud, 5);
+		assertEquals(11, Arrays.stream(Color.values()).mapToInt(diningRoom::getQuantity).sum());
+
+		StudentContainer small = new StudentContainer(2);
+		assertThrowsExactly(NoMovementException.class, () -> cloud.moveAllTo(small));
+		assertTotal(3, cloud, 5);
+		assertTotal(2, small, 2);
+
+		cloud.refillFrom(src);
+		assertTotal(112, src, 130);
+		assertTotal(5, cloud, 5);
+
+		cloud.moveAllTo(src);
+		small.moveAllTo(src);
+		diningRoom.moveAllTo(src);
+		assertTotal(130, src, 130);
+		assertTotal(0, cloud, 5);
+		assertTotal(0, small, 2);
+	}
+
+	/**
+	 * Asserts that the container holds {@code total} students, and that its running total agrees with the quantities of
+	 * the colors, as seen through {@link StudentContainer#empty()} and the remaining capacity of every color.
+	 */
+	private static void assertTotal(int total, StudentContainer container, int maxSize) {
+		assertEquals(total, Arrays.stream(Color.values()).mapToInt(container::getQuantity).sum());
+		assertEquals(total == 0, container.empty());
+		for (Color color : Color.values())
+			assertEquals(Math.min(maxSize - total, 26 - container.getQuantity(color)), container.remainingCapacity(color));
+	}
+
 	@Test
 	void fill_NoMaxSize_FillTo130() {
 		StudentContainer container = new StudentContainer();
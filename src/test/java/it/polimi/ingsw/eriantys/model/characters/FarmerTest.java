@@ -1,10 +1,13 @@
 package it.polimi.ingsw.eriantys.model.characters;
 
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.PlayerList;
 import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class FarmerTest {
@@ -13,8 +16,9 @@ class FarmerTest {
 
     @BeforeEach
     void init() {
-        Player player = new Player("Nick Name", 9, 6);
-        professorOwnership = new ProfessorOwnership(() -> player);
+        PlayerList players = new PlayerList(List.of("Nick Name"), 9, 6);
+        Player player = players.get("Nick Name");
+        professorOwnership = new ProfessorOwnership(players, () -> player);
         card = new Farmer(professorOwnership);
     }
 
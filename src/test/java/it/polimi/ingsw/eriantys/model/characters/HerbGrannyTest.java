@@ -91,6 +91,24 @@ class HerbGrannyTest {
 		assertEquals(tileId, island2.popNoEntryTile());
 	}
 
+	@Test
+	void copyStateFrom_OneTileUsed_CopyBoundToItsBoard() throws InvalidArgumentException {
+		card.setupEffect();
+		assertDoesNotThrow(() -> card.applyEffect(null, null, null, new IslandGroup("01")));
+		Board otherBoard = new Board(2, 3);
+		HerbGranny copy = new HerbGranny(otherBoard);
+
+		copy.copyStateFrom(card);
+
+		assertEquals(card.getCost(), copy.getCost());
+		assertEquals(MAX_ENTRY_TILES - 1, copy.getNoEntryTiles());
+		IslandGroup island = new IslandGroup("02");
+		assertDoesNotThrow(() -> copy.applyEffect(null, null, null, island));
+		assertTrue(otherBoard.noEntryEnforced(island));
+		assertEquals(MAX_ENTRY_TILES - 1, copy.getNoEntryTiles());
+		assertEquals(MAX_ENTRY_TILES - 1, ((HerbGranny) card).getNoEntryTiles());
+	}
+
 	@Test
 	void getName_NormalPostConditions() {
 		assertEquals("HerbGranny", card.getName());
@@ -4,11 +4,14 @@ import it.polimi.ingsw.eriantys.model.Bag;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.PlayerList;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,4 +42,19 @@ class BonusInfluenceTest {
 
 		assertEquals(3 + 2, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void calculateAll_ValidParameters_BonusOnlyForUser() throws InvalidArgumentException, NoMovementException {
+		PlayerList players = new PlayerList(List.of("admin", "Eve"), 9, 6);
+		ProfessorOwnership professors = new ProfessorOwnership(players, () -> null);
+		IslandGroup island = new IslandGroup("03");
+
+		island.setController(players.get("Eve"));
+		new Bag().moveTo(island, Color.PINK);
+
+		int[] influences = new int[players.size()];
+		calc.calculateAll(players, island, professors, influences);
+
+		assertArrayEquals(new int[] {2, 1}, influences);
+	}
+}
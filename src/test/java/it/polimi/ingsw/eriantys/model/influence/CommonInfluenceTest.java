@@ -4,11 +4,14 @@ import it.polimi.ingsw.eriantys.model.Bag;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.PlayerList;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,4 +41,33 @@ class CommonInfluenceTest {
 
 		assertEquals(2, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void calculateAll_ValidParameters_MatchesCalculate() throws InvalidArgumentException, NoMovementException {
+		PlayerList players = new PlayerList(List.of("Alice", "Bob", "Eve"), 9, 6);
+		Player alice = players.get("Alice"), bob = players.get("Bob");
+		Player[] current = {alice};
+		ProfessorOwnership professors = new ProfessorOwnership(players, () -> current[0]);
+		IslandGroup island = new IslandGroup("03");
+		Bag b = new Bag();
+
+		b.moveTo(alice.getDiningRoom(), Color.PINK);
+		professors.update(Set.of(Color.PINK));
+		current[0] = bob;
+		b.moveTo(bob.getDiningRoom(), Color.RED);
+		professors.update(Set.of(Color.RED));
+
+		island.setController(alice);
+		b.moveTo(island, Color.PINK);
+		b.moveTo(island, Color.RED);
+		b.moveTo(island, Color.RED);
+		b.moveTo(island, Color.GREEN);
+
+		int[] influences = new int[players.size()];
+		calc.calculateAll(players, island, professors, influences);
+
+		assertArrayEquals(new int[] {2, 2, 0}, influences);
+		for (int i = 0; i < players.size(); i++)
+			assertEquals(calc.calculate(players.get(i), island, professors.getProfessors(players.get(i))), influences[i]);
+	}
+}
@@ -38,4 +38,20 @@ class ExcludeColorInfluenceTest {
 
 		assertEquals(0, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void calculate_ProfessorMask_MatchesProfessorSet() throws InvalidArgumentException, NoMovementException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		Bag b = new Bag();
+
+		island.setController(p);
+		b.moveTo(island, Color.PINK);
+		b.moveTo(island, Color.RED);
+		b.moveTo(island, Color.BLUE);
+
+		int mask = 1 << Color.PINK.ordinal() | 1 << Color.RED.ordinal();
+		assertEquals(2, calc.calculate(p, island, mask));
+		assertEquals(calc.calculate(p, island, Set.of(Color.PINK, Color.RED)), calc.calculate(p, island, mask));
+	}
+}
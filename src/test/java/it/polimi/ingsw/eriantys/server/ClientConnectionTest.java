@@ -0,0 +1,76 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.controller.Game;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.client.FillLobby;
+import it.polimi.ingsw.eriantys.messages.client.Handshake;
+import it.polimi.ingsw.eriantys.messages.client.LobbyCreation;
+import it.polimi.ingsw.eriantys.messages.server.AcceptedJoinLobby;
+import it.polimi.ingsw.eriantys.messages.server.Refused;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientConnectionTest {
+	static class RecordingConnection extends ClientConnection {
+		final List<Message> received = new CopyOnWriteArrayList<>();
+
+		RecordingConnection(Server server) {
+			super(server);
+		}
+
+		@Override
+		protected void sendPing() {}
+
+		@Override
+		public void write(Message message) {
+			received.add(message);
+		}
+	}
+
+	@Test
+	void dispatch_FillLobbyFromLobbyMember_GameStarted() throws Exception {
+		Server server = new Server(9363);
+		server.enableBot(10);
+		RecordingConnection connection = new RecordingConnection(server);
+
+		connection.dispatch(new Handshake("Alice"));
+		connection.dispatch(new LobbyCreation("Alice", 2, false));
+		for (int i = 0; i < 50 && connection.getGame() == null; i++)
+			Thread.sleep(20);
+		Game game = connection.getGame();
+		assertNotNull(game);
+		int gameId = connection.received.stream()
+				.filter(m -> m instanceof AcceptedJoinLobby)
+				.map(m -> ((AcceptedJoinLobby) m).getGameId())
+				.findFirst()
+				.orElseThrow();
+
+		connection.dispatch(new FillLobby("Alice", gameId));
+		boolean started = false;
+		for (int i = 0; i < 50 && !started; i++) {
+			CompletableFuture<Boolean> future = new CompletableFuture<>();
+			game.submit(() -> future.complete(game.isStarted()));
+			started = future.get();
+			if (!started) Thread.sleep(20);
+		}
+
+		assertTrue(started);
+		assertTrue(connection.received.stream().noneMatch(m -> m instanceof Refused));
+	}
+
+	@Test
+	void dispatch_HandshakeWithBotPrefix_Refused() throws Exception {
+		Server server = new Server(9364);
+		RecordingConnection connection = new RecordingConnection(server);
+
+		connection.dispatch(new Handshake(Game.BOT_PREFIX + "1"));
+
+		assertInstanceOf(Refused.class, connection.received.get(0));
+		assertFalse(server.isConnected(Game.BOT_PREFIX + "1"));
+	}
+}
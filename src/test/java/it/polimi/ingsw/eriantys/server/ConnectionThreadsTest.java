@@ -0,0 +1,39 @@
+package it.polimi.ingsw.eriantys.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ConnectionThreadsTest {
+	static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+		Method isVirtual = Thread.class.getMethod("isVirtual");
+		return (boolean) isVirtual.invoke(thread);
+	}
+
+	@Test
+	void factory_Virtual_VirtualThreadsWhenSupported() throws ReflectiveOperationException {
+		boolean supported;
+		try {
+			Thread.class.getMethod("ofVirtual");
+			supported = true;
+		} catch (NoSuchMethodException e) {
+			supported = false;
+		}
+		assumeTrue(supported, "Virtual threads require Java 21");
+
+		Thread thread = ConnectionThreads.VIRTUAL.factory().newThread(() -> {});
+
+		assertTrue(isVirtual(thread));
+	}
+
+	@Test
+	void factory_Platform_PlatformThreads() {
+		Thread thread = ConnectionThreads.PLATFORM.factory().newThread(() -> {});
+
+		assertNotNull(thread);
+		assertFalse(thread.isDaemon());
+	}
+}
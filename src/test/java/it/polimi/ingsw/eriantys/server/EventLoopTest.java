@@ -0,0 +1,181 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Frames;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.Handshake;
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.server.AcceptedUsername;
+import it.polimi.ingsw.eriantys.messages.server.Refused;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopTest {
+	static final int TIMEOUT = 5000;
+
+	Server server;
+	EventLoop loop;
+	ServerSocketChannel serverChannel;
+
+	@BeforeEach
+	void init() throws IOException {
+		server = new Server(0);
+		loop = new EventLoop(server);
+		Thread thread = new Thread(loop);
+		thread.setDaemon(true);
+		thread.start();
+		serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+	}
+
+	@AfterEach
+	void close() throws IOException {
+		loop.shutdown();
+		serverChannel.close();
+	}
+
+	Socket connect() throws IOException {
+		Socket socket = new Socket("localhost", serverChannel.socket().getLocalPort());
+		socket.setSoTimeout(TIMEOUT);
+		socket.setTcpNoDelay(true);
+		loop.register(serverChannel.accept());
+		return socket;
+	}
+
+	static byte[] frame(Message message) throws IOException {
+		ByteBuffer frame = Frames.encode(message, Codecs.JAVA);
+		return Arrays.copyOf(frame.array(), frame.limit());
+	}
+
+	static Message receive(DataInputStream in) throws IOException, ClassNotFoundException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		Message message;
+		do {
+			assertTrue(System.currentTimeMillis() < deadline, "Only pings received");
+			message = Frames.read(in);
+		} while (message instanceof Ping);
+		return message;
+	}
+
+	static void assertClosedByServer(InputStream in) throws IOException {
+		// the pings sent before the connection is closed are skipped
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (in.read() != -1)
+			assertTrue(System.currentTimeMillis() < deadline, "Connection still open");
+	}
+
+	static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		for (int i = 0; i < 100 && !condition.getAsBoolean(); i++)
+			Thread.sleep(20);
+		assertTrue(condition.getAsBoolean());
+	}
+
+	@Test
+	void onReadable_FrameSplitAcrossReads_Dispatched() throws Exception {
+		try (Socket socket = connect()) {
+			OutputStream out = socket.getOutputStream();
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+
+			byte[] frame = frame(new Handshake("Alice"));
+			for (int i = 0; i < frame.length; i += 3) {
+				out.write(frame, i, Math.min(3, frame.length - i));
+				out.flush();
+				Thread.sleep(1);
+			}
+
+			AcceptedUsername accepted = assertInstanceOf(AcceptedUsername.class, receive(in));
+			assertEquals("Alice", accepted.getUsername());
+		}
+	}
+
+	@Test
+	void onReadable_SeveralFramesInOneRead_AllDispatched() throws Exception {
+		try (Socket socket = connect()) {
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+
+			byte[] first = frame(new Handshake("Alice"));
+			byte[] second = frame(new Handshake("Bob"));
+			byte[] both = Arrays.copyOf(first, first.length + second.length);
+			System.arraycopy(second, 0, both, first.length, second.length);
+			socket.getOutputStream().write(both);
+
+			assertInstanceOf(AcceptedUsername.class, receive(in));
+			assertInstanceOf(Refused.class, receive(in));
+		}
+	}
+
+	@Test
+	void onReadable_FrameLargerThanBuffer_Dispatched() throws Exception {
+		try (Socket socket = connect()) {
+			OutputStream out = socket.getOutputStream();
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+			String username = "a".repeat(20000);
+
+			byte[] frame = frame(new Handshake(username));
+			for (int i = 0; i < frame.length; i += 1000) {
+				out.write(frame, i, Math.min(1000, frame.length - i));
+				out.flush();
+				Thread.sleep(1);
+			}
+
+			AcceptedUsername accepted = assertInstanceOf(AcceptedUsername.class, receive(in));
+			assertEquals(username, accepted.getUsername());
+		}
+	}
+
+	@Test
+	void onReadable_NegativeLength_Disconnected() throws Exception {
+		try (Socket socket = connect()) {
+			new DataOutputStream(socket.getOutputStream()).writeInt(-1);
+
+			assertClosedByServer(socket.getInputStream());
+		}
+	}
+
+	@Test
+	void onReadable_OversizedLength_Disconnected() throws Exception {
+		try (Socket socket = connect()) {
+			new DataOutputStream(socket.getOutputStream()).writeInt(Frames.MAX_PAYLOAD_SIZE + 1);
+
+			assertClosedByServer(socket.getInputStream());
+		}
+	}
+
+	@Test
+	void onReadable_ClientClosed_Disconnected() throws Exception {
+		Socket socket = connect();
+		socket.getOutputStream().write(frame(new Handshake("Alice")));
+		assertInstanceOf(AcceptedUsername.class, receive(new DataInputStream(socket.getInputStream())));
+		assertTrue(server.isConnected("Alice"));
+
+		socket.close();
+
+		waitUntil(() -> !server.isConnected("Alice"));
+	}
+
+	@Test
+	void shutdown_ConnectedClient_ConnectionClosed() throws Exception {
+		try (Socket socket = connect()) {
+			socket.getOutputStream().write(frame(new Handshake("Alice")));
+			assertInstanceOf(AcceptedUsername.class, receive(new DataInputStream(socket.getInputStream())));
+
+			loop.shutdown();
+
+			assertClosedByServer(socket.getInputStream());
+		}
+	}
+}
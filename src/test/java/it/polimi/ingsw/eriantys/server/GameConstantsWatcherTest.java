@@ -0,0 +1,38 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameConstantsWatcherTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	void run_FileModified_ConstantsReloaded() throws Exception {
+		Path config = dir.resolve("config.json");
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream("config.json")) {
+			assertNotNull(in);
+			Files.copy(in, config);
+		}
+		Files.setLastModifiedTime(config, FileTime.fromMillis(1000));
+		GameConstantsWatcher watcher = new GameConstantsWatcher(config);
+		GameConstants before = GameConstants.forPlayers(3);
+
+		watcher.run();
+		assertSame(before, GameConstants.forPlayers(3));
+
+		Files.setLastModifiedTime(config, FileTime.fromMillis(2000));
+		watcher.run();
+		GameConstants after = GameConstants.forPlayers(3);
+		assertNotSame(before, after);
+		assertEquals(before.getEntranceSize(), after.getEntranceSize());
+	}
+}
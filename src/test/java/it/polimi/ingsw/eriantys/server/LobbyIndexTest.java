@@ -0,0 +1,70 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.client.LobbiesRequest;
+import it.polimi.ingsw.eriantys.messages.server.AvailableLobbies;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyIndexTest {
+	LobbyIndex index;
+
+	@BeforeEach
+	void init() {
+		index = new LobbyIndex();
+		for (int id = 0; id < 10; id++) {
+			GameInfo info = new GameInfo(id, "Creator" + id, id % 2 == 0 ? 2 : 3, id < 5);
+			info.setCurrentPlayers(1);
+			index.update(info);
+		}
+	}
+
+	List<Integer> ids(AvailableLobbies lobbies) {
+		return lobbies.getLobbies().stream().map(GameInfo::getGameId).toList();
+	}
+
+	AvailableLobbies query(LobbiesRequest request) {
+		return (AvailableLobbies) index.query(request).getMessage();
+	}
+
+	@Test
+	void query_PageAndFilters_MatchingLobbiesOnly() {
+		AvailableLobbies lobbies = query(new LobbiesRequest("Alice", 1, 2, 2, null));
+
+		assertEquals(List.of(4, 6), ids(lobbies));
+		assertEquals(1, lobbies.getPage());
+		assertEquals(5, lobbies.getTotal());
+		assertEquals(List.of(1, 3), ids(query(new LobbiesRequest("Alice", 0, 0, 3, true))));
+		assertTrue(query(new LobbiesRequest("Alice", 9, 5, null, null)).getLobbies().isEmpty());
+	}
+
+	@Test
+	void query_RepeatedUntilUpdate_SameEncodedAnswer() {
+		LobbiesRequest request = new LobbiesRequest("Alice");
+
+		assertSame(index.query(request), index.query(new LobbiesRequest("Bob")));
+		GameInfo info = new GameInfo(3, "Creator3", 3, true);
+		info.setCurrentPlayers(2);
+		index.update(info);
+
+		AvailableLobbies updated = query(request);
+		assertEquals(2, updated.getLobbies().get(3).getCurrentPlayers());
+		index.remove(3);
+		assertFalse(ids(query(request)).contains(3));
+		assertEquals(9, index.size());
+	}
+
+	@Test
+	void update_InfoChangedLater_IndexUnchanged() {
+		GameInfo info = new GameInfo(42, "Alice", 2, false);
+		index.update(info);
+		info.setCurrentPlayers(2);
+
+		AvailableLobbies lobbies = query(new LobbiesRequest("Bob", 0, 0, null, false));
+		assertEquals(0, lobbies.getLobbies().get(lobbies.getLobbies().size() - 1).getCurrentPlayers());
+	}
+}
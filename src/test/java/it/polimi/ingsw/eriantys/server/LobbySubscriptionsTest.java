@@ -0,0 +1,96 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.EncodedMessage;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.server.LobbyEvents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbySubscriptionsTest {
+	static class RecordingConnection extends ClientConnection {
+		final List<EncodedMessage> received = new ArrayList<>();
+
+		RecordingConnection() {
+			super(null);
+		}
+
+		@Override
+		protected void sendPing() {}
+
+		@Override
+		public void write(Message message) {
+			write(new EncodedMessage(message));
+		}
+
+		@Override
+		public void write(EncodedMessage message) {
+			received.add(message);
+		}
+	}
+
+	TimerWheel timer;
+	LobbyIndex index;
+	LobbySubscriptions subscriptions;
+
+	@BeforeEach
+	void init() {
+		timer = new TimerWheel("Test-Timer", 100, 64, Runnable::run);
+		index = new LobbyIndex();
+		subscriptions = new LobbySubscriptions(timer);
+	}
+
+	@AfterEach
+	void stop() {
+		timer.stop();
+	}
+
+	GameInfo lobby(int id, int players) {
+		GameInfo info = new GameInfo(id, "Creator" + id, 3, false);
+		info.setCurrentPlayers(players);
+		return info;
+	}
+
+	@Test
+	void flush_ManyChanges_OneSharedBatchPerSubscriber() {
+		RecordingConnection first = new RecordingConnection();
+		RecordingConnection second = new RecordingConnection();
+		subscriptions.subscribe(first);
+		subscriptions.subscribe(second);
+
+		subscriptions.publish(index.update(lobby(1, 1)));
+		subscriptions.publish(index.update(lobby(1, 2)));
+		subscriptions.publish(index.update(lobby(2, 1)));
+		subscriptions.publish(index.update(lobby(2, 1)));
+		subscriptions.publish(index.remove(2));
+		subscriptions.flush();
+
+		assertEquals(1, first.received.size());
+		assertSame(first.received.get(0), second.received.get(0));
+		List<LobbyEvents.Event> events = ((LobbyEvents) first.received.get(0).getMessage()).getEvents();
+		assertEquals(2, events.size());
+		assertEquals(LobbyEvents.Type.ADDED, events.get(0).type());
+		assertEquals(2, events.get(0).info().getCurrentPlayers());
+		assertEquals(LobbyEvents.Type.REMOVED, events.get(1).type());
+		assertEquals(2, events.get(1).gameId());
+	}
+
+	@Test
+	void flush_NoChangesOrUnsubscribed_NothingSent() {
+		RecordingConnection connection = new RecordingConnection();
+		subscriptions.subscribe(connection);
+		subscriptions.flush();
+		subscriptions.unsubscribe(connection);
+		subscriptions.publish(index.update(lobby(1, 1)));
+		subscriptions.flush();
+
+		assertTrue(connection.received.isEmpty());
+		assertFalse(subscriptions.isSubscribed(connection));
+	}
+}
@@ -0,0 +1,105 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Frames;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.Handshake;
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.server.AcceptedUsername;
+import it.polimi.ingsw.eriantys.messages.server.Refused;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import static it.polimi.ingsw.eriantys.server.EventLoopTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioClientConnectionTest {
+	static final int MESSAGES = 100;
+	static final String DETAILS = "x".repeat(1 << 18);
+
+	Server server(OutboundPolicy policy) throws IOException {
+		return new Server(0, Transport.BLOCKING, 0, ConnectionThreads.PLATFORM, policy);
+	}
+
+	@Test
+	void enqueue_HighWaterMarkReached_ClientEvicted() throws Exception {
+		Server server = server(new OutboundPolicy(1, 2));
+		// the event loop is never started, so that nothing is flushed
+		EventLoop loop = new EventLoop(server);
+		SocketChannel channel = SocketChannel.open();
+		NioClientConnection connection = new NioClientConnection(server, channel, loop);
+
+		assertTrue(connection.enqueue(Frames.encode(new Ping(), Codecs.JAVA), false));
+		assertTrue(connection.enqueue(Frames.encode(new Ping(), Codecs.JAVA), false));
+		assertFalse(connection.enqueue(Frames.encode(new Ping(), Codecs.JAVA), false));
+
+		waitUntil(() -> !channel.isOpen());
+		assertFalse(connection.isRunning());
+	}
+
+	@Test
+	void flush_ClientReadingSlowly_EveryFrameDeliveredInOrder() throws Exception {
+		Server server = server(new OutboundPolicy(MESSAGES, MESSAGES));
+		try (Served served = new Served(server)) {
+			ClientConnection connection = server.getConnection("Alice");
+			for (int i = 0; i < MESSAGES; i++)
+				connection.write(new Refused(i + DETAILS));
+
+			for (int i = 0; i < MESSAGES; i++) {
+				Refused refused = assertInstanceOf(Refused.class, receive(served.in));
+				assertEquals(i + DETAILS, refused.getDetails());
+			}
+			assertTrue(server.isConnected("Alice"));
+		}
+	}
+
+	@Test
+	void flush_ClientNotReading_ClientEvicted() throws Exception {
+		Server server = server(new OutboundPolicy(2, 4));
+		try (Served served = new Served(server)) {
+			ClientConnection connection = server.getConnection("Alice");
+			for (int i = 0; i < MESSAGES; i++)
+				connection.write(new Refused(i + DETAILS));
+
+			waitUntil(() -> !server.isConnected("Alice"));
+			assertFalse(connection.isRunning());
+		}
+	}
+
+	/**
+	 * A raw client served by a running {@link EventLoop}, which has completed the handshake as Alice.
+	 */
+	static class Served implements AutoCloseable {
+		final EventLoop loop;
+		final ServerSocketChannel serverChannel;
+		final Socket socket;
+		final DataInputStream in;
+
+		Served(Server server) throws Exception {
+			loop = new EventLoop(server);
+			Thread thread = new Thread(loop);
+			thread.setDaemon(true);
+			thread.start();
+			serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+			socket = new Socket("localhost", serverChannel.socket().getLocalPort());
+			socket.setSoTimeout(TIMEOUT);
+			loop.register(serverChannel.accept());
+			in = new DataInputStream(socket.getInputStream());
+
+			socket.getOutputStream().write(frame(new Handshake("Alice")));
+			assertInstanceOf(AcceptedUsername.class, receive(in));
+		}
+
+		@Override
+		public void close() throws IOException {
+			socket.close();
+			loop.shutdown();
+			serverChannel.close();
+		}
+	}
+}
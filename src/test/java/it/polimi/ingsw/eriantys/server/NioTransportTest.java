@@ -0,0 +1,53 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Frames;
+import it.polimi.ingsw.eriantys.messages.client.Handshake;
+import it.polimi.ingsw.eriantys.messages.codec.Codecs;
+import it.polimi.ingsw.eriantys.messages.server.AcceptedUsername;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static it.polimi.ingsw.eriantys.server.EventLoopTest.receive;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioTransportTest {
+	@Test
+	void serve_MoreClientsThanEventLoops_EveryClientServed() throws Exception {
+		Server server = new Server(9367, Transport.NIO, 2);
+		server.start();
+
+		List<Socket> sockets = new ArrayList<>();
+		try {
+			for (int i = 0; i < 5; i++) {
+				Socket socket = null;
+				for (int attempt = 0; attempt < 50 && socket == null; attempt++) {
+					try {
+						socket = new Socket("localhost", 9367);
+					} catch (ConnectException e) {
+						Thread.sleep(20);
+					}
+				}
+				assertNotNull(socket);
+				socket.setSoTimeout(EventLoopTest.TIMEOUT);
+				sockets.add(socket);
+				Frames.write(new DataOutputStream(socket.getOutputStream()), new Handshake("Player" + i), Codecs.JAVA);
+			}
+
+			for (int i = 0; i < sockets.size(); i++) {
+				DataInputStream in = new DataInputStream(sockets.get(i).getInputStream());
+				AcceptedUsername accepted = assertInstanceOf(AcceptedUsername.class, receive(in));
+				assertEquals("Player" + i, accepted.getUsername());
+				assertTrue(server.isConnected("Player" + i));
+			}
+		} finally {
+			for (Socket socket : sockets)
+				socket.close();
+		}
+	}
+}
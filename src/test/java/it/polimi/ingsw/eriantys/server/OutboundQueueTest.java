@@ -0,0 +1,80 @@
+package it.polimi.ingsw.eriantys.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+
+	List<String> drain(OutboundQueue<String> queue) {
+		List<String> items = new ArrayList<>();
+		String item;
+		while ((item = queue.poll()) != null)
+			items.add(item);
+		return items;
+	}
+
+	@Test
+	void offer_HighWaterMarkReached_Refused() {
+		OutboundQueue<String> queue = new OutboundQueue<>(new OutboundPolicy(2, 3));
+
+		assertTrue(queue.offer("a", false));
+		assertTrue(queue.offer("b", false));
+		assertTrue(queue.offer("c", false));
+		assertFalse(queue.offer("d", false));
+		assertEquals(3, queue.size());
+		assertEquals("a", queue.poll());
+		assertTrue(queue.offer("d", false));
+	}
+
+	@Test
+	void coalesce_BelowCoalesceMark_NothingDropped() {
+		OutboundQueue<String> queue = new OutboundQueue<>(new OutboundPolicy(3, 10));
+		queue.offer("board1", true);
+		queue.offer("board2", true);
+
+		assertEquals(0, queue.coalesce(false));
+		assertEquals(List.of("board1", "board2"), drain(queue));
+	}
+
+	@Test
+	void coalesce_AboveCoalesceMark_OnlyLatestBoardKept() {
+		OutboundQueue<String> queue = new OutboundQueue<>(new OutboundPolicy(2, 10));
+		queue.offer("board1", true);
+		queue.offer("chat", false);
+		queue.offer("board2", true);
+		queue.offer("board3", true);
+		queue.offer("over", false);
+
+		assertEquals(2, queue.coalesce(false));
+		assertEquals(3, queue.size());
+		assertEquals(List.of("chat", "board3", "over"), drain(queue));
+	}
+
+	@Test
+	void coalesce_HeadInFlight_HeadKept() {
+		OutboundQueue<String> queue = new OutboundQueue<>(new OutboundPolicy(1, 10));
+		queue.offer("board1", true);
+		queue.offer("board2", true);
+		queue.offer("board3", true);
+
+		assertEquals(1, queue.coalesce(true));
+		assertEquals(List.of("board1", "board3"), drain(queue));
+	}
+
+	@Test
+	void peek_Batch_ItemsNotRemoved() {
+		OutboundQueue<String> queue = new OutboundQueue<>(OutboundPolicy.DEFAULT);
+		queue.offer("a", false);
+		queue.offer("b", false);
+		queue.offer("c", false);
+		String[] batch = new String[2];
+
+		assertEquals(2, queue.peek(batch));
+		assertArrayEquals(new String[] {"a", "b"}, batch);
+		assertEquals(3, queue.size());
+	}
+}
@@ -0,0 +1,87 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRegistryTest {
+	static class StubConnection extends ClientConnection {
+		StubConnection() {
+			super(null);
+		}
+
+		@Override
+		protected void sendPing() {}
+
+		@Override
+		public void write(Message message) {}
+	}
+
+	@Test
+	void register_TakenUsernameOrBoundConnection_Refused() {
+		SessionRegistry sessions = new SessionRegistry();
+		ClientConnection first = new StubConnection();
+		ClientConnection second = new StubConnection();
+
+		assertTrue(sessions.register("Alice", first));
+		assertFalse(sessions.register("Alice", second));
+		assertFalse(sessions.register("Bob", first));
+		assertSame(first, sessions.getConnection("Alice"));
+		assertEquals("Alice", sessions.getUsername(first));
+		assertNull(sessions.getUsername(second));
+	}
+
+	@Test
+	void unregister_ByConnection_BothIndexesCleared() {
+		SessionRegistry sessions = new SessionRegistry();
+		ClientConnection connection = new StubConnection();
+		sessions.register("Alice", connection);
+		sessions.setReconnect("Alice", true);
+
+		assertEquals("Alice", sessions.unregister(connection));
+		assertNull(sessions.unregister(connection));
+		assertFalse(sessions.isConnected("Alice"));
+		assertNull(sessions.getUsername(connection));
+		assertTrue(sessions.canReconnect("Alice"));
+		assertTrue(sessions.register("Alice", new StubConnection()));
+	}
+
+	@Test
+	void register_ConcurrentSameUsername_OneAccepted() throws InterruptedException {
+		SessionRegistry sessions = new SessionRegistry();
+		AtomicInteger accepted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			threads.add(new Thread(() -> {
+				ClientConnection connection = new StubConnection();
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (sessions.register("Alice", connection)) accepted.incrementAndGet();
+			}));
+		}
+		threads.forEach(Thread::start);
+		start.countDown();
+		for (Thread thread : threads) thread.join();
+
+		assertEquals(1, accepted.get());
+		assertEquals("Alice", sessions.getUsername(sessions.getConnection("Alice")));
+	}
+
+	@Test
+	void isConnected_NullUsername_False() {
+		SessionRegistry sessions = new SessionRegistry();
+
+		assertFalse(sessions.isConnected(null));
+		assertFalse(sessions.canReconnect(null));
+	}
+}
@@ -0,0 +1,126 @@
+package it.polimi.ingsw.eriantys.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+	static final long TICK = 10;
+	static final int TICKS_PER_WHEEL = 8;
+
+	TimerWheel timer = new TimerWheel("Test-Timer", TICK, TICKS_PER_WHEEL, Runnable::run);
+
+	@AfterEach
+	void stop() {
+		timer.stop();
+	}
+
+	long elapsedMillis(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	@Test
+	void constructor_NonPositiveParameters_ThrowException() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> new TimerWheel("Test-Timer", 0, 8, Runnable::run));
+		assertThrowsExactly(IllegalArgumentException.class, () -> new TimerWheel("Test-Timer", 10, 0, Runnable::run));
+		assertThrowsExactly(IllegalArgumentException.class, () -> timer.scheduleAtFixedRate(() -> {}, 0, 0));
+	}
+
+	@Test
+	void schedule_DifferentDelays_RunInDeadlineOrder() throws InterruptedException {
+		List<Long> runs = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(4);
+		for (long delay : List.of(60L, 20L, 0L, 40L))
+			timer.schedule(() -> {
+				runs.add(delay);
+				latch.countDown();
+			}, delay);
+
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertEquals(List.of(0L, 20L, 40L, 60L), runs);
+	}
+
+	@Test
+	void schedule_DelaySpanningSeveralRotations_RunAfterDelay() throws InterruptedException {
+		long delay = 3 * TICK * TICKS_PER_WHEEL + 5 * TICK;
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+		long[] elapsed = new long[1];
+		timer.schedule(() -> {
+			elapsed[0] = elapsedMillis(start);
+			latch.countDown();
+		}, delay);
+
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+		assertTrue(elapsed[0] >= delay - TICK, "Run after " + elapsed[0] + " ms");
+	}
+
+	@Test
+	void cancel_BeforeExpiry_NeverRun() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		TimerWheel.Timeout timeout = timer.schedule(runs::incrementAndGet, 3 * TICK);
+		CountDownLatch latch = new CountDownLatch(1);
+		timer.schedule(latch::countDown, 10 * TICK);
+
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertTrue(timeout.isCancelled());
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	void cancel_PlacedTaskSharingBucket_OtherTaskRun() throws InterruptedException {
+		// both tasks land in the same bucket, one rotation apart
+		AtomicInteger runs = new AtomicInteger();
+		TimerWheel.Timeout cancelled = timer.schedule(runs::incrementAndGet, TICK * TICKS_PER_WHEEL);
+		CountDownLatch latch = new CountDownLatch(1);
+		timer.schedule(latch::countDown, 2 * TICK * TICKS_PER_WHEEL);
+		Thread.sleep(3 * TICK);
+
+		cancelled.cancel();
+
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	void scheduleAtFixedRate_Running_RescheduledEveryPeriodUntilCancelled() throws InterruptedException {
+		long period = 2 * TICK;
+		List<Long> runs = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(5);
+		long start = System.nanoTime();
+		TimerWheel.Timeout timeout = timer.scheduleAtFixedRate(() -> {
+			runs.add(elapsedMillis(start));
+			latch.countDown();
+		}, period, period);
+
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		timeout.cancel();
+		Thread.sleep(period);
+		int count = runs.size();
+		Thread.sleep(5 * period);
+
+		assertEquals(count, runs.size());
+		for (int i = 0; i < 5; i++)
+			assertTrue(runs.get(i) >= (i + 1) * period - TICK, "Run " + i + " after " + runs.get(i) + " ms");
+	}
+
+	@Test
+	void stop_PendingTask_NeverRun() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		timer.schedule(runs::incrementAndGet, 3 * TICK);
+
+		timer.stop();
+		Thread.sleep(10 * TICK);
+
+		assertEquals(0, runs.get());
+	}
+}
@@ -0,0 +1,95 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.TowerColor;
+import it.polimi.ingsw.eriantys.model.Wizard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloPlayerTest {
+	static final long BUDGET = 50;
+
+	ForkJoinPool pool;
+	MonteCarloPlayer bot;
+	GameManager game;
+
+	@BeforeEach
+	void init() throws Exception {
+		pool = new ForkJoinPool(2);
+		bot = new MonteCarloPlayer(pool, BUDGET);
+		game = new GameManager(List.of("Alice", "Bob"), true, 5L);
+		game.setupBoard();
+		game.setupEntrances();
+		game.setupPlayer("Alice", TowerColor.stringLiterals().get(0), Wizard.stringLiterals().get(0));
+		game.setupPlayer("Bob", TowerColor.stringLiterals().get(1), Wizard.stringLiterals().get(1));
+		game.setupRound();
+	}
+
+	@AfterEach
+	void shutdown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void playAssistantCard_SeveralPlayableCards_PlayableCardWithinBudget() {
+		List<String> playable = List.of("CHEETAH", "OCTOPUS", "TURTLE");
+		BoardStatus before = new BoardStatus(game);
+
+		long start = System.nanoTime();
+		String card = bot.playAssistantCard(game, "Alice", new LinkedHashMap<>(), playable, false);
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		assertTrue(playable.contains(card));
+		assertTrue(elapsedMillis < BUDGET * 4, "Search took " + elapsedMillis + " ms");
+		assertTrue(bot.getPlayouts() > 0);
+		assertTrue(bot.getPlayoutsPerSecondPerCore() > 0);
+		BoardStatus after = new BoardStatus(game);
+		assertEquals(before.getCloudTiles(), after.getCloudTiles());
+		assertEquals(before.getIslandStudents(), after.getIslandStudents());
+	}
+
+	@Test
+	void playAssistantCard_OnePlayableCard_NoPlayouts() {
+		assertEquals("TURTLE", bot.playAssistantCard(game, "Alice", Map.of(), List.of("TURTLE"), false));
+		assertEquals(0, bot.getPlayouts());
+	}
+
+	@Test
+	void playAssistantCard_PlayoutFailure_ExceptionNotSwallowed() {
+		// an unknown card makes the model throw an unchecked exception, which is a defect rather than a refused move
+		List<String> playable = List.of("UNKNOWN", "TURTLE");
+
+		assertThrows(RuntimeException.class, () -> bot.playAssistantCard(game, "Alice", Map.of(), playable, false));
+		assertEquals(0, bot.getRefusedMoves());
+	}
+
+	@Test
+	void actionPhase_EveryMoveSearched_MovesAccepted() throws Exception {
+		game.handleAssistantCards(new LinkedHashMap<>(Map.of("Alice", "CHEETAH", "Bob", "TURTLE")));
+		String player = game.getTurnOrder().get(0);
+		game.setCurrentPlayer(player);
+
+		Policy.CharacterPlay play = bot.playCharacterCard(game, player, false);
+		if (play != null) game.handleCharacterCard(play.card(), play.params());
+		for (int i = 0; i < game.constants.getCloudSize(); i++) {
+			Policy.StudentMove move = bot.moveStudent(game, player, i, false);
+			assertDoesNotThrow(() -> game.handleMovedStudent(player, move.color(), move.destination()));
+		}
+		String destination = bot.moveMotherNature(game, player, false);
+		assertFalse(game.handleMotherNatureMovement(destination));
+		int cloud = bot.selectCloud(game, player, false);
+		assertDoesNotThrow(() -> game.handleSelectedCloud(player, cloud));
+
+		Map<String, Integer> entrance = game.entranceRepresentation(player);
+		assertEquals(game.constants.getEntranceSize(), entrance.values().stream().mapToInt(Integer::intValue).sum());
+	}
+}
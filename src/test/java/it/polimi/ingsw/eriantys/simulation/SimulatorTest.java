@@ -0,0 +1,66 @@
+package it.polimi.ingsw.eriantys.simulation;
+
+import it.polimi.ingsw.eriantys.model.GameManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+	@Test
+	void run_DifferentParallelism_SameReport() {
+		Simulator simulator = new Simulator(List.of(new GreedyPolicy(), new RandomPolicy(), new RandomPolicy()), true);
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool many = new ForkJoinPool(4);
+
+		try {
+			SimulationReport first = simulator.run(100, 42L, single);
+			SimulationReport second = simulator.run(100, 42L, many);
+
+			assertEquals(100, first.getGames());
+			for (int seat = 0; seat < 3; seat++)
+				assertEquals(first.getWins(seat), second.getWins(seat));
+			assertEquals(first.getTies(), second.getTies());
+			assertEquals(first.getTurns(), second.getTurns());
+			assertEquals(first.getCharacterPlays(), second.getCharacterPlays());
+			assertEquals(first.getRejectedActions(), second.getRejectedActions());
+		} finally {
+			single.shutdown();
+			many.shutdown();
+		}
+	}
+
+	@Test
+	void run_GreedyAgainstRandom_EveryGameEnds() {
+		SimulationReport report = new Simulator(List.of(new GreedyPolicy(), new RandomPolicy()), false).run(50, 7L);
+
+		assertEquals(50, report.getGames());
+		assertEquals(50, report.getWins(0) + report.getWins(1) + report.getTies());
+		assertTrue(report.getMinRounds() >= 1);
+		assertTrue(report.getMaxRounds() <= 10);
+		assertTrue(report.getWinRate(0) > report.getWinRate(1));
+		assertTrue(report.getCharacterPlays().isEmpty());
+	}
+
+	@Test
+	void run_ExpertModeCharacterEveryTurn_NoRejectedActions() {
+		Policy policy = new RandomPolicy(1);
+		SimulationReport report = new Simulator(List.of(policy, policy, new GreedyPolicy()), true).run(200, 11L);
+
+		assertEquals(200, report.getGames());
+		assertFalse(report.getCharacterPlays().isEmpty());
+		assertEquals(0, report.getRejectedActions());
+	}
+
+	@Test
+	void playAssistantCard_ScriptedCardPlayable_ScriptFollowed() {
+		GameManager game = new GameManager(List.of("Alice", "Bob"), false);
+		Policy policy = new ScriptedPolicy(new GreedyPolicy(), List.of("TURTLE"), List.of());
+
+		assertEquals("TURTLE", policy.playAssistantCard(game, "Alice", List.of("CHEETAH", "TURTLE"), new SplittableRandom()));
+		assertEquals("CHEETAH", policy.playAssistantCard(game, "Alice", List.of("CHEETAH", "DOG"), new SplittableRandom()));
+	}
+}